@@ -1,14 +1,28 @@
 package com.flipkart.varadhi.authz;
 
 import com.flipkart.varadhi.entities.auth.ResourceAction;
+import com.flipkart.varadhi.entities.auth.ResourceHierarchy;
 import com.flipkart.varadhi.entities.auth.UserContext;
 import io.vertx.core.Future;
 
 public interface AuthorizationProvider {
     Future<Boolean> init(AuthorizationOptions authorizationOptions);
 
+    /**
+     * Invoked on the event loop for every authorized request, so it must not block. Decision which can't be made
+     * from memory is to be made asynchronously, e.g. on an async meta store or an executor of the provider, and the
+     * returned future may be completed on any thread.
+     */
     Future<Boolean> isAuthorized(UserContext userContext, ResourceAction action, String resource);
 
+    /**
+     * Same as {@link #isAuthorized(UserContext, ResourceAction, String)}, for the resource already located in the
+     * resource hierarchy. Providers evaluating over the hierarchy can override it to skip parsing the resource path.
+     */
+    default Future<Boolean> isAuthorizedOn(UserContext userContext, ResourceAction action, ResourceHierarchy resource) {
+        return isAuthorized(userContext, action, resource.toPath());
+    }
+
     class NoAuthorizationProvider implements AuthorizationProvider {
 
         @Override
@@ -17,6 +17,7 @@ public class Constants {
         public static final String TAG_NAME_IDENTITY = "identity";
         public static final String TAG_NAME_HOST = "host";
         public static final String TAG_NAME_PRODUCE_RESULT = "result";
+        public static final String TAG_NAME_PRODUCER = "producer";
         public static final String TAG_VALUE_RESULT_SUCCESS = "success";
         public static final String TAG_VALUE_RESULT_FAILED = "failed";
     }
@@ -30,6 +31,8 @@ public class Constants {
         public static class Produce {
             public static final String BYTES_METER = "produce.bytes";
             public static final String LATENCY_METER = "produce.latency";
+            public static final String POOL_PENDING_METER = "produce.pool.pending";
+            public static final String POOL_FAILURES_METER = "produce.pool.failures";
         }
     }
 
@@ -38,6 +41,9 @@ public class Constants {
         public static final int HEADERS_ALLOWED_MAX = 10;
         public static final int HEADER_NAME_SIZE_MAX = 64;
         public static final int HEADER_VALUE_SIZE_MAX = 256;
+        public static final int BATCH_MESSAGES_MAX = 1000;
+        public static final int CACHE_LOADER_THREADS = 4;
+        public static final int CACHE_LOADER_QUEUE_SIZE = 1000;
         public static final String DEFAULT_ORG = "default";
         public static final String DEFAULT_TEAM = "public";
         public static final String DEFAULT_PROJECT = "public";
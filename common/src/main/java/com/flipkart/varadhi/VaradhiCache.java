@@ -4,27 +4,47 @@ import com.flipkart.varadhi.exceptions.VaradhiException;
 import com.google.common.base.Ticker;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
 
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
 /**
  * TODO: lets not put varadhi word in every other class name. VaradhiCache does not tell us its purpose.
  *
+ * Cache of entities, where entities are loaded via entityProvider on the loaderExecutor.
+ * <ul>
+ *     <li>Concurrent gets of a key, which is being loaded, share the same load.</li>
+ *     <li>With refreshAfterWrite in cache spec, entry is reloaded in the background on the first get after the
+ *     refresh interval, while the current (stale) value continues to be served. Failure in reload retains the
+ *     stale value, till it expires as per the cache spec.</li>
+ *     <li>Failed load is not cached, next get will load it again.</li>
+ *     <li>Entries can be updated/invalidated on entity change notification via put()/invalidate(), in which case
+ *     cache spec need not expire the entries for freshness.</li>
+ * </ul>
+ *
  * @param <K>
  * @param <V>
  */
 public class VaradhiCache<K, V> {
-    // This is NonLoading cache. Get wll invoke loader() on calling thread when needed and hence possibly blocking in
-    // some cases.
-    // TODO:: need to support unblocking loader call.
-    private final Cache<K, V> entityCache;
+    // Values are futures of the entity being loaded/loaded. Loads are done on loaderExecutor, so get doesn't block
+    // the calling thread for the load. When loaderExecutor is directExecutor (default), load happens on the calling
+    // thread.
+    private final LoadingCache<K, CompletableFuture<V>> entityCache;
     private final Function<K, V> entityProvider;
+    private final Executor loaderExecutor;
     private final Counter getCounter;
     private final Counter loadCounter;
     private final Counter loadFailureCounter;
@@ -41,6 +61,18 @@ public class VaradhiCache<K, V> {
         this(cacheSpec, Ticker.systemTicker(), entityProvider, exceptionWrapper, meterPrefix, meterRegistry);
     }
 
+    public VaradhiCache(
+            String cacheSpec,
+            Function<K, V> entityProvider,
+            BiFunction<K, Throwable, VaradhiException> exceptionWrapper,
+            Executor loaderExecutor,
+            String meterPrefix,
+            MeterRegistry meterRegistry
+    ) {
+        this(cacheSpec, Ticker.systemTicker(), entityProvider, exceptionWrapper, loaderExecutor, meterPrefix,
+                meterRegistry
+        );
+    }
 
     public VaradhiCache(
             String cacheSpec,
@@ -50,8 +82,23 @@ public class VaradhiCache<K, V> {
             String meterPrefix,
             MeterRegistry meterRegistry
     ) {
-        this.entityCache = CacheBuilder.from(cacheSpec).ticker(ticker).build();
+        this(cacheSpec, ticker, entityProvider, exceptionWrapper, MoreExecutors.directExecutor(), meterPrefix,
+                meterRegistry
+        );
+    }
+
+    public VaradhiCache(
+            String cacheSpec,
+            Ticker ticker,
+            Function<K, V> entityProvider,
+            BiFunction<K, Throwable, VaradhiException> exceptionWrapper,
+            Executor loaderExecutor,
+            String meterPrefix,
+            MeterRegistry meterRegistry
+    ) {
+        this.entityCache = CacheBuilder.from(cacheSpec).ticker(ticker).build(new EntityLoader());
         this.entityProvider = entityProvider;
+        this.loaderExecutor = loaderExecutor;
         this.unExpectedExceptionWrapper = exceptionWrapper;
         meterRegistry.gauge(getMeterName(meterPrefix, "size"), Tags.empty(), entityCache, Cache::size);
         this.getCounter = meterRegistry.counter(getMeterName(meterPrefix, "gets"), Tags.empty());
@@ -59,21 +106,102 @@ public class VaradhiCache<K, V> {
         this.loadFailureCounter = meterRegistry.counter(getMeterName(meterPrefix, "loadFailures"), Tags.empty());
     }
 
+    /**
+     * Blocks the calling thread if the entity is being loaded. Prefer getAsync() on non-blocking threads.
+     */
     public V get(K key) {
         try {
-            getCounter.increment();
-            return entityCache.get(key, () -> {
-                V value = entityProvider.apply(key);
-                loadCounter.increment();
-                return value;
+            return getAsync(key).join();
+        } catch (CompletionException e) {
+            throw (VaradhiException) e.getCause();
+        }
+    }
+
+    /**
+     * @return future of the entity, it is already completed when entity is in the cache. On failure, future is
+     * completed exceptionally with VaradhiException. Future is shared across callers, callers should not complete
+     * or cancel it.
+     */
+    public CompletableFuture<V> getAsync(K key) {
+        getCounter.increment();
+        CompletableFuture<V> entityFuture = entityCache.getUnchecked(key);
+        if (entityFuture.isCompletedExceptionally()) {
+            // load completed before it got cached (e.g. on calling thread), remove it here instead.
+            removeEntry(key, entityFuture);
+        }
+        return entityFuture;
+    }
+
+    /**
+     * Caches the latest value of the entity, e.g. when entity change is notified. Gets waiting on a load in
+     * progress, if any, get the loaded value.
+     */
+    public void put(K key, V value) {
+        entityCache.put(key, CompletableFuture.completedFuture(value));
+    }
+
+    public void invalidate(K key) {
+        entityCache.invalidate(key);
+    }
+
+    private void removeEntry(K key, CompletableFuture<V> entityFuture) {
+        entityCache.asMap().remove(key, entityFuture);
+    }
+
+    private CompletableFuture<V> loadAsync(K key) {
+        CompletableFuture<V> loadFuture = new CompletableFuture<>();
+        try {
+            loaderExecutor.execute(() -> {
+                try {
+                    V value = entityProvider.apply(key);
+                    loadCounter.increment();
+                    loadFuture.complete(value);
+                } catch (Throwable t) {
+                    onLoadFailure(key, loadFuture, t);
+                }
             });
-        } catch (ExecutionException | UncheckedExecutionException e) {
-            loadFailureCounter.increment();
-            Throwable realFailure = e.getCause();
-            if (realFailure instanceof VaradhiException) {
-                throw (VaradhiException) realFailure;
+        } catch (RejectedExecutionException e) {
+            onLoadFailure(key, loadFuture, e);
+        }
+        return loadFuture;
+    }
+
+    private void onLoadFailure(K key, CompletableFuture<V> loadFuture, Throwable failure) {
+        loadFailureCounter.increment();
+        if (failure instanceof VaradhiException) {
+            loadFuture.completeExceptionally(failure);
+        } else {
+            loadFuture.completeExceptionally(unExpectedExceptionWrapper.apply(key, failure));
+        }
+    }
+
+    private class EntityLoader extends CacheLoader<K, CompletableFuture<V>> {
+        @Override
+        public CompletableFuture<V> load(K key) {
+            CompletableFuture<V> loadFuture = loadAsync(key);
+            // failed load is not to be cached.
+            loadFuture.whenComplete((value, failure) -> {
+                if (null != failure) {
+                    removeEntry(key, loadFuture);
+                }
+            });
+            return loadFuture;
+        }
+
+        @Override
+        public ListenableFuture<CompletableFuture<V>> reload(K key, CompletableFuture<V> oldValue) {
+            if (!oldValue.isDone()) {
+                return Futures.immediateFuture(oldValue);
             }
-            throw unExpectedExceptionWrapper.apply(key, realFailure);
+            SettableFuture<CompletableFuture<V>> reloadFuture = SettableFuture.create();
+            loadAsync(key).whenComplete((value, failure) -> {
+                if (null == failure) {
+                    reloadFuture.set(CompletableFuture.completedFuture(value));
+                } else {
+                    reloadFuture.setException(failure);
+                }
+            });
+            return reloadFuture;
         }
     }
 
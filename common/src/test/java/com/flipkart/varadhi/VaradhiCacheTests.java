@@ -15,6 +15,12 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
 import static org.mockito.Mockito.*;
 
 public class VaradhiCacheTests {
@@ -109,6 +115,108 @@ public class VaradhiCacheTests {
         validateCounters(2, 1, 1, 0);
     }
 
+    @Test
+    public void testGetAsyncSharesTheLoadInProgress() {
+        QueuedExecutor loaderExecutor = new QueuedExecutor();
+        testCache = buildCache("expireAfterWrite=3600s", loaderExecutor);
+        CompletableFuture<DummyData> future1 = testCache.getAsync("key1");
+        CompletableFuture<DummyData> future2 = testCache.getAsync("key1");
+        Assertions.assertSame(future1, future2);
+        Assertions.assertFalse(future1.isDone());
+        verify(entityProvider, never()).getData("key1");
+
+        loaderExecutor.runAll();
+        Assertions.assertEquals(future1.join(), testCache.getAsync("key1").join());
+        validateCounters(3, 1, 0, 1);
+        verify(entityProvider, times(1)).getData("key1");
+    }
+
+    @Test
+    public void testGetAsyncLoadFailureIsNotCached() {
+        QueuedExecutor loaderExecutor = new QueuedExecutor();
+        testCache = buildCache("expireAfterWrite=3600s", loaderExecutor);
+        doThrow(new ResourceNotFoundException("Data not found.")).when(entityProvider).getData("key1");
+        CompletableFuture<DummyData> future = testCache.getAsync("key1");
+        loaderExecutor.runAll();
+        CompletionException ce = Assertions.assertThrows(CompletionException.class, future::join);
+        Assertions.assertInstanceOf(ResourceNotFoundException.class, ce.getCause());
+        validateCounters(1, 0, 1, 0);
+
+        doCallRealMethod().when(entityProvider).getData("key1");
+        CompletableFuture<DummyData> retryFuture = testCache.getAsync("key1");
+        Assertions.assertNotSame(future, retryFuture);
+        loaderExecutor.runAll();
+        Assertions.assertEquals("key1", retryFuture.join().key);
+        validateCounters(2, 1, 1, 1);
+    }
+
+    @Test
+    public void testRefreshServesStaleValueWhileReloading() {
+        QueuedExecutor loaderExecutor = new QueuedExecutor();
+        testCache = buildCache("expireAfterWrite=3600s,refreshAfterWrite=60s", loaderExecutor);
+        testCache.getAsync("key1");
+        loaderExecutor.runAll();
+        DummyData data1 = testCache.get("key1");
+
+        ticker.advance(61);
+        CompletableFuture<DummyData> staleFuture = testCache.getAsync("key1");
+        Assertions.assertTrue(staleFuture.isDone());
+        Assertions.assertEquals(data1, staleFuture.join());
+        Assertions.assertEquals(1, loaderExecutor.tasks.size());
+
+        loaderExecutor.runAll();
+        DummyData data2 = testCache.get("key1");
+        Assertions.assertNotEquals(data1, data2);
+        validateCounters(4, 2, 0, 1);
+        verify(entityProvider, times(2)).getData("key1");
+    }
+
+    @Test
+    public void testFailedRefreshRetainsStaleValue() {
+        QueuedExecutor loaderExecutor = new QueuedExecutor();
+        testCache = buildCache("expireAfterWrite=3600s,refreshAfterWrite=60s", loaderExecutor);
+        testCache.getAsync("key1");
+        loaderExecutor.runAll();
+        DummyData data1 = testCache.get("key1");
+
+        ticker.advance(61);
+        doThrow(new RuntimeException("Load failure.")).when(entityProvider).getData("key1");
+        Assertions.assertEquals(data1, testCache.get("key1"));
+        loaderExecutor.runAll();
+        Assertions.assertEquals(data1, testCache.get("key1"));
+        validateCounters(4, 1, 1, 1);
+    }
+
+    @Test
+    public void testPutAndInvalidate() {
+        DummyData data1 = testCache.get("key1");
+        DummyData data2 = new DummyData("key1");
+        testCache.put("key1", data2);
+        Assertions.assertEquals(data2, testCache.get("key1"));
+        verify(entityProvider, times(1)).getData("key1");
+
+        testCache.invalidate("key1");
+        validateCounters(2, 1, 0, 0);
+        DummyData data3 = testCache.get("key1");
+        Assertions.assertNotEquals(data1, data3);
+        Assertions.assertNotEquals(data2, data3);
+        verify(entityProvider, times(2)).getData("key1");
+    }
+
+    private VaradhiCache<String, DummyData> buildCache(String cacheSpec, Executor loaderExecutor) {
+        meterRegistry = new JmxMeterRegistry(JmxConfig.DEFAULT, Clock.SYSTEM);
+        VaradhiCache<String, DummyData> cache =
+                new VaradhiCache<>(cacheSpec, ticker, entityProvider::getData, (key, failure) -> new CustomException(
+                        String.format("Failed to get data (%s): %s", key, failure.getMessage()), failure),
+                        loaderExecutor, "test", meterRegistry
+                );
+        getCounter = meterRegistry.counter("varadhi.cache.test.gets");
+        loadCounter = meterRegistry.counter("varadhi.cache.test.loads");
+        cacheSize = meterRegistry.find("varadhi.cache.test.size").gauge();
+        loadFailureCounter = meterRegistry.counter("varadhi.cache.test.loadFailures");
+        return cache;
+    }
+
     DummyData getData(String key) {
         return new DummyData(key);
     }
@@ -129,6 +237,22 @@ public class VaradhiCacheTests {
 
     }
 
+    // Runs the submitted loads only when asked, to observe the cache while loads are in progress.
+    public static class QueuedExecutor implements Executor {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        public void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+    }
+
     public static class DummyTicker extends Ticker {
         long value;
 
@@ -0,0 +1,171 @@
+package com.flipkart.varadhi.consumer;
+
+import com.flipkart.varadhi.entities.ThrottleSpec;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Adapts the in-flight deliveries of a subscription to the health of its endpoint (AIMD). Delivery outcomes are
+ * counted per window, and at the end of a window:
+ * <ul>
+ * <li>If the error rate is over maxErrorThreshold, the limit is cut by ThrottleSpec.factor (multiplied by it when
+ * in (0, 1), divided by it otherwise), down to 1.</li>
+ * <li>Otherwise, once waitSeconds have passed since the last cut, the limit grows by 1 per window up to the max.</li>
+ * </ul>
+ * If the endpoint stays unhealthy for stopAfterSeconds, delivery is paused. While paused, a single probe delivery is
+ * let through every pingSeconds, and delivery resumes with a limit of 1 when a probe succeeds.
+ * <p>
+ * W/o a ThrottleSpec, the limit stays fixed at the max. Not thread safe, expected to be confined to the delivery
+ * context.
+ */
+public class ConcurrencyController {
+    private static final long DEFAULT_PING_SECONDS = 1;
+
+    private final int maxLimit;
+    private final boolean adaptive;
+    private final double maxErrorThreshold;
+    private final double factor;
+    private final long waitNanos;
+    private final long pingNanos;
+    private final long stopAfterNanos;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    private double limit;
+    private long windowStartedAt;
+    private int windowDeliveries;
+    private int windowErrors;
+    private long lastCutAt;
+    // start of the current unhealthy streak, -1 when healthy.
+    private long unhealthySince = -1;
+    private boolean paused;
+    private long lastProbeAt;
+    private boolean probing;
+
+    /**
+     * @param throttleSpec null for a fixed limit.
+     */
+    public ConcurrencyController(int maxLimit, double maxErrorThreshold, ThrottleSpec throttleSpec, long windowMs) {
+        this(maxLimit, maxErrorThreshold, throttleSpec, windowMs, System::nanoTime);
+    }
+
+    ConcurrencyController(
+            int maxLimit, double maxErrorThreshold, ThrottleSpec throttleSpec, long windowMs, LongSupplier nanoClock
+    ) {
+        if (maxLimit <= 0) {
+            throw new IllegalArgumentException(String.format("Concurrency should be positive, given %d.", maxLimit));
+        }
+        this.maxLimit = maxLimit;
+        this.adaptive = null != throttleSpec;
+        this.maxErrorThreshold = maxErrorThreshold;
+        if (adaptive) {
+            double specFactor = throttleSpec.getFactor();
+            this.factor = specFactor > 0 && specFactor < 1 ? specFactor : 1 / Math.max(1, specFactor);
+            this.waitNanos = TimeUnit.SECONDS.toNanos(Math.max(0, throttleSpec.getWaitSeconds()));
+            this.pingNanos = TimeUnit.SECONDS.toNanos(
+                    throttleSpec.getPingSeconds() > 0 ? throttleSpec.getPingSeconds() : DEFAULT_PING_SECONDS);
+            this.stopAfterNanos = throttleSpec.getStopAfterSeconds() > 0 ?
+                    TimeUnit.SECONDS.toNanos(throttleSpec.getStopAfterSeconds()) : Long.MAX_VALUE;
+        } else {
+            this.factor = 1;
+            this.waitNanos = 0;
+            this.pingNanos = 0;
+            this.stopAfterNanos = Long.MAX_VALUE;
+        }
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.nanoClock = nanoClock;
+        this.limit = maxLimit;
+        this.windowStartedAt = nanoClock.getAsLong();
+        this.lastCutAt = windowStartedAt;
+    }
+
+    /**
+     * @return true if one more delivery can be started, given the deliveries in flight.
+     */
+    public boolean tryAcquire(int inFlight) {
+        if (!paused) {
+            return inFlight < (int) limit;
+        }
+        if (probing || inFlight > 0 || getProbeDelayMs() > 0) {
+            return false;
+        }
+        probing = true;
+        lastProbeAt = nanoClock.getAsLong();
+        return true;
+    }
+
+    /**
+     * @param failed true if the endpoint failed the delivery (no response, 5xx or 429).
+     */
+    public void onResult(boolean failed) {
+        if (!adaptive) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        if (paused) {
+            // results of the deliveries in flight when paused are ignored, only the probe decides.
+            if (!probing) {
+                return;
+            }
+            probing = false;
+            if (!failed) {
+                paused = false;
+                limit = 1;
+                lastCutAt = now;
+                unhealthySince = -1;
+                resetWindow(now);
+            }
+            return;
+        }
+        windowDeliveries++;
+        if (failed) {
+            windowErrors++;
+        }
+        if (now - windowStartedAt >= windowNanos) {
+            onWindowEnd(now);
+        }
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public int getLimit() {
+        return paused ? 0 : (int) limit;
+    }
+
+    /**
+     * @return millis till the next probe is due while paused, 0 if due now.
+     */
+    public long getProbeDelayMs() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(lastProbeAt + pingNanos - nanoClock.getAsLong()));
+    }
+
+    private void onWindowEnd(long now) {
+        double errorRate = (double) windowErrors / windowDeliveries;
+        if (errorRate > maxErrorThreshold) {
+            if (-1 == unhealthySince) {
+                unhealthySince = windowStartedAt;
+            }
+            limit = Math.max(1, limit * factor);
+            lastCutAt = now;
+            if (now - unhealthySince >= stopAfterNanos) {
+                paused = true;
+                lastProbeAt = now;
+            }
+        } else {
+            unhealthySince = -1;
+            if (now - lastCutAt >= waitNanos) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+        resetWindow(now);
+    }
+
+    private void resetWindow(long now) {
+        windowStartedAt = now;
+        windowDeliveries = 0;
+        windowErrors = 0;
+    }
+}
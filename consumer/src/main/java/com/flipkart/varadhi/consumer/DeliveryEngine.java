@@ -0,0 +1,207 @@
+package com.flipkart.varadhi.consumer;
+
+import com.flipkart.varadhi.consumer.config.DeliveryOptions;
+import com.flipkart.varadhi.consumer.http.HttpDeliveryClient;
+import com.flipkart.varadhi.consumer.http.PoolStats;
+import com.flipkart.varadhi.entities.ConsumptionPolicy;
+import com.flipkart.varadhi.entities.Endpoint;
+import com.flipkart.varadhi.entities.RetryPolicy;
+import com.flipkart.varadhi.entities.StorageTopic;
+import com.flipkart.varadhi.entities.Subscription;
+import com.flipkart.varadhi.spi.services.ConsumerFactory;
+import com.flipkart.varadhi.spi.services.Producer;
+import com.flipkart.varadhi.spi.services.ProducerFactory;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Push delivery of the subscriptions hosted on this instance. Each subscription is delivered on its own Vert.x
+ * context, while the http connections to an endpoint host are pooled and shared by all of its subscriptions.
+ * <p>
+ * A subscription with a retry topic is delivered in two lanes, the main lane for the fresh messages and the recovery
+ * lane for the retries falling due. Parallelism of the subscription is split among the lanes as per
+ * ConsumptionPolicy.maxRecoveryAllocation, and each lane has at least one slot, so that retries don't starve the
+ * fresh messages and vice versa. A single slot can't be split, so the lanes of a subscription with a parallelism of 1
+ * share their slot instead (see DeliverySlots). Concurrency of each lane adapts to the health of the endpoint, as per
+ * the ThrottleSpec of the subscription (see ConcurrencyController), so that a struggling endpoint is not hammered and
+ * doesn't hold up the connections shared with the other subscriptions.
+ */
+@Slf4j
+public class DeliveryEngine {
+    private final Vertx vertx;
+    private final ConsumerFactory<StorageTopic> consumerFactory;
+    private final ProducerFactory<StorageTopic> producerFactory;
+    private final HttpDeliveryClient deliveryClient;
+    private final DeliveryOptions deliveryOptions;
+    private final Map<String, ActiveDelivery> deliveries = new ConcurrentHashMap<>();
+
+    public DeliveryEngine(
+            Vertx vertx, ConsumerFactory<StorageTopic> consumerFactory, ProducerFactory<StorageTopic> producerFactory,
+            DeliveryOptions deliveryOptions
+    ) {
+        this(vertx, consumerFactory, producerFactory, new HttpDeliveryClient(vertx, deliveryOptions),
+                deliveryOptions
+        );
+    }
+
+    DeliveryEngine(
+            Vertx vertx, ConsumerFactory<StorageTopic> consumerFactory, ProducerFactory<StorageTopic> producerFactory,
+            HttpDeliveryClient deliveryClient, DeliveryOptions deliveryOptions
+    ) {
+        this.vertx = vertx;
+        this.consumerFactory = consumerFactory;
+        this.producerFactory = producerFactory;
+        this.deliveryClient = deliveryClient;
+        this.deliveryOptions = deliveryOptions;
+    }
+
+    /**
+     * Starts delivering messages of the subscription from the given storage topic, failed messages are nacked.
+     */
+    public void startDelivery(Subscription subscription, StorageTopic storageTopic) {
+        startDelivery(subscription, SubscriptionTopics.of(storageTopic));
+    }
+
+    /**
+     * Starts delivering messages of the subscription, failed messages are retried or dead lettered via the given
+     * topics as per the RetryPolicy of the subscription.
+     */
+    public void startDelivery(Subscription subscription, SubscriptionTopics topics) {
+        if (!(subscription.getEndpoint() instanceof Endpoint.HttpEndpoint endpoint)) {
+            throw new IllegalArgumentException(
+                    String.format("Subscription(%s) has unsupported endpoint %s.", subscription.getName(),
+                            subscription.getEndpoint()
+                    ));
+        }
+        deliveries.compute(subscription.getName(), (name, existing) -> {
+            if (null != existing) {
+                throw new IllegalStateException(
+                        String.format("Delivery of Subscription(%s) is already started.", name));
+            }
+            boolean retryEnabled = isRetryEnabled(subscription, topics);
+            RecoveryRouter recoveryRouter = getRecoveryRouter(subscription, topics, retryEnabled);
+            int parallelism = getParallelism(subscription);
+            boolean sharedSlot = retryEnabled && parallelism < 2;
+            int recoveryParallelism = retryEnabled ? getRecoveryParallelism(subscription, parallelism) : 0;
+            int mainParallelism = sharedSlot ? parallelism : Math.max(1, parallelism - recoveryParallelism);
+            int totalParallelism = sharedSlot ? parallelism : mainParallelism + recoveryParallelism;
+
+            Context mainContext = vertx.getOrCreateContext();
+            ConcurrencyController mainController = getConcurrencyController(subscription, mainParallelism);
+            DeliverySlots mainSlots = new DeliverySlots();
+            List<SubscriptionDelivery> lanes = new ArrayList<>();
+            lanes.add(new SubscriptionDelivery(name,
+                    consumerFactory.getConsumer(topics.main(), name, subscription.isGrouped()), endpoint,
+                    deliveryClient, recoveryRouter, mainContext, getScheduler(subscription, mainParallelism),
+                    mainController, mainSlots, deliveryOptions.getReceiveRetryDelayMs()
+            ));
+            if (retryEnabled) {
+                // order is not kept across retries, so the recovery lane is not grouped.
+                lanes.add(new SubscriptionDelivery(name,
+                        consumerFactory.getConsumer(topics.retry(), name, false), endpoint, deliveryClient,
+                        recoveryRouter, sharedSlot ? mainContext : vertx.getOrCreateContext(),
+                        new DeliveryScheduler(false, recoveryParallelism),
+                        sharedSlot ? mainController : getConcurrencyController(subscription, recoveryParallelism),
+                        sharedSlot ? mainSlots : new DeliverySlots(), deliveryOptions.getReceiveRetryDelayMs()
+                ));
+            }
+            deliveryClient.register(endpoint, totalParallelism);
+            lanes.forEach(SubscriptionDelivery::start);
+            return new ActiveDelivery(endpoint, totalParallelism, lanes);
+        });
+    }
+
+    /**
+     * @return future which completes once the in-flight deliveries of the subscription are done.
+     */
+    public CompletableFuture<Void> stopDelivery(String subscriptionName) {
+        ActiveDelivery delivery = deliveries.remove(subscriptionName);
+        if (null == delivery) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.allOf(delivery.lanes().stream().map(SubscriptionDelivery::stop)
+                        .toArray(CompletableFuture[]::new))
+                .whenComplete((r, t) -> deliveryClient.unregister(delivery.endpoint(), delivery.parallelism()));
+    }
+
+    public boolean isDelivering(String subscriptionName) {
+        return deliveries.containsKey(subscriptionName);
+    }
+
+    /**
+     * @return stats of the connection pools of the endpoint hosts.
+     */
+    public List<PoolStats> getPoolStats() {
+        return deliveryClient.getPoolStats();
+    }
+
+    public CompletableFuture<Void> close() {
+        List<CompletableFuture<Void>> stopped = new ArrayList<>();
+        deliveries.keySet().forEach(name -> stopped.add(stopDelivery(name)));
+        return CompletableFuture.allOf(stopped.toArray(new CompletableFuture[0]))
+                .whenComplete((r, t) -> deliveryClient.close());
+    }
+
+    private boolean isRetryEnabled(Subscription subscription, SubscriptionTopics topics) {
+        RetryPolicy retryPolicy = subscription.getRetryPolicy();
+        return null != topics.retry() && null != retryPolicy && retryPolicy.getRetryAttempts() > 0;
+    }
+
+    private RecoveryRouter getRecoveryRouter(
+            Subscription subscription, SubscriptionTopics topics, boolean retryEnabled
+    ) {
+        if (!retryEnabled && null == topics.deadLetter()) {
+            return null;
+        }
+        Producer retryProducer = retryEnabled ? producerFactory.getProducer(topics.retry()) : null;
+        Producer deadLetterProducer =
+                null == topics.deadLetter() ? null : producerFactory.getProducer(topics.deadLetter());
+        return new RecoveryRouter(subscription.getRetryPolicy(), retryProducer, deadLetterProducer);
+    }
+
+    private DeliveryScheduler getScheduler(Subscription subscription, int parallelism) {
+        // messages of a group wait for their turn, so grouped subscriptions look ahead for messages of other groups.
+        if (subscription.isGrouped()) {
+            return new DeliveryScheduler(true, Math.max(parallelism, deliveryOptions.getMaxGroupedBuffered()));
+        }
+        return new DeliveryScheduler(false, parallelism);
+    }
+
+    private ConcurrencyController getConcurrencyController(Subscription subscription, int parallelism) {
+        ConsumptionPolicy consumptionPolicy = subscription.getConsumptionPolicy();
+        if (null == consumptionPolicy) {
+            return new ConcurrencyController(parallelism, 0, null, deliveryOptions.getConcurrencyWindowMs());
+        }
+        return new ConcurrencyController(parallelism, consumptionPolicy.getMaxErrorThreshold(),
+                consumptionPolicy.getThrottleSpec(), deliveryOptions.getConcurrencyWindowMs()
+        );
+    }
+
+    private int getParallelism(Subscription subscription) {
+        ConsumptionPolicy consumptionPolicy = subscription.getConsumptionPolicy();
+        if (null == consumptionPolicy || consumptionPolicy.getMaxParallelism() <= 0) {
+            return deliveryOptions.getDefaultParallelism();
+        }
+        return consumptionPolicy.getMaxParallelism();
+    }
+
+    static int getRecoveryParallelism(Subscription subscription, int parallelism) {
+        ConsumptionPolicy consumptionPolicy = subscription.getConsumptionPolicy();
+        if (null == consumptionPolicy || consumptionPolicy.getMaxRecoveryAllocation() <= 0) {
+            return 1;
+        }
+        int recoveryParallelism = (int) Math.ceil(parallelism * consumptionPolicy.getMaxRecoveryAllocation());
+        // main lane keeps at least one slot.
+        return Math.max(1, Math.min(parallelism - 1, recoveryParallelism));
+    }
+
+    private record ActiveDelivery(Endpoint.HttpEndpoint endpoint, int parallelism, List<SubscriptionDelivery> lanes) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.flipkart.varadhi.consumer;
+
+import com.flipkart.varadhi.spi.services.PolledMessage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.flipkart.varadhi.entities.StandardHeaders.GROUP_ID;
+
+/**
+ * Orders the messages received for a subscription for delivery. Messages of a group (see StandardHeaders.GROUP_ID)
+ * are delivered one at a time in the order received, i.e. the next message of a group is ready only once the
+ * previous one is done. Messages of different groups, as well as the messages w/o a group, are ready right away and
+ * are handed out in the order they became ready, so that the groups get their turn at the delivery workers.
+ * <p>
+ * Only the groups with a held message (ready, in flight or waiting) are tracked, and the state of a group is dropped
+ * as soon as its last message is done. Held messages are bounded by maxBuffered, so is the group state, irrespective
+ * of the number of distinct groups. Not thread safe, expected to be confined to the delivery context.
+ */
+public class DeliveryScheduler {
+    private final boolean grouped;
+    private final int maxBuffered;
+    // Active groups, i.e. with a message ready or in flight, to their waiting messages. Waiting queue is created only
+    // when a group has more than one held message.
+    private final Map<String, ArrayDeque<PolledMessage>> activeGroups = new HashMap<>();
+    private final ArrayDeque<PolledMessage> ready = new ArrayDeque<>();
+    private int buffered;
+
+    public DeliveryScheduler(boolean grouped, int maxBuffered) {
+        if (maxBuffered <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("maxBuffered should be positive, given %d.", maxBuffered));
+        }
+        this.grouped = grouped;
+        this.maxBuffered = maxBuffered;
+    }
+
+    /**
+     * @return true if more messages can be held.
+     */
+    public boolean hasCapacity() {
+        return buffered < maxBuffered;
+    }
+
+    public int getBuffered() {
+        return buffered;
+    }
+
+    public int getActiveGroups() {
+        return activeGroups.size();
+    }
+
+    public void add(PolledMessage polled) {
+        buffered++;
+        String groupId = getGroupId(polled);
+        if (null == groupId) {
+            ready.add(polled);
+            return;
+        }
+        if (!activeGroups.containsKey(groupId)) {
+            activeGroups.put(groupId, null);
+            ready.add(polled);
+            return;
+        }
+        activeGroups.computeIfAbsent(groupId, k -> new ArrayDeque<>()).add(polled);
+    }
+
+    public boolean hasReady() {
+        return !ready.isEmpty();
+    }
+
+    /**
+     * @return next message to be delivered, null if none is ready. Message is in flight till marked done.
+     */
+    public PolledMessage nextReady() {
+        return ready.poll();
+    }
+
+    /**
+     * Marks the in flight message as done (delivered or given up), making the next message of its group ready.
+     */
+    public void done(PolledMessage polled) {
+        buffered--;
+        String groupId = getGroupId(polled);
+        if (null == groupId) {
+            return;
+        }
+        ArrayDeque<PolledMessage> waiting = activeGroups.get(groupId);
+        PolledMessage next = null == waiting ? null : waiting.poll();
+        if (null == next) {
+            activeGroups.remove(groupId);
+        } else {
+            ready.add(next);
+        }
+    }
+
+    /**
+     * Removes the held messages which are not in flight, e.g. to hand them back to the messaging stack on stop.
+     *
+     * @return removed messages.
+     */
+    public List<PolledMessage> drain() {
+        List<PolledMessage> drained = new ArrayList<>();
+        PolledMessage polled;
+        while (null != (polled = ready.poll())) {
+            drained.add(polled);
+            // group of a ready message has nothing in flight.
+            String groupId = getGroupId(polled);
+            if (null != groupId) {
+                ArrayDeque<PolledMessage> waiting = activeGroups.remove(groupId);
+                if (null != waiting) {
+                    drained.addAll(waiting);
+                }
+            }
+        }
+        activeGroups.replaceAll((groupId, waiting) -> {
+            if (null != waiting) {
+                drained.addAll(waiting);
+            }
+            return null;
+        });
+        buffered -= drained.size();
+        return drained;
+    }
+
+    private String getGroupId(PolledMessage polled) {
+        if (!grouped || !polled.message().hasHeader(GROUP_ID)) {
+            return null;
+        }
+        return polled.message().getHeader(GROUP_ID);
+    }
+}
@@ -0,0 +1,35 @@
+package com.flipkart.varadhi.consumer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deliveries in flight across the lanes which share the concurrency of a subscription, i.e. a ConcurrencyController.
+ * A lane has slots of its own, unless the parallelism of its subscription is too low to be split among the lanes.
+ * Lanes sharing the slots wake each other up as a slot is freed. Not thread safe, lanes sharing the slots are to be
+ * confined to the same context.
+ */
+class DeliverySlots {
+    private final List<Runnable> lanes = new ArrayList<>();
+    private int inFlight;
+
+    /**
+     * @param onReleased called when a delivery of any of the lanes is done, so that the lane can dispatch more.
+     */
+    void register(Runnable onReleased) {
+        lanes.add(onReleased);
+    }
+
+    int getInFlight() {
+        return inFlight;
+    }
+
+    void acquire() {
+        inFlight++;
+    }
+
+    void release() {
+        inFlight--;
+        lanes.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,94 @@
+package com.flipkart.varadhi.consumer;
+
+import com.flipkart.varadhi.entities.CodeRange;
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.Offset;
+import com.flipkart.varadhi.entities.RetryPolicy;
+import com.flipkart.varadhi.spi.services.Producer;
+import com.google.common.collect.ArrayListMultimap;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.flipkart.varadhi.entities.StandardHeaders.RETRY_ATTEMPT;
+
+/**
+ * Hands over the messages whose delivery failed, as per the RetryPolicy of the subscription. A message with retry
+ * attempts left, which failed w/o a response or with one of the retry codes, is produced to the retry topic to be
+ * delivered after the backoff of the attempt. Otherwise, it is produced to the dead letter topic. Retry attempt of
+ * the message is carried in the RETRY_ATTEMPT header.
+ * <p>
+ * Retries are not held in memory or delivered inline, so failures don't take up the delivery slots of fresh messages.
+ */
+public class RecoveryRouter {
+    private final RetryPolicy retryPolicy;
+    private final Producer retryProducer;
+    private final Producer deadLetterProducer;
+
+    /**
+     * @param retryProducer      producer for the retry topic, null if retries are not enabled.
+     * @param deadLetterProducer producer for the dead letter topic, null if not enabled.
+     */
+    public RecoveryRouter(RetryPolicy retryPolicy, Producer retryProducer, Producer deadLetterProducer) {
+        this.retryPolicy = retryPolicy;
+        this.retryProducer = retryProducer;
+        this.deadLetterProducer = deadLetterProducer;
+    }
+
+    /**
+     * @param status response code of the failed delivery, null if no response was received.
+     * @return future which completes once the message is handed over. It fails if the message has nowhere to go,
+     * i.e. no retry is due and dead letter topic is not enabled.
+     */
+    public CompletableFuture<Offset> route(Message message, Integer status) {
+        int attempt = getAttempt(message) + 1;
+        if (null != retryProducer && attempt <= retryPolicy.getRetryAttempts() && isRetryable(status)) {
+            return retryProducer.produceAsync(withAttempt(message, attempt), getBackoffMs(attempt));
+        }
+        if (null != deadLetterProducer) {
+            return deadLetterProducer.produceAsync(message);
+        }
+        return CompletableFuture.failedFuture(new IllegalStateException(
+                String.format("No retry due on status %s and dead letter topic is not enabled.", status)));
+    }
+
+    boolean isRetryable(Integer status) {
+        if (null == status) {
+            return true;
+        }
+        if (null == retryPolicy.getRetryCodes()) {
+            return false;
+        }
+        for (CodeRange codeRange : retryPolicy.getRetryCodes()) {
+            if (codeRange.inRange(status)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long getBackoffMs(int attempt) {
+        double backoffSeconds = RetryPolicy.BackoffType.EXPONENTIAL == retryPolicy.getBackoffType() ?
+                retryPolicy.getMinBackoff() * Math.pow(retryPolicy.getMultiplier(), attempt - 1) :
+                retryPolicy.getMinBackoff() + (double) retryPolicy.getMultiplier() * (attempt - 1);
+        return TimeUnit.SECONDS.toMillis((long) Math.min(retryPolicy.getMaxBackoff(), backoffSeconds));
+    }
+
+    static int getAttempt(Message message) {
+        if (!message.hasHeader(RETRY_ATTEMPT)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(message.getHeader(RETRY_ATTEMPT));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Message withAttempt(Message message, int attempt) {
+        ArrayListMultimap<String, String> headers = ArrayListMultimap.create(message.getRequestHeaders());
+        headers.replaceValues(RETRY_ATTEMPT, List.of(String.valueOf(attempt)));
+        return new Message(message.getPayloadBuffer(), headers);
+    }
+}
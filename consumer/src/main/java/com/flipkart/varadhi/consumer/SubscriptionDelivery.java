@@ -0,0 +1,234 @@
+package com.flipkart.varadhi.consumer;
+
+import com.flipkart.varadhi.consumer.http.HttpDeliveryClient;
+import com.flipkart.varadhi.entities.Endpoint;
+import com.flipkart.varadhi.spi.services.Consumer;
+import com.flipkart.varadhi.spi.services.PolledMessage;
+import io.vertx.core.Context;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pushes messages of a subscription to its http endpoint. Received messages are held in the DeliveryScheduler, which
+ * decides the order of delivery, and as many of them as the ConcurrencyController allows are delivered concurrently.
+ * A delivered message is acked on success (2xx). A failed message is handed to the RecoveryRouter (when given) and
+ * acked once handed over, otherwise it is nacked for redelivery. Receive is paused while the scheduler is full, so
+ * held messages are bounded. Note that a failed message of a group is retried out of band, and may reach the
+ * endpoint after the later messages of its group.
+ * <p>
+ * All the state is confined to the given Vert.x context, completions of the consumer and the delivery client are
+ * hopped back on to the context before being acted upon. Lanes of a subscription may share their slots (see
+ * DeliverySlots), such lanes share the context as well.
+ */
+@Slf4j
+public class SubscriptionDelivery {
+    private final String subscriptionName;
+    private final Consumer consumer;
+    private final Endpoint.HttpEndpoint endpoint;
+    private final HttpDeliveryClient deliveryClient;
+    private final RecoveryRouter recoveryRouter;
+    private final Context context;
+    private final DeliveryScheduler scheduler;
+    private final ConcurrencyController concurrencyController;
+    private final DeliverySlots slots;
+    private final long receiveRetryDelayMs;
+
+    private final CompletableFuture<Void> stopFuture = new CompletableFuture<>();
+    private CompletableFuture<PolledMessage> pendingReceive;
+    private boolean receiveRetryScheduled;
+    private boolean probeScheduled;
+    private int inFlight;
+    private boolean stopped;
+    private boolean closed;
+
+    /**
+     * @param recoveryRouter router for the failed messages, null if failed messages are to be nacked.
+     */
+    public SubscriptionDelivery(
+            String subscriptionName, Consumer consumer, Endpoint.HttpEndpoint endpoint,
+            HttpDeliveryClient deliveryClient, RecoveryRouter recoveryRouter, Context context,
+            DeliveryScheduler scheduler, ConcurrencyController concurrencyController, long receiveRetryDelayMs
+    ) {
+        this(subscriptionName, consumer, endpoint, deliveryClient, recoveryRouter, context, scheduler,
+                concurrencyController, new DeliverySlots(), receiveRetryDelayMs
+        );
+    }
+
+    /**
+     * @param slots slots shared with the other lanes of the subscription, along with the concurrencyController.
+     */
+    SubscriptionDelivery(
+            String subscriptionName, Consumer consumer, Endpoint.HttpEndpoint endpoint,
+            HttpDeliveryClient deliveryClient, RecoveryRouter recoveryRouter, Context context,
+            DeliveryScheduler scheduler, ConcurrencyController concurrencyController, DeliverySlots slots,
+            long receiveRetryDelayMs
+    ) {
+        this.subscriptionName = subscriptionName;
+        this.consumer = consumer;
+        this.endpoint = endpoint;
+        this.deliveryClient = deliveryClient;
+        this.recoveryRouter = recoveryRouter;
+        this.context = context;
+        this.scheduler = scheduler;
+        this.concurrencyController = concurrencyController;
+        this.slots = slots;
+        this.receiveRetryDelayMs = receiveRetryDelayMs;
+        slots.register(this::onSlotReleased);
+    }
+
+    public void start() {
+        context.runOnContext(v -> {
+            receiveMore();
+            log.info("Started delivery of Subscription({}) with concurrency {}.", subscriptionName,
+                    concurrencyController.getLimit()
+            );
+        });
+    }
+
+    /**
+     * Stops receiving new messages, held messages not yet in flight are nacked. Returned future completes once the
+     * in-flight deliveries are done and the consumer is closed.
+     */
+    public CompletableFuture<Void> stop() {
+        context.runOnContext(v -> {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            if (null != pendingReceive) {
+                // receive waiting on new messages is abandoned, close proceeds on its completion.
+                pendingReceive.cancel(false);
+            }
+            scheduler.drain().forEach(polled -> consumer.nack(polled.offset()));
+            closeIfDone();
+        });
+        return stopFuture;
+    }
+
+    private void receiveMore() {
+        if (stopped || null != pendingReceive || receiveRetryScheduled || !scheduler.hasCapacity()) {
+            return;
+        }
+        CompletableFuture<PolledMessage> receive = consumer.receiveAsync();
+        pendingReceive = receive;
+        receive.whenComplete((polled, t) -> context.runOnContext(v -> onReceived(polled, t)));
+    }
+
+    private void onReceived(PolledMessage polled, Throwable t) {
+        pendingReceive = null;
+        if (stopped) {
+            if (null == t) {
+                // received while stopping, it is left for redelivery.
+                consumer.nack(polled.offset());
+            }
+            closeIfDone();
+            return;
+        }
+        if (null != t) {
+            log.error(String.format("Failed to receive message for Subscription(%s).", subscriptionName), t);
+            receiveRetryScheduled = true;
+            context.owner().setTimer(receiveRetryDelayMs, id -> {
+                receiveRetryScheduled = false;
+                receiveMore();
+            });
+            return;
+        }
+        scheduler.add(polled);
+        dispatch();
+        receiveMore();
+    }
+
+    private void dispatch() {
+        while (scheduler.hasReady() && concurrencyController.tryAcquire(slots.getInFlight())) {
+            PolledMessage polled = scheduler.nextReady();
+            inFlight++;
+            slots.acquire();
+            deliveryClient.deliver(endpoint, polled.message())
+                    .whenComplete((status, t) -> context.runOnContext(v -> onDelivered(polled, status, t)));
+        }
+        if (concurrencyController.isPaused() && 0 == slots.getInFlight() && scheduler.hasReady()
+                && !probeScheduled) {
+            // endpoint is being probed, next probe is dispatched once due.
+            probeScheduled = true;
+            context.owner().setTimer(Math.max(1, concurrencyController.getProbeDelayMs()), id -> {
+                probeScheduled = false;
+                if (!stopped) {
+                    dispatch();
+                }
+            });
+        }
+    }
+
+    private void onDelivered(PolledMessage polled, Integer status, Throwable t) {
+        concurrencyController.onResult(null != t || status >= 500 || 429 == status);
+        if (null == t && status >= 200 && status < 300) {
+            ack(polled);
+            onDone(polled);
+            return;
+        }
+        log.debug("Delivery of message at {} for Subscription({}) failed, status {}, error {}.", polled.offset(),
+                subscriptionName, status, null == t ? null : t.getMessage()
+        );
+        if (null == recoveryRouter) {
+            consumer.nack(polled.offset());
+            onDone(polled);
+            return;
+        }
+        // slot is held till the message is handed over, so that the hand-off is bounded as well.
+        recoveryRouter.route(polled.message(), null == t ? status : null)
+                .whenComplete((offset, rt) -> context.runOnContext(v -> {
+                    if (null == rt) {
+                        ack(polled);
+                    } else {
+                        log.error(String.format("Failed to route message at %s for Subscription(%s).",
+                                polled.offset(), subscriptionName
+                        ), rt);
+                        consumer.nack(polled.offset());
+                    }
+                    onDone(polled);
+                }));
+    }
+
+    private void ack(PolledMessage polled) {
+        consumer.ackAsync(polled.offset()).whenComplete((r, at) -> {
+            if (null != at) {
+                log.error(String.format("Failed to ack message at %s for Subscription(%s).", polled.offset(),
+                        subscriptionName
+                ), at);
+            }
+        });
+    }
+
+    private void onDone(PolledMessage polled) {
+        inFlight--;
+        scheduler.done(polled);
+        // dispatches on the lanes sharing the slot, this one included.
+        slots.release();
+        if (stopped) {
+            closeIfDone();
+            return;
+        }
+        receiveMore();
+    }
+
+    private void onSlotReleased() {
+        if (!stopped) {
+            dispatch();
+        }
+    }
+
+    private void closeIfDone() {
+        if (closed || inFlight > 0 || null != pendingReceive) {
+            return;
+        }
+        closed = true;
+        consumer.closeAsync().whenComplete((r, t) -> {
+            if (null != t) {
+                log.error(String.format("Failed to close consumer of Subscription(%s).", subscriptionName), t);
+            }
+            log.info("Stopped delivery of Subscription({}).", subscriptionName);
+            stopFuture.complete(null);
+        });
+    }
+}
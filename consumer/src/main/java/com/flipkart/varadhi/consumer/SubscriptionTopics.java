@@ -0,0 +1,16 @@
+package com.flipkart.varadhi.consumer;
+
+import com.flipkart.varadhi.entities.StorageTopic;
+
+/**
+ * Storage topics backing the delivery of a subscription.
+ *
+ * @param main       topic the subscription is on.
+ * @param retry      topic holding the failed messages till their retry is due, null if retries are not enabled.
+ * @param deadLetter topic receiving the messages which failed for good, null if not enabled.
+ */
+public record SubscriptionTopics(StorageTopic main, StorageTopic retry, StorageTopic deadLetter) {
+    public static SubscriptionTopics of(StorageTopic main) {
+        return new SubscriptionTopics(main, null, null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.flipkart.varadhi.consumer.config;
+
+import lombok.Data;
+
+@Data
+public class DeliveryOptions {
+    // Time allowed for the endpoint to respond to a delivery, after which the delivery is failed.
+    private int deliveryTimeoutMs = 5000;
+    private int connectTimeoutMs = 1000;
+    private int idleTimeoutSeconds = 60;
+    // Max connections per endpoint host, pool of a host is sized as per the parallelism of its subscriptions.
+    private int maxPoolSize = 100;
+    // Concurrent requests (streams) per HTTP/2 connection, for the endpoints supporting HTTP/2.
+    private int http2MultiplexingLimit = 100;
+    // Concurrent deliveries of a subscription which doesn't specify its ConsumptionPolicy.
+    private int defaultParallelism = 1;
+    // Messages of a grouped subscription held for ordered delivery, this bounds the state kept for the groups as well.
+    private int maxGroupedBuffered = 1000;
+    // Window over which the error rate of an endpoint is evaluated, for adapting the concurrency of delivery.
+    private int concurrencyWindowMs = 1000;
+    // Backoff before receiving again, when receive from the messaging stack fails.
+    private int receiveRetryDelayMs = 1000;
+}
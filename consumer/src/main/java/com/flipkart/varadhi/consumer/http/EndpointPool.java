@@ -0,0 +1,172 @@
+package com.flipkart.varadhi.consumer.http;
+
+import com.flipkart.varadhi.consumer.config.DeliveryOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Connection pool of an endpoint host. HTTP/2 pools multiplex the requests over a few connections, negotiated via
+ * ALPN for https and h2c upgrade for http, and fall back to HTTP/1.1 when the host doesn't support HTTP/2. HTTP/1.1
+ * pools keep the connections alive, one request at a time per connection.
+ * <p>
+ * Pool is sized for the demand on it, i.e. parallelism of the subscriptions delivering to the host. Connections are
+ * created lazily, so the size only caps them. When the demand outgrows the pool, a bigger pool takes over and the
+ * older one is closed once the requests in flight on it are done. Likewise, a smaller pool takes over once the demand
+ * has shrunk to half the pool or less, so that the pool doesn't flap on small changes in the demand.
+ */
+@Slf4j
+class EndpointPool {
+    // pool is downsized once it is this many times the size needed, or more.
+    private static final int SHRINK_FACTOR = 2;
+    private final Vertx vertx;
+    private final PoolKey key;
+    private final DeliveryOptions deliveryOptions;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // updated under the lock of the pool manager for the key.
+    private int demand;
+    private volatile PooledClient current;
+
+    EndpointPool(Vertx vertx, PoolKey key, DeliveryOptions deliveryOptions) {
+        this.vertx = vertx;
+        this.key = key;
+        this.deliveryOptions = deliveryOptions;
+    }
+
+    /**
+     * Adds to (or removes from, when negative) the demand on the pool, resizing the pool if needed.
+     *
+     * @return demand on the pool.
+     */
+    int addDemand(int delta) {
+        demand += delta;
+        int size = getPoolSize(demand);
+        if (demand > 0 && (null == current || size > current.size || size * SHRINK_FACTOR <= current.size)) {
+            PooledClient previous = current;
+            current = new PooledClient(createClient(size), size);
+            if (null != previous) {
+                log.info("Resized pool {} from {} to {} connections.", key, previous.size, size);
+                previous.retire();
+            }
+        }
+        return demand;
+    }
+
+    <T> Future<HttpResponse<T>> send(Function<WebClient, Future<HttpResponse<T>>> request) {
+        PooledClient client = acquire();
+        requests.increment();
+        inFlight.incrementAndGet();
+        return request.apply(client.webClient).onComplete(ar -> {
+            if (ar.failed()) {
+                failures.increment();
+            }
+            inFlight.decrementAndGet();
+            client.release();
+        });
+    }
+
+    void close() {
+        PooledClient client = current;
+        current = null;
+        if (null != client) {
+            client.retire();
+        }
+    }
+
+    PoolStats getStats() {
+        PooledClient client = current;
+        return new PoolStats(key.toString(), null == client ? 0 : client.size, demand, inFlight.get(),
+                requests.sum(), failures.sum()
+        );
+    }
+
+    int getPoolSize(int demand) {
+        // HTTP/2 connection carries up to multiplexing limit number of concurrent requests.
+        int multiplexingLimit = deliveryOptions.getHttp2MultiplexingLimit();
+        int size = key.http2() ? (demand + multiplexingLimit - 1) / multiplexingLimit : demand;
+        return Math.max(1, Math.min(deliveryOptions.getMaxPoolSize(), size));
+    }
+
+    private PooledClient acquire() {
+        while (true) {
+            PooledClient client = current;
+            if (null == client) {
+                throw new IllegalStateException(String.format("Pool %s is closed.", key));
+            }
+            if (client.tryAcquire()) {
+                return client;
+            }
+        }
+    }
+
+    private WebClient createClient(int size) {
+        WebClientOptions clientOptions = new WebClientOptions();
+        clientOptions.setKeepAlive(true);
+        clientOptions.setConnectTimeout(deliveryOptions.getConnectTimeoutMs());
+        clientOptions.setIdleTimeout(deliveryOptions.getIdleTimeoutSeconds());
+        clientOptions.setFollowRedirects(false);
+        clientOptions.setMaxPoolSize(key.http2() ? deliveryOptions.getMaxPoolSize() : size);
+        if (key.http2()) {
+            // HTTP/1.1 fallback, in case the host doesn't negotiate HTTP/2, uses the HTTP/1.1 pool size.
+            clientOptions.setProtocolVersion(HttpVersion.HTTP_2);
+            clientOptions.setUseAlpn(key.isSsl());
+            clientOptions.setHttp2MaxPoolSize(size);
+            clientOptions.setHttp2MultiplexingLimit(deliveryOptions.getHttp2MultiplexingLimit());
+        }
+        return WebClient.create(vertx, clientOptions);
+    }
+
+    /**
+     * WebClient along with the count of requests using it, so that a retired client is closed only once unused.
+     */
+    private static final class PooledClient {
+        private static final int CLOSED = -1;
+        private final WebClient webClient;
+        private final int size;
+        private final AtomicInteger users = new AtomicInteger();
+        private volatile boolean retired;
+
+        PooledClient(WebClient webClient, int size) {
+            this.webClient = webClient;
+            this.size = size;
+        }
+
+        boolean tryAcquire() {
+            int count;
+            do {
+                count = users.get();
+                if (CLOSED == count) {
+                    return false;
+                }
+            } while (!users.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        void release() {
+            if (0 == users.decrementAndGet() && retired) {
+                closeIfUnused();
+            }
+        }
+
+        void retire() {
+            retired = true;
+            closeIfUnused();
+        }
+
+        private void closeIfUnused() {
+            if (users.compareAndSet(0, CLOSED)) {
+                webClient.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.flipkart.varadhi.consumer.http;
+
+import com.flipkart.varadhi.consumer.config.DeliveryOptions;
+import com.flipkart.varadhi.entities.Endpoint;
+import com.flipkart.varadhi.entities.Message;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.client.HttpRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers messages to the http endpoints of the subscriptions, via a connection pool per endpoint host (see
+ * EndpointPool). Subscriptions register their endpoint along with their parallelism before delivering, and the pool
+ * of a host is sized for the parallelism of all the subscriptions delivering to it.
+ */
+public class HttpDeliveryClient {
+    private final Vertx vertx;
+    private final DeliveryOptions deliveryOptions;
+    private final Map<PoolKey, EndpointPool> pools = new ConcurrentHashMap<>();
+
+    public HttpDeliveryClient(Vertx vertx, DeliveryOptions deliveryOptions) {
+        this.vertx = vertx;
+        this.deliveryOptions = deliveryOptions;
+    }
+
+    public void register(Endpoint.HttpEndpoint endpoint, int parallelism) {
+        pools.compute(PoolKey.of(endpoint), (key, pool) -> {
+            EndpointPool endpointPool = null == pool ? new EndpointPool(vertx, key, deliveryOptions) : pool;
+            endpointPool.addDemand(parallelism);
+            return endpointPool;
+        });
+    }
+
+    /**
+     * Removes the demand added on register, pool of the host is closed once there is no demand on it.
+     */
+    public void unregister(Endpoint.HttpEndpoint endpoint, int parallelism) {
+        pools.computeIfPresent(PoolKey.of(endpoint), (key, pool) -> {
+            if (pool.addDemand(-parallelism) > 0) {
+                return pool;
+            }
+            pool.close();
+            return null;
+        });
+    }
+
+    /**
+     * @return status code of the endpoint response. Future fails when no response is received, e.g. on connect
+     * failure or timeout.
+     */
+    public CompletableFuture<Integer> deliver(Endpoint.HttpEndpoint endpoint, Message message) {
+        EndpointPool pool = pools.get(PoolKey.of(endpoint));
+        if (null == pool) {
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    String.format("Endpoint %s is not registered for delivery.", endpoint.getUrl())));
+        }
+        HttpMethod method = null == endpoint.getMethod() ? HttpMethod.POST :
+                HttpMethod.valueOf(endpoint.getMethod().value());
+        try {
+            return pool.send(webClient -> {
+                HttpRequest<Buffer> request = webClient.requestAbs(method, endpoint.getUrl().toString())
+                        .timeout(deliveryOptions.getDeliveryTimeoutMs());
+                message.getRequestHeaders().forEach((key, value) -> request.headers().add(key, value));
+                if (null != endpoint.getContentType()) {
+                    request.putHeader(HttpHeaders.CONTENT_TYPE.toString(), endpoint.getContentType());
+                }
+                return request.sendBuffer(Buffer.buffer(message.getPayload()));
+            }).map(response -> response.statusCode()).toCompletionStage().toCompletableFuture();
+        } catch (IllegalStateException e) {
+            // pool closed concurrently, i.e. endpoint is no longer registered.
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public List<PoolStats> getPoolStats() {
+        List<PoolStats> stats = new ArrayList<>();
+        pools.values().forEach(pool -> stats.add(pool.getStats()));
+        return stats;
+    }
+
+    public void close() {
+        pools.values().forEach(EndpointPool::close);
+        pools.clear();
+    }
+}
@@ -0,0 +1,25 @@
+package com.flipkart.varadhi.consumer.http;
+
+import com.flipkart.varadhi.entities.Endpoint;
+
+import java.net.URL;
+
+/**
+ * Identifies the connection pool of an endpoint, i.e. endpoints on the same host, port and protocol share a pool.
+ */
+record PoolKey(String scheme, String host, int port, boolean http2) {
+    static PoolKey of(Endpoint.HttpEndpoint endpoint) {
+        URL url = endpoint.getUrl();
+        int port = -1 == url.getPort() ? url.getDefaultPort() : url.getPort();
+        return new PoolKey(url.getProtocol(), url.getHost(), port, endpoint.isHttp2Supported());
+    }
+
+    boolean isSsl() {
+        return "https".equalsIgnoreCase(scheme);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s://%s:%d (%s)", scheme, host, port, http2 ? "HTTP/2" : "HTTP/1.1");
+    }
+}
@@ -0,0 +1,14 @@
+package com.flipkart.varadhi.consumer.http;
+
+/**
+ * Point in time stats of the connection pool of an endpoint host.
+ *
+ * @param pool        host, port and protocol of the pool.
+ * @param maxSize     max connections of the pool.
+ * @param demand      parallelism of the subscriptions delivering via the pool.
+ * @param inFlight    requests in flight.
+ * @param requests    requests sent since the pool was created.
+ * @param failures    requests which didn't get a response, e.g. on connect failure or timeout.
+ */
+public record PoolStats(String pool, int maxSize, int demand, int inFlight, long requests, long failures) {
+}
@@ -0,0 +1,97 @@
+package com.flipkart.varadhi.consumer;
+
+import com.flipkart.varadhi.entities.ThrottleSpec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ConcurrencyControllerTest {
+    AtomicLong clock = new AtomicLong(0);
+    ThrottleSpec throttleSpec = new ThrottleSpec(0.5, 2, 5, 3);
+
+    @Test
+    public void testLimitIsCutOnErrorsAndGrowsBack() {
+        ConcurrencyController controller = new ConcurrencyController(8, 0.1, throttleSpec, 1000, clock::get);
+        Assertions.assertTrue(controller.tryAcquire(7));
+        Assertions.assertFalse(controller.tryAcquire(8));
+
+        runWindow(controller, 10, 5);
+        Assertions.assertEquals(4, controller.getLimit());
+        Assertions.assertFalse(controller.tryAcquire(4));
+
+        // no growth till waitSeconds since the cut.
+        runWindow(controller, 10, 0);
+        Assertions.assertEquals(4, controller.getLimit());
+        runWindow(controller, 10, 0);
+        Assertions.assertEquals(5, controller.getLimit());
+        for (int i = 0; i < 10; i++) {
+            runWindow(controller, 10, 0);
+        }
+        Assertions.assertEquals(8, controller.getLimit());
+    }
+
+    @Test
+    public void testErrorsWithinThresholdKeepLimit() {
+        ConcurrencyController controller = new ConcurrencyController(8, 0.1, throttleSpec, 1000, clock::get);
+        runWindow(controller, 10, 1);
+        Assertions.assertEquals(8, controller.getLimit());
+    }
+
+    @Test
+    public void testPausedAfterStopAfterAndResumedOnProbe() {
+        ConcurrencyController controller = new ConcurrencyController(8, 0.1, throttleSpec, 1000, clock::get);
+        // unhealthy since 0s, paused at the end of the window at 3s.
+        for (int i = 0; i < 3; i++) {
+            runWindow(controller, 10, 10);
+        }
+        Assertions.assertTrue(controller.isPaused());
+        Assertions.assertEquals(0, controller.getLimit());
+        Assertions.assertFalse(controller.tryAcquire(0));
+        Assertions.assertEquals(5000, controller.getProbeDelayMs());
+
+        // late result of a delivery in flight at pause is ignored.
+        controller.onResult(false);
+        Assertions.assertTrue(controller.isPaused());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        Assertions.assertFalse(controller.tryAcquire(1));
+        Assertions.assertTrue(controller.tryAcquire(0));
+        // single probe at a time.
+        Assertions.assertFalse(controller.tryAcquire(0));
+        controller.onResult(true);
+        Assertions.assertTrue(controller.isPaused());
+        Assertions.assertFalse(controller.tryAcquire(0));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        Assertions.assertTrue(controller.tryAcquire(0));
+        controller.onResult(false);
+        Assertions.assertFalse(controller.isPaused());
+        Assertions.assertEquals(1, controller.getLimit());
+    }
+
+    @Test
+    public void testFixedLimit() {
+        ConcurrencyController controller = new ConcurrencyController(4, 0.1, null, 1000, clock::get);
+        for (int i = 0; i < 10; i++) {
+            runWindow(controller, 10, 10);
+        }
+        Assertions.assertEquals(4, controller.getLimit());
+        Assertions.assertFalse(controller.isPaused());
+    }
+
+    @Test
+    public void testInvalidLimit() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ConcurrencyController(0, 0.1, throttleSpec, 1000));
+    }
+
+    private void runWindow(ConcurrencyController controller, int deliveries, int errors) {
+        for (int i = 0; i < deliveries - 1; i++) {
+            controller.onResult(i < errors);
+        }
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        controller.onResult(errors == deliveries);
+    }
+}
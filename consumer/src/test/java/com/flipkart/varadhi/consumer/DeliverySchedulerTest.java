@@ -0,0 +1,106 @@
+package com.flipkart.varadhi.consumer;
+
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.Offset;
+import com.flipkart.varadhi.spi.services.PolledMessage;
+import com.google.common.collect.ArrayListMultimap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.flipkart.varadhi.entities.StandardHeaders.GROUP_ID;
+import static org.mockito.Mockito.mock;
+
+public class DeliverySchedulerTest {
+
+    @Test
+    public void testOneInFlightPerGroup() {
+        DeliveryScheduler scheduler = new DeliveryScheduler(true, 10);
+        PolledMessage a1 = getPolledMessage("a");
+        PolledMessage a2 = getPolledMessage("a");
+        PolledMessage b1 = getPolledMessage("b");
+        PolledMessage n1 = getPolledMessage(null);
+        scheduler.add(a1);
+        scheduler.add(a2);
+        scheduler.add(b1);
+        scheduler.add(n1);
+
+        Assertions.assertSame(a1, scheduler.nextReady());
+        Assertions.assertSame(b1, scheduler.nextReady());
+        Assertions.assertSame(n1, scheduler.nextReady());
+        Assertions.assertNull(scheduler.nextReady());
+
+        scheduler.done(a1);
+        Assertions.assertSame(a2, scheduler.nextReady());
+        Assertions.assertEquals(2, scheduler.getActiveGroups());
+    }
+
+    @Test
+    public void testGroupStateIsDroppedWhenDone() {
+        DeliveryScheduler scheduler = new DeliveryScheduler(true, 2);
+        for (int i = 0; i < 1000; i++) {
+            PolledMessage polled = getPolledMessage("g" + i);
+            scheduler.add(polled);
+            Assertions.assertSame(polled, scheduler.nextReady());
+            scheduler.done(polled);
+        }
+        Assertions.assertEquals(0, scheduler.getActiveGroups());
+        Assertions.assertEquals(0, scheduler.getBuffered());
+    }
+
+    @Test
+    public void testCapacityIsBounded() {
+        DeliveryScheduler scheduler = new DeliveryScheduler(true, 2);
+        PolledMessage a1 = getPolledMessage("a");
+        scheduler.add(a1);
+        scheduler.add(getPolledMessage("a"));
+        Assertions.assertFalse(scheduler.hasCapacity());
+        scheduler.done(scheduler.nextReady());
+        Assertions.assertTrue(scheduler.hasCapacity());
+    }
+
+    @Test
+    public void testUngroupedIgnoresGroupId() {
+        DeliveryScheduler scheduler = new DeliveryScheduler(false, 10);
+        PolledMessage a1 = getPolledMessage("a");
+        PolledMessage a2 = getPolledMessage("a");
+        scheduler.add(a1);
+        scheduler.add(a2);
+        Assertions.assertSame(a1, scheduler.nextReady());
+        Assertions.assertSame(a2, scheduler.nextReady());
+        Assertions.assertEquals(0, scheduler.getActiveGroups());
+    }
+
+    @Test
+    public void testDrainLeavesInFlight() {
+        DeliveryScheduler scheduler = new DeliveryScheduler(true, 10);
+        PolledMessage a1 = getPolledMessage("a");
+        PolledMessage a2 = getPolledMessage("a");
+        PolledMessage b1 = getPolledMessage("b");
+        PolledMessage b2 = getPolledMessage("b");
+        scheduler.add(a1);
+        scheduler.add(a2);
+        scheduler.add(b1);
+        scheduler.add(b2);
+        Assertions.assertSame(a1, scheduler.nextReady());
+
+        List<PolledMessage> drained = scheduler.drain();
+        Assertions.assertEquals(3, drained.size());
+        Assertions.assertTrue(drained.containsAll(List.of(a2, b1, b2)));
+        Assertions.assertEquals(1, scheduler.getBuffered());
+
+        scheduler.done(a1);
+        Assertions.assertNull(scheduler.nextReady());
+        Assertions.assertEquals(0, scheduler.getActiveGroups());
+        Assertions.assertEquals(0, scheduler.getBuffered());
+    }
+
+    private PolledMessage getPolledMessage(String groupId) {
+        ArrayListMultimap<String, String> headers = ArrayListMultimap.create();
+        if (null != groupId) {
+            headers.put(GROUP_ID, groupId);
+        }
+        return new PolledMessage(new Message("payload".getBytes(), headers), mock(Offset.class));
+    }
+}
@@ -0,0 +1,93 @@
+package com.flipkart.varadhi.consumer;
+
+import com.flipkart.varadhi.entities.CodeRange;
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.Offset;
+import com.flipkart.varadhi.entities.RetryPolicy;
+import com.flipkart.varadhi.spi.services.Producer;
+import com.google.common.collect.ArrayListMultimap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static com.flipkart.varadhi.entities.StandardHeaders.RETRY_ATTEMPT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class RecoveryRouterTest {
+    Producer retryProducer;
+    Producer deadLetterProducer;
+    RetryPolicy retryPolicy = new RetryPolicy(
+            new CodeRange[]{new CodeRange(500, 599), new CodeRange(429, 429)}, RetryPolicy.BackoffType.EXPONENTIAL,
+            1, 10, 2, 3
+    );
+
+    @BeforeEach
+    public void preTest() {
+        retryProducer = mock(Producer.class);
+        deadLetterProducer = mock(Producer.class);
+        doReturn(CompletableFuture.completedFuture(mock(Offset.class))).when(retryProducer)
+                .produceAsync(any(), anyLong());
+        doReturn(CompletableFuture.completedFuture(mock(Offset.class))).when(deadLetterProducer).produceAsync(any());
+    }
+
+    @Test
+    public void testRetryableIsRetriedWithBackoff() {
+        RecoveryRouter router = new RecoveryRouter(retryPolicy, retryProducer, deadLetterProducer);
+        Message message = getMessage(null);
+        router.route(message, 503).join();
+        ArgumentCaptor<Message> retried = ArgumentCaptor.forClass(Message.class);
+        verify(retryProducer, times(1)).produceAsync(retried.capture(), eq(1000L));
+        Assertions.assertEquals("1", retried.getValue().getHeader(RETRY_ATTEMPT));
+        Assertions.assertArrayEquals(message.getPayload(), retried.getValue().getPayload());
+
+        router.route(getMessage("2"), null).join();
+        verify(retryProducer, times(1)).produceAsync(any(), eq(4000L));
+        verify(deadLetterProducer, never()).produceAsync(any());
+    }
+
+    @Test
+    public void testExhaustedOrNotRetryableIsDeadLettered() {
+        RecoveryRouter router = new RecoveryRouter(retryPolicy, retryProducer, deadLetterProducer);
+        router.route(getMessage("3"), 503).join();
+        router.route(getMessage(null), 400).join();
+        verify(deadLetterProducer, times(2)).produceAsync(any());
+        verify(retryProducer, never()).produceAsync(any(), anyLong());
+    }
+
+    @Test
+    public void testRouteFailsWithNowhereToGo() {
+        RecoveryRouter router = new RecoveryRouter(retryPolicy, retryProducer, null);
+        CompletableFuture<Offset> routed = router.route(getMessage(null), 400);
+        Assertions.assertThrows(ExecutionException.class, routed::get);
+    }
+
+    @Test
+    public void testBackoff() {
+        RecoveryRouter exponential = new RecoveryRouter(retryPolicy, retryProducer, deadLetterProducer);
+        Assertions.assertEquals(1000, exponential.getBackoffMs(1));
+        Assertions.assertEquals(8000, exponential.getBackoffMs(4));
+        Assertions.assertEquals(10000, exponential.getBackoffMs(5));
+
+        RetryPolicy linearPolicy = new RetryPolicy(null, RetryPolicy.BackoffType.LINEAR, 5, 12, 3, 5);
+        RecoveryRouter linear = new RecoveryRouter(linearPolicy, retryProducer, deadLetterProducer);
+        Assertions.assertEquals(5000, linear.getBackoffMs(1));
+        Assertions.assertEquals(11000, linear.getBackoffMs(3));
+        Assertions.assertEquals(12000, linear.getBackoffMs(4));
+        Assertions.assertFalse(linear.isRetryable(503));
+        Assertions.assertTrue(linear.isRetryable(null));
+    }
+
+    private Message getMessage(String attempt) {
+        ArrayListMultimap<String, String> headers = ArrayListMultimap.create();
+        if (null != attempt) {
+            headers.put(RETRY_ATTEMPT, attempt);
+        }
+        return new Message("payload".getBytes(), headers);
+    }
+}
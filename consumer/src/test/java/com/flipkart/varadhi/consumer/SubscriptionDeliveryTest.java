@@ -0,0 +1,225 @@
+package com.flipkart.varadhi.consumer;
+
+import com.flipkart.varadhi.consumer.http.HttpDeliveryClient;
+import com.flipkart.varadhi.entities.Endpoint;
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.Offset;
+import com.flipkart.varadhi.spi.services.Consumer;
+import com.flipkart.varadhi.spi.services.PolledMessage;
+import com.google.common.collect.ArrayListMultimap;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.flipkart.varadhi.entities.StandardHeaders.GROUP_ID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class SubscriptionDeliveryTest {
+    Vertx vertx;
+    Consumer consumer;
+    HttpDeliveryClient deliveryClient;
+    Endpoint.HttpEndpoint endpoint;
+
+    @BeforeEach
+    public void preTest() throws Exception {
+        vertx = Vertx.vertx();
+        consumer = mock(Consumer.class);
+        deliveryClient = mock(HttpDeliveryClient.class);
+        endpoint = new Endpoint.HttpEndpoint(new URL("http://localhost:8080/hook"), null, "application/json", false);
+        doReturn(CompletableFuture.completedFuture(null)).when(consumer).ackAsync(any());
+        doReturn(CompletableFuture.completedFuture(null)).when(consumer).closeAsync();
+    }
+
+    @AfterEach
+    public void postTest() {
+        vertx.close();
+    }
+
+    @Test
+    public void testDeliveredIsAckedAndFailedIsNacked() throws Exception {
+        PolledMessage delivered = getPolledMessage();
+        PolledMessage failed = getPolledMessage();
+        PolledMessage errored = getPolledMessage();
+        doReturn(CompletableFuture.completedFuture(delivered), CompletableFuture.completedFuture(failed),
+                CompletableFuture.completedFuture(errored), new CompletableFuture<>()
+        ).when(consumer).receiveAsync();
+        doReturn(CompletableFuture.completedFuture(204)).when(deliveryClient).deliver(endpoint, delivered.message());
+        doReturn(CompletableFuture.completedFuture(503)).when(deliveryClient).deliver(endpoint, failed.message());
+        doReturn(CompletableFuture.failedFuture(new RuntimeException("timeout"))).when(deliveryClient)
+                .deliver(endpoint, errored.message());
+
+        SubscriptionDelivery delivery = getDelivery(1);
+        delivery.start();
+        verify(consumer, timeout(5000).times(4)).receiveAsync();
+        verify(consumer, times(1)).ackAsync(delivered.offset());
+        verify(consumer, times(1)).nack(failed.offset());
+        verify(consumer, times(1)).nack(errored.offset());
+
+        // pending receive is abandoned on stop.
+        delivery.stop().get(5, TimeUnit.SECONDS);
+        verify(consumer, times(1)).closeAsync();
+    }
+
+    @Test
+    public void testInFlightIsBoundedByParallelism() throws Exception {
+        CompletableFuture<Integer> response = new CompletableFuture<>();
+        doAnswer(invocation -> CompletableFuture.completedFuture(getPolledMessage())).when(consumer).receiveAsync();
+        doReturn(response).when(deliveryClient).deliver(eq(endpoint), any());
+
+        SubscriptionDelivery delivery = getDelivery(3);
+        delivery.start();
+        verify(deliveryClient, timeout(5000).times(3)).deliver(eq(endpoint), any());
+        Thread.sleep(100);
+        verify(consumer, times(3)).receiveAsync();
+
+        CompletableFuture<Void> stopped = delivery.stop();
+        Thread.sleep(100);
+        Assertions.assertFalse(stopped.isDone());
+
+        // in-flight deliveries finish before the consumer is closed.
+        response.complete(200);
+        stopped.get(5, TimeUnit.SECONDS);
+        verify(consumer, times(3)).ackAsync(any());
+        verify(consumer, times(1)).closeAsync();
+    }
+
+    @Test
+    public void testReceiveIsRetriedOnFailure() throws Exception {
+        doReturn(CompletableFuture.failedFuture(new RuntimeException("disconnected")), new CompletableFuture<>())
+                .when(consumer).receiveAsync();
+
+        SubscriptionDelivery delivery = getDelivery(1);
+        delivery.start();
+        verify(consumer, timeout(5000).times(2)).receiveAsync();
+        verify(deliveryClient, never()).deliver(any(), any());
+        delivery.stop().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testGroupIsDeliveredInOrder() throws Exception {
+        PolledMessage a1 = getPolledMessage("a");
+        PolledMessage a2 = getPolledMessage("a");
+        PolledMessage b1 = getPolledMessage("b");
+        CompletableFuture<Integer> a1Response = new CompletableFuture<>();
+        doReturn(CompletableFuture.completedFuture(a1), CompletableFuture.completedFuture(a2),
+                CompletableFuture.completedFuture(b1), new CompletableFuture<>()
+        ).when(consumer).receiveAsync();
+        doReturn(a1Response).when(deliveryClient).deliver(endpoint, a1.message());
+        doReturn(CompletableFuture.completedFuture(200)).when(deliveryClient).deliver(endpoint, a2.message());
+        doReturn(CompletableFuture.completedFuture(200)).when(deliveryClient).deliver(endpoint, b1.message());
+
+        SubscriptionDelivery delivery =
+                new SubscriptionDelivery("sub1", consumer, endpoint, deliveryClient, null,
+                        vertx.getOrCreateContext(), new DeliveryScheduler(true, 10), getController(2), 10
+                );
+        delivery.start();
+        // other group is delivered while a2 waits for a1.
+        verify(consumer, timeout(5000).times(1)).ackAsync(b1.offset());
+        verify(deliveryClient, never()).deliver(endpoint, a2.message());
+
+        a1Response.complete(200);
+        verify(consumer, timeout(5000).times(1)).ackAsync(a2.offset());
+        verify(consumer, times(1)).ackAsync(a1.offset());
+        delivery.stop().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testFailedIsAckedOnceRouted() throws Exception {
+        PolledMessage routed = getPolledMessage();
+        PolledMessage notRouted = getPolledMessage();
+        RecoveryRouter recoveryRouter = mock(RecoveryRouter.class);
+        doReturn(CompletableFuture.completedFuture(routed), CompletableFuture.completedFuture(notRouted),
+                new CompletableFuture<>()
+        ).when(consumer).receiveAsync();
+        doReturn(CompletableFuture.completedFuture(500)).when(deliveryClient).deliver(eq(endpoint), any());
+        doReturn(CompletableFuture.completedFuture(mock(Offset.class))).when(recoveryRouter)
+                .route(routed.message(), 500);
+        doReturn(CompletableFuture.failedFuture(new RuntimeException("produce failed"))).when(recoveryRouter)
+                .route(notRouted.message(), 500);
+
+        SubscriptionDelivery delivery =
+                new SubscriptionDelivery("sub1", consumer, endpoint, deliveryClient, recoveryRouter,
+                        vertx.getOrCreateContext(), new DeliveryScheduler(false, 1), getController(1), 10
+                );
+        delivery.start();
+        verify(consumer, timeout(5000).times(3)).receiveAsync();
+        verify(consumer, times(1)).ackAsync(routed.offset());
+        verify(consumer, times(1)).nack(notRouted.offset());
+        delivery.stop().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testLanesSharingSlotDeliverOneAtATime() throws Exception {
+        Consumer retryConsumer = mock(Consumer.class);
+        doReturn(CompletableFuture.completedFuture(null)).when(retryConsumer).ackAsync(any());
+        doReturn(CompletableFuture.completedFuture(null)).when(retryConsumer).closeAsync();
+        PolledMessage fresh = getPolledMessage();
+        PolledMessage retried = getPolledMessage();
+        doReturn(CompletableFuture.completedFuture(fresh), new CompletableFuture<>()).when(consumer).receiveAsync();
+        doReturn(CompletableFuture.completedFuture(retried), new CompletableFuture<>()).when(retryConsumer)
+                .receiveAsync();
+        CompletableFuture<Integer> freshResponse = new CompletableFuture<>();
+        CompletableFuture<Integer> retriedResponse = new CompletableFuture<>();
+        doReturn(freshResponse).when(deliveryClient).deliver(endpoint, fresh.message());
+        doReturn(retriedResponse).when(deliveryClient).deliver(endpoint, retried.message());
+
+        Context context = vertx.getOrCreateContext();
+        ConcurrencyController controller = getController(1);
+        DeliverySlots slots = new DeliverySlots();
+        SubscriptionDelivery main = new SubscriptionDelivery("sub1", consumer, endpoint, deliveryClient, null,
+                context, new DeliveryScheduler(false, 1), controller, slots, 10
+        );
+        SubscriptionDelivery recovery = new SubscriptionDelivery("sub1", retryConsumer, endpoint, deliveryClient,
+                null, context, new DeliveryScheduler(false, 1), controller, slots, 10
+        );
+        main.start();
+        recovery.start();
+        verify(deliveryClient, timeout(5000).times(1)).deliver(eq(endpoint), any());
+        Thread.sleep(100);
+        verify(deliveryClient, times(1)).deliver(eq(endpoint), any());
+
+        // other lane takes the slot once it is freed.
+        freshResponse.complete(200);
+        retriedResponse.complete(200);
+        verify(deliveryClient, timeout(5000).times(2)).deliver(eq(endpoint), any());
+        verify(consumer, timeout(5000).times(1)).ackAsync(fresh.offset());
+        verify(retryConsumer, timeout(5000).times(1)).ackAsync(retried.offset());
+        main.stop().get(5, TimeUnit.SECONDS);
+        recovery.stop().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testInvalidParallelism() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> getDelivery(0));
+    }
+
+    private SubscriptionDelivery getDelivery(int parallelism) {
+        return new SubscriptionDelivery("sub1", consumer, endpoint, deliveryClient, null,
+                vertx.getOrCreateContext(), new DeliveryScheduler(false, Math.max(1, parallelism)),
+                getController(parallelism), 10
+        );
+    }
+
+    private ConcurrencyController getController(int parallelism) {
+        return new ConcurrencyController(parallelism, 0, null, 1000);
+    }
+
+    private PolledMessage getPolledMessage() {
+        return new PolledMessage(new Message("payload".getBytes(), ArrayListMultimap.create()), mock(Offset.class));
+    }
+
+    private PolledMessage getPolledMessage(String groupId) {
+        ArrayListMultimap<String, String> headers = ArrayListMultimap.create();
+        headers.put(GROUP_ID, groupId);
+        return new PolledMessage(new Message("payload".getBytes(), headers), mock(Offset.class));
+    }
+}
@@ -0,0 +1,155 @@
+package com.flipkart.varadhi.consumer.http;
+
+import com.flipkart.varadhi.consumer.config.DeliveryOptions;
+import com.flipkart.varadhi.entities.Endpoint;
+import com.flipkart.varadhi.entities.Message;
+import com.google.common.collect.ArrayListMultimap;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import jakarta.ws.rs.HttpMethod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class HttpDeliveryClientTest {
+    Vertx vertx;
+    HttpServer server;
+    HttpDeliveryClient deliveryClient;
+    DeliveryOptions deliveryOptions;
+    CompletableFuture<HttpServerRequest> received;
+
+    @BeforeEach
+    public void preTest() throws Exception {
+        vertx = Vertx.vertx();
+        received = new CompletableFuture<>();
+        server = vertx.createHttpServer().requestHandler(request -> request.body().onSuccess(body -> {
+            received.complete(request);
+            request.response().setStatusCode("hello".equals(body.toString()) ? 204 : 400).end();
+        })).listen(0).toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        deliveryOptions = new DeliveryOptions();
+        deliveryOptions.setHttp2MultiplexingLimit(10);
+        deliveryClient = new HttpDeliveryClient(vertx, deliveryOptions);
+    }
+
+    @AfterEach
+    public void postTest() {
+        deliveryClient.close();
+        vertx.close();
+    }
+
+    @Test
+    public void testDeliver() throws Exception {
+        Endpoint.HttpEndpoint endpoint = getEndpoint("/hook", false);
+        deliveryClient.register(endpoint, 4);
+        ArrayListMultimap<String, String> headers = ArrayListMultimap.create();
+        headers.put("x_header", "value1");
+        Message message = new Message("hello".getBytes(), headers);
+
+        Assertions.assertEquals(204, deliveryClient.deliver(endpoint, message).get(5, TimeUnit.SECONDS));
+        HttpServerRequest request = received.get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(io.vertx.core.http.HttpMethod.PUT, request.method());
+        Assertions.assertEquals("/hook", request.path());
+        Assertions.assertEquals("value1", request.getHeader("x_header"));
+        Assertions.assertEquals("text/plain", request.getHeader("Content-Type"));
+
+        List<PoolStats> stats = deliveryClient.getPoolStats();
+        Assertions.assertEquals(1, stats.size());
+        Assertions.assertEquals(4, stats.get(0).maxSize());
+        Assertions.assertEquals(4, stats.get(0).demand());
+        Assertions.assertEquals(1, stats.get(0).requests());
+        Assertions.assertEquals(0, stats.get(0).inFlight());
+    }
+
+    @Test
+    public void testPoolIsSharedBySameHost() throws Exception {
+        Endpoint.HttpEndpoint endpoint1 = getEndpoint("/hook1", false);
+        Endpoint.HttpEndpoint endpoint2 = getEndpoint("/hook2", false);
+        deliveryClient.register(endpoint1, 4);
+        deliveryClient.register(endpoint2, 6);
+        List<PoolStats> stats = deliveryClient.getPoolStats();
+        Assertions.assertEquals(1, stats.size());
+        Assertions.assertEquals(10, stats.get(0).maxSize());
+
+        // pool keeps serving after growing.
+        Message message = new Message("hello".getBytes(), ArrayListMultimap.create());
+        Assertions.assertEquals(204, deliveryClient.deliver(endpoint2, message).get(5, TimeUnit.SECONDS));
+
+        deliveryClient.unregister(endpoint1, 4);
+        Assertions.assertEquals(6, deliveryClient.getPoolStats().get(0).demand());
+        deliveryClient.unregister(endpoint2, 6);
+        Assertions.assertTrue(deliveryClient.getPoolStats().isEmpty());
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                () -> deliveryClient.deliver(endpoint2, message).get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    public void testPoolShrinksOnceDemandHalves() throws Exception {
+        Endpoint.HttpEndpoint endpoint1 = getEndpoint("/hook1", false);
+        Endpoint.HttpEndpoint endpoint2 = getEndpoint("/hook2", false);
+        deliveryClient.register(endpoint1, 4);
+        deliveryClient.register(endpoint2, 6);
+        Assertions.assertEquals(10, deliveryClient.getPoolStats().get(0).maxSize());
+
+        // not downsized for a small drop in the demand.
+        deliveryClient.unregister(endpoint1, 4);
+        Assertions.assertEquals(10, deliveryClient.getPoolStats().get(0).maxSize());
+        deliveryClient.register(endpoint1, 4);
+
+        deliveryClient.unregister(endpoint2, 6);
+        Assertions.assertEquals(4, deliveryClient.getPoolStats().get(0).maxSize());
+        Assertions.assertEquals(4, deliveryClient.getPoolStats().get(0).demand());
+
+        // pool keeps serving after shrinking.
+        Message message = new Message("hello".getBytes(), ArrayListMultimap.create());
+        Assertions.assertEquals(204, deliveryClient.deliver(endpoint1, message).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testHttp2PoolIsMultiplexed() throws Exception {
+        Endpoint.HttpEndpoint endpoint = getEndpoint("/hook", true);
+        deliveryClient.register(endpoint, 25);
+        Assertions.assertEquals(3, deliveryClient.getPoolStats().get(0).maxSize());
+
+        Message message = new Message("hello".getBytes(), ArrayListMultimap.create());
+        Assertions.assertEquals(204, deliveryClient.deliver(endpoint, message).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testPoolSizeIsCapped() {
+        deliveryOptions.setMaxPoolSize(8);
+        EndpointPool http1 = new EndpointPool(vertx, new PoolKey("http", "localhost", 80, false), deliveryOptions);
+        EndpointPool http2 = new EndpointPool(vertx, new PoolKey("http", "localhost", 80, true), deliveryOptions);
+        Assertions.assertEquals(1, http1.getPoolSize(0));
+        Assertions.assertEquals(8, http1.getPoolSize(20));
+        Assertions.assertEquals(1, http2.getPoolSize(10));
+        Assertions.assertEquals(2, http2.getPoolSize(11));
+        Assertions.assertEquals(8, http2.getPoolSize(1000));
+    }
+
+    private Endpoint.HttpEndpoint getEndpoint(String path, boolean http2) throws Exception {
+        URL url = new URL(String.format("http://localhost:%d%s", server.actualPort(), path));
+        return new Endpoint.HttpEndpoint(url, new Put(), "text/plain", http2);
+    }
+
+    private static class Put implements HttpMethod {
+        @Override
+        public String value() {
+            return HttpMethod.PUT;
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return HttpMethod.class;
+        }
+    }
+}
@@ -3,11 +3,14 @@ package com.flipkart.varadhi.core;
 import com.flipkart.varadhi.entities.Project;
 import com.flipkart.varadhi.entities.StorageTopic;
 import com.flipkart.varadhi.entities.VaradhiTopic;
+import com.flipkart.varadhi.spi.db.AsyncMetaStore;
 import com.flipkart.varadhi.spi.db.MetaStore;
 import com.flipkart.varadhi.spi.services.StorageTopicService;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 
 @Slf4j
@@ -15,13 +18,24 @@ public class VaradhiTopicService implements TopicService<VaradhiTopic> {
 
     private final StorageTopicService topicService;
     private final MetaStore metaStore;
+    private final AsyncMetaStore asyncMetaStore;
 
     public VaradhiTopicService(
             StorageTopicService serviceFactory,
             MetaStore metaStore
+    ) {
+        this(serviceFactory, metaStore, Runnable::run);
+    }
+
+    // blockingExecutor - runs the operations of a meta store w/o async support.
+    public VaradhiTopicService(
+            StorageTopicService serviceFactory,
+            MetaStore metaStore,
+            Executor blockingExecutor
     ) {
         this.topicService = serviceFactory;
         this.metaStore = metaStore;
+        this.asyncMetaStore = AsyncMetaStore.of(metaStore, blockingExecutor);
     }
 
     @Override
@@ -45,6 +59,10 @@ public class VaradhiTopicService implements TopicService<VaradhiTopic> {
         return metaStore.getVaradhiTopic(topicName);
     }
 
+    public CompletableFuture<VaradhiTopic> getAsync(String topicName) {
+        return asyncMetaStore.getVaradhiTopicAsync(topicName).toCompletableFuture();
+    }
+
     @Override
     public void delete(String varadhiTopicName) {
         log.info("Deleting Varadhi topic {}", varadhiTopicName);
@@ -73,4 +91,8 @@ public class VaradhiTopicService implements TopicService<VaradhiTopic> {
     public List<String> getVaradhiTopics(String projectName) {
         return metaStore.getVaradhiTopicNames(projectName);
     }
+
+    public CompletableFuture<List<String>> getVaradhiTopicsAsync(String projectName) {
+        return asyncMetaStore.getVaradhiTopicNamesAsync(projectName).toCompletableFuture();
+    }
 }
@@ -4,6 +4,9 @@ import lombok.Data;
 
 @Data
 public class CapacityPolicy {
+    // KB of maxThroughputKBps, in bytes.
+    public static final int BYTES_PER_KB = 1000;
+
     private int maxThroughputKBps;
     private int maxQPS;
 
@@ -2,23 +2,62 @@ package com.flipkart.varadhi.entities;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 @Getter
 public class Message {
-    private final byte[] payload;
+    /**
+     * Payload as a view over the caller supplied buffer (e.g. request body), no copy is made while building the
+     * message. Buffer is not expected to be mutated once message is built.
+     */
+    @Getter(AccessLevel.NONE)
+    private final ByteBuffer payload;
     private final ArrayListMultimap<String, String> requestHeaders;
 
     public Message(
             byte[] payload,
             Multimap<String, String> requestHeaders
     ) {
-        this.payload = payload;
+        this(ByteBuffer.wrap(payload), requestHeaders);
+    }
+
+    public Message(
+            ByteBuffer payload,
+            Multimap<String, String> requestHeaders
+    ) {
+        this.payload = payload.slice();
         this.requestHeaders = ArrayListMultimap.create(requestHeaders);
     }
 
+    /**
+     * @return view of the payload with its own position/limit. Contents are shared with the message, hence this is
+     * the preferred way for messaging stacks to read the payload.
+     */
+    public ByteBuffer getPayloadBuffer() {
+        return payload.duplicate();
+    }
+
+    public int getPayloadSize() {
+        return payload.remaining();
+    }
+
+    /**
+     * @return payload as byte array. Backing array is returned as is when it exactly spans the payload, otherwise
+     * payload is copied into a new array.
+     */
+    public byte[] getPayload() {
+        if (payload.hasArray() && payload.arrayOffset() == 0 && payload.array().length == payload.remaining()) {
+            return payload.array();
+        }
+        byte[] bytes = new byte[payload.remaining()];
+        payload.duplicate().get(bytes);
+        return bytes;
+    }
+
     // TODO:: This will affect json, verify it.
     public String getMessageId() {
         return getHeader(StandardHeaders.MESSAGE_ID);
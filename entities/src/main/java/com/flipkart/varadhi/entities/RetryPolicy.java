@@ -4,8 +4,16 @@ import lombok.Data;
 
 @Data
 public class RetryPolicy {
+    /**
+     * Response codes on which delivery is retried. Delivery w/o a response (e.g. timeout) is always retried.
+     */
     private final CodeRange[] retryCodes;
     private final BackoffType backoffType;
+
+    /**
+     * Backoff before the first retry, in seconds. LINEAR backoff grows by multiplier seconds per retry, EXPONENTIAL
+     * backoff grows multiplier times per retry, both capped at maxBackoff seconds.
+     */
     private final int minBackoff;
     private final int maxBackoff;
     private final int multiplier;
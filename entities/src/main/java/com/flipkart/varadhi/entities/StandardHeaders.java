@@ -8,4 +8,5 @@ public class StandardHeaders {
     public static String FORWARDED_FOR = "x-forwarded-for";
     public static String MESSAGE_ID = "x_restbus_message_id";
     public static String GROUP_ID = "x_restbus_group_id";
+    public static String RETRY_ATTEMPT = "x_restbus_retry_attempt";
 }
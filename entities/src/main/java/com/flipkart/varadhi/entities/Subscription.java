@@ -1,7 +1,9 @@
 package com.flipkart.varadhi.entities;
 
 import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
 
+@Getter
 public class Subscription extends MetaStoreEntity {
     @NotNull
     private String topic;
@@ -10,14 +12,24 @@ public class Subscription extends MetaStoreEntity {
     @NotNull
     private Endpoint endpoint;
 
-    // TODO: add other policies here
+    private ConsumptionPolicy consumptionPolicy;
+    private RetryPolicy retryPolicy;
 
     public Subscription(
             String name, int version, String topic, boolean grouped, Endpoint endpoint
+    ) {
+        this(name, version, topic, grouped, endpoint, null, null);
+    }
+
+    public Subscription(
+            String name, int version, String topic, boolean grouped, Endpoint endpoint,
+            ConsumptionPolicy consumptionPolicy, RetryPolicy retryPolicy
     ) {
         super(name, version);
         this.topic = topic;
         this.grouped = grouped;
         this.endpoint = endpoint;
+        this.consumptionPolicy = consumptionPolicy;
+        this.retryPolicy = retryPolicy;
     }
 }
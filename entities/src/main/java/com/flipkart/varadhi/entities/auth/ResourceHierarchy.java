@@ -0,0 +1,53 @@
+package com.flipkart.varadhi.entities.auth;
+
+import java.util.StringJoiner;
+
+/**
+ * Resource on which an action is authorized, as its levels in the resource hierarchy i.e. org, team, project and the
+ * leaf (topic, subscription) under the project. Levels below the resource are null, e.g. team of an org resource.
+ */
+public record ResourceHierarchy(String org, String team, String project, String leaf) {
+    public static final String PATH_SEPARATOR = "/";
+
+    /**
+     * @param path path of the resource as {org}/{team}/{project}/{leaf}, with the trailing levels optional. Any level
+     *             beyond the leaf is ignored.
+     */
+    public static ResourceHierarchy fromPath(String path) {
+        if (null == path || path.isBlank()) {
+            return new ResourceHierarchy(null, null, null, null);
+        }
+        return fromLevels(path.split(PATH_SEPARATOR));
+    }
+
+    public static ResourceHierarchy fromLevels(String[] levels) {
+        return new ResourceHierarchy(
+                levelAt(levels, 0),
+                levelAt(levels, 1),
+                levelAt(levels, 2),
+                levelAt(levels, 3)
+        );
+    }
+
+    private static String levelAt(String[] levels, int index) {
+        return index < levels.length ? levels[index] : null;
+    }
+
+    public boolean isEmpty() {
+        return null == org || org.isBlank();
+    }
+
+    /**
+     * @return path of the resource as {org}/{team}/{project}/{leaf}, up to the lowest level present.
+     */
+    public String toPath() {
+        StringJoiner path = new StringJoiner(PATH_SEPARATOR);
+        for (String level : new String[]{org, team, project, leaf}) {
+            if (null == level) {
+                break;
+            }
+            path.add(level);
+        }
+        return path.toString();
+    }
+}
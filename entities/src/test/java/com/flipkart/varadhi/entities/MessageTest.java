@@ -0,0 +1,33 @@
+package com.flipkart.varadhi.entities;
+
+import com.google.common.collect.ArrayListMultimap;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageTest {
+
+    @Test
+    void payloadFromArrayIsNotCopied() {
+        byte[] data = "somedata".getBytes();
+        Message message = new Message(data, ArrayListMultimap.create());
+        assertSame(data, message.getPayload());
+        assertEquals(data.length, message.getPayloadSize());
+    }
+
+    @Test
+    void payloadFromBufferSlice() {
+        byte[] data = "headersomedatatrailer".getBytes();
+        ByteBuffer body = ByteBuffer.wrap(data, 6, 8);
+        Message message = new Message(body, ArrayListMultimap.create());
+        assertEquals(8, message.getPayloadSize());
+        assertArrayEquals("somedata".getBytes(), message.getPayload());
+
+        ByteBuffer view = message.getPayloadBuffer();
+        assertSame(data, view.array());
+        view.position(view.limit());
+        assertEquals(8, message.getPayloadBuffer().remaining());
+    }
+}
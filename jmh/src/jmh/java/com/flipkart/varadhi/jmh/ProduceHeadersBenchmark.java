@@ -0,0 +1,83 @@
+package com.flipkart.varadhi.jmh;
+
+import com.flipkart.varadhi.config.RestOptions;
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.pulsar.util.PropertyHelper;
+import com.flipkart.varadhi.utils.HeaderUtils;
+import com.flipkart.varadhi.web.v1.produce.HeaderValidationHandler;
+import com.google.common.collect.Multimap;
+import io.vertx.core.MultiMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.flipkart.varadhi.entities.StandardHeaders.*;
+
+/**
+ * Per message header handling on produce path i.e. validation and copy of Varadhi headers from the request, copy of
+ * headers into the Message and encoding of header values as Pulsar message properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProduceHeadersBenchmark {
+
+    // Varadhi headers (including the standard ones) in the request, max allowed is 9 by default.
+    @Param({"4", "8"})
+    int varadhiHeaders;
+
+    MultiMap requestHeaders;
+    HeaderValidationHandler headerValidationHandler;
+    Multimap<String, String> messageHeaders;
+    Message message;
+    byte[] payload;
+
+    @Setup
+    public void setup() {
+        requestHeaders = MultiMap.caseInsensitiveMultiMap();
+        // usual http headers, which are not copied to the message.
+        requestHeaders.add("Host", "varadhi.example.com");
+        requestHeaders.add("User-Agent", "jmh-client/1.0");
+        requestHeaders.add("Accept", "application/json");
+        requestHeaders.add("Content-Type", "application/octet-stream");
+        requestHeaders.add("Content-Length", "1024");
+        requestHeaders.add("Connection", "keep-alive");
+        requestHeaders.add(MESSAGE_ID, "message-id-0123456789");
+        requestHeaders.add(GROUP_ID, "group-id-0123456789");
+        requestHeaders.add(PRODUCE_IDENTITY, "anonymous");
+        // 3 standard Varadhi headers above, rest are custom ones.
+        for (int i = 3; i < varadhiHeaders; i++) {
+            // multi value header.
+            requestHeaders.add("X_Custom_Header_" + i, "value-a-" + i);
+            requestHeaders.add("X_Custom_Header_" + i, "value-b-" + i);
+        }
+        RestOptions restOptions = new RestOptions();
+        headerValidationHandler = new HeaderValidationHandler(restOptions);
+        messageHeaders = HeaderUtils.copyVaradhiHeaders(requestHeaders);
+        payload = new byte[1024];
+        message = new Message(payload, messageHeaders);
+    }
+
+    @Benchmark
+    public void validateHeaders() {
+        headerValidationHandler.validateHeaders(requestHeaders.entries());
+    }
+
+    @Benchmark
+    public Multimap<String, String> copyVaradhiHeaders() {
+        return HeaderUtils.copyVaradhiHeaders(requestHeaders);
+    }
+
+    @Benchmark
+    public Message buildMessage() {
+        return new Message(payload, messageHeaders);
+    }
+
+    // As done by the Pulsar producer, for each header of the message.
+    @Benchmark
+    public void encodePropertyValues(Blackhole blackhole) {
+        message.getRequestHeaders().asMap()
+                .forEach((key, values) -> blackhole.consume(PropertyHelper.encodePropertyValues(values)));
+    }
+}
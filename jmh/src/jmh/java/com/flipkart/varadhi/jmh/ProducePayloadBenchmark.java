@@ -0,0 +1,67 @@
+package com.flipkart.varadhi.jmh;
+
+import com.flipkart.varadhi.entities.Message;
+import com.google.common.collect.ArrayListMultimap;
+import io.vertx.core.buffer.Buffer;
+import org.apache.pulsar.client.api.Schema;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payload handling on produce path, from request body (vertx Buffer) to the bytes handed over to Pulsar client.
+ * copyPayload is the earlier path (Buffer.getBytes() + BYTES schema), slicePayload is the current one (nio view of
+ * request buffer + BYTEBUFFER schema). Compare gc.alloc.rate.norm of the two for allocation per produce.
+ * <p>
+ * Body buffer is built the way BodyHandler builds it, i.e. allocated up front (as per content-length, capped at
+ * 64KB, when preallocated, 1KB otherwise) and grown by appending the received chunks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProducePayloadBenchmark {
+    // BodyHandler's initial buffer size w/o preallocation, and the cap on preallocation.
+    private static final int DEFAULT_INITIAL_BODY_BUFFER_SIZE = 1024;
+    private static final int MAX_PREALLOCATED_BODY_BUFFER_BYTES = 65535;
+    // Size of the chunks body is received in.
+    private static final int CHUNK_SIZE = 8192;
+
+    @Param({"1024", "65535", "1048576"})
+    int payloadSize;
+
+    @Param({"true", "false"})
+    boolean preallocateBodyBuffer;
+
+    Buffer body;
+    ArrayListMultimap<String, String> headers;
+
+    @Setup
+    public void setup() {
+        byte[] data = new byte[payloadSize];
+        new Random(0).nextBytes(data);
+        int initialSize = preallocateBodyBuffer
+                ? Math.min(payloadSize, MAX_PREALLOCATED_BODY_BUFFER_BYTES)
+                : DEFAULT_INITIAL_BODY_BUFFER_SIZE;
+        body = Buffer.buffer(initialSize);
+        for (int offset = 0; offset < payloadSize; offset += CHUNK_SIZE) {
+            body.appendBytes(data, offset, Math.min(CHUNK_SIZE, payloadSize - offset));
+        }
+        headers = ArrayListMultimap.create();
+        headers.put("x_restbus_message_id", "message1");
+    }
+
+    @Benchmark
+    public byte[] copyPayload() {
+        Message message = new Message(body.getBytes(), headers);
+        return Schema.BYTES.encode(message.getPayload());
+    }
+
+    @Benchmark
+    public byte[] slicePayload() {
+        Message message = new Message(body.getByteBuf().nioBuffer(), headers);
+        ByteBuffer payload = message.getPayloadBuffer();
+        return Schema.BYTEBUFFER.encode(payload);
+    }
+}
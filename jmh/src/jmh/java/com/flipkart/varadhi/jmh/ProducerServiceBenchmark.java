@@ -0,0 +1,109 @@
+package com.flipkart.varadhi.jmh;
+
+import com.flipkart.varadhi.core.VaradhiTopicService;
+import com.flipkart.varadhi.entities.*;
+import com.flipkart.varadhi.produce.ProduceResult;
+import com.flipkart.varadhi.produce.config.ProducerOptions;
+import com.flipkart.varadhi.produce.otel.ProducerMetricsImpl;
+import com.flipkart.varadhi.produce.services.ProducerService;
+import com.flipkart.varadhi.spi.services.Producer;
+import com.google.common.collect.ArrayListMultimap;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.flipkart.varadhi.entities.StandardHeaders.*;
+
+/**
+ * Produce path of ProducerService i.e. topic and producer lookup from the caches, produce to the storage producer and
+ * produce metrics, against an in-memory producer. Messaging stack cost is excluded, so this is the per message
+ * overhead of Varadhi itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProducerServiceBenchmark {
+    private static final String REGION = "region1";
+    private static final CompletableFuture<Offset> PRODUCED = CompletableFuture.completedFuture(new InMemoryOffset());
+
+    ProducerMetricsImpl producerMetrics;
+    ProducerService producerService;
+    ProduceContext produceContext;
+    String varadhiTopicName;
+    Message message;
+
+    @Setup
+    public void setup() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Project project = new Project("project1", 0, "", "team1", "org1");
+        VaradhiTopic varadhiTopic = VaradhiTopic.of(new TopicResource("topic1", 0, project.getName(), false, null));
+        varadhiTopic.addInternalTopic(new InternalTopic(
+                String.join(MetaStoreEntity.NAME_SEPARATOR, varadhiTopic.getName(), REGION), REGION,
+                TopicState.Producing, new InMemoryStorageTopic(varadhiTopic.getName())
+        ));
+        varadhiTopicName = varadhiTopic.getName();
+
+        producerMetrics = new ProducerMetricsImpl(meterRegistry);
+        VaradhiTopicService topicService = new VaradhiTopicService(null, null) {
+            @Override
+            public VaradhiTopic get(String topicName) {
+                return varadhiTopic;
+            }
+        };
+        Producer producer = new Producer() {
+            @Override
+            public CompletableFuture<Offset> produceAsync(Message message) {
+                return PRODUCED;
+            }
+
+            @Override
+            public CompletableFuture<Offset> produceAsync(Message message, long deliverAfterMs) {
+                return PRODUCED;
+            }
+        };
+        producerService = new ProducerService(
+                new ProducerOptions(), storageTopic -> producer, producerMetrics, topicService, meterRegistry);
+
+        ProduceContext.RequestContext requestContext = new ProduceContext.RequestContext();
+        requestContext.setProduceIdentity("anonymous");
+        requestContext.setRequestChannel("http");
+        requestContext.setServiceHost("localhost");
+        ProduceContext.TopicContext topicContext = new ProduceContext.TopicContext();
+        topicContext.setRegion(REGION);
+        topicContext.setTopic("topic1");
+        topicContext.setProjectAttributes(project);
+        produceContext = new ProduceContext(requestContext, topicContext);
+
+        ArrayListMultimap<String, String> headers = ArrayListMultimap.create();
+        headers.put(MESSAGE_ID, "message-id-0123456789");
+        headers.put(PRODUCE_IDENTITY, "anonymous");
+        headers.put(PRODUCE_REGION, REGION);
+        message = new Message(new byte[1024], headers);
+    }
+
+    @Benchmark
+    public void onMessageProduced() {
+        producerMetrics.onMessageProduced(true, 5, 1024, produceContext);
+    }
+
+    @Benchmark
+    public ProduceResult produceToTopic() {
+        return producerService.produceToTopic(message, varadhiTopicName, produceContext).join();
+    }
+
+    public static class InMemoryStorageTopic extends StorageTopic {
+        public InMemoryStorageTopic(String name) {
+            super(name, 0);
+        }
+    }
+
+    public static class InMemoryOffset implements Offset {
+        @Override
+        public int compareTo(Offset o) {
+            return 0;
+        }
+    }
+}
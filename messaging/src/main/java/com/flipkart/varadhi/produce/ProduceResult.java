@@ -5,28 +5,53 @@ import com.flipkart.varadhi.Result;
 import com.flipkart.varadhi.entities.Offset;
 import com.flipkart.varadhi.entities.ProduceStatus;
 import com.flipkart.varadhi.entities.TopicState;
+import com.flipkart.varadhi.spi.services.ProducerFullException;
 import lombok.Getter;
 
+import java.util.concurrent.CompletionException;
+
 @Getter
 public class ProduceResult {
+    // In-flight produce of a producer is bounded to about a second worth of capacity, so it drains in about as much.
+    static final long PRODUCER_FULL_RETRY_AFTER_MILLIS = 1000;
+
     private final String messageId;
     private final ProduceStatus produceStatus;
     private final Throwable throwable;
     private final Offset produceOffset;
+    // When Throttled, millis after which produce may be retried.
+    private final long retryAfterMillis;
 
     private ProduceResult(
             String messageId, ProduceStatus produceStatus, Offset produceOffset, Throwable throwable
+    ) {
+        this(messageId, produceStatus, produceOffset, throwable, 0);
+    }
+
+    private ProduceResult(
+            String messageId, ProduceStatus produceStatus, Offset produceOffset, Throwable throwable,
+            long retryAfterMillis
     ) {
         this.messageId = messageId;
         this.produceOffset = produceOffset;
         this.throwable = throwable;
         this.produceStatus = produceStatus;
+        this.retryAfterMillis = retryAfterMillis;
     }
 
     public static ProduceResult of(String messageId, Result<Offset> producerResult) {
-        return producerResult.hasResult() ?
-                new ProduceResult(messageId, ProduceStatus.Success, producerResult.result(), null) :
-                new ProduceResult(messageId, ProduceStatus.Failed, null, producerResult.cause());
+        if (producerResult.hasResult()) {
+            return new ProduceResult(messageId, ProduceStatus.Success, producerResult.result(), null);
+        }
+        Throwable cause = producerResult.cause();
+        if (cause instanceof CompletionException && null != cause.getCause()) {
+            cause = cause.getCause();
+        }
+        // Producer is backed up, it is rejected like an over capacity produce instead of a failure.
+        if (cause instanceof ProducerFullException) {
+            return ofThrottled(messageId, PRODUCER_FULL_RETRY_AFTER_MILLIS);
+        }
+        return new ProduceResult(messageId, ProduceStatus.Failed, null, producerResult.cause());
     }
 
     public static ProduceResult ofNonProducingTopic(String messageId, TopicState topicState) {
@@ -40,6 +65,10 @@ public class ProduceResult {
         return new ProduceResult(messageId, topicState.getProduceStatus(), null, null);
     }
 
+    public static ProduceResult ofThrottled(String messageId, long retryAfterMillis) {
+        return new ProduceResult(messageId, ProduceStatus.Throttled, null, null, retryAfterMillis);
+    }
+
     public boolean isSuccess() {
         return produceStatus == ProduceStatus.Success;
     }
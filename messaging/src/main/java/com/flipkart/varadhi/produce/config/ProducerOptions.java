@@ -1,6 +1,8 @@
 package com.flipkart.varadhi.produce.config;
 
 
+import com.flipkart.varadhi.produce.otel.ProducerMetricsImpl;
+import com.flipkart.varadhi.produce.services.ProducerPool;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
@@ -9,7 +11,27 @@ public class ProducerOptions {
     // Guava cache spec as defined at com.google.common.cache.CacheBuilderSpec.
     @NotNull
     String producerCacheBuilderSpec = "expireAfterAccess=3600s";
+    // Cached topics are updated on change in the meta store (when supported), so expiry is only for evicting
+    // unused topics.
     @NotNull
     String topicCacheBuilderSpec = "expireAfterAccess=3600s";
     boolean metricEnabled;
+    // Cache of produce meters, its size bounds the number of series (topic x identity) being reported.
+    @NotNull
+    String meterCacheBuilderSpec = ProducerMetricsImpl.DEFAULT_METER_CACHE_SPEC;
+    // Enforces CapacityPolicy of the topic on produce, over limit produce is rejected as Throttled.
+    boolean rateLimitEnabled = true;
+    // Number of server instances, capacity of a topic is shared equally among them to begin with.
+    int serverInstances = 1;
+    // Shares capacity of a topic among the server instances as per their demand, via leases in the meta store (when
+    // supported). Otherwise, each instance keeps its equal share.
+    boolean distributedQuotaEnabled = true;
+    long quotaLeaseRenewIntervalMs = 5000;
+    // Burst allowed over the topic capacity, in seconds worth of capacity.
+    double rateLimitBurstSeconds = 1;
+    @NotNull
+    String rateLimiterCacheBuilderSpec = "expireAfterAccess=3600s";
+    // How produce is spread over the producers of a topic, when the messaging stack pools them for the topic.
+    @NotNull
+    ProducerPool.Dispatch producerPoolDispatch = ProducerPool.Dispatch.LEAST_PENDING;
 }
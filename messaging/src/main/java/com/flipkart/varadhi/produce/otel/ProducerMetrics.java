@@ -3,5 +3,5 @@ package com.flipkart.varadhi.produce.otel;
 import com.flipkart.varadhi.entities.ProduceContext;
 
 public interface ProducerMetrics {
-    void onMessageProduced(boolean succeeded, long producerLatency, ProduceContext context);
+    void onMessageProduced(boolean succeeded, long producerLatency, long messageBytes, ProduceContext context);
 }
@@ -1,53 +1,220 @@
 package com.flipkart.varadhi.produce.otel;
 
 import com.flipkart.varadhi.entities.ProduceContext;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import static com.flipkart.varadhi.Constants.Meters.Produce.BYTES_METER;
 import static com.flipkart.varadhi.Constants.Meters.Produce.LATENCY_METER;
 import static com.flipkart.varadhi.Constants.Tags.*;
 
+/**
+ * Meters are registered once per series i.e. (region, project, topic, identity, host) and their handles are cached,
+ * so that a produce doesn't go through the meter registry lookup. Cached handles are indexed by project, topic and
+ * identity, so that a produce finds its meters w/o building a series key.
+ * <p>
+ * Handles are evicted as per the cache spec, which bounds the number of cached handles, and the meters of an evicted
+ * series are removed from the registry, which bounds the number of series. Produces served from the index don't count
+ * as a cache access, so an expired series which is still produced to is resolved again. A produce which sees a
+ * removed handle resolves the series again via the cache, i.e. registers its meters afresh.
+ */
 public class ProducerMetricsImpl implements ProducerMetrics {
+    public static final String DEFAULT_METER_CACHE_SPEC = "maximumSize=10000,expireAfterAccess=600s";
+
     private final MeterRegistry meterRegistry;
+    private final Cache<SeriesKey, ProducerMeters> meterCache;
+    // project -> topic -> identity -> meters, of the series in meterCache.
+    private final ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<String, ProducerMeters>>> meterIndex =
+            new ConcurrentHashMap<>();
+    // guards registration and removal of the meters, as handles of a series may briefly overlap across an eviction.
+    private final Object registrationLock = new Object();
+    // series -> handle owning its registered meters.
+    private final Map<SeriesKey, ProducerMeters> registeredMeters = new HashMap<>();
 
     public ProducerMetricsImpl(MeterRegistry meterRegistry) {
+        this(meterRegistry, DEFAULT_METER_CACHE_SPEC);
+    }
+
+    // meterCacheSpec - Guava cache spec as defined at com.google.common.cache.CacheBuilderSpec.
+    public ProducerMetricsImpl(MeterRegistry meterRegistry, String meterCacheSpec) {
         this.meterRegistry = meterRegistry;
+        this.meterCache = CacheBuilder.from(meterCacheSpec)
+                .removalListener((RemovalNotification<SeriesKey, ProducerMeters> notification) -> {
+                    unindex(notification.getValue());
+                    unregister(notification.getValue());
+                })
+                .build();
     }
 
     @Override
-    public void onMessageProduced(boolean succeeded, long producerLatency, ProduceContext context) {
-        List<Tag> tags = getTags(context);
-        getProducedBytesCounter(tags).increment(context.getRequestContext().getBytesReceived());
-        tags.add(Tag.of(TAG_NAME_PRODUCE_RESULT, succeeded ? TAG_VALUE_RESULT_SUCCESS : TAG_VALUE_RESULT_FAILED));
-        getLatencyTimer(tags).record(producerLatency, TimeUnit.MILLISECONDS);
+    public void onMessageProduced(boolean succeeded, long producerLatency, long messageBytes, ProduceContext context) {
+        ProducerMeters meters = getMeters(context);
+        Timer latencyTimer = meters.getLatencyTimer(succeeded);
+        while (null == latencyTimer) {
+            // meters removed in the meantime.
+            meters = getMeters(context);
+            latencyTimer = meters.getLatencyTimer(succeeded);
+        }
+        meters.producedBytes.increment(messageBytes);
+        latencyTimer.record(producerLatency, TimeUnit.MILLISECONDS);
     }
 
-    private List<Tag> getTags(ProduceContext context) {
-        List<Tag> tags = new ArrayList<>();
-        tags.add(Tag.of(TAG_NAME_REGION, context.getTopicContext().getRegion()));
-        tags.add(Tag.of(TAG_NAME_PROJECT, context.getTopicContext().getProject()));
-        tags.add(Tag.of(TAG_NAME_TOPIC, context.getTopicContext().getTopic()));
-        tags.add(Tag.of(TAG_NAME_IDENTITY, context.getRequestContext().getProduceIdentity()));
-        tags.add(Tag.of(TAG_NAME_HOST, context.getRequestContext().getServiceHost()));
-        return tags;
+    private ProducerMeters getMeters(ProduceContext context) {
+        ProduceContext.TopicContext topicContext = context.getTopicContext();
+        ProduceContext.RequestContext requestContext = context.getRequestContext();
+        ProducerMeters meters = findIndexed(
+                topicContext.getProject(), topicContext.getTopic(), requestContext.getProduceIdentity());
+        if (null != meters && !meters.removed
+                && meters.key.isOf(topicContext.getRegion(), requestContext.getServiceHost())) {
+            return meters;
+        }
+        SeriesKey key = new SeriesKey(
+                topicContext.getRegion(),
+                topicContext.getProject(),
+                topicContext.getTopic(),
+                requestContext.getProduceIdentity(),
+                requestContext.getServiceHost()
+        );
+        try {
+            do {
+                meters = meterCache.get(key, () -> register(key));
+            } while (meters.removed);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(String.format("Failed to register produce meters for %s.", key), e);
+        }
+        meterIndex.computeIfAbsent(key.project(), p -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key.topic(), t -> new ConcurrentHashMap<>())
+                .put(key.identity(), meters);
+        return meters;
     }
 
-    private Counter getProducedBytesCounter(List<Tag> tags) {
-        // meter name - "produce.bytes", tags- region, project, topic, host
-        return Counter.builder(BYTES_METER).tags(tags).register(meterRegistry);
+    private ProducerMeters findIndexed(String project, String topic, String identity) {
+        ConcurrentMap<String, ConcurrentMap<String, ProducerMeters>> topics = meterIndex.get(project);
+        if (null == topics) {
+            return null;
+        }
+        ConcurrentMap<String, ProducerMeters> identities = topics.get(topic);
+        return null == identities ? null : identities.get(identity);
     }
 
-    private Timer getLatencyTimer(List<Tag> tags) {
-        // meter name - "produce.latency", tags- region, project, topic, host, result
-        return Timer.builder(LATENCY_METER).tags(tags).publishPercentiles(0.5, 0.95, 0.99, 0.999)
-                .publishPercentileHistogram().register(meterRegistry);
+    private ProducerMeters register(SeriesKey key) {
+        synchronized (registrationLock) {
+            ProducerMeters meters = new ProducerMeters(key);
+            // meters of an evicted handle not yet unregistered are the same as the registered ones, they now belong
+            // to the new handle.
+            ProducerMeters previous = registeredMeters.put(key, meters);
+            if (null != previous) {
+                previous.removed = true;
+                meters.failedLatency = previous.failedLatency;
+            }
+            return meters;
+        }
+    }
+
+    private void unregister(ProducerMeters meters) {
+        synchronized (registrationLock) {
+            meters.removed = true;
+            if (!registeredMeters.remove(meters.key, meters)) {
+                return;
+            }
+            meterRegistry.remove(meters.producedBytes);
+            meterRegistry.remove(meters.succeededLatency);
+            if (null != meters.failedLatency) {
+                meterRegistry.remove(meters.failedLatency);
+            }
+        }
+    }
+
+    private void unindex(ProducerMeters meters) {
+        SeriesKey key = meters.key;
+        ConcurrentMap<String, ConcurrentMap<String, ProducerMeters>> topics = meterIndex.get(key.project());
+        if (null == topics) {
+            return;
+        }
+        // removed only if still mapped to the evicted meters, and not to the ones of a re-created series.
+        topics.computeIfPresent(key.topic(), (topic, identities) -> {
+            identities.remove(key.identity(), meters);
+            return identities.isEmpty() ? null : identities;
+        });
     }
-}
 
+    record SeriesKey(String region, String project, String topic, String identity, String host) {
+        boolean isOf(String region, String host) {
+            return Objects.equals(this.region, region) && Objects.equals(this.host, host);
+        }
+
+        List<Tag> getTags() {
+            List<Tag> tags = new ArrayList<>();
+            tags.add(Tag.of(TAG_NAME_REGION, region));
+            tags.add(Tag.of(TAG_NAME_PROJECT, project));
+            tags.add(Tag.of(TAG_NAME_TOPIC, topic));
+            tags.add(Tag.of(TAG_NAME_IDENTITY, identity));
+            tags.add(Tag.of(TAG_NAME_HOST, host));
+            return tags;
+        }
+    }
+
+    private class ProducerMeters {
+        private final SeriesKey key;
+        private final List<Tag> tags;
+        private final Counter producedBytes;
+        private final Timer succeededLatency;
+        // Registered on the first failure, as failures are not expected for most of the series.
+        private volatile Timer failedLatency;
+        // set once its meters are removed from the registry (or belong to a newer handle of the series).
+        private volatile boolean removed;
+
+        ProducerMeters(SeriesKey key) {
+            this.key = key;
+            this.tags = key.getTags();
+            // meter name - "produce.bytes", tags- region, project, topic, identity, host
+            this.producedBytes = Counter.builder(BYTES_METER).tags(tags).register(meterRegistry);
+            this.succeededLatency = registerLatencyTimer(TAG_VALUE_RESULT_SUCCESS);
+        }
+
+        /**
+         * @return null if the meters have been removed, in which case series is to be resolved again.
+         */
+        Timer getLatencyTimer(boolean succeeded) {
+            if (removed) {
+                return null;
+            }
+            if (succeeded) {
+                return succeededLatency;
+            }
+            if (null == failedLatency) {
+                synchronized (registrationLock) {
+                    if (removed) {
+                        return null;
+                    }
+                    if (null == failedLatency) {
+                        failedLatency = registerLatencyTimer(TAG_VALUE_RESULT_FAILED);
+                    }
+                }
+            }
+            return failedLatency;
+        }
+
+        private Timer registerLatencyTimer(String result) {
+            // meter name - "produce.latency", tags- region, project, topic, identity, host, result
+            return Timer.builder(LATENCY_METER).tags(tags).tag(TAG_NAME_PRODUCE_RESULT, result)
+                    .publishPercentiles(0.5, 0.95, 0.99, 0.999)
+                    .publishPercentileHistogram().register(meterRegistry);
+        }
+    }
+}
@@ -4,7 +4,7 @@ import com.flipkart.varadhi.entities.ProduceContext;
 
 public class ProducerMetricsNoOpImpl implements ProducerMetrics {
     @Override
-    public void onMessageProduced(boolean succeeded, long producerLatency, ProduceContext context) {
+    public void onMessageProduced(boolean succeeded, long producerLatency, long messageBytes, ProduceContext context) {
         // do nothing.
     }
 }
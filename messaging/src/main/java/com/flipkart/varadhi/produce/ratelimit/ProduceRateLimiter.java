@@ -0,0 +1,99 @@
+package com.flipkart.varadhi.produce.ratelimit;
+
+import com.flipkart.varadhi.entities.CapacityPolicy;
+import com.flipkart.varadhi.entities.VaradhiTopic;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.IntSupplier;
+
+/**
+ * Enforces CapacityPolicy of the topics on produce, i.e. maxQPS on messages and maxThroughputKBps on bytes, via a
+ * TopicQuota per topic. Each server instance enforces only its share of the topic capacity, locally w/o any
+ * coordination. Share starts as an equal split (capacity / instanceCount) and is adjusted as per the demand on the
+ * instances by the QuotaLeaseManager, when quota is distributed. QuotaLeaseManager also supplies the instanceCount
+ * then, as the number of instances it observes.
+ */
+public class ProduceRateLimiter {
+    private final double burstSeconds;
+    private volatile IntSupplier instanceCount;
+    private final Cache<String, TopicQuota> topicQuotas;
+
+    /**
+     * @param burstSeconds   burst allowed over the rate, in terms of seconds worth of capacity.
+     * @param instanceCount  number of server instances sharing the capacity of a topic.
+     * @param cacheSpec      Guava cache spec for the quotas of the topics.
+     */
+    public ProduceRateLimiter(double burstSeconds, IntSupplier instanceCount, String cacheSpec) {
+        this.burstSeconds = burstSeconds;
+        this.instanceCount = instanceCount;
+        this.topicQuotas = CacheBuilder.from(cacheSpec).build();
+    }
+
+    /**
+     * Rate limiter which doesn't limit.
+     */
+    public static ProduceRateLimiter unlimited() {
+        return new ProduceRateLimiter(1, () -> 1, "maximumSize=0") {
+            @Override
+            public long tryAcquire(VaradhiTopic varadhiTopic, int messages, long bytes) {
+                return 0;
+            }
+        };
+    }
+
+    /**
+     * @return 0 if the messages can be produced, otherwise nanos after which produce may succeed. Nothing is
+     * acquired in the latter case.
+     */
+    public long tryAcquire(VaradhiTopic varadhiTopic, int messages, long bytes) {
+        CapacityPolicy capacityPolicy = varadhiTopic.getCapacityPolicy();
+        if (null == capacityPolicy) {
+            return 0;
+        }
+        return getQuota(varadhiTopic.getName(), capacityPolicy).tryAcquire(messages, bytes);
+    }
+
+    /**
+     * Quotas of the topics being produced to, by varadhi topic name. Quota of a topic not produced to for a while is
+     * evicted as per the cache spec.
+     */
+    public Map<String, TopicQuota> getTopicQuotas() {
+        return Collections.unmodifiableMap(topicQuotas.asMap());
+    }
+
+    private TopicQuota getQuota(String varadhiTopicName, CapacityPolicy capacityPolicy) {
+        TopicQuota quota = topicQuotas.getIfPresent(varadhiTopicName);
+        if (null != quota && quota.isFor(capacityPolicy)) {
+            return quota;
+        }
+        // capacity has changed, quota is rebuilt with the current share.
+        double share = getInitialShare();
+        if (null != quota) {
+            share = quota.getShare();
+            topicQuotas.asMap().remove(varadhiTopicName, quota);
+        }
+        double initialShare = share;
+        try {
+            return topicQuotas.get(varadhiTopicName, () -> new TopicQuota(capacityPolicy, initialShare, burstSeconds));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(
+                    String.format("Failed to build rate limiter for Topic(%s).", varadhiTopicName), e);
+        }
+    }
+
+    int getInstanceCount() {
+        return Math.max(1, instanceCount.getAsInt());
+    }
+
+    void setInstanceCount(IntSupplier instanceCount) {
+        this.instanceCount = instanceCount;
+    }
+
+    private double getInitialShare() {
+        return 1.0 / getInstanceCount();
+    }
+}
@@ -0,0 +1,170 @@
+package com.flipkart.varadhi.produce.ratelimit;
+
+import com.flipkart.varadhi.spi.db.QuotaLeaseMetaStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Distributes capacity of the topics among the server instances as per their demand. Periodically, for each topic
+ * being produced to, it renews the lease of this instance with its recent demand, reads the leases of all the
+ * instances on the topic and resizes the local TopicQuota to the share of this instance. Produce only consults the
+ * local TopicQuota, so only the lease renewal touches the meta store. Leases of all the topics are renewed
+ * concurrently, so a round takes about a meta store round trip irrespective of the number of topics.
+ * <p>
+ * Share is allocated max-min fair. An instance gets its demand (with some headroom) as long as it is within the fair
+ * share, and the budget left unused by such instances is spread over all the instances. Every instance computes its
+ * share from the same leases, so shares add up to the topic capacity, apart from the skew of a renewal interval.
+ * <p>
+ * Instances also register as members, and quota of a topic not leased yet starts at 1 / members observed, instead of
+ * the configured instance count.
+ */
+@Slf4j
+public class QuotaLeaseManager {
+    // Headroom over the recent demand, so that an instance can ramp up till the next renewal.
+    static final double DEMAND_HEADROOM = 0.2;
+    // Smallest demand considered, so that every instance holding a lease keeps a non-zero share.
+    static final double MIN_DEMAND = 0.01;
+
+    private final ProduceRateLimiter rateLimiter;
+    private final QuotaLeaseMetaStore leaseStore;
+    private final String memberId;
+    private final LongSupplier nanoClock;
+    // Topics on which this instance holds a lease. Updated on completion of the renewals as well.
+    private final Set<String> leasedTopics = ConcurrentHashMap.newKeySet();
+    private long lastRenewedAt;
+    // configured instance count till the members are observed.
+    private volatile int memberCount;
+
+    public QuotaLeaseManager(ProduceRateLimiter rateLimiter, QuotaLeaseMetaStore leaseStore, String memberId) {
+        this(rateLimiter, leaseStore, memberId, System::nanoTime);
+    }
+
+    QuotaLeaseManager(
+            ProduceRateLimiter rateLimiter, QuotaLeaseMetaStore leaseStore, String memberId, LongSupplier nanoClock
+    ) {
+        this.rateLimiter = rateLimiter;
+        this.leaseStore = leaseStore;
+        this.memberId = memberId;
+        this.nanoClock = nanoClock;
+        this.lastRenewedAt = nanoClock.getAsLong();
+        this.memberCount = rateLimiter.getInstanceCount();
+        rateLimiter.setInstanceCount(() -> memberCount);
+    }
+
+    /**
+     * Schedules the renewal rounds, the first one right away so that the members are observed before produce starts.
+     * A round is waited on before the next one is scheduled, so the rounds don't overlap.
+     */
+    public void start(ScheduledExecutorService scheduler, long renewIntervalMs) {
+        scheduler.scheduleWithFixedDelay(() -> renewLeases().join(), 0, renewIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Renewing produce quota leases of member({}) every {}ms.", memberId, renewIntervalMs);
+    }
+
+    int getMemberCount() {
+        return memberCount;
+    }
+
+    /**
+     * Renews the leases of the topics produced to since the last renewal and updates their share. Leases of the
+     * topics not produced to are released, their quota keeps the last share should produce resume. Rounds must not
+     * overlap.
+     *
+     * @return future completed once all the renewals are done. Never fails, a failed renewal is retried in the next
+     * round.
+     */
+    public CompletableFuture<Void> renewLeases() {
+        long now = nanoClock.getAsLong();
+        long elapsedNanos = now - lastRenewedAt;
+        lastRenewedAt = now;
+        List<CompletableFuture<Void>> renewals = new ArrayList<>();
+        renewals.add(renewMembership());
+        Map<String, TopicQuota> topicQuotas = rateLimiter.getTopicQuotas();
+        for (Map.Entry<String, TopicQuota> entry : topicQuotas.entrySet()) {
+            String varadhiTopicName = entry.getKey();
+            double demand = entry.getValue().drainDemand(elapsedNanos);
+            if (demand > 0) {
+                renewals.add(renewLease(varadhiTopicName, entry.getValue(), demand));
+            } else if (leasedTopics.remove(varadhiTopicName)) {
+                renewals.add(releaseLease(varadhiTopicName));
+            }
+        }
+        // quota evicted, as the topic is not produced to for a while or is deleted.
+        Iterator<String> leased = leasedTopics.iterator();
+        while (leased.hasNext()) {
+            String varadhiTopicName = leased.next();
+            if (!topicQuotas.containsKey(varadhiTopicName)) {
+                leased.remove();
+                renewals.add(releaseLease(varadhiTopicName));
+            }
+        }
+        return CompletableFuture.allOf(renewals.toArray(new CompletableFuture[0]));
+    }
+
+    private CompletableFuture<Void> renewMembership() {
+        return leaseStore.renewQuotaMemberAsync(memberId)
+                .thenCompose(v -> leaseStore.getQuotaMemberCountAsync())
+                .thenAccept(count -> memberCount = Math.max(1, count))
+                .exceptionally(e -> {
+                    // last observed member count continues to be used.
+                    log.error(String.format("Failed to renew quota membership of member(%s).", memberId), e);
+                    return null;
+                });
+    }
+
+    private CompletableFuture<Void> renewLease(String varadhiTopicName, TopicQuota quota, double demand) {
+        leasedTopics.add(varadhiTopicName);
+        return leaseStore.renewQuotaLeaseAsync(varadhiTopicName, memberId, demand)
+                .thenCompose(v -> leaseStore.getQuotaLeasesAsync(varadhiTopicName))
+                .thenAccept(leases -> {
+                    Map<String, Double> demands = new HashMap<>(leases);
+                    // own lease is as renewed, irrespective of the read.
+                    demands.put(memberId, demand);
+                    quota.setShare(allocateShare(memberId, demands));
+                })
+                .exceptionally(e -> {
+                    // quota keeps its current share, renewal is retried in the next round.
+                    log.error(String.format("Failed to renew quota lease on Topic(%s).", varadhiTopicName), e);
+                    return null;
+                });
+    }
+
+    private CompletableFuture<Void> releaseLease(String varadhiTopicName) {
+        return leaseStore.releaseQuotaLeaseAsync(varadhiTopicName, memberId).exceptionally(e -> {
+            // lease goes away with the session anyway.
+            log.error(String.format("Failed to release quota lease on Topic(%s).", varadhiTopicName), e);
+            return null;
+        });
+    }
+
+    /**
+     * @param demands demand of the members by member id, as a fraction of the topic capacity.
+     * @return share of the member in the topic capacity, in (0, 1].
+     */
+    static double allocateShare(String memberId, Map<String, Double> demands) {
+        List<Map.Entry<String, Double>> members = new ArrayList<>(demands.entrySet());
+        members.sort(Map.Entry.comparingByValue());
+        int memberCount = members.size();
+        double remaining = 1.0;
+        double share = 0;
+        for (int i = 0; i < memberCount; i++) {
+            double wanted = Math.min(1.0, Math.max(MIN_DEMAND, members.get(i).getValue() * (1 + DEMAND_HEADROOM)));
+            double allocated = Math.min(wanted, remaining / (memberCount - i));
+            remaining -= allocated;
+            if (memberId.equals(members.get(i).getKey())) {
+                share = allocated;
+            }
+        }
+        return Math.min(1.0, share + remaining / memberCount);
+    }
+}
@@ -0,0 +1,79 @@
+package com.flipkart.varadhi.produce.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket, implemented as GCRA (generic cell rate algorithm). Instead of the token count, it tracks
+ * the time at which the bucket would be full again (theoretical arrival time) in a single atomic, so acquiring is a
+ * CAS w/o allocation and w/o a refill thread.
+ * <ul>
+ *     <li>Bucket refills at permitsPerSecond, and holds up to burstSeconds worth of permits.</li>
+ *     <li>Acquire of more permits than the bucket can hold succeeds when bucket is full, so that large messages
+ *     are not rejected forever. Following acquires wait for the bucket to catch up.</li>
+ * </ul>
+ */
+public class TokenBucket {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private volatile double nanosPerPermit;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(double permitsPerSecond, double burstSeconds) {
+        this(permitsPerSecond, burstSeconds, System::nanoTime);
+    }
+
+    public TokenBucket(double permitsPerSecond, double burstSeconds, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burstSeconds <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid rate(%f/s) or burst(%fs) for token bucket.", permitsPerSecond,
+                            burstSeconds
+                    ));
+        }
+        this.nanosPerPermit = NANOS_PER_SECOND / permitsPerSecond;
+        this.burstNanos = (long) (burstSeconds * NANOS_PER_SECOND);
+        this.nanoClock = nanoClock;
+        this.fullAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Changes the refill rate, burst remains burstSeconds worth of permits. Permits acquired so far are accounted
+     * at the rate they were acquired with.
+     */
+    public void setRate(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid rate(%f/s) for token bucket.", permitsPerSecond));
+        }
+        this.nanosPerPermit = NANOS_PER_SECOND / permitsPerSecond;
+    }
+
+    /**
+     * @return 0 if permits are acquired, otherwise nanos after which acquire of the permits may succeed.
+     */
+    public long tryAcquire(long permits) {
+        long cost = (long) (permits * nanosPerPermit);
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = fullAt.get();
+            long start = Math.max(current, now);
+            long next = start + cost;
+            // current <= now, bucket is full, in which case acquire is allowed irrespective of the cost.
+            if (current > now && next - now > burstNanos) {
+                return next - now - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the permits acquired earlier, e.g. when a later check for the same request fails.
+     */
+    public void release(long permits) {
+        fullAt.addAndGet(-(long) (permits * nanosPerPermit));
+    }
+}
@@ -0,0 +1,102 @@
+package com.flipkart.varadhi.produce.ratelimit;
+
+import com.flipkart.varadhi.entities.CapacityPolicy;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.flipkart.varadhi.entities.CapacityPolicy.BYTES_PER_KB;
+
+/**
+ * Share of this server instance in the capacity of a topic, enforced via token buckets on messages and bytes.
+ * Share (a fraction of the topic capacity) can be changed while produce is in progress, e.g. on lease renewal.
+ * Produce requested against the quota is tracked as demand, including the throttled requests.
+ */
+public class TopicQuota {
+    @Getter
+    private final CapacityPolicy capacityPolicy;
+    // null when not limited on the respective dimension.
+    private final TokenBucket messageBucket;
+    private final TokenBucket byteBucket;
+    private final LongAdder requestedMessages = new LongAdder();
+    private final LongAdder requestedBytes = new LongAdder();
+    @Getter
+    private volatile double share;
+
+    TopicQuota(CapacityPolicy capacityPolicy, double share, double burstSeconds) {
+        this.capacityPolicy = new CapacityPolicy(capacityPolicy.getMaxQPS(), capacityPolicy.getMaxThroughputKBps());
+        this.share = share;
+        this.messageBucket = capacityPolicy.getMaxQPS() > 0 ?
+                new TokenBucket(getMessageRate(share), burstSeconds) : null;
+        this.byteBucket = capacityPolicy.getMaxThroughputKBps() > 0 ?
+                new TokenBucket(getByteRate(share), burstSeconds) : null;
+    }
+
+    /**
+     * @param share fraction of the topic capacity, in (0, 1].
+     */
+    public void setShare(double share) {
+        if (share <= 0 || share > 1) {
+            throw new IllegalArgumentException(String.format("Invalid quota share(%f).", share));
+        }
+        this.share = share;
+        if (null != messageBucket) {
+            messageBucket.setRate(getMessageRate(share));
+        }
+        if (null != byteBucket) {
+            byteBucket.setRate(getByteRate(share));
+        }
+    }
+
+    /**
+     * Demand since the last call, as a fraction of the topic capacity i.e. the larger of requested messages and
+     * bytes rates relative to their respective limits.
+     */
+    public double drainDemand(long elapsedNanos) {
+        double elapsedSeconds = Math.max(elapsedNanos, 1) / (double) TimeUnit.SECONDS.toNanos(1);
+        double messageRate = requestedMessages.sumThenReset() / elapsedSeconds;
+        double byteRate = requestedBytes.sumThenReset() / elapsedSeconds;
+        double demand = 0;
+        if (null != messageBucket) {
+            demand = Math.max(demand, messageRate / capacityPolicy.getMaxQPS());
+        }
+        if (null != byteBucket) {
+            demand = Math.max(demand, byteRate / ((double) capacityPolicy.getMaxThroughputKBps() * BYTES_PER_KB));
+        }
+        return demand;
+    }
+
+    boolean isFor(CapacityPolicy capacityPolicy) {
+        return this.capacityPolicy.equals(capacityPolicy);
+    }
+
+    long tryAcquire(int messages, long bytes) {
+        requestedMessages.add(messages);
+        requestedBytes.add(bytes);
+        if (null != messageBucket) {
+            long waitNanos = messageBucket.tryAcquire(messages);
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+        }
+        if (null != byteBucket) {
+            long waitNanos = byteBucket.tryAcquire(bytes);
+            if (waitNanos > 0) {
+                if (null != messageBucket) {
+                    messageBucket.release(messages);
+                }
+                return waitNanos;
+            }
+        }
+        return 0;
+    }
+
+    private double getMessageRate(double share) {
+        return capacityPolicy.getMaxQPS() * share;
+    }
+
+    private double getByteRate(double share) {
+        return (double) capacityPolicy.getMaxThroughputKBps() * BYTES_PER_KB * share;
+    }
+}
@@ -0,0 +1,150 @@
+package com.flipkart.varadhi.produce.services;
+
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.Offset;
+import com.flipkart.varadhi.spi.services.Producer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.flipkart.varadhi.Constants.Meters.Produce.POOL_FAILURES_METER;
+import static com.flipkart.varadhi.Constants.Meters.Produce.POOL_PENDING_METER;
+import static com.flipkart.varadhi.Constants.Tags.TAG_NAME_PRODUCER;
+import static com.flipkart.varadhi.Constants.Tags.TAG_NAME_TOPIC;
+
+/**
+ * Pool of producers of a storage topic, produce is spread over them. Producer for a send is picked on the calling
+ * (event loop) thread w/o any locking, as per the Dispatch -
+ * <ul>
+ *     <li>ROUND_ROBIN - producers in turn.</li>
+ *     <li>LEAST_PENDING - producer with the least sends pending, so that a backed up producer (e.g. on a slow
+ *     connection) gets less of the produce. Ties are broken in turn.</li>
+ * </ul>
+ * Pending sends and failed sends of each producer are reported, tagged with the topic and the producer index.
+ * Pending sends are counted in PendingSends shared by the pools, so that a pool re-created for a topic (e.g. after its
+ * eviction) counts in the same gauges.
+ */
+public class ProducerPool implements Producer {
+    public enum Dispatch {
+        ROUND_ROBIN, LEAST_PENDING
+    }
+
+    private final Producer[] producers;
+    private final AtomicInteger[] pendingSends;
+    private final Counter[] failedSends;
+    private final Dispatch dispatch;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    // For a pool which isn't re-created for the topic.
+    public ProducerPool(String topicName, List<Producer> producers, Dispatch dispatch, MeterRegistry meterRegistry) {
+        this(topicName, producers, dispatch, new PendingSends(meterRegistry), meterRegistry);
+    }
+
+    public ProducerPool(
+            String topicName,
+            List<Producer> producers,
+            Dispatch dispatch,
+            PendingSends poolPendingSends,
+            MeterRegistry meterRegistry
+    ) {
+        if (producers.isEmpty()) {
+            throw new IllegalArgumentException(String.format("No producers to pool for Topic(%s).", topicName));
+        }
+        this.producers = producers.toArray(new Producer[0]);
+        this.pendingSends = new AtomicInteger[producers.size()];
+        this.failedSends = new Counter[producers.size()];
+        this.dispatch = dispatch;
+        for (int i = 0; i < this.producers.length; i++) {
+            List<Tag> tags = List.of(Tag.of(TAG_NAME_TOPIC, topicName), Tag.of(TAG_NAME_PRODUCER, String.valueOf(i)));
+            pendingSends[i] = poolPendingSends.get(tags);
+            failedSends[i] = Counter.builder(POOL_FAILURES_METER).tags(tags).register(meterRegistry);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Offset> produceAsync(Message message) {
+        return send(producer -> producer.produceAsync(message));
+    }
+
+    @Override
+    public CompletableFuture<Offset> produceAsync(Message message, long deliverAfterMs) {
+        return send(producer -> producer.produceAsync(message, deliverAfterMs));
+    }
+
+    public int getSize() {
+        return producers.length;
+    }
+
+    public int getPendingSends(int index) {
+        return pendingSends[index].get();
+    }
+
+    private CompletableFuture<Offset> send(Function<Producer, CompletableFuture<Offset>> sender) {
+        int index = pickProducer();
+        pendingSends[index].incrementAndGet();
+        CompletableFuture<Offset> sendFuture;
+        try {
+            sendFuture = sender.apply(producers[index]);
+        } catch (RuntimeException e) {
+            onSendCompleted(index, e);
+            throw e;
+        }
+        return sendFuture.whenComplete((offset, failure) -> onSendCompleted(index, failure));
+    }
+
+    private void onSendCompleted(int index, Throwable failure) {
+        pendingSends[index].decrementAndGet();
+        if (null != failure) {
+            failedSends[index].increment();
+        }
+    }
+
+    private int pickProducer() {
+        int start = Math.floorMod(nextIndex.getAndIncrement(), producers.length);
+        if (dispatch == Dispatch.ROUND_ROBIN) {
+            return start;
+        }
+        int picked = start;
+        int leastPending = pendingSends[start].get();
+        for (int i = 1; i < producers.length && leastPending > 0; i++) {
+            int index = (start + i) % producers.length;
+            int pending = pendingSends[index].get();
+            if (pending < leastPending) {
+                picked = index;
+                leastPending = pending;
+            }
+        }
+        return picked;
+    }
+
+    /**
+     * Pending send counts of pooled producers, by topic and producer index, each reported by a gauge. Counts (and
+     * their gauges) are not removed with a pool, a re-created pool for the topic counts in them. Sends of the old pool
+     * which complete after that are counted out of the same count, so the gauge stays the total pending.
+     */
+    public static class PendingSends {
+        private final ConcurrentMap<List<Tag>, AtomicInteger> counts = new ConcurrentHashMap<>();
+        private final MeterRegistry meterRegistry;
+
+        public PendingSends(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        AtomicInteger get(List<Tag> tags) {
+            return counts.computeIfAbsent(tags, t -> {
+                AtomicInteger count = new AtomicInteger();
+                Gauge.builder(POOL_PENDING_METER, count, AtomicInteger::get).tags(t).strongReference(true)
+                        .register(meterRegistry);
+                return count;
+            });
+        }
+    }
+}
@@ -10,12 +10,20 @@ import com.flipkart.varadhi.exceptions.VaradhiException;
 import com.flipkart.varadhi.produce.ProduceResult;
 import com.flipkart.varadhi.produce.config.ProducerOptions;
 import com.flipkart.varadhi.produce.otel.ProducerMetrics;
+import com.flipkart.varadhi.produce.ratelimit.ProduceRateLimiter;
 import com.flipkart.varadhi.spi.services.Producer;
 import com.flipkart.varadhi.spi.services.ProducerFactory;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 
@@ -24,6 +32,7 @@ public class ProducerService {
     private final VaradhiCache<StorageTopic, Producer> producerCache;
     private final VaradhiCache<String, VaradhiTopic> internalTopicCache;
     private final ProducerMetrics producerMetrics;
+    private final ProduceRateLimiter rateLimiter;
 
     public ProducerService(
             ProducerOptions producerOptions,
@@ -31,24 +40,59 @@ public class ProducerService {
             ProducerMetrics producerMetrics,
             VaradhiTopicService varadhiTopicService,
             MeterRegistry meterRegistry
+    ) {
+        this(producerOptions, producerFactory, producerMetrics, varadhiTopicService, MoreExecutors.directExecutor(),
+                meterRegistry
+        );
+    }
+
+    public ProducerService(
+            ProducerOptions producerOptions,
+            ProducerFactory<StorageTopic> producerFactory,
+            ProducerMetrics producerMetrics,
+            VaradhiTopicService varadhiTopicService,
+            Executor cacheLoaderExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this(producerOptions, producerFactory, producerMetrics, varadhiTopicService, cacheLoaderExecutor,
+                meterRegistry, ProduceRateLimiter.unlimited()
+        );
+    }
+
+    public ProducerService(
+            ProducerOptions producerOptions,
+            ProducerFactory<StorageTopic> producerFactory,
+            ProducerMetrics producerMetrics,
+            VaradhiTopicService varadhiTopicService,
+            Executor cacheLoaderExecutor,
+            MeterRegistry meterRegistry,
+            ProduceRateLimiter rateLimiter
     ) {
         this.internalTopicCache =
-                setupTopicCache(producerOptions.getTopicCacheBuilderSpec(), varadhiTopicService::get, meterRegistry);
-        this.producerCache =
-                setupProducerCache(producerOptions.getProducerCacheBuilderSpec(), producerFactory::getProducer,
-                        meterRegistry
+                setupTopicCache(producerOptions.getTopicCacheBuilderSpec(), varadhiTopicService::get,
+                        cacheLoaderExecutor, meterRegistry
                 );
+        ProducerPool.Dispatch poolDispatch = producerOptions.getProducerPoolDispatch();
+        ProducerPool.PendingSends poolPendingSends = new ProducerPool.PendingSends(meterRegistry);
+        this.producerCache = setupProducerCache(producerOptions.getProducerCacheBuilderSpec(),
+                storageTopic -> createProducer(
+                        producerFactory, storageTopic, poolDispatch, poolPendingSends, meterRegistry),
+                cacheLoaderExecutor, meterRegistry
+        );
         this.producerMetrics = producerMetrics;
+        this.rateLimiter = rateLimiter;
     }
 
     private VaradhiCache<String, VaradhiTopic> setupTopicCache(
-            String cacheSpec, Function<String, VaradhiTopic> topicProvider, MeterRegistry meterRegistry
+            String cacheSpec, Function<String, VaradhiTopic> topicProvider, Executor cacheLoaderExecutor,
+            MeterRegistry meterRegistry
     ) {
         return new VaradhiCache<>(
                 cacheSpec,
                 topicProvider,
                 (topicName, failure) -> new ProduceException(
                         String.format("Failed to get produce Topic(%s). %s", topicName, failure.getMessage()), failure),
+                cacheLoaderExecutor,
                 "topic",
                 meterRegistry
         );
@@ -56,7 +100,8 @@ public class ProducerService {
 
 
     private VaradhiCache<StorageTopic, Producer> setupProducerCache(
-            String cacheSpec, Function<StorageTopic, Producer> producerProvider, MeterRegistry meterRegistry
+            String cacheSpec, Function<StorageTopic, Producer> producerProvider, Executor cacheLoaderExecutor,
+            MeterRegistry meterRegistry
     ) {
         return new VaradhiCache<>(
                 cacheSpec,
@@ -66,34 +111,114 @@ public class ProducerService {
                                 "Failed to create Pulsar producer for Topic(%s). %s", storageTopic.getName(),
                                 failure.getMessage()
                         ), failure),
+                cacheLoaderExecutor,
                 "producer",
                 meterRegistry
         );
     }
 
+    private static Producer createProducer(
+            ProducerFactory<StorageTopic> producerFactory, StorageTopic storageTopic, ProducerPool.Dispatch dispatch,
+            ProducerPool.PendingSends poolPendingSends, MeterRegistry meterRegistry
+    ) {
+        int poolSize = producerFactory.getPoolSize(storageTopic);
+        if (poolSize <= 1) {
+            return producerFactory.getProducer(storageTopic);
+        }
+        List<Producer> producers = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            producers.add(producerFactory.getProducer(storageTopic, i));
+        }
+        log.info("Created pool of {} producers for StorageTopic({}).", poolSize, storageTopic.getName());
+        return new ProducerPool(storageTopic.getName(), producers, dispatch, poolPendingSends, meterRegistry);
+    }
+
+    /**
+     * Keeps the produce topic cache in sync with the meta store, so that topic state changes are effective
+     * immediately. topic is null when it is deleted.
+     */
+    public void onTopicChange(String varadhiTopicName, VaradhiTopic varadhiTopic) {
+        if (null == varadhiTopic) {
+            internalTopicCache.invalidate(varadhiTopicName);
+        } else {
+            internalTopicCache.put(varadhiTopicName, varadhiTopic);
+        }
+    }
+
     public CompletableFuture<ProduceResult> produceToTopic(
             Message message,
             String varadhiTopicName,
             ProduceContext context
     ) {
-        try {
-            String produceRegion = context.getTopicContext().getRegion();
-            InternalTopic internalTopic =
-                    internalTopicCache.get(varadhiTopicName).getProduceTopicForRegion(produceRegion);
+        return produceWithProducer(
+                varadhiTopicName,
+                context,
+                1,
+                message.getPayloadSize(),
+                toResult -> toResult.apply(message.getMessageId()),
+                (producer, storageTopic) -> produceToStorageProducer(
+                        producer, context, storageTopic.getName(), message).thenApply(result ->
+                        ProduceResult.of(message.getMessageId(), result))
+        );
+    }
 
-            // TODO: evaluate, if there is no reason for this to be null. It should IllegalStateException if it is null.
-            if (internalTopic==null) {
-                throw new ResourceNotFoundException(String.format("Topic not found for region(%s).", produceRegion));
-            }
+    /**
+     * Produces a batch of messages to the same topic. Topic and producer are resolved once for the whole batch and
+     * all messages are handed over to the storage producer w/o waiting on earlier ones, so that the messaging
+     * stack can batch them. Results are in the same order as messages.
+     */
+    public CompletableFuture<List<ProduceResult>> produceBatchToTopic(
+            List<Message> messages,
+            String varadhiTopicName,
+            ProduceContext context
+    ) {
+        long batchBytes = 0;
+        for (Message message : messages) {
+            batchBytes += message.getPayloadSize();
+        }
+        return produceWithProducer(
+                varadhiTopicName,
+                context,
+                messages.size(),
+                batchBytes,
+                toResult -> messages.stream().map(message -> toResult.apply(message.getMessageId())).toList(),
+                (producer, storageTopic) -> {
+                    List<CompletableFuture<ProduceResult>> produceFutures = new ArrayList<>(messages.size());
+                    for (Message message : messages) {
+                        produceFutures.add(
+                                produceBatchMessage(producer, context, storageTopic.getName(), message).thenApply(
+                                        result -> ProduceResult.of(message.getMessageId(), result)));
+                    }
+                    return CompletableFuture.allOf(produceFutures.toArray(new CompletableFuture[0]))
+                            .thenApply(v -> produceFutures.stream().map(CompletableFuture::join).toList());
+                }
+        );
+    }
 
-            if (!internalTopic.getTopicState().isProduceAllowed()) {
-                return CompletableFuture.completedFuture(
-                        ProduceResult.ofNonProducingTopic(message.getMessageId(), internalTopic.getTopicState()));
+    /**
+     * Resolves produce topic and its producer from the caches and produces via them. When both are cached (common
+     * case), it proceeds on the calling thread and failures are thrown as is. Otherwise, it proceeds once the cache
+     * loads complete (on the loader thread) w/o blocking the calling thread, and failures complete the returned
+     * future.
+     * When messages can't be produced i.e. topic is not in producing state or is over its capacity, onNotProduced
+     * builds the result from the (messageId -> ProduceResult) function of the reason, w/o looking up the producer.
+     */
+    private <T> CompletableFuture<T> produceWithProducer(
+            String varadhiTopicName,
+            ProduceContext context,
+            int messageCount,
+            long messageBytes,
+            Function<Function<String, ProduceResult>, T> onNotProduced,
+            BiFunction<Producer, StorageTopic, CompletableFuture<T>> onProducer
+    ) {
+        try {
+            CompletableFuture<VaradhiTopic> topicFuture = internalTopicCache.getAsync(varadhiTopicName);
+            if (topicFuture.isDone()) {
+                return produceWithProducer(
+                        getLoaded(topicFuture), context, messageCount, messageBytes, onNotProduced, onProducer);
             }
-            Producer producer = producerCache.get(internalTopic.getStorageTopic());
-            return produceToStorageProducer(
-                    producer, context, internalTopic.getStorageTopic().getName(), message).thenApply(result ->
-                    ProduceResult.of(message.getMessageId(), result));
+            return topicFuture.thenCompose(varadhiTopic -> produceWithProducer(
+                    varadhiTopic, context, messageCount, messageBytes, onNotProduced, onProducer));
         } catch (VaradhiException e) {
             throw e;
         } catch (Exception e) {
@@ -101,6 +226,65 @@ public class ProducerService {
         }
     }
 
+    private <T> CompletableFuture<T> produceWithProducer(
+            VaradhiTopic varadhiTopic,
+            ProduceContext context,
+            int messageCount,
+            long messageBytes,
+            Function<Function<String, ProduceResult>, T> onNotProduced,
+            BiFunction<Producer, StorageTopic, CompletableFuture<T>> onProducer
+    ) {
+        String produceRegion = context.getTopicContext().getRegion();
+        InternalTopic internalTopic = varadhiTopic.getProduceTopicForRegion(produceRegion);
+
+        // TODO: evaluate, if there is no reason for this to be null. It should IllegalStateException if it is null.
+        if (internalTopic==null) {
+            throw new ResourceNotFoundException(String.format("Topic not found for region(%s).", produceRegion));
+        }
+
+        TopicState topicState = internalTopic.getTopicState();
+        if (!topicState.isProduceAllowed()) {
+            return CompletableFuture.completedFuture(
+                    onNotProduced.apply(messageId -> ProduceResult.ofNonProducingTopic(messageId, topicState)));
+        }
+        // Over capacity produce is rejected right away, it neither waits nor gets to the producer.
+        long waitNanos = rateLimiter.tryAcquire(varadhiTopic, messageCount, messageBytes);
+        if (waitNanos > 0) {
+            long retryAfterMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos) + 1;
+            return CompletableFuture.completedFuture(
+                    onNotProduced.apply(messageId -> ProduceResult.ofThrottled(messageId, retryAfterMillis)));
+        }
+        StorageTopic storageTopic = internalTopic.getStorageTopic();
+        CompletableFuture<Producer> producerFuture = producerCache.getAsync(storageTopic);
+        if (producerFuture.isDone()) {
+            return onProducer.apply(getLoaded(producerFuture), storageTopic);
+        }
+        return producerFuture.thenCompose(producer -> onProducer.apply(producer, storageTopic));
+    }
+
+    private <T> T getLoaded(CompletableFuture<T> loadFuture) {
+        try {
+            return loadFuture.join();
+        } catch (CompletionException e) {
+            // cache load failures are VaradhiException.
+            throw (VaradhiException) e.getCause();
+        }
+    }
+
+    private CompletableFuture<Result<Offset>> produceBatchMessage(
+            Producer producer, ProduceContext context, String topic, Message message
+    ) {
+        // Earlier messages of the batch are already handed over to producer, so unlike single message produce,
+        // failure of a message is reported as its result instead of failing the whole batch.
+        try {
+            return produceToStorageProducer(producer, context, topic, message);
+        } catch (Exception e) {
+            log.debug(
+                    String.format("Produce Message(%s) to StorageTopic(%s) failed.", message.getMessageId(), topic), e);
+            return CompletableFuture.completedFuture(Result.of(null, e));
+        }
+    }
+
 
     private CompletableFuture<Result<Offset>> produceToStorageProducer(
             Producer producer, ProduceContext context, String topic, Message message
@@ -108,7 +292,7 @@ public class ProducerService {
         long produceStart = System.currentTimeMillis();
         return producer.produceAsync(message).handle((result, throwable) -> {
             int producerLatency = (int) (System.currentTimeMillis() - produceStart);
-            emitProducerMetric(result!=null, producerLatency, context);
+            emitProducerMetric(result!=null, producerLatency, message.getPayloadSize(), context);
             if (throwable!=null) {
                 log.debug(
                         String.format("Produce Message(%s) to StorageTopic(%s) failed.", message.getMessageId(), topic),
@@ -119,7 +303,9 @@ public class ProducerService {
         });
     }
 
-    private void emitProducerMetric(boolean succeeded, int produceLatency, ProduceContext context) {
-        producerMetrics.onMessageProduced(succeeded, produceLatency, context);
+    private void emitProducerMetric(
+            boolean succeeded, int produceLatency, long messageBytes, ProduceContext context
+    ) {
+        producerMetrics.onMessageProduced(succeeded, produceLatency, messageBytes, context);
     }
 }
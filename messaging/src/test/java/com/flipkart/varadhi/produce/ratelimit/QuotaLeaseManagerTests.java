@@ -0,0 +1,132 @@
+package com.flipkart.varadhi.produce.ratelimit;
+
+import com.flipkart.varadhi.entities.CapacityPolicy;
+import com.flipkart.varadhi.entities.TopicResource;
+import com.flipkart.varadhi.entities.VaradhiTopic;
+import com.flipkart.varadhi.spi.db.QuotaLeaseMetaStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class QuotaLeaseManagerTests {
+    AtomicLong clock;
+    InMemoryLeaseStore leaseStore;
+    VaradhiTopic topic =
+            VaradhiTopic.of(new TopicResource("topic1", 0, "project1", false, new CapacityPolicy(100, 0)));
+
+    @BeforeEach
+    public void preTest() {
+        clock = new AtomicLong(0);
+        leaseStore = new InMemoryLeaseStore();
+    }
+
+    @Test
+    public void testShareIsEqualForEqualDemand() {
+        Map<String, Double> demands = Map.of("m1", 0.9, "m2", 0.9, "m3", 0.9, "m4", 0.9);
+        Assertions.assertEquals(0.25, QuotaLeaseManager.allocateShare("m1", demands), 0.0001);
+    }
+
+    @Test
+    public void testUnusedShareIsRedistributed() {
+        // m1 needs 0.12 (with headroom), m2 gets the rest of its fair share and the leftover is spread.
+        Map<String, Double> demands = Map.of("m1", 0.1, "m2", 0.5);
+        double m1Share = QuotaLeaseManager.allocateShare("m1", demands);
+        double m2Share = QuotaLeaseManager.allocateShare("m2", demands);
+        Assertions.assertEquals(1.0, m1Share + m2Share, 0.0001);
+        Assertions.assertTrue(m1Share >= 0.12);
+        Assertions.assertTrue(m2Share >= 0.6);
+
+        // skewed demand gets all of the capacity, except the minimum kept by the idle member.
+        demands = Map.of("m1", 0.0, "m2", 2.0);
+        Assertions.assertEquals(0.99, QuotaLeaseManager.allocateShare("m2", demands), 0.0001);
+        Assertions.assertEquals(0.01, QuotaLeaseManager.allocateShare("m1", demands), 0.0001);
+    }
+
+    @Test
+    public void testLeaseIsRenewedAndShareUpdated() {
+        ProduceRateLimiter rateLimiter = new ProduceRateLimiter(1, () -> 4, "");
+        QuotaLeaseManager manager = new QuotaLeaseManager(rateLimiter, leaseStore, "m1", clock::get);
+        leaseStore.renewQuotaLeaseAsync(topic.getName(), "m2", 0.01).join();
+
+        for (int i = 0; i < 60; i++) {
+            rateLimiter.tryAcquire(topic, 1, 100);
+        }
+        Assertions.assertEquals(0.25, rateLimiter.getTopicQuotas().get(topic.getName()).getShare(), 0.0001);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        manager.renewLeases().join();
+
+        // 60 msg/s of 100 QPS.
+        Assertions.assertEquals(0.6, leaseStore.getQuotaLeasesAsync(topic.getName()).join().get("m1"), 0.0001);
+        double share = rateLimiter.getTopicQuotas().get(topic.getName()).getShare();
+        Assertions.assertTrue(share > 0.72 && share < 1.0);
+    }
+
+    @Test
+    public void testLeaseIsReleasedWhenIdle() {
+        ProduceRateLimiter rateLimiter = new ProduceRateLimiter(1, () -> 1, "");
+        QuotaLeaseManager manager = new QuotaLeaseManager(rateLimiter, leaseStore, "m1", clock::get);
+        rateLimiter.tryAcquire(topic, 1, 100);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        manager.renewLeases().join();
+        Assertions.assertTrue(leaseStore.getQuotaLeasesAsync(topic.getName()).join().containsKey("m1"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        manager.renewLeases().join();
+        Assertions.assertTrue(leaseStore.getQuotaLeasesAsync(topic.getName()).join().isEmpty());
+    }
+
+    @Test
+    public void testInitialShareIsAsPerObservedMembers() {
+        ProduceRateLimiter rateLimiter = new ProduceRateLimiter(1, () -> 1, "");
+        QuotaLeaseManager manager = new QuotaLeaseManager(rateLimiter, leaseStore, "m1", clock::get);
+        leaseStore.renewQuotaMemberAsync("m2").join();
+        leaseStore.renewQuotaMemberAsync("m3").join();
+        Assertions.assertEquals(1, manager.getMemberCount());
+
+        manager.renewLeases().join();
+        Assertions.assertEquals(3, manager.getMemberCount());
+        rateLimiter.tryAcquire(topic, 1, 100);
+        Assertions.assertEquals(1.0 / 3, rateLimiter.getTopicQuotas().get(topic.getName()).getShare(), 0.0001);
+    }
+
+    static class InMemoryLeaseStore implements QuotaLeaseMetaStore {
+        private final Set<String> members = new HashSet<>();
+        private final Map<String, Map<String, Double>> leases = new HashMap<>();
+
+        @Override
+        public CompletableFuture<Void> renewQuotaMemberAsync(String memberId) {
+            members.add(memberId);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Integer> getQuotaMemberCountAsync() {
+            return CompletableFuture.completedFuture(members.size());
+        }
+
+        @Override
+        public CompletableFuture<Void> renewQuotaLeaseAsync(String varadhiTopicName, String memberId, double demand) {
+            leases.computeIfAbsent(varadhiTopicName, k -> new HashMap<>()).put(memberId, demand);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> releaseQuotaLeaseAsync(String varadhiTopicName, String memberId) {
+            leases.getOrDefault(varadhiTopicName, new HashMap<>()).remove(memberId);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Map<String, Double>> getQuotaLeasesAsync(String varadhiTopicName) {
+            return CompletableFuture.completedFuture(new HashMap<>(leases.getOrDefault(varadhiTopicName, Map.of())));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.flipkart.varadhi.produce.ratelimit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucketTests {
+    AtomicLong clock = new AtomicLong(0);
+
+    @Test
+    public void testBurstAndRefill() {
+        TokenBucket bucket = new TokenBucket(10, 1, clock::get);
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(0, bucket.tryAcquire(1));
+        }
+        long waitNanos = bucket.tryAcquire(1);
+        Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(100), waitNanos);
+
+        clock.addAndGet(waitNanos);
+        Assertions.assertEquals(0, bucket.tryAcquire(1));
+        Assertions.assertTrue(bucket.tryAcquire(1) > 0);
+
+        // idle time doesn't accumulate beyond the burst.
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(0, bucket.tryAcquire(1));
+        }
+        Assertions.assertTrue(bucket.tryAcquire(1) > 0);
+    }
+
+    @Test
+    public void testAcquireLargerThanBurst() {
+        TokenBucket bucket = new TokenBucket(10, 1, clock::get);
+        Assertions.assertEquals(0, bucket.tryAcquire(50));
+        Assertions.assertEquals(TimeUnit.SECONDS.toNanos(4) + TimeUnit.MILLISECONDS.toNanos(100), bucket.tryAcquire(1));
+    }
+
+    @Test
+    public void testReleaseReturnsPermits() {
+        TokenBucket bucket = new TokenBucket(10, 1, clock::get);
+        Assertions.assertEquals(0, bucket.tryAcquire(10));
+        Assertions.assertTrue(bucket.tryAcquire(5) > 0);
+        bucket.release(5);
+        Assertions.assertEquals(0, bucket.tryAcquire(5));
+    }
+
+    @Test
+    public void testRateChange() {
+        TokenBucket bucket = new TokenBucket(10, 1, clock::get);
+        Assertions.assertEquals(0, bucket.tryAcquire(10));
+        bucket.setRate(20);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        Assertions.assertEquals(0, bucket.tryAcquire(10));
+        Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(50), bucket.tryAcquire(1));
+    }
+
+    @Test
+    public void testInvalidRate() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucket(10, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucket(10, 1).setRate(0));
+    }
+}
@@ -0,0 +1,88 @@
+package com.flipkart.varadhi.services;
+
+import com.flipkart.varadhi.entities.ProduceContext;
+import com.flipkart.varadhi.entities.Project;
+import com.flipkart.varadhi.produce.otel.ProducerMetricsImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.flipkart.varadhi.Constants.Meters.Produce.BYTES_METER;
+import static com.flipkart.varadhi.Constants.Meters.Produce.LATENCY_METER;
+import static com.flipkart.varadhi.Constants.Tags.*;
+
+public class ProducerMetricsImplTests {
+    MeterRegistry registry;
+    Project project = new Project("project1", 0, "", "team1", "org1");
+
+    @BeforeEach
+    public void preTest() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void testMetersAreReusedAcrossMessages() {
+        ProducerMetricsImpl metrics = new ProducerMetricsImpl(registry);
+        ProduceContext ctx = getProduceContext("topic1", "identity1");
+        metrics.onMessageProduced(true, 10, 100, ctx);
+        metrics.onMessageProduced(true, 20, 200, ctx);
+        metrics.onMessageProduced(false, 30, 300, ctx);
+
+        Counter bytes = registry.get(BYTES_METER).tag(TAG_NAME_TOPIC, "topic1").counter();
+        Assertions.assertEquals(600, bytes.count());
+        Timer succeeded =
+                registry.get(LATENCY_METER).tag(TAG_NAME_PRODUCE_RESULT, TAG_VALUE_RESULT_SUCCESS).timer();
+        Assertions.assertEquals(2, succeeded.count());
+        Timer failed = registry.get(LATENCY_METER).tag(TAG_NAME_PRODUCE_RESULT, TAG_VALUE_RESULT_FAILED).timer();
+        Assertions.assertEquals(1, failed.count());
+        Assertions.assertEquals(1, registry.find(BYTES_METER).counters().size());
+    }
+
+    @Test
+    public void testEvictedSeriesIsRemoved() {
+        ProducerMetricsImpl metrics = new ProducerMetricsImpl(registry, "maximumSize=1");
+        ProduceContext ctx1 = getProduceContext("topic1", "identity1");
+        metrics.onMessageProduced(false, 10, 100, ctx1);
+        Assertions.assertEquals(3, registry.getMeters().size());
+
+        // evicts topic1 series, whose meters are removed and registered afresh once produced to again.
+        metrics.onMessageProduced(true, 10, 100, getProduceContext("topic2", "identity1"));
+        Assertions.assertNull(registry.find(BYTES_METER).tag(TAG_NAME_TOPIC, "topic1").counter());
+        Assertions.assertNotNull(registry.find(BYTES_METER).tag(TAG_NAME_TOPIC, "topic2").counter());
+        Assertions.assertEquals(2, registry.getMeters().size());
+
+        metrics.onMessageProduced(true, 10, 200, ctx1);
+        Assertions.assertEquals(200, registry.get(BYTES_METER).tag(TAG_NAME_TOPIC, "topic1").counter().count());
+        Assertions.assertNull(registry.find(BYTES_METER).tag(TAG_NAME_TOPIC, "topic2").counter());
+        Assertions.assertEquals(2, registry.getMeters().size());
+    }
+
+    @Test
+    public void testSeriesAreDistinctAcrossProjects() {
+        ProducerMetricsImpl metrics = new ProducerMetricsImpl(registry);
+        ProduceContext ctx1 = getProduceContext("topic1", "identity1");
+        ProduceContext ctx2 = getProduceContext("topic1", "identity1");
+        ctx2.getTopicContext().setProjectAttributes(new Project("project2", 0, "", "team1", "org1"));
+        metrics.onMessageProduced(true, 10, 100, ctx1);
+        metrics.onMessageProduced(true, 10, 200, ctx2);
+        metrics.onMessageProduced(true, 10, 300, ctx2);
+
+        Assertions.assertEquals(100, registry.get(BYTES_METER).tag(TAG_NAME_PROJECT, "project1").counter().count());
+        Assertions.assertEquals(500, registry.get(BYTES_METER).tag(TAG_NAME_PROJECT, "project2").counter().count());
+    }
+
+    private ProduceContext getProduceContext(String topic, String identity) {
+        ProduceContext.RequestContext requestContext = new ProduceContext.RequestContext();
+        requestContext.setProduceIdentity(identity);
+        requestContext.setServiceHost("localhost");
+        ProduceContext.TopicContext topicContext = new ProduceContext.TopicContext();
+        topicContext.setTopic(topic);
+        topicContext.setRegion("region1");
+        topicContext.setProjectAttributes(project);
+        return new ProduceContext(requestContext, topicContext);
+    }
+}
@@ -0,0 +1,125 @@
+package com.flipkart.varadhi.services;
+
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.Offset;
+import com.flipkart.varadhi.produce.services.ProducerPool;
+import com.flipkart.varadhi.spi.services.Producer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.flipkart.varadhi.Constants.Meters.Produce.POOL_FAILURES_METER;
+import static com.flipkart.varadhi.Constants.Meters.Produce.POOL_PENDING_METER;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ProducerPoolTests {
+    MeterRegistry registry;
+    Producer p0;
+    Producer p1;
+    Message message;
+    CompletableFuture<Offset> f0;
+    CompletableFuture<Offset> f1;
+
+    @BeforeEach
+    public void preTest() {
+        registry = new SimpleMeterRegistry();
+        p0 = mock(Producer.class);
+        p1 = mock(Producer.class);
+        message = mock(Message.class);
+        f0 = new CompletableFuture<>();
+        f1 = new CompletableFuture<>();
+        doReturn(f0).when(p0).produceAsync(any());
+        doReturn(f1).when(p1).produceAsync(any());
+    }
+
+    @Test
+    public void testRoundRobinDispatch() {
+        ProducerPool pool = new ProducerPool("topic1", List.of(p0, p1), ProducerPool.Dispatch.ROUND_ROBIN, registry);
+        for (int i = 0; i < 4; i++) {
+            pool.produceAsync(message);
+        }
+        verify(p0, times(2)).produceAsync(message);
+        verify(p1, times(2)).produceAsync(message);
+        Assertions.assertEquals(2, pool.getPendingSends(0));
+        Assertions.assertEquals(2, pool.getPendingSends(1));
+    }
+
+    @Test
+    public void testLeastPendingDispatch() {
+        ProducerPool pool =
+                new ProducerPool("topic1", List.of(p0, p1), ProducerPool.Dispatch.LEAST_PENDING, registry);
+        doReturn(CompletableFuture.completedFuture(mock(Offset.class))).when(p1).produceAsync(any());
+        // p0 stays backed up, so the rest of the sends go to p1.
+        for (int i = 0; i < 5; i++) {
+            pool.produceAsync(message);
+        }
+        verify(p0, times(1)).produceAsync(message);
+        verify(p1, times(4)).produceAsync(message);
+        Assertions.assertEquals(1, pool.getPendingSends(0));
+        Assertions.assertEquals(0, pool.getPendingSends(1));
+
+        f0.complete(mock(Offset.class));
+        Assertions.assertEquals(0, pool.getPendingSends(0));
+        pool.produceAsync(message);
+        pool.produceAsync(message);
+        verify(p0, times(2)).produceAsync(message);
+    }
+
+    @Test
+    public void testSendMetrics() {
+        ProducerPool pool = new ProducerPool("topic1", List.of(p0, p1), ProducerPool.Dispatch.ROUND_ROBIN, registry);
+        pool.produceAsync(message);
+        pool.produceAsync(message);
+        Assertions.assertEquals(1, registry.get(POOL_PENDING_METER).tag("producer", "0").gauge().value());
+
+        f0.completeExceptionally(new RuntimeException("Queue full."));
+        Assertions.assertEquals(0, registry.get(POOL_PENDING_METER).tag("producer", "0").gauge().value());
+        Assertions.assertEquals(1, registry.get(POOL_FAILURES_METER).tag("producer", "0").counter().count());
+        Assertions.assertEquals(0, registry.get(POOL_FAILURES_METER).tag("producer", "1").counter().count());
+
+        doThrow(new RuntimeException("Producer closed.")).when(p0).produceAsync(any());
+        Assertions.assertThrows(RuntimeException.class, () -> pool.produceAsync(message));
+        Assertions.assertEquals(0, pool.getPendingSends(0));
+        Assertions.assertEquals(2, registry.get(POOL_FAILURES_METER).tag("producer", "0").counter().count());
+    }
+
+    @Test
+    public void testRecreatedPoolReportsInSameGauges() {
+        ProducerPool.PendingSends pendingSends = new ProducerPool.PendingSends(registry);
+        ProducerPool pool =
+                new ProducerPool("topic1", List.of(p0), ProducerPool.Dispatch.ROUND_ROBIN, pendingSends, registry);
+        pool.produceAsync(message);
+
+        ProducerPool recreated =
+                new ProducerPool("topic1", List.of(p1), ProducerPool.Dispatch.ROUND_ROBIN, pendingSends, registry);
+        recreated.produceAsync(message);
+        Assertions.assertEquals(2, registry.get(POOL_PENDING_METER).tag("producer", "0").gauge().value());
+
+        f0.complete(mock(Offset.class));
+        Assertions.assertEquals(1, registry.get(POOL_PENDING_METER).tag("producer", "0").gauge().value());
+        Assertions.assertEquals(1, registry.find(POOL_PENDING_METER).gauges().size());
+    }
+
+    @Test
+    public void testDelayedProduceIsPooled() {
+        ProducerPool pool = new ProducerPool("topic1", List.of(p0, p1), ProducerPool.Dispatch.ROUND_ROBIN, registry);
+        doReturn(f0).when(p0).produceAsync(any(), anyLong());
+        pool.produceAsync(message, 1000);
+        verify(p0, times(1)).produceAsync(message, 1000);
+        Assertions.assertEquals(1, pool.getPendingSends(0));
+    }
+
+    @Test
+    public void testEmptyPool() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new ProducerPool("topic1", List.of(), ProducerPool.Dispatch.ROUND_ROBIN, registry)
+        );
+    }
+}
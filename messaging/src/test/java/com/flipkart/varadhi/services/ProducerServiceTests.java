@@ -7,19 +7,23 @@ import com.flipkart.varadhi.exceptions.ResourceNotFoundException;
 import com.flipkart.varadhi.produce.ProduceResult;
 import com.flipkart.varadhi.produce.config.ProducerOptions;
 import com.flipkart.varadhi.produce.otel.ProducerMetricsImpl;
+import com.flipkart.varadhi.produce.ratelimit.ProduceRateLimiter;
 import com.flipkart.varadhi.produce.services.ProducerService;
 import com.flipkart.varadhi.spi.services.DummyProducer;
 import com.flipkart.varadhi.spi.services.Producer;
 import com.flipkart.varadhi.spi.services.ProducerFactory;
+import com.flipkart.varadhi.spi.services.ProducerFullException;
 import com.flipkart.varadhi.utils.JsonMapper;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.registry.otlp.OtlpMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
@@ -91,7 +95,7 @@ public class ProducerServiceTests {
                 () -> service.produceToTopic(msg1, VaradhiTopic.buildTopicName(project.getName(), topic), ctx)
         );
         Assertions.assertEquals("Produce failed due to internal error: Some random error.", pe.getMessage());
-        verify(metricProvider, never()).onMessageProduced(anyBoolean(), anyLong(), any());
+        verify(metricProvider, never()).onMessageProduced(anyBoolean(), anyLong(), anyLong(), any());
     }
 
     @Test
@@ -223,10 +227,24 @@ public class ProducerServiceTests {
     }
 
 
+    @Test
+    public void testProduceWithProducerFull() throws InterruptedException {
+        ProduceContext ctx = getProduceContext(topic, project, region);
+        Message msg1 = getMessage(0, 1, ProducerFullException.class.getName(), 0, ctx);
+        VaradhiTopic vt = getTopic(topic, project, region);
+        doReturn(vt).when(topicService).get(vt.getName());
+        doReturn(producer).when(producerFactory).getProducer(any());
+
+        ResultCapture rc = getResult(service.produceToTopic(msg1, vt.getName(), ctx));
+        Assertions.assertNull(rc.throwable);
+        Assertions.assertEquals(ProduceStatus.Throttled, rc.produceResult.getProduceStatus());
+        Assertions.assertTrue(rc.produceResult.getRetryAfterMillis() > 0);
+    }
+
     @Test
     public void testMetricEmitFailureNotIgnored() throws InterruptedException {
         doThrow(new RuntimeException("Failed to send metric.")).when(metricProvider)
-                .onMessageProduced(anyBoolean(), anyLong(), any());
+                .onMessageProduced(anyBoolean(), anyLong(), anyLong(), any());
         ProduceContext ctx = getProduceContext(topic, project, region);
         Message msg1 = getMessage(0, 1, null, 10, ctx);
         VaradhiTopic vt = getTopic(topic, project, region);
@@ -238,11 +256,157 @@ public class ProducerServiceTests {
         Assertions.assertNull(rc.produceResult);
         Assertions.assertNotNull(rc.throwable);
         verify(producer, times(1)).produceAsync(eq(msg1));
-        verify(metricProvider, times(1)).onMessageProduced(anyBoolean(), anyLong(), any());
+        verify(metricProvider, times(1)).onMessageProduced(anyBoolean(), anyLong(), anyLong(), any());
         // Exception gets wrapped in CompletionException.
         Assertions.assertEquals("Failed to send metric.", rc.throwable.getCause().getMessage());
     }
 
+    @Test
+    public void testProduceBatch() throws Exception {
+        ProduceContext ctx = getProduceContext(topic, project, region);
+        Message msg1 = getMessage(0, 1, null, 10, ctx);
+        Message msg2 = getMessage(0, 2, UnsupportedOperationException.class.getName(), 10, ctx);
+        Message msg3 = getMessage(0, 3, null, 10, ctx);
+        VaradhiTopic vt = getTopic(topic, project, region);
+        doReturn(vt).when(topicService).get(vt.getName());
+        doReturn(producer).when(producerFactory).getProducer(any());
+        doThrow(new RuntimeException("Some random error.")).when(producer).produceAsync(msg3);
+
+        List<ProduceResult> results = service.produceBatchToTopic(
+                List.of(msg1, msg2, msg3), VaradhiTopic.buildTopicName(project.getName(), topic), ctx).get();
+
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertEquals(msg1.getMessageId(), results.get(0).getMessageId());
+        Assertions.assertEquals(ProduceStatus.Success, results.get(0).getProduceStatus());
+        Assertions.assertEquals(msg2.getMessageId(), results.get(1).getMessageId());
+        Assertions.assertEquals(ProduceStatus.Failed, results.get(1).getProduceStatus());
+        Assertions.assertEquals(msg3.getMessageId(), results.get(2).getMessageId());
+        Assertions.assertEquals(ProduceStatus.Failed, results.get(2).getProduceStatus());
+        verify(topicService, times(1)).get(vt.getName());
+        verify(producerFactory, times(1)).getProducer(any());
+        verify(metricProvider, times(2)).onMessageProduced(anyBoolean(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    public void testProduceBatchToBlockedTopic() throws Exception {
+        ProduceContext ctx = getProduceContext(topic, project, region);
+        Message msg1 = getMessage(0, 1, null, 0, ctx);
+        Message msg2 = getMessage(0, 2, null, 0, ctx);
+        VaradhiTopic vt = getTopic(TopicState.Blocked, topic, project, region);
+        doReturn(vt).when(topicService).get(vt.getName());
+
+        List<ProduceResult> results = service.produceBatchToTopic(
+                List.of(msg1, msg2), VaradhiTopic.buildTopicName(project.getName(), topic), ctx).get();
+
+        Assertions.assertEquals(2, results.size());
+        results.forEach(r -> Assertions.assertEquals(ProduceStatus.Blocked, r.getProduceStatus()));
+        verify(producerFactory, never()).getProducer(any());
+    }
+
+    @Test
+    public void testTopicChangeIsEffectiveImmediately() throws InterruptedException {
+        ProduceContext ctx = getProduceContext(topic, project, region);
+        VaradhiTopic vt = getTopic(topic, project, region);
+        doReturn(vt).when(topicService).get(vt.getName());
+        doReturn(producer).when(producerFactory).getProducer(any());
+        ResultCapture rc = getResult(service.produceToTopic(getMessage(0, 1, null, 0, ctx), vt.getName(), ctx));
+        Assertions.assertTrue(rc.produceResult.isSuccess());
+
+        service.onTopicChange(vt.getName(), getTopic(TopicState.Blocked, topic, project, region));
+        rc = getResult(service.produceToTopic(getMessage(0, 1, null, 0, ctx), vt.getName(), ctx));
+        Assertions.assertEquals(ProduceStatus.Blocked, rc.produceResult.getProduceStatus());
+        verify(topicService, times(1)).get(vt.getName());
+
+        service.onTopicChange(vt.getName(), null);
+        doThrow(new ResourceNotFoundException("Topic doesn't exists.")).when(topicService).get(vt.getName());
+        Assertions.assertThrows(
+                ResourceNotFoundException.class,
+                () -> service.produceToTopic(getMessage(0, 1, null, 0, ctx), vt.getName(), ctx)
+        );
+        verify(topicService, times(2)).get(vt.getName());
+    }
+
+    @Test
+    public void testProduceOverCapacityIsThrottled() throws Exception {
+        ProducerService limitedService = getRateLimitedService();
+        ProduceContext ctx = getProduceContext(topic, project, region);
+        VaradhiTopic vt = getTopic(topic, project, region, new CapacityPolicy(2, 1000));
+        doReturn(vt).when(topicService).get(vt.getName());
+        doReturn(producer).when(producerFactory).getProducer(any());
+
+        // burst of a second worth of capacity i.e. 2 messages.
+        for (int i = 0; i < 2; i++) {
+            Message msg = getMessage(0, 1, null, 0, ctx);
+            ResultCapture rc = getResult(limitedService.produceToTopic(msg, vt.getName(), ctx));
+            Assertions.assertTrue(rc.produceResult.isSuccess());
+        }
+        Message throttled = getMessage(0, 1, null, 0, ctx);
+        ResultCapture rc = getResult(limitedService.produceToTopic(throttled, vt.getName(), ctx));
+        Assertions.assertEquals(ProduceStatus.Throttled, rc.produceResult.getProduceStatus());
+        Assertions.assertTrue(rc.produceResult.getRetryAfterMillis() > 0);
+        verify(producer, never()).produceAsync(throttled);
+
+        List<ProduceResult> results = limitedService.produceBatchToTopic(
+                List.of(getMessage(0, 1, null, 0, ctx), getMessage(0, 2, null, 0, ctx)), vt.getName(), ctx).get();
+        results.forEach(r -> Assertions.assertEquals(ProduceStatus.Throttled, r.getProduceStatus()));
+        verify(producer, times(2)).produceAsync(any());
+    }
+
+    @Test
+    public void testProduceOverThroughputIsThrottled() throws Exception {
+        ProducerService limitedService = getRateLimitedService();
+        ProduceContext ctx = getProduceContext(topic, project, region);
+        VaradhiTopic vt = getTopic(topic, project, region, new CapacityPolicy(1000, 1));
+        doReturn(vt).when(topicService).get(vt.getName());
+        doReturn(producer).when(producerFactory).getProducer(any());
+
+        // burst of 1KB, first message is allowed irrespective of its size.
+        Message msg1 = getMessage(0, 1, null, 2000, ctx);
+        ResultCapture rc = getResult(limitedService.produceToTopic(msg1, vt.getName(), ctx));
+        Assertions.assertTrue(rc.produceResult.isSuccess());
+        Message msg2 = getMessage(0, 1, null, 10, ctx);
+        rc = getResult(limitedService.produceToTopic(msg2, vt.getName(), ctx));
+        Assertions.assertEquals(ProduceStatus.Throttled, rc.produceResult.getProduceStatus());
+    }
+
+    @Test
+    public void testProduceWithProducerPool() throws InterruptedException {
+        ProduceContext ctx = getProduceContext(topic, project, region);
+        VaradhiTopic vt = getTopic(topic, project, region);
+        doReturn(vt).when(topicService).get(vt.getName());
+        Producer producer2 = spy(new DummyProducer(JsonMapper.getMapper()));
+        doReturn(2).when(producerFactory).getPoolSize(any());
+        doReturn(producer).when(producerFactory).getProducer(any(), eq(0));
+        doReturn(producer2).when(producerFactory).getProducer(any(), eq(1));
+
+        Message msg1 = getMessage(0, 1, null, 10, ctx);
+        Message msg2 = getMessage(0, 2, null, 10, ctx);
+        ResultCapture rc = getResult(service.produceToTopic(msg1, vt.getName(), ctx));
+        Assertions.assertNotNull(rc.produceResult);
+        rc = getResult(service.produceToTopic(msg2, vt.getName(), ctx));
+        Assertions.assertNotNull(rc.produceResult);
+        // nothing pending on either, so sends go in turn.
+        verify(producer, times(1)).produceAsync(msg1);
+        verify(producer2, times(1)).produceAsync(msg2);
+        verify(producerFactory, times(2)).getProducer(any(), anyInt());
+        verify(producerFactory, never()).getProducer(any());
+    }
+
+    private ProducerService getRateLimitedService() {
+        MeterRegistry registry = new OtlpMeterRegistry();
+        return new ProducerService(new ProducerOptions(), producerFactory, metricProvider, topicService,
+                MoreExecutors.directExecutor(), registry, new ProduceRateLimiter(1, () -> 1, "")
+        );
+    }
+
+    public VaradhiTopic getTopic(String name, Project project, String region, CapacityPolicy capacityPolicy) {
+        VaradhiTopic topic = VaradhiTopic.of(new TopicResource(name, 0, project.getName(), false, capacityPolicy));
+        String itName = String.join(MetaStoreEntity.NAME_SEPARATOR, topic.getName(), region);
+        topic.addInternalTopic(
+                new InternalTopic(itName, region, TopicState.Producing, new DummyStorageTopic(topic.getName(), 0)));
+        return topic;
+    }
+
     public VaradhiTopic getTopic(String name, Project project, String region) {
         return getTopic(TopicState.Producing, name, project, region);
     }
@@ -8,6 +8,7 @@ public class Constants {
     public static class Producer {
         public static final int MIN_PENDING_MESSAGES = 100;
         public static final int MAX_PENDING_MESSAGES = 1000;
+        public static final long MIN_PENDING_BYTES = 1024 * 1024;
         public static final int MIN_BATCH_SIZE = 10;
         public static final int MAX_BATCH_SIZE = 100;
     }
@@ -0,0 +1,36 @@
+package com.flipkart.varadhi.pulsar;
+
+import com.flipkart.varadhi.pulsar.clients.ClientProvider;
+import com.flipkart.varadhi.pulsar.config.ConsumerOptions;
+import com.flipkart.varadhi.pulsar.entities.PulsarConsumer;
+import com.flipkart.varadhi.pulsar.entities.PulsarStorageTopic;
+import com.flipkart.varadhi.spi.services.Consumer;
+import com.flipkart.varadhi.spi.services.ConsumerFactory;
+import com.flipkart.varadhi.spi.services.MessagingException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pulsar.client.api.PulsarClientException;
+
+
+@Slf4j
+public class PulsarConsumerFactory implements ConsumerFactory<PulsarStorageTopic> {
+    private final ClientProvider clientProvider;
+    private final ConsumerOptions consumerOptions;
+
+    public PulsarConsumerFactory(ClientProvider clientProvider, ConsumerOptions consumerOptions) {
+        this.clientProvider = clientProvider;
+        this.consumerOptions = null == consumerOptions ? new ConsumerOptions() : consumerOptions;
+    }
+
+    @Override
+    public Consumer getConsumer(PulsarStorageTopic storageTopic, String subscriptionName, boolean grouped) {
+        try {
+            return new PulsarConsumer(clientProvider, storageTopic, subscriptionName, grouped, consumerOptions);
+        } catch (PulsarClientException e) {
+            throw new MessagingException(
+                    String.format(
+                            "Failed to create Pulsar consumer for %s on %s. %s", subscriptionName,
+                            storageTopic.getName(), e.getMessage()
+                    ), e);
+        }
+    }
+}
@@ -26,8 +26,25 @@ public class PulsarProducerFactory implements ProducerFactory<PulsarStorageTopic
 
     @Override
     public Producer getProducer(PulsarStorageTopic storageTopic) {
+        return getProducer(storageTopic, hostName);
+    }
+
+    @Override
+    public int getPoolSize(PulsarStorageTopic storageTopic) {
+        int perProducer = producerOptions.getMaxQPSPerProducer();
+        int forQPS = (int) ((storageTopic.getMaxQPS() + (long) perProducer - 1) / perProducer);
+        return Math.max(1, Math.min(producerOptions.getMaxProducersPerTopic(), forQPS));
+    }
+
+    @Override
+    public Producer getProducer(PulsarStorageTopic storageTopic, int index) {
+        // producer names are unique on a topic, first of the pool keeps the name of an un-pooled producer.
+        return getProducer(storageTopic, 0 == index ? hostName : String.format("%s.%d", hostName, index));
+    }
+
+    private Producer getProducer(PulsarStorageTopic storageTopic, String producerHostName) {
         try {
-            return new PulsarProducer(clientProvider, storageTopic, producerOptions, hostName);
+            return new PulsarProducer(clientProvider, storageTopic, producerOptions, producerHostName);
         } catch (PulsarClientException e) {
             throw new ProduceException(
                     String.format(
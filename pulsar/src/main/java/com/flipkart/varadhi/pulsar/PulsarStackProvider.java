@@ -6,6 +6,7 @@ import com.flipkart.varadhi.pulsar.clients.ClientProvider;
 import com.flipkart.varadhi.pulsar.config.PulsarConfig;
 import com.flipkart.varadhi.pulsar.entities.PulsarStorageTopic;
 import com.flipkart.varadhi.pulsar.services.PulsarTopicService;
+import com.flipkart.varadhi.pulsar.util.CapacityPlanner;
 import com.flipkart.varadhi.spi.services.*;
 import com.flipkart.varadhi.utils.YamlLoader;
 
@@ -14,6 +15,7 @@ public class PulsarStackProvider implements MessagingStackProvider<PulsarStorage
     private PulsarTopicService pulsarTopicService;
     private PulsarTopicFactory pulsarTopicFactory;
     private PulsarProducerFactory pulsarProducerFactory;
+    private PulsarConsumerFactory pulsarConsumerFactory;
     private volatile boolean initialised = false;
 
 
@@ -22,13 +24,16 @@ public class PulsarStackProvider implements MessagingStackProvider<PulsarStorage
             synchronized (this) {
                 if (!initialised) {
                     PulsarConfig pulsarConfig = getPulsarConfig(messagingStackOptions.getConfigFile());
-                    pulsarTopicFactory = new PulsarTopicFactory();
+                    CapacityPlanner capacityPlanner = new CapacityPlanner(pulsarConfig.getCapacityPlannerOptions());
+                    pulsarTopicFactory = new PulsarTopicFactory(capacityPlanner);
                     ClientProvider clientProvider = getPulsarClientProvider(pulsarConfig);
                     pulsarTopicService = new PulsarTopicService(clientProvider);
                     //TODO:: Fix hostname. Get it using hostutils.
                     String hostName = "Undefined.TobeFixed";
                     pulsarProducerFactory =
                             new PulsarProducerFactory(clientProvider, pulsarConfig.getProducerOptions(), hostName);
+                    pulsarConsumerFactory =
+                            new PulsarConsumerFactory(clientProvider, pulsarConfig.getConsumerOptions());
                     registerSubtypes(mapper);
                     initialised = true;
                 }
@@ -57,6 +62,13 @@ public class PulsarStackProvider implements MessagingStackProvider<PulsarStorage
         return this.pulsarProducerFactory;
     }
 
+    public ConsumerFactory<PulsarStorageTopic> getConsumerFactory() {
+        if (!initialised) {
+            throw new IllegalStateException("PulsarStackProvider is not yet initialised.");
+        }
+        return this.pulsarConsumerFactory;
+    }
+
     private void registerSubtypes(ObjectMapper mapper) {
         mapper.registerSubtypes(new NamedType(PulsarStorageTopic.class, "Pulsar"));
     }
@@ -3,12 +3,17 @@ package com.flipkart.varadhi.pulsar;
 import com.flipkart.varadhi.entities.CapacityPolicy;
 import com.flipkart.varadhi.entities.Project;
 import com.flipkart.varadhi.pulsar.entities.PulsarStorageTopic;
+import com.flipkart.varadhi.pulsar.util.CapacityPlanner;
 import com.flipkart.varadhi.spi.services.StorageTopicFactory;
 
 public class PulsarTopicFactory implements StorageTopicFactory<PulsarStorageTopic> {
 
     private static final String TOPIC_SCHEMA = "persistent";
+    private final CapacityPlanner capacityPlanner;
 
+    public PulsarTopicFactory(CapacityPlanner capacityPlanner) {
+        this.capacityPlanner = capacityPlanner;
+    }
 
     @Override
     public PulsarStorageTopic getTopic(
@@ -17,7 +22,7 @@ public class PulsarTopicFactory implements StorageTopicFactory<PulsarStorageTopi
             CapacityPolicy capacityPolicy
     ) {
         String pulsarTopicName = getPulsarTopicName(topicName, project);
-        return PulsarStorageTopic.from(pulsarTopicName, capacityPolicy);
+        return PulsarStorageTopic.from(pulsarTopicName, capacityPolicy, capacityPlanner);
     }
 
     private static String getPulsarTopicName(String topicName, Project project) {
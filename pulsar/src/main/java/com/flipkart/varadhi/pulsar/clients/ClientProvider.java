@@ -1,5 +1,6 @@
 package com.flipkart.varadhi.pulsar.clients;
 
+import com.flipkart.varadhi.pulsar.config.ProducerOptions;
 import com.flipkart.varadhi.pulsar.config.PulsarAdminOptions;
 import com.flipkart.varadhi.pulsar.config.PulsarClientOptions;
 import com.flipkart.varadhi.pulsar.config.PulsarConfig;
@@ -17,14 +18,22 @@ public class ClientProvider {
     private PulsarAdmin adminClient;
 
     public ClientProvider(PulsarConfig pulsarConfig) {
-        this.pulsarClient = buildPulsarClient(pulsarConfig.getPulsarClientOptions());
+        this.pulsarClient =
+                buildPulsarClient(pulsarConfig.getPulsarClientOptions(), pulsarConfig.getProducerOptions());
         this.adminClient = buildPulsarAdminClient(pulsarConfig.getPulsarAdminOptions());
     }
 
     //TODO::Add authentication to PulsarClient and PulsarAdmin. It should be optional however.
-    private PulsarClient buildPulsarClient(PulsarClientOptions options) {
+    private PulsarClient buildPulsarClient(PulsarClientOptions options, ProducerOptions producerOptions) {
         try {
             Map<String, Object> clientConfig = options.asConfigMap();
+            if (null != producerOptions) {
+                // Pooled producers of a topic are on the same broker. A connection per producer of the pool, so that
+                // they don't share a single connection (and its io thread) to the broker.
+                clientConfig.put("connectionsPerBroker",
+                        Math.max(options.getConnectionsPerBroker(), producerOptions.getMaxProducersPerTopic())
+                );
+            }
             return PulsarClient.builder().loadConf(clientConfig).build();
         } catch (PulsarClientException e) {
             throw new MessagingException(String.format("Failed to create PulsarClient. Error: %s.", e.getMessage()), e);
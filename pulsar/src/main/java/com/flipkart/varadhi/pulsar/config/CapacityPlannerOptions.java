@@ -0,0 +1,11 @@
+package com.flipkart.varadhi.pulsar.config;
+
+import lombok.Data;
+
+@Data
+public class CapacityPlannerOptions {
+    // Capacity a single partition (i.e. a broker) is planned for, topic gets as many partitions as its capacity needs.
+    private int maxQPSPerPartition = 5000;
+    private int maxKBpsPerPartition = 5000;
+    private int maxPartitions = 64;
+}
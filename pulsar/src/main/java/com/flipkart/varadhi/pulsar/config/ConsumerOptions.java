@@ -0,0 +1,11 @@
+package com.flipkart.varadhi.pulsar.config;
+
+import lombok.Data;
+
+@Data
+public class ConsumerOptions {
+    // Messages prefetched by the consumer, so that receive is served locally.
+    private int receiverQueueSize = 1000;
+    private int negativeAckRedeliveryDelayMs = 1000;
+    private int ackTimeoutMs = 0;
+}
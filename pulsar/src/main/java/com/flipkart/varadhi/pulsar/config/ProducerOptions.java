@@ -9,10 +9,20 @@ import java.util.Map;
 @Data
 public class ProducerOptions {
     private int sendTimeoutMs = 1000;
-    private boolean blockIfQueueFull = true;
+    // Blocking would park the event loop producing to the topic, full queue rather fails the produce as Throttled.
+    private boolean blockIfQueueFull = false;
     private CompressionType compressionType = CompressionType.SNAPPY;
     private boolean batchingEnabled = true;
     private int batchingMaxPublishDelayMs = 10;
+    // Tunes batching delay and size of the producers from their traffic every batchingTuneIntervalMs, by re-creating
+    // them. batchingMaxPublishDelayMs stays the bound on the delay i.e. the latency budget of batching.
+    // Not part of the Pulsar producer config.
+    private boolean adaptiveBatchingEnabled = false;
+    private long batchingTuneIntervalMs = 60000;
+    // Producers pooled for a topic, one per maxQPSPerProducer of the topic capacity, bounded by maxProducersPerTopic.
+    // Not part of the Pulsar producer config.
+    private int maxProducersPerTopic = 1;
+    private int maxQPSPerProducer = 5000;
 
     public Map<String, Object> asConfigMap() {
         HashMap<String, Object> config = new HashMap<>();
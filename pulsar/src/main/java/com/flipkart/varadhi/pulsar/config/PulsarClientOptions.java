@@ -13,7 +13,7 @@ public class PulsarClientOptions {
     private String serviceUrl;
     private int keepAliveIntervalSecs = 30; // Pulsar default (30 secs)
     private int ioThreads = 2;   // start with 2, might need further tuning (Pulsar default is 1).
-    private int connectionsPerBroker = 1; // Pulsar default is 1.
+    private int connectionsPerBroker = 1; // Pulsar default is 1. Raised to producerOptions.maxProducersPerTopic.
     private int maxConcurrentLookupRequests = 5000; // Pulsar default is 5000.
     private int maxLookupRequests = 50000; // Pulsar default is 50000.
     private int maxLookupRedirects = 20; // Pulsar default is 20.
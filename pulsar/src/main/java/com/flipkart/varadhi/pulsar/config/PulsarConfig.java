@@ -11,4 +11,6 @@ public class PulsarConfig {
     @NotNull
     private PulsarClientOptions pulsarClientOptions;
     private ProducerOptions producerOptions;
+    private ConsumerOptions consumerOptions;
+    private CapacityPlannerOptions capacityPlannerOptions;
 }
@@ -0,0 +1,78 @@
+package com.flipkart.varadhi.pulsar.entities;
+
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.Offset;
+import com.flipkart.varadhi.pulsar.clients.ClientProvider;
+import com.flipkart.varadhi.pulsar.config.ConsumerOptions;
+import com.flipkart.varadhi.pulsar.util.PropertyHelper;
+import com.flipkart.varadhi.spi.services.Consumer;
+import com.flipkart.varadhi.spi.services.PolledMessage;
+import com.google.common.collect.ArrayListMultimap;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pulsar.client.api.MessageId;
+import org.apache.pulsar.client.api.PulsarClientException;
+import org.apache.pulsar.client.api.Schema;
+import org.apache.pulsar.client.api.SubscriptionType;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class PulsarConsumer implements Consumer {
+    private final org.apache.pulsar.client.api.Consumer<ByteBuffer> pulsarConsumer;
+
+    public PulsarConsumer(
+            ClientProvider clientProvider, PulsarStorageTopic storageTopic, String subscriptionName, boolean grouped,
+            ConsumerOptions consumerOptions
+    )
+            throws PulsarClientException {
+        // Key_Shared keeps all messages of a key (group id) on a single consumer of the subscription.
+        this.pulsarConsumer = clientProvider.getPulsarClient().newConsumer(Schema.BYTEBUFFER)
+                .topic(storageTopic.getName())
+                .subscriptionName(subscriptionName)
+                .subscriptionType(grouped ? SubscriptionType.Key_Shared : SubscriptionType.Shared)
+                .receiverQueueSize(consumerOptions.getReceiverQueueSize())
+                .negativeAckRedeliveryDelay(consumerOptions.getNegativeAckRedeliveryDelayMs(), TimeUnit.MILLISECONDS)
+                .ackTimeout(consumerOptions.getAckTimeoutMs(), TimeUnit.MILLISECONDS)
+                .subscribe();
+    }
+
+    @Override
+    public CompletableFuture<PolledMessage> receiveAsync() {
+        return pulsarConsumer.receiveAsync().thenApply(this::toPolledMessage);
+    }
+
+    @Override
+    public CompletableFuture<Void> ackAsync(Offset offset) {
+        return pulsarConsumer.acknowledgeAsync(getMessageId(offset));
+    }
+
+    @Override
+    public void nack(Offset offset) {
+        pulsarConsumer.negativeAcknowledge(getMessageId(offset));
+    }
+
+    @Override
+    public CompletableFuture<Void> closeAsync() {
+        return pulsarConsumer.closeAsync();
+    }
+
+    private PolledMessage toPolledMessage(org.apache.pulsar.client.api.Message<ByteBuffer> pulsarMessage) {
+        ArrayListMultimap<String, String> headers = ArrayListMultimap.create();
+        pulsarMessage.getProperties()
+                .forEach((key, values) -> headers.putAll(key, PropertyHelper.decodePropertyValues(values)));
+        Message message = new Message(pulsarMessage.getValue(), headers);
+        return new PolledMessage(message, new PulsarOffset(pulsarMessage.getMessageId()));
+    }
+
+    private MessageId getMessageId(Offset offset) {
+        if (offset instanceof PulsarOffset pulsarOffset) {
+            return pulsarOffset.getMessageId();
+        }
+        throw new IllegalArgumentException(
+                String.format("Expected Offset of type %s, given %s.", PulsarOffset.class.getName(),
+                        offset.getClass().getName()
+                ));
+    }
+}
@@ -4,18 +4,33 @@ import com.flipkart.varadhi.entities.Message;
 import com.flipkart.varadhi.entities.Offset;
 import com.flipkart.varadhi.pulsar.clients.ClientProvider;
 import com.flipkart.varadhi.pulsar.config.ProducerOptions;
+import com.flipkart.varadhi.pulsar.util.BatchingTuner;
+import com.flipkart.varadhi.pulsar.util.InFlightLimiter;
 import com.flipkart.varadhi.pulsar.util.PropertyHelper;
 import com.flipkart.varadhi.spi.services.Producer;
+import com.flipkart.varadhi.spi.services.ProducerFullException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.text.RandomStringGenerator;
+import org.apache.pulsar.client.api.BatcherBuilder;
+import org.apache.pulsar.client.api.MessageId;
+import org.apache.pulsar.client.api.MessageRoutingMode;
 import org.apache.pulsar.client.api.ProducerAccessMode;
+import org.apache.pulsar.client.api.ProducerBuilder;
 import org.apache.pulsar.client.api.PulsarClientException;
+import org.apache.pulsar.client.api.Schema;
 import org.apache.pulsar.client.api.TypedMessageBuilder;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
 
 import static com.flipkart.varadhi.Constants.RANDOM_PARTITION_KEY_LENGTH;
+import static com.flipkart.varadhi.entities.CapacityPolicy.BYTES_PER_KB;
 import static com.flipkart.varadhi.entities.StandardHeaders.GROUP_ID;
 import static com.flipkart.varadhi.pulsar.Constants.Producer.*;
 import static org.apache.commons.text.CharacterPredicates.DIGITS;
@@ -25,51 +40,225 @@ import static org.apache.commons.text.CharacterPredicates.LETTERS;
 public class PulsarProducer implements Producer {
 
     private final ClientProvider clientProvider;
+    private final PulsarStorageTopic storageTopic;
+    private final ProducerOptions producerOptions;
+    private final String hostName;
     private final RandomStringGenerator stringGenerator;
-    private org.apache.pulsar.client.api.Producer<byte[]> pulsarProducer;
+    // Key of the messages w/o group, it is rotated every batch worth of messages to spread them over partitions.
+    private final AtomicInteger stickyKeyUses = new AtomicInteger();
+    private volatile String stickyKey;
+    private volatile int stickyKeyMessages;
+    private InFlightLimiter inFlightLimiter;
+    // null, when batching is not adaptive.
+    private BatchingTuner batchingTuner;
+    private final AtomicBoolean recreating = new AtomicBoolean();
+    private int generation;
+    private volatile ActiveProducer pulsarProducer;
 
     public PulsarProducer(
             ClientProvider clientProvider, PulsarStorageTopic storageTopic, ProducerOptions producerOptions,
             String hostName
+    )
+            throws PulsarClientException {
+        this(clientProvider, storageTopic, producerOptions, hostName, System::nanoTime);
+    }
+
+    PulsarProducer(
+            ClientProvider clientProvider, PulsarStorageTopic storageTopic, ProducerOptions producerOptions,
+            String hostName, LongSupplier nanoClock
     )
             throws PulsarClientException {
         this.clientProvider = clientProvider;
+        this.storageTopic = storageTopic;
+        this.producerOptions = producerOptions;
+        this.hostName = hostName;
         this.stringGenerator =
                 new RandomStringGenerator.Builder().withinRange('0', 'z').filteredBy(DIGITS, LETTERS).build();
-        this.pulsarProducer = getProducer(storageTopic, producerOptions, hostName);
+        this.stickyKey = stringGenerator.generate(RANDOM_PARTITION_KEY_LENGTH);
+        this.pulsarProducer = new ActiveProducer(getProducer(storageTopic, producerOptions, hostName, nanoClock));
     }
 
     @Override
     public CompletableFuture<Offset> produceAsync(Message message) {
+        return produce(message, UnaryOperator.identity());
+    }
 
+    @Override
+    public CompletableFuture<Offset> produceAsync(Message message, long deliverAfterMs) {
+        // Delayed delivery is honoured only for Shared (and Key_Shared) subscriptions, as used by Varadhi.
+        return produce(message, builder -> builder.deliverAfter(deliverAfterMs, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Once admitted by the in-flight limiter, every exit (including a failure in building the message) releases the
+     * limiter and the send on the producer.
+     */
+    private CompletableFuture<Offset> produce(
+            Message message, UnaryOperator<TypedMessageBuilder<ByteBuffer>> messageOptions
+    ) {
+        int messageBytes = message.getPayloadSize();
+        if (!inFlightLimiter.tryAcquire(messageBytes)) {
+            return rejected();
+        }
+        ActiveProducer producer = null;
+        CompletableFuture<MessageId> sendFuture;
+        try {
+            tuneBatching(messageBytes);
+            producer = acquireProducer();
+            sendFuture = messageOptions.apply(buildMessage(producer, message)).sendAsync();
+        } catch (RuntimeException e) {
+            inFlightLimiter.release(messageBytes);
+            if (null != producer) {
+                producer.release();
+            }
+            throw e;
+        }
+        return send(producer, messageBytes, sendFuture);
+    }
+
+    private void tuneBatching(int messageBytes) {
+        if (null != batchingTuner) {
+            batchingTuner.onMessage(messageBytes);
+            BatchingTuner.Batching batching = batchingTuner.tune();
+            if (null != batching) {
+                recreateProducer(batching);
+            }
+        }
+    }
+
+    /**
+     * Batching of a Pulsar producer can't be changed, so a producer with the new batching is created (w/o blocking)
+     * and takes over the sends. Current producer is flushed, and closed once the sends which picked it have
+     * completed.
+     */
+    private void recreateProducer(BatchingTuner.Batching batching) {
+        if (!recreating.compareAndSet(false, true)) {
+            return;
+        }
+        Map<String, Object> producerConfig = getProducerConfig(storageTopic, producerOptions, hostName);
+        // producer names are unique on a topic, the current producer is still around.
+        producerConfig.put("producerName", String.format("%s-%d", producerConfig.get("producerName"), ++generation));
+        producerConfig.put("batchingMaxPublishDelayMicros", batching.publishDelayMs() * 1000);
+        producerConfig.put("batchingMaxMessages", batching.maxMessages());
+        producerConfig.put("batchingMaxBytes", batching.maxBytes());
+        try {
+            newProducerBuilder(producerConfig).createAsync().whenComplete((producer, failure) -> {
+                if (null == failure) {
+                    ActiveProducer retired = pulsarProducer;
+                    pulsarProducer = new ActiveProducer(producer);
+                    stickyKeyMessages = batching.maxMessages();
+                    batchingTuner.setCurrent(batching);
+                    retired.retire();
+                    log.info("Re-created producer {} with {}.", producer.getProducerName(), batching);
+                } else {
+                    // current producer continues as is, batching is tuned again in the next interval.
+                    log.warn(String.format("Failed to re-create producer for Topic(%s) with %s.",
+                            storageTopic.getName(), batching
+                    ), failure);
+                }
+                recreating.set(false);
+            });
+        } catch (RuntimeException e) {
+            log.warn(String.format("Failed to re-create producer for Topic(%s).", storageTopic.getName()), e);
+            recreating.set(false);
+        }
+    }
+
+    private CompletableFuture<Offset> rejected() {
+        return CompletableFuture.failedFuture(new ProducerFullException(
+                String.format("Producer(%s) has %d messages (%d bytes) in flight.",
+                        pulsarProducer.producer.getProducerName(),
+                        inFlightLimiter.getMessages(), inFlightLimiter.getBytes()
+                )));
+    }
+
+    /**
+     * @return the current producer, with the send accounted on it. Send is to be released on the producer once done.
+     */
+    private ActiveProducer acquireProducer() {
+        while (true) {
+            ActiveProducer producer = pulsarProducer;
+            producer.sends.incrementAndGet();
+            if (!producer.retired) {
+                return producer;
+            }
+            // retired in the meantime, so is its successor current.
+            producer.release();
+        }
+    }
+
+    private TypedMessageBuilder<ByteBuffer> buildMessage(ActiveProducer producer, Message message) {
         String partitioningKey = getPartitioningKey(message);
 
-        TypedMessageBuilder<byte[]> messageBuilder =
-                pulsarProducer.newMessage().key(partitioningKey).value(message.getPayload());
+        // ByteBuffer schema takes the payload view as is, backing array is used w/o copy when it spans the payload.
+        TypedMessageBuilder<ByteBuffer> messageBuilder =
+                producer.producer.newMessage().key(partitioningKey).value(message.getPayloadBuffer());
 
         message.getRequestHeaders().asMap()
                 .forEach((key, values) -> messageBuilder.property(key, PropertyHelper.encodePropertyValues(values)));
+        return messageBuilder;
+    }
 
+    private CompletableFuture<Offset> send(
+            ActiveProducer producer, int messageBytes, CompletableFuture<MessageId> sendFuture
+    ) {
         // In general Pulsar client and producer, auto-reconnects so this should be fine.Might need to
         // refresh/re-create producer (and possibly client) if there are fatal errors, currently these
         // failures are unknown.
-        return messageBuilder.sendAsync().thenApply(PulsarOffset::new);
+        CompletableFuture<Offset> produceFuture = new CompletableFuture<>();
+        sendFuture.whenComplete((messageId, failure) -> {
+            inFlightLimiter.release(messageBytes);
+            producer.release();
+            if (null == failure) {
+                produceFuture.complete(new PulsarOffset(messageId));
+            } else if (failure instanceof PulsarClientException.ProducerQueueIsFullError
+                    || failure instanceof PulsarClientException.MemoryBufferIsFullError) {
+                // Pulsar's own limits, e.g. a partition or the client memory, with blockIfQueueFull disabled.
+                produceFuture.completeExceptionally(new ProducerFullException(failure.getMessage(), failure));
+            } else {
+                produceFuture.completeExceptionally(failure);
+            }
+        });
+        return produceFuture;
     }
 
     private String getPartitioningKey(Message message) {
         if (message.hasHeader(GROUP_ID)) {
             return message.getHeader(GROUP_ID);
         }
-        return stringGenerator.generate(RANDOM_PARTITION_KEY_LENGTH);
+        // Message key decides the partition, a key per message would split the batches across all the partitions.
+        if (stickyKeyUses.incrementAndGet() % stickyKeyMessages == 0) {
+            stickyKey = stringGenerator.generate(RANDOM_PARTITION_KEY_LENGTH);
+        }
+        return stickyKey;
     }
 
 
-    private org.apache.pulsar.client.api.Producer<byte[]> getProducer(
-            PulsarStorageTopic topic, ProducerOptions options, String hostname
+    private org.apache.pulsar.client.api.Producer<ByteBuffer> getProducer(
+            PulsarStorageTopic topic, ProducerOptions options, String hostname, LongSupplier nanoClock
     )
             throws PulsarClientException {
         Map<String, Object> producerConfig = getProducerConfig(topic, options, hostname);
-        return clientProvider.getPulsarClient().newProducer().loadConf(producerConfig).create();
+        int batchingMaxMessages = (int) producerConfig.get("batchingMaxMessages");
+        stickyKeyMessages = batchingMaxMessages;
+        inFlightLimiter = new InFlightLimiter(
+                (int) producerConfig.get("maxPendingMessagesAcrossPartitions"), getMaxPendingBytes(topic));
+        if (options.isBatchingEnabled() && options.isAdaptiveBatchingEnabled()) {
+            BatchingTuner.Batching batching = new BatchingTuner.Batching(options.getBatchingMaxPublishDelayMs(),
+                    batchingMaxMessages, (int) producerConfig.get("batchingMaxBytes")
+            );
+            // configured publish delay is the latency budget of batching, tuning only lowers it.
+            batchingTuner = new BatchingTuner(batching, options.getBatchingMaxPublishDelayMs(),
+                    topic.getPartitionCount(), options.getBatchingTuneIntervalMs(), nanoClock
+            );
+        }
+        return newProducerBuilder(producerConfig).create();
+    }
+
+    private ProducerBuilder<ByteBuffer> newProducerBuilder(Map<String, Object> producerConfig) {
+        // Key based batches, so that the messages of a group are dispatched together on Key_Shared subscriptions.
+        return clientProvider.getPulsarClient().newProducer(Schema.BYTEBUFFER).loadConf(producerConfig)
+                .batcherBuilder(BatcherBuilder.KEY_BASED);
     }
 
     private Map<String, Object> getProducerConfig(PulsarStorageTopic topic, ProducerOptions options, String hostName) {
@@ -92,16 +281,20 @@ public class PulsarProducer implements Producer {
         //
         // Calculated:: Topic capacity dependent, (primitive calculation by Varadhi).
         // maxPendingMessages, maxPendingMessagesAcrossPartitions
-        // batchingMaxMessages, batchingMaxBytes,
+        // batchingMaxMessages, batchingMaxBytes -- per partition, as each partition batches on its own.
+        //
+        // messageRoutingMode -- round-robin for the messages w/o key, keyed messages are routed by the key hash.
 
         Map<String, Object> producerConfig = options.asConfigMap();
         producerConfig.put("topicName", topic.getName());
         producerConfig.put("producerName", getProducerName(topic.getName(), hostName));
         producerConfig.put("accessMode", ProducerAccessMode.Shared);
+        producerConfig.put("messageRoutingMode", MessageRoutingMode.RoundRobinPartition);
 
         int topicMaxQps = topic.getMaxQPS();
         int maxPendingMessages = getMaxPendingMessages(topicMaxQps);
-        int batchingMaxMessages = getBatchMaxMessages(topicMaxQps, options.getBatchingMaxPublishDelayMs());
+        int batchingMaxMessages = getBatchMaxMessages(
+                getPartitionMaxQps(topicMaxQps, topic.getPartitionCount()), options.getBatchingMaxPublishDelayMs());
         producerConfig.put("maxPendingMessages", maxPendingMessages);
         // maxPendingMessages and maxPendingMessagesAcrossPartitions are kept same assuming worst case.
         producerConfig.put("maxPendingMessagesAcrossPartitions", maxPendingMessages);
@@ -110,6 +303,46 @@ public class PulsarProducer implements Producer {
         return producerConfig;
     }
 
+    /**
+     * Pulsar producer along with the sends in progress on it, so that a retired producer is closed only once its
+     * sends are done. Closing it earlier would fail the sends which picked it just before the switch.
+     */
+    private static final class ActiveProducer {
+        private final org.apache.pulsar.client.api.Producer<ByteBuffer> producer;
+        // sends which picked the producer and haven't completed yet.
+        private final AtomicInteger sends = new AtomicInteger();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean retired;
+
+        ActiveProducer(org.apache.pulsar.client.api.Producer<ByteBuffer> producer) {
+            this.producer = producer;
+        }
+
+        void retire() {
+            retired = true;
+            // publishes the pending batch right away, instead of it waiting out the publish delay.
+            producer.flushAsync();
+            closeIfDone();
+        }
+
+        void release() {
+            sends.decrementAndGet();
+            closeIfDone();
+        }
+
+        private void closeIfDone() {
+            if (retired && sends.get() == 0 && closed.compareAndSet(false, true)) {
+                producer.closeAsync().whenComplete((v, failure) -> {
+                    if (null != failure) {
+                        log.warn(String.format("Failed to close retired producer %s.", producer.getProducerName()),
+                                failure
+                        );
+                    }
+                });
+            }
+        }
+    }
+
     public static String getProducerName(String topicName, String hostName) {
         return String.format("%s.%s", topicName, hostName);
     }
@@ -125,12 +358,21 @@ public class PulsarProducer implements Producer {
         return Math.min(MAX_PENDING_MESSAGES, Math.max(MIN_PENDING_MESSAGES, topicMaxQps));
     }
 
+    public static int getPartitionMaxQps(int topicMaxQps, int partitionCount) {
+        return Math.max(1, topicMaxQps / Math.max(1, partitionCount));
+    }
+
+    public static long getMaxPendingBytes(PulsarStorageTopic topic) {
+        // Same as messages, don't allow more than 1 second worth of bytes in flight.
+        return Math.max(MIN_PENDING_BYTES, (long) topic.getMaxThroughputKBps() * BYTES_PER_KB);
+    }
+
     public static int getBatchMaxMessages(int topicMaxQps, int maxPublishDelayMs) {
         return Math.min(MAX_BATCH_SIZE, Math.max(MIN_BATCH_SIZE, ((topicMaxQps * maxPublishDelayMs) / 1000)));
     }
 
     public static int getBatchingMaxBytes(int batchingMaxMessages, PulsarStorageTopic topic) {
-        return batchingMaxMessages * (topic.getMaxThroughputKBps() * 1000 / topic.getMaxQPS());
+        return batchingMaxMessages * (topic.getMaxThroughputKBps() * BYTES_PER_KB / topic.getMaxQPS());
     }
 
 }
@@ -2,6 +2,8 @@ package com.flipkart.varadhi.pulsar.entities;
 
 import com.flipkart.varadhi.entities.CapacityPolicy;
 import com.flipkart.varadhi.entities.StorageTopic;
+import com.flipkart.varadhi.pulsar.config.CapacityPlannerOptions;
+import com.flipkart.varadhi.pulsar.util.CapacityPlanner;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,6 +12,7 @@ import lombok.Setter;
 @Setter
 @EqualsAndHashCode(callSuper = true)
 public class PulsarStorageTopic extends StorageTopic {
+    private static final CapacityPlanner DEFAULT_PLANNER = new CapacityPlanner(new CapacityPlannerOptions());
 
     private int partitionCount;
 
@@ -25,14 +28,13 @@ public class PulsarStorageTopic extends StorageTopic {
     }
 
     public static PulsarStorageTopic from(String name, CapacityPolicy capacityPolicy) {
-        return new PulsarStorageTopic(name, INITIAL_VERSION, getPartitionCount(capacityPolicy),
-                capacityPolicy.getMaxQPS(), capacityPolicy.getMaxThroughputKBps()
-        );
+        return from(name, capacityPolicy, DEFAULT_PLANNER);
     }
 
-    private static int getPartitionCount(CapacityPolicy capacityPolicy) {
-        //TODO::This should be based on capacity planner for the underlying messaging stack.
-        return 1;
+    public static PulsarStorageTopic from(String name, CapacityPolicy capacityPolicy, CapacityPlanner planner) {
+        return new PulsarStorageTopic(name, INITIAL_VERSION, planner.getPartitionCount(capacityPolicy),
+                capacityPolicy.getMaxQPS(), capacityPolicy.getMaxThroughputKBps()
+        );
     }
 
 }
@@ -0,0 +1,110 @@
+package com.flipkart.varadhi.pulsar.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static com.flipkart.varadhi.pulsar.Constants.Producer.MAX_BATCH_SIZE;
+import static com.flipkart.varadhi.pulsar.Constants.Producer.MIN_BATCH_SIZE;
+
+/**
+ * Tunes batching of a producer from its observed traffic, instead of the declared capacity of the topic. Every
+ * interval, it derives the arrival rate per partition and the average message size, and plans for -
+ * <ul>
+ *     <li>publish delay - the time it takes a partition to fill a full (MAX_BATCH_SIZE) batch, bounded by the max
+ *     publish delay i.e. the latency a message can spend in batching. So, busy topics publish sooner and idle topics
+ *     batch as much as the latency allows.</li>
+ *     <li>batch size - messages arriving at a partition in the publish delay, with bytes as per the average size.</li>
+ * </ul>
+ * A plan is proposed only when it differs from the current batching by a factor of 2 or more, as applying it means
+ * recreating the producer.
+ */
+public class BatchingTuner {
+    static final int MIN_PUBLISH_DELAY_MS = 1;
+    static final int RETUNE_FACTOR = 2;
+
+    private final int maxPublishDelayMs;
+    private final int partitionCount;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final AtomicLong windowStart;
+    private volatile Batching current;
+
+    public record Batching(int publishDelayMs, int maxMessages, int maxBytes) {
+    }
+
+    public BatchingTuner(Batching initial, int maxPublishDelayMs, int partitionCount, long intervalMs) {
+        this(initial, maxPublishDelayMs, partitionCount, intervalMs, System::nanoTime);
+    }
+
+    public BatchingTuner(
+            Batching initial, int maxPublishDelayMs, int partitionCount, long intervalMs, LongSupplier nanoClock
+    ) {
+        this.current = initial;
+        this.maxPublishDelayMs = Math.max(MIN_PUBLISH_DELAY_MS, maxPublishDelayMs);
+        this.partitionCount = Math.max(1, partitionCount);
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+        this.nanoClock = nanoClock;
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public void onMessage(long messageBytes) {
+        messages.increment();
+        bytes.add(messageBytes);
+    }
+
+    /**
+     * @return batching to be applied, when the interval is over and traffic calls for a different batching.
+     * Otherwise, null. Only one of the concurrent callers gets the plan of an interval.
+     */
+    public Batching tune() {
+        long start = windowStart.get();
+        long now = nanoClock.getAsLong();
+        long elapsedNanos = now - start;
+        if (elapsedNanos < intervalNanos || elapsedNanos <= 0 || !windowStart.compareAndSet(start, now)) {
+            return null;
+        }
+        long arrived = messages.sumThenReset();
+        long arrivedBytes = bytes.sumThenReset();
+        if (0 == arrived) {
+            return null;
+        }
+        Batching planned = plan(arrived * 1e9 / elapsedNanos / partitionCount, arrivedBytes / arrived);
+        return isDifferent(planned, current) ? planned : null;
+    }
+
+    /**
+     * Batching being applied, once the producer is recreated with it.
+     */
+    public void setCurrent(Batching batching) {
+        this.current = batching;
+    }
+
+    public Batching getCurrent() {
+        return current;
+    }
+
+    Batching plan(double partitionRate, long averageBytes) {
+        int publishDelayMs = (int) Math.min(maxPublishDelayMs,
+                Math.max(MIN_PUBLISH_DELAY_MS, Math.ceil(MAX_BATCH_SIZE * 1000 / partitionRate))
+        );
+        int maxMessages = (int) Math.min(MAX_BATCH_SIZE,
+                Math.max(MIN_BATCH_SIZE, partitionRate * publishDelayMs / 1000)
+        );
+        int maxBytes = (int) Math.min(Integer.MAX_VALUE, (long) maxMessages * Math.max(1, averageBytes));
+        return new Batching(publishDelayMs, maxMessages, maxBytes);
+    }
+
+    private static boolean isDifferent(Batching planned, Batching current) {
+        return isDifferent(planned.publishDelayMs(), current.publishDelayMs())
+                || isDifferent(planned.maxMessages(), current.maxMessages())
+                || isDifferent(planned.maxBytes(), current.maxBytes());
+    }
+
+    private static boolean isDifferent(long planned, long current) {
+        return planned >= current * RETUNE_FACTOR || current >= planned * RETUNE_FACTOR;
+    }
+}
@@ -0,0 +1,26 @@
+package com.flipkart.varadhi.pulsar.util;
+
+import com.flipkart.varadhi.entities.CapacityPolicy;
+import com.flipkart.varadhi.pulsar.config.CapacityPlannerOptions;
+
+/**
+ * Plans the partitions of a Pulsar topic for its CapacityPolicy, so that no partition is expected to take more than
+ * the per partition capacity, on either of QPS and throughput.
+ */
+public class CapacityPlanner {
+    private final CapacityPlannerOptions options;
+
+    public CapacityPlanner(CapacityPlannerOptions options) {
+        this.options = null == options ? new CapacityPlannerOptions() : options;
+    }
+
+    public int getPartitionCount(CapacityPolicy capacityPolicy) {
+        int forQPS = divideCeil(capacityPolicy.getMaxQPS(), options.getMaxQPSPerPartition());
+        int forThroughput = divideCeil(capacityPolicy.getMaxThroughputKBps(), options.getMaxKBpsPerPartition());
+        return Math.max(1, Math.min(options.getMaxPartitions(), Math.max(forQPS, forThroughput)));
+    }
+
+    private static int divideCeil(int capacity, int perPartition) {
+        return (int) ((capacity + (long) perPartition - 1) / perPartition);
+    }
+}
@@ -0,0 +1,56 @@
+package com.flipkart.varadhi.pulsar.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the messages and bytes in flight on a producer, w/o blocking. A message is admitted only if it fits in both
+ * the limits, except that a message is always admitted when nothing is in flight, so that a message larger than the
+ * bytes limit isn't rejected forever.
+ */
+public class InFlightLimiter {
+    private final int maxMessages;
+    private final long maxBytes;
+    private final AtomicInteger messages = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+
+    public InFlightLimiter(int maxMessages, long maxBytes) {
+        if (maxMessages <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid in-flight limits, messages(%d) bytes(%d).", maxMessages, maxBytes));
+        }
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return true if the message is admitted, it is to be released once it is no longer in flight.
+     */
+    public boolean tryAcquire(long messageBytes) {
+        int inFlightMessages = messages.incrementAndGet();
+        if (inFlightMessages > maxMessages) {
+            messages.decrementAndGet();
+            return false;
+        }
+        long inFlightBytes = bytes.addAndGet(messageBytes);
+        if (inFlightBytes > maxBytes && inFlightMessages > 1) {
+            bytes.addAndGet(-messageBytes);
+            messages.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void release(long messageBytes) {
+        bytes.addAndGet(-messageBytes);
+        messages.decrementAndGet();
+    }
+
+    public int getMessages() {
+        return messages.get();
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+}
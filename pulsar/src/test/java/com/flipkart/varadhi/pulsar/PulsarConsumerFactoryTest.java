@@ -0,0 +1,63 @@
+package com.flipkart.varadhi.pulsar;
+
+import com.flipkart.varadhi.entities.CapacityPolicy;
+import com.flipkart.varadhi.pulsar.clients.ClientProvider;
+import com.flipkart.varadhi.pulsar.entities.PulsarStorageTopic;
+import com.flipkart.varadhi.spi.services.Consumer;
+import com.flipkart.varadhi.spi.services.MessagingException;
+import org.apache.pulsar.client.api.ConsumerBuilder;
+import org.apache.pulsar.client.api.PulsarClient;
+import org.apache.pulsar.client.api.PulsarClientException;
+import org.apache.pulsar.client.api.Schema;
+import org.apache.pulsar.client.api.SubscriptionType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.mockito.Mockito.*;
+
+public class PulsarConsumerFactoryTest {
+    ClientProvider clientProvider;
+    PulsarStorageTopic topic;
+    ConsumerBuilder<ByteBuffer> builder;
+
+    @BeforeEach
+    public void preTest() throws PulsarClientException {
+        topic = PulsarStorageTopic.from("testTopic", CapacityPolicy.getDefault());
+        clientProvider = mock(ClientProvider.class);
+        PulsarClient pClient = mock(PulsarClient.class);
+        builder = mock(ConsumerBuilder.class, RETURNS_SELF);
+        org.apache.pulsar.client.api.Consumer consumer = mock(org.apache.pulsar.client.api.Consumer.class);
+        doReturn(pClient).when(clientProvider).getPulsarClient();
+        doReturn(builder).when(pClient).newConsumer(Schema.BYTEBUFFER);
+        doReturn(consumer).when(builder).subscribe();
+    }
+
+    @Test
+    public void testGetConsumer() throws PulsarClientException {
+        PulsarConsumerFactory factory = new PulsarConsumerFactory(clientProvider, null);
+        Consumer c = factory.getConsumer(topic, "sub1", false);
+        Assertions.assertNotNull(c);
+        verify(builder, times(1)).subscriptionName("sub1");
+        verify(builder, times(1)).subscriptionType(SubscriptionType.Shared);
+        verify(builder, times(1)).subscribe();
+
+        factory.getConsumer(topic, "sub2", true);
+        verify(builder, times(1)).subscriptionType(SubscriptionType.Key_Shared);
+    }
+
+    @Test
+    public void testGetConsumerThrowsPulsarException() throws PulsarClientException {
+        PulsarConsumerFactory factory = new PulsarConsumerFactory(clientProvider, null);
+        doThrow(new PulsarClientException.NotFoundException("Topic not found")).when(builder).subscribe();
+        MessagingException me =
+                Assertions.assertThrows(MessagingException.class, () -> factory.getConsumer(topic, "sub1", false));
+        Assertions.assertEquals(
+                String.format(
+                        "Failed to create Pulsar consumer for sub1 on %s. %s", topic.getName(), "Topic not found"),
+                me.getMessage()
+        );
+    }
+}
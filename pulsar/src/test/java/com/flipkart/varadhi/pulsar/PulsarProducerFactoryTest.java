@@ -3,6 +3,7 @@ package com.flipkart.varadhi.pulsar;
 import com.flipkart.varadhi.entities.CapacityPolicy;
 import com.flipkart.varadhi.exceptions.ProduceException;
 import com.flipkart.varadhi.pulsar.clients.ClientProvider;
+import com.flipkart.varadhi.pulsar.config.ProducerOptions;
 import com.flipkart.varadhi.pulsar.config.PulsarConfig;
 import com.flipkart.varadhi.pulsar.entities.PulsarStorageTopic;
 import com.flipkart.varadhi.spi.services.Producer;
@@ -10,14 +11,19 @@ import com.flipkart.varadhi.utils.YamlLoader;
 import org.apache.pulsar.client.api.ProducerBuilder;
 import org.apache.pulsar.client.api.PulsarClient;
 import org.apache.pulsar.client.api.PulsarClientException;
+import org.apache.pulsar.client.api.Schema;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Mockito.*;
 
@@ -26,7 +32,7 @@ public class PulsarProducerFactoryTest {
     Path tempDir;
     ClientProvider clientProvider;
     PulsarStorageTopic topic;
-    ProducerBuilder<byte[]> builder;
+    ProducerBuilder<ByteBuffer> builder;
 
     @BeforeEach
     public void preTest() throws IOException {
@@ -41,8 +47,9 @@ public class PulsarProducerFactoryTest {
         builder = mock(ProducerBuilder.class);
         org.apache.pulsar.client.api.Producer producer = mock(org.apache.pulsar.client.api.Producer.class);
         doReturn(pClient).when(clientProvider).getPulsarClient();
-        doReturn(builder).when(pClient).newProducer();
+        doReturn(builder).when(pClient).newProducer(Schema.BYTEBUFFER);
         doReturn(builder).when(builder).loadConf(any());
+        doReturn(builder).when(builder).batcherBuilder(any());
         doReturn(producer).when(builder).create();
     }
 
@@ -74,4 +81,23 @@ public class PulsarProducerFactoryTest {
         verify(builder, times(1)).create();
         Assertions.assertEquals("Random error check", re.getMessage());
     }
+
+    @Test
+    public void testProducerPool() throws PulsarClientException {
+        ProducerOptions options = new ProducerOptions();
+        options.setMaxProducersPerTopic(4);
+        options.setMaxQPSPerProducer(1000);
+        PulsarProducerFactory factory = new PulsarProducerFactory(clientProvider, options, "localhost");
+        Assertions.assertEquals(1, factory.getPoolSize(topic));
+        Assertions.assertEquals(3, factory.getPoolSize(PulsarStorageTopic.from("t", new CapacityPolicy(2500, 100))));
+        Assertions.assertEquals(4, factory.getPoolSize(PulsarStorageTopic.from("t", new CapacityPolicy(9000, 100))));
+
+        ArgumentCaptor<Map<String, Object>> configCaptor = ArgumentCaptor.forClass(Map.class);
+        doReturn(builder).when(builder).loadConf(configCaptor.capture());
+        factory.getProducer(topic, 0);
+        factory.getProducer(topic, 1);
+        List<Map<String, Object>> configs = configCaptor.getAllValues();
+        Assertions.assertEquals(topic.getName() + ".localhost", configs.get(0).get("producerName"));
+        Assertions.assertEquals(topic.getName() + ".localhost.1", configs.get(1).get("producerName"));
+    }
 }
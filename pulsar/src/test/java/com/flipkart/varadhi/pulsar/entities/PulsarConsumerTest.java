@@ -0,0 +1,57 @@
+package com.flipkart.varadhi.pulsar.entities;
+
+import com.flipkart.varadhi.entities.CapacityPolicy;
+import com.flipkart.varadhi.pulsar.clients.ClientProvider;
+import com.flipkart.varadhi.pulsar.config.ConsumerOptions;
+import com.flipkart.varadhi.spi.services.PolledMessage;
+import org.apache.pulsar.client.api.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static com.flipkart.varadhi.entities.StandardHeaders.MESSAGE_ID;
+import static org.mockito.Mockito.*;
+
+public class PulsarConsumerTest {
+    org.apache.pulsar.client.api.Consumer<ByteBuffer> consumer;
+    PulsarConsumer pulsarConsumer;
+
+    @BeforeEach
+    public void preTest() throws PulsarClientException {
+        ClientProvider clientProvider = mock(ClientProvider.class);
+        PulsarClient pulsarClient = mock(PulsarClient.class);
+        ConsumerBuilder<ByteBuffer> builder = mock(ConsumerBuilder.class, RETURNS_SELF);
+        consumer = mock(org.apache.pulsar.client.api.Consumer.class);
+        doReturn(pulsarClient).when(clientProvider).getPulsarClient();
+        doReturn(builder).when(pulsarClient).newConsumer(Schema.BYTEBUFFER);
+        doReturn(consumer).when(builder).subscribe();
+        PulsarStorageTopic topic = PulsarStorageTopic.from("one.two.three", CapacityPolicy.getDefault());
+        pulsarConsumer = new PulsarConsumer(clientProvider, topic, "sub1", false, new ConsumerOptions());
+    }
+
+    @Test
+    public void testReceiveAndAck() {
+        MessageId messageId = mock(MessageId.class);
+        Message<ByteBuffer> message = mock(Message.class);
+        doReturn(ByteBuffer.wrap("payload".getBytes())).when(message).getValue();
+        doReturn(Map.of(MESSAGE_ID, "msg1", "x_multi", "v1,v2")).when(message).getProperties();
+        doReturn(messageId).when(message).getMessageId();
+        doReturn(CompletableFuture.completedFuture(message)).when(consumer).receiveAsync();
+        doReturn(CompletableFuture.completedFuture(null)).when(consumer).acknowledgeAsync(messageId);
+
+        PolledMessage polled = pulsarConsumer.receiveAsync().join();
+        Assertions.assertArrayEquals("payload".getBytes(), polled.message().getPayload());
+        Assertions.assertEquals("msg1", polled.message().getMessageId());
+        Assertions.assertEquals(List.of("v1", "v2"), polled.message().getRequestHeaders().get("x_multi"));
+
+        pulsarConsumer.ackAsync(polled.offset()).join();
+        verify(consumer, times(1)).acknowledgeAsync(messageId);
+        pulsarConsumer.nack(polled.offset());
+        verify(consumer, times(1)).negativeAcknowledge(messageId);
+    }
+}
@@ -5,6 +5,7 @@ import com.flipkart.varadhi.entities.Message;
 import com.flipkart.varadhi.entities.Offset;
 import com.flipkart.varadhi.pulsar.clients.ClientProvider;
 import com.flipkart.varadhi.pulsar.config.ProducerOptions;
+import com.flipkart.varadhi.spi.services.ProducerFullException;
 import com.google.common.collect.ArrayListMultimap;
 import org.apache.pulsar.client.api.*;
 import org.apache.pulsar.client.impl.*;
@@ -13,10 +14,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.flipkart.varadhi.Constants.RANDOM_PARTITION_KEY_LENGTH;
 import static com.flipkart.varadhi.entities.StandardHeaders.GROUP_ID;
@@ -25,9 +28,9 @@ import static org.mockito.Mockito.*;
 public class PulsarProducerTest {
 
     PulsarClientImpl pulsarClient;
-    ProducerBuilder<byte[]> producerBuilder;
-    TypedMessageBuilderImpl<byte[]> messageBuilder;
-    PartitionedProducerImpl<byte[]> producer;
+    ProducerBuilder<ByteBuffer> producerBuilder;
+    TypedMessageBuilderImpl<ByteBuffer> messageBuilder;
+    PartitionedProducerImpl<ByteBuffer> producer;
 
     PulsarProducer pulsarProducer;
     ProducerOptions options;
@@ -43,13 +46,13 @@ public class PulsarProducerTest {
         pulsarClient = mock(PulsarClientImpl.class);
         doReturn(pulsarClient).when(clientProvider).getPulsarClient();
 
-        producerBuilder = spy(new ProducerBuilderImpl<>(pulsarClient, Schema.BYTES));
-        doReturn(producerBuilder).when(pulsarClient).newProducer();
+        producerBuilder = spy(new ProducerBuilderImpl<>(pulsarClient, Schema.BYTEBUFFER));
+        doReturn(producerBuilder).when(pulsarClient).newProducer(Schema.BYTEBUFFER);
 
         producer = mock(PartitionedProducerImpl.class);
         doReturn(producer).when(producerBuilder).create();
 
-        messageBuilder = spy(new TypedMessageBuilderImpl(producer, Schema.BYTES));
+        messageBuilder = spy(new TypedMessageBuilderImpl(producer, Schema.BYTEBUFFER));
         doReturn(messageBuilder).when(producer).newMessage();
 
         policy = CapacityPolicy.getDefault();
@@ -89,6 +92,22 @@ public class PulsarProducerTest {
         validateProducerConfig(pConfig, topic, options, hostname);
     }
 
+    @Test
+    public void testProducerCreateForPartitionedTopic() throws PulsarClientException {
+        ArgumentCaptor<Map<String, Object>> pConfigCaptor = ArgumentCaptor.forClass(Map.class);
+        doReturn(producerBuilder).when(producerBuilder).loadConf(pConfigCaptor.capture());
+
+        policy = new CapacityPolicy(20000, 2000);
+        topic = PulsarStorageTopic.from("one.two.three.four", policy);
+        Assertions.assertEquals(4, topic.getPartitionCount());
+        doReturn(topic.getName()).when(producer).getTopic();
+
+        pulsarProducer = new PulsarProducer(clientProvider, topic, options, hostname);
+        Map<String, Object> pConfig = pConfigCaptor.getValue();
+        validateProducerConfig(pConfig, topic, options, hostname);
+        verify(producerBuilder).batcherBuilder(BatcherBuilder.KEY_BASED);
+    }
+
     public void validateProducerConfig(
             Map<String, Object> pConfig, PulsarStorageTopic topic, ProducerOptions options, String hostname
     ) {
@@ -109,8 +128,9 @@ public class PulsarProducerTest {
                 PulsarProducer.getMaxPendingMessages(topic.getMaxQPS()),
                 pConfig.get("maxPendingMessagesAcrossPartitions")
         );
-        int batchMaxMessages =
-                PulsarProducer.getBatchMaxMessages(topic.getMaxQPS(), options.getBatchingMaxPublishDelayMs());
+        Assertions.assertEquals(MessageRoutingMode.RoundRobinPartition, pConfig.get("messageRoutingMode"));
+        int batchMaxMessages = PulsarProducer.getBatchMaxMessages(
+                topic.getMaxQPS() / topic.getPartitionCount(), options.getBatchingMaxPublishDelayMs());
         Assertions.assertEquals(batchMaxMessages, pConfig.get("batchingMaxMessages"));
         Assertions.assertEquals(
                 PulsarProducer.getBatchingMaxBytes(batchMaxMessages, topic), pConfig.get("batchingMaxBytes"));
@@ -128,13 +148,38 @@ public class PulsarProducerTest {
         doReturn(CompletableFuture.completedFuture(new MessageIdImpl(1, 1, 1))).when(messageBuilder).sendAsync();
         Message message = getMessage(payload);
         pulsarProducer.produceAsync(message);
-        org.apache.pulsar.client.api.Message<byte[]> actualMessage = messageBuilder.getMessage();
+        org.apache.pulsar.client.api.Message<ByteBuffer> actualMessage = messageBuilder.getMessage();
         Assertions.assertArrayEquals(payload.getBytes(), actualMessage.getData());
         Assertions.assertEquals(RANDOM_PARTITION_KEY_LENGTH, actualMessage.getKeyBytes().length);
         Assertions.assertEquals(producer.getProducerName(), actualMessage.getProducerName());
         Assertions.assertEquals(topic.getName(), actualMessage.getTopicName());
     }
 
+    @Test
+    public void testMessageBuildOnSendWithPayloadSlice() throws PulsarClientException {
+        byte[] body = "headersomedatatrailer".getBytes();
+        pulsarProducer = new PulsarProducer(clientProvider, topic, options, hostname);
+        doReturn(CompletableFuture.completedFuture(new MessageIdImpl(1, 1, 1))).when(messageBuilder).sendAsync();
+        Message message = new Message(ByteBuffer.wrap(body, 6, 8), ArrayListMultimap.create());
+        pulsarProducer.produceAsync(message);
+        org.apache.pulsar.client.api.Message<ByteBuffer> actualMessage = messageBuilder.getMessage();
+        Assertions.assertArrayEquals("somedata".getBytes(), actualMessage.getData());
+        Assertions.assertEquals(8, message.getPayloadSize());
+    }
+
+    @Test
+    public void testDelayedProduce() throws PulsarClientException {
+        pulsarProducer = new PulsarProducer(clientProvider, topic, options, hostname);
+        doReturn(CompletableFuture.completedFuture(new MessageIdImpl(1, 1, 1))).when(messageBuilder).sendAsync();
+        Message message = getMessage("somedata");
+        message.getRequestHeaders().put(GROUP_ID, "groupId1");
+        pulsarProducer.produceAsync(message, 1000);
+        verify(messageBuilder, times(1)).deliverAfter(1000, TimeUnit.MILLISECONDS);
+        org.apache.pulsar.client.api.Message<ByteBuffer> actualMessage = messageBuilder.getMessage();
+        Assertions.assertArrayEquals("somedata".getBytes(), actualMessage.getData());
+        Assertions.assertEquals("groupId1", actualMessage.getKey());
+    }
+
     @Test
     public void testProducePartitioningKey() throws PulsarClientException {
         String payload = "somedata";
@@ -145,7 +190,7 @@ public class PulsarProducerTest {
         Message message = getMessage(payload);
         message.getRequestHeaders().put(GROUP_ID, groupId1);
         pulsarProducer.produceAsync(message);
-        org.apache.pulsar.client.api.Message<byte[]> actualMessage = messageBuilder.getMessage();
+        org.apache.pulsar.client.api.Message<ByteBuffer> actualMessage = messageBuilder.getMessage();
         Assertions.assertArrayEquals(payload.getBytes(), actualMessage.getData());
         Assertions.assertEquals(groupId1, actualMessage.getKey());
 
@@ -179,7 +224,7 @@ public class PulsarProducerTest {
         message.getRequestHeaders().put("x_multivalue", "x_multivalue2");
         message.getRequestHeaders().put("x_multivalue", "x_multivalue3");
         pulsarProducer.produceAsync(message);
-        org.apache.pulsar.client.api.Message<byte[]> actualMessage = messageBuilder.getMessage();
+        org.apache.pulsar.client.api.Message<ByteBuffer> actualMessage = messageBuilder.getMessage();
         Map<String, String> properites = actualMessage.getProperties();
         Assertions.assertEquals("someheadervalue", properites.get("SomeHeader"));
         Assertions.assertEquals("x_foobar_value", properites.get("x_foobar"));
@@ -210,8 +255,104 @@ public class PulsarProducerTest {
         Assertions.assertTrue(future.isCompletedExceptionally());
         ExecutionException ee =
                 Assertions.assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.MILLISECONDS));
-        Assertions.assertTrue(ee.getCause() instanceof PulsarClientException.ProducerQueueIsFullError);
+        // queue full is backpressure, not a failure of the produce.
+        Assertions.assertTrue(ee.getCause() instanceof ProducerFullException);
+        Assertions.assertTrue(ee.getCause().getCause() instanceof PulsarClientException.ProducerQueueIsFullError);
         Assertions.assertEquals("Queue full.", ee.getCause().getMessage());
     }
 
+    @Test
+    public void testProduceRejectedWhenInFlightIsFull() throws PulsarClientException {
+        pulsarProducer = new PulsarProducer(clientProvider, topic, options, hostname);
+        CompletableFuture<MessageId> sendFuture = new CompletableFuture<>();
+        doReturn(sendFuture).when(messageBuilder).sendAsync();
+        int maxPending = PulsarProducer.getMaxPendingMessages(topic.getMaxQPS());
+        for (int i = 0; i < maxPending; i++) {
+            Assertions.assertFalse(pulsarProducer.produceAsync(getMessage("somedata")).isDone());
+        }
+        CompletableFuture<Offset> rejected = pulsarProducer.produceAsync(getMessage("somedata"));
+        ExecutionException ee = Assertions.assertThrows(ExecutionException.class, rejected::get);
+        Assertions.assertTrue(ee.getCause() instanceof ProducerFullException);
+        verify(messageBuilder, times(maxPending)).sendAsync();
+
+        sendFuture.complete(mock(MessageId.class));
+        doReturn(new CompletableFuture<>()).when(messageBuilder).sendAsync();
+        Assertions.assertFalse(pulsarProducer.produceAsync(getMessage("somedata")).isDone());
+    }
+
+    @Test
+    public void testSendAsyncThrowsReleasesInFlight() throws PulsarClientException {
+        pulsarProducer = new PulsarProducer(clientProvider, topic, options, hostname);
+        doThrow(new RuntimeException("Some Internal Error.")).when(messageBuilder).sendAsync();
+        int maxPending = PulsarProducer.getMaxPendingMessages(topic.getMaxQPS());
+        for (int i = 0; i <= maxPending; i++) {
+            Assertions.assertThrows(RuntimeException.class, () -> pulsarProducer.produceAsync(getMessage("data")));
+        }
+        verify(messageBuilder, times(maxPending + 1)).sendAsync();
+    }
+
+    @Test
+    public void testMessageBuildThrowsReleasesInFlight() throws PulsarClientException {
+        pulsarProducer = new PulsarProducer(clientProvider, topic, options, hostname);
+        doThrow(new IllegalArgumentException("Invalid delay.")).when(messageBuilder)
+                .deliverAfter(anyLong(), any(TimeUnit.class));
+        int maxPending = PulsarProducer.getMaxPendingMessages(topic.getMaxQPS());
+        for (int i = 0; i <= maxPending; i++) {
+            Assertions.assertThrows(
+                    IllegalArgumentException.class, () -> pulsarProducer.produceAsync(getMessage("data"), 1000));
+        }
+        verify(messageBuilder, never()).sendAsync();
+
+        doReturn(new CompletableFuture<>()).when(messageBuilder).sendAsync();
+        Assertions.assertFalse(pulsarProducer.produceAsync(getMessage("data")).isDone());
+    }
+
+
+    @Test
+    public void testAdaptiveBatchingRecreatesProducer() throws PulsarClientException {
+        ArgumentCaptor<Map<String, Object>> pConfigCaptor = ArgumentCaptor.forClass(Map.class);
+        doReturn(producerBuilder).when(producerBuilder).loadConf(pConfigCaptor.capture());
+        PartitionedProducerImpl<ByteBuffer> tunedProducer = mock(PartitionedProducerImpl.class);
+        TypedMessageBuilderImpl<ByteBuffer> tunedMessageBuilder =
+                spy(new TypedMessageBuilderImpl(tunedProducer, Schema.BYTEBUFFER));
+        doReturn(tunedMessageBuilder).when(tunedProducer).newMessage();
+        doReturn(CompletableFuture.completedFuture(tunedProducer)).when(producerBuilder).createAsync();
+        doReturn(CompletableFuture.completedFuture(null)).when(producer).closeAsync();
+        CompletableFuture<MessageId> sent = CompletableFuture.completedFuture(new MessageIdImpl(1, 1, 1));
+        // a send still pending on the current producer, when it is retired.
+        CompletableFuture<MessageId> pending = new CompletableFuture<>();
+        doReturn(pending).doReturn(sent).when(messageBuilder).sendAsync();
+        doReturn(sent).when(tunedMessageBuilder).sendAsync();
+
+        AtomicLong clock = new AtomicLong(0);
+        options.setAdaptiveBatchingEnabled(true);
+        options.setBatchingTuneIntervalMs(1000);
+        options.setSendTimeoutMs(0);
+        pulsarProducer = new PulsarProducer(clientProvider, topic, options, hostname, clock::get);
+        // 2000 msg/s, against the declared capacity of 100.
+        for (int i = 0; i < 2000; i++) {
+            pulsarProducer.produceAsync(getMessage("somedata"));
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(options.getBatchingTuneIntervalMs()));
+        verify(producerBuilder, never()).createAsync();
+        pulsarProducer.produceAsync(getMessage("somedata"));
+
+        verify(producerBuilder, times(1)).createAsync();
+        Map<String, Object> tunedConfig = pConfigCaptor.getValue();
+        Assertions.assertEquals(PulsarProducer.getProducerName(topic.getName(), hostname) + "-1",
+                tunedConfig.get("producerName")
+        );
+        Assertions.assertEquals(20, tunedConfig.get("batchingMaxMessages"));
+        Assertions.assertEquals(160, tunedConfig.get("batchingMaxBytes"));
+        Assertions.assertEquals(10000, tunedConfig.get("batchingMaxPublishDelayMicros"));
+
+        pulsarProducer.produceAsync(getMessage("somedata"));
+        // message which triggered the re-creation as well.
+        verify(tunedMessageBuilder, times(2)).sendAsync();
+        verify(producer).flushAsync();
+        verify(producer, never()).closeAsync();
+
+        pending.complete(new MessageIdImpl(1, 1, 1));
+        verify(producer).closeAsync();
+    }
 }
@@ -0,0 +1,71 @@
+package com.flipkart.varadhi.pulsar.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BatchingTunerTest {
+    AtomicLong clock;
+    BatchingTuner tuner;
+
+    @BeforeEach
+    public void preTest() {
+        clock = new AtomicLong(0);
+        // 10ms latency budget, 2 partitions, tuned every second.
+        tuner = new BatchingTuner(new BatchingTuner.Batching(10, 10, 10000), 10, 2, 1000, clock::get);
+    }
+
+    @Test
+    public void testPlan() {
+        // idle partition batches for as long as the latency budget allows.
+        Assertions.assertEquals(new BatchingTuner.Batching(10, 10, 1000), tuner.plan(100, 100));
+        // 2000 msg/s fills 20 messages in the budget.
+        Assertions.assertEquals(new BatchingTuner.Batching(10, 20, 2000), tuner.plan(2000, 100));
+        // busy partition fills a full batch sooner than the budget.
+        Assertions.assertEquals(new BatchingTuner.Batching(2, 100, 10000), tuner.plan(50000, 100));
+        Assertions.assertEquals(new BatchingTuner.Batching(1, 100, 10000), tuner.plan(1000000, 100));
+    }
+
+    @Test
+    public void testTuneOnlyAfterInterval() {
+        addMessages(40000, 100);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        Assertions.assertNull(tuner.tune());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        // 20000 msg/s on each partition.
+        Assertions.assertEquals(new BatchingTuner.Batching(5, 100, 10000), tuner.tune());
+        // next interval starts afresh.
+        Assertions.assertNull(tuner.tune());
+    }
+
+    @Test
+    public void testSmallChangeIsNotTuned() {
+        tuner.setCurrent(new BatchingTuner.Batching(10, 20, 2000));
+        addMessages(3000, 100);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        // 1500 msg/s plans 15 messages a batch, within the factor of the current.
+        Assertions.assertNull(tuner.tune());
+
+        addMessages(20000, 100);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        BatchingTuner.Batching batching = tuner.tune();
+        Assertions.assertEquals(new BatchingTuner.Batching(10, 100, 10000), batching);
+        tuner.setCurrent(batching);
+        Assertions.assertEquals(batching, tuner.getCurrent());
+    }
+
+    @Test
+    public void testNoTrafficIsNotTuned() {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        Assertions.assertNull(tuner.tune());
+    }
+
+    private void addMessages(int count, int bytes) {
+        for (int i = 0; i < count; i++) {
+            tuner.onMessage(bytes);
+        }
+    }
+}
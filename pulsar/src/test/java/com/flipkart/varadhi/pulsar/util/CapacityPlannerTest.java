@@ -0,0 +1,32 @@
+package com.flipkart.varadhi.pulsar.util;
+
+import com.flipkart.varadhi.entities.CapacityPolicy;
+import com.flipkart.varadhi.pulsar.config.CapacityPlannerOptions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CapacityPlannerTest {
+
+    @Test
+    public void testPartitionCountForCapacity() {
+        CapacityPlannerOptions options = new CapacityPlannerOptions();
+        options.setMaxQPSPerPartition(1000);
+        options.setMaxKBpsPerPartition(2000);
+        options.setMaxPartitions(8);
+        CapacityPlanner planner = new CapacityPlanner(options);
+
+        Assertions.assertEquals(1, planner.getPartitionCount(new CapacityPolicy(0, 0)));
+        Assertions.assertEquals(1, planner.getPartitionCount(new CapacityPolicy(1000, 2000)));
+        Assertions.assertEquals(2, planner.getPartitionCount(new CapacityPolicy(1001, 100)));
+        // larger of the two wins.
+        Assertions.assertEquals(3, planner.getPartitionCount(new CapacityPolicy(1000, 5000)));
+        Assertions.assertEquals(8, planner.getPartitionCount(new CapacityPolicy(Integer.MAX_VALUE, 0)));
+    }
+
+    @Test
+    public void testDefaultOptions() {
+        CapacityPlanner planner = new CapacityPlanner(null);
+        Assertions.assertEquals(1, planner.getPartitionCount(CapacityPolicy.getDefault()));
+        Assertions.assertEquals(4, planner.getPartitionCount(new CapacityPolicy(20000, 100)));
+    }
+}
@@ -0,0 +1,42 @@
+package com.flipkart.varadhi.pulsar.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class InFlightLimiterTest {
+
+    @Test
+    public void testMessagesLimit() {
+        InFlightLimiter limiter = new InFlightLimiter(2, 1000);
+        Assertions.assertTrue(limiter.tryAcquire(10));
+        Assertions.assertTrue(limiter.tryAcquire(10));
+        Assertions.assertFalse(limiter.tryAcquire(10));
+        Assertions.assertEquals(2, limiter.getMessages());
+        Assertions.assertEquals(20, limiter.getBytes());
+
+        limiter.release(10);
+        Assertions.assertTrue(limiter.tryAcquire(10));
+    }
+
+    @Test
+    public void testBytesLimit() {
+        InFlightLimiter limiter = new InFlightLimiter(10, 100);
+        Assertions.assertTrue(limiter.tryAcquire(60));
+        Assertions.assertFalse(limiter.tryAcquire(60));
+        Assertions.assertEquals(1, limiter.getMessages());
+        Assertions.assertEquals(60, limiter.getBytes());
+        Assertions.assertTrue(limiter.tryAcquire(40));
+
+        limiter.release(60);
+        limiter.release(40);
+        // larger than the limit, but nothing else is in flight.
+        Assertions.assertTrue(limiter.tryAcquire(500));
+        Assertions.assertFalse(limiter.tryAcquire(1));
+    }
+
+    @Test
+    public void testInvalidLimits() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new InFlightLimiter(0, 100));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new InFlightLimiter(10, 0));
+    }
+}
@@ -11,6 +11,8 @@ import com.flipkart.varadhi.produce.config.ProducerOptions;
 import com.flipkart.varadhi.produce.otel.ProducerMetrics;
 import com.flipkart.varadhi.produce.otel.ProducerMetricsImpl;
 import com.flipkart.varadhi.produce.otel.ProducerMetricsNoOpImpl;
+import com.flipkart.varadhi.produce.ratelimit.ProduceRateLimiter;
+import com.flipkart.varadhi.produce.ratelimit.QuotaLeaseManager;
 import com.flipkart.varadhi.produce.services.ProducerService;
 import com.flipkart.varadhi.services.AuthZService;
 import com.flipkart.varadhi.services.OrgService;
@@ -18,7 +20,9 @@ import com.flipkart.varadhi.services.ProjectService;
 import com.flipkart.varadhi.services.TeamService;
 import com.flipkart.varadhi.spi.db.MetaStore;
 import com.flipkart.varadhi.spi.db.MetaStoreProvider;
+import com.flipkart.varadhi.spi.db.QuotaLeaseMetaStore;
 import com.flipkart.varadhi.spi.db.RoleBindingMetaStore;
+import com.flipkart.varadhi.spi.db.WatchableMetaStore;
 import com.flipkart.varadhi.spi.services.MessagingStackProvider;
 import com.flipkart.varadhi.spi.services.ProducerFactory;
 import com.flipkart.varadhi.web.AuthHandlers;
@@ -30,6 +34,7 @@ import com.flipkart.varadhi.web.v1.HealthCheckHandler;
 import com.flipkart.varadhi.web.v1.admin.TopicHandlers;
 import com.flipkart.varadhi.web.v1.authz.AuthZHandlers;
 import com.flipkart.varadhi.web.v1.produce.ProduceHandlers;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.vertx.core.Vertx;
 import io.vertx.ext.web.handler.BodyHandler;
@@ -39,6 +44,13 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -67,22 +79,30 @@ public abstract class VerticleDeployer {
         String deployedRegion = restOptions.getDeployedRegion();
         VaradhiTopicFactory varadhiTopicFactory =
                 new VaradhiTopicFactory(messagingStackProvider.getStorageTopicFactory(), deployedRegion);
+        MetaStore metaStore = metaStoreProvider.getMetaStore();
+        Executor cacheLoaderExecutor = createCacheLoaderExecutor(restOptions);
         VaradhiTopicService varadhiTopicService = new VaradhiTopicService(
                 messagingStackProvider.getStorageTopicService(),
-                metaStoreProvider.getMetaStore()
+                metaStore,
+                cacheLoaderExecutor
         );
-        MetaStore metaStore = metaStoreProvider.getMetaStore();
-        this.projectService =
-                new ProjectService(metaStore, restOptions.getProjectCacheBuilderSpec(), meterRegistry);
+        this.projectService = new ProjectService(
+                metaStore, restOptions.getProjectCacheBuilderSpec(), cacheLoaderExecutor, meterRegistry);
         this.topicHandlers =
                 new TopicHandlers(varadhiTopicFactory, varadhiTopicService, projectService);
+        ProduceRateLimiter rateLimiter = setupRateLimiter(configuration.getProducerOptions(), metaStore, hostName);
         ProducerService producerService =
                 setupProducerService(
                         configuration.getProducerOptions(), messagingStackProvider.getProducerFactory(),
-                        varadhiTopicService, meterRegistry
+                        varadhiTopicService, cacheLoaderExecutor, meterRegistry, rateLimiter
                 );
-        this.orgService = new OrgService(metaStore);
-        this.teamService = new TeamService(metaStore);
+        if (metaStore instanceof WatchableMetaStore watchableMetaStore) {
+            // caches are kept fresh by the change notifications, instead of expiring the entries.
+            watchableMetaStore.watchProjects(projectService::onProjectChange);
+            watchableMetaStore.watchVaradhiTopics(producerService::onTopicChange);
+        }
+        this.orgService = new OrgService(metaStore, cacheLoaderExecutor);
+        this.teamService = new TeamService(metaStore, cacheLoaderExecutor);
 
         this.produceHandlers =
                 new ProduceHandlers(hostName, configuration.getRestOptions(), producerService, projectService);
@@ -92,6 +112,10 @@ public abstract class VerticleDeployer {
         BodyHandler bodyHandler = BodyHandler.create(false);
         // payload size restriction is required for Produce APIs. But should be fine to set as default for all.
         bodyHandler.setBodyLimit(configuration.getRestOptions().getPayloadSizeMax());
+        // Body buffer is allocated as per content-length, so that it is filled exactly and its backing array is handed
+        // over to Pulsar as is. Vert.x caps the preallocation at 64KB (65535 bytes), larger bodies grow the buffer and
+        // are copied once when sent.
+        bodyHandler.setPreallocateBodyBuffer(true);
         this.behaviorConfigurators.put(RouteBehaviour.authenticated, new AuthHandlers(vertx, configuration));
         this.behaviorConfigurators.put(RouteBehaviour.hasBody, (route, routeDef) -> route.handler(bodyHandler));
     }
@@ -144,12 +168,48 @@ public abstract class VerticleDeployer {
             ProducerOptions producerOptions,
             ProducerFactory<StorageTopic> producerFactory,
             VaradhiTopicService varadhiTopicService,
-            MeterRegistry meterRegistry
+            Executor cacheLoaderExecutor,
+            MeterRegistry meterRegistry,
+            ProduceRateLimiter rateLimiter
     ) {
-        ProducerMetrics producerMetrics = producerOptions.isMetricEnabled() ? new ProducerMetricsImpl(meterRegistry) :
+        ProducerMetrics producerMetrics = producerOptions.isMetricEnabled() ?
+                new ProducerMetricsImpl(meterRegistry, producerOptions.getMeterCacheBuilderSpec()) :
                 new ProducerMetricsNoOpImpl();
         return new ProducerService(
-                producerOptions, producerFactory, producerMetrics, varadhiTopicService, meterRegistry);
+                producerOptions, producerFactory, producerMetrics, varadhiTopicService, cacheLoaderExecutor,
+                meterRegistry, rateLimiter
+        );
+    }
+
+    private ProduceRateLimiter setupRateLimiter(ProducerOptions producerOptions, MetaStore metaStore, String hostName) {
+        if (!producerOptions.isRateLimitEnabled()) {
+            return ProduceRateLimiter.unlimited();
+        }
+        ProduceRateLimiter rateLimiter = new ProduceRateLimiter(
+                producerOptions.getRateLimitBurstSeconds(), producerOptions::getServerInstances,
+                producerOptions.getRateLimiterCacheBuilderSpec()
+        );
+        if (producerOptions.isDistributedQuotaEnabled() && metaStore instanceof QuotaLeaseMetaStore leaseStore) {
+            ScheduledExecutorService leaseScheduler = Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("varadhi-quota-lease-%d").setDaemon(true).build());
+            // unique per startup, so that a restarted instance isn't mistaken for its lingering session's leases.
+            String memberId = hostName + "-" + UUID.randomUUID();
+            new QuotaLeaseManager(rateLimiter, leaseStore, memberId)
+                    .start(leaseScheduler, producerOptions.getQuotaLeaseRenewIntervalMs());
+        }
+        return rateLimiter;
+    }
+
+    private static Executor createCacheLoaderExecutor(RestOptions restOptions) {
+        // Bounded, so that a slow metastore/messaging stack doesn't pile up loads. Rejected load fails the get.
+        return new ThreadPoolExecutor(
+                restOptions.getCacheLoaderThreads(),
+                restOptions.getCacheLoaderThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(restOptions.getCacheLoaderQueueSize()),
+                new ThreadFactoryBuilder().setNameFormat("varadhi-cache-loader-%d").setDaemon(true).build()
+        );
     }
 
     private boolean shouldEnableAuthZHandlers(ServerConfiguration configuration) {
@@ -39,5 +39,10 @@ public class AuthenticationOptions extends HashMap<AuthenticationOptions.Mechani
     public static class JWTConfig {
         private String jwksUrl;
         private JWTOptions options;
+        // jwk keys are re-fetched at this interval, to pick up rotated keys.
+        private long jwksRefreshIntervalMs = 900_000;
+        // Guava cache spec for the users of the verified tokens. Expiry bounds how long a token is trusted w/o
+        // verification, irrespective of its exp claim.
+        private String tokenCacheSpec = "maximumSize=10000,expireAfterWrite=300s";
     }
 }
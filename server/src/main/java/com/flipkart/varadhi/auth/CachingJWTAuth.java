@@ -0,0 +1,142 @@
+package com.flipkart.varadhi.auth;
+
+import com.flipkart.varadhi.exceptions.VaradhiException;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.Credentials;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import io.vertx.ext.auth.jwt.JWTAuth;
+import io.vertx.ext.auth.jwt.JWTAuthOptions;
+import io.vertx.ext.web.handler.HttpException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static java.net.HttpURLConnection.HTTP_OK;
+
+/**
+ * JWTAuth over the keys of a JWKS endpoint, which remembers the users of the tokens it has verified. Clients reuse a
+ * token across requests, so a repeated token is authenticated by a cache lookup instead of the signature
+ * verification. Tokens are cached by their hash, and a cached user is served only till its token expires as per the
+ * exp claim. Keys are re-fetched periodically in the background, and the cache is cleared on a change of keys.
+ */
+@Slf4j
+public class CachingJWTAuth implements JWTAuth {
+    private final Vertx vertx;
+    private final AuthenticationOptions.JWTConfig config;
+    private final HttpClient httpClient;
+    private final Cache<HashCode, User> users;
+    private volatile JsonArray jwkKeys;
+    private volatile JWTAuth jwtAuth;
+
+    public CachingJWTAuth(Vertx vertx, AuthenticationOptions.JWTConfig config) {
+        this.vertx = vertx;
+        this.config = config;
+        this.httpClient = HttpClient.newHttpClient();
+        this.users = CacheBuilder.from(config.getTokenCacheSpec()).build();
+    }
+
+    /**
+     * Loads the keys and schedules their refresh.
+     *
+     * @return future completed once the keys are loaded. Failed if the keys can't be loaded.
+     */
+    public CompletableFuture<Void> start() {
+        return refreshKeys().thenRun(() -> vertx.setPeriodic(
+                config.getJwksRefreshIntervalMs(),
+                id -> refreshKeys().exceptionally(e -> {
+                    // keys loaded last continue to be used.
+                    log.error(String.format("Failed to refresh jwk keys from %s.", config.getJwksUrl()), e);
+                    return null;
+                })
+        ));
+    }
+
+    CompletableFuture<Void> refreshKeys() {
+        HttpRequest request = HttpRequest.newBuilder().uri(URI.create(config.getJwksUrl())).build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenAccept(response -> {
+                    if (response.statusCode() != HTTP_OK) {
+                        throw new HttpException(response.statusCode(), response.body());
+                    }
+                    JsonArray keys = new JsonObject(response.body()).getJsonArray("keys");
+                    if (null == keys) {
+                        throw new VaradhiException(
+                                String.format("Invalid jwks url %s response. No jwk keys found.", config.getJwksUrl()));
+                    }
+                    setKeys(keys);
+                });
+    }
+
+    void setKeys(JsonArray keys) {
+        if (keys.equals(jwkKeys)) {
+            return;
+        }
+        JWTAuthOptions jwtAuthOptions = new JWTAuthOptions();
+        for (int i = 0; i < keys.size(); ++i) {
+            jwtAuthOptions.addJwk(keys.getJsonObject(i));
+        }
+        jwtAuthOptions.setJWTOptions(config.getOptions());
+        jwtAuth = JWTAuth.create(vertx, jwtAuthOptions);
+        jwkKeys = keys;
+        // tokens verified by a key which has been removed shouldn't be served anymore.
+        users.invalidateAll();
+        log.info("Loaded {} jwk keys from {}.", keys.size(), config.getJwksUrl());
+    }
+
+    @Override
+    public void authenticate(Credentials credentials, Handler<AsyncResult<User>> resultHandler) {
+        if (!(credentials instanceof TokenCredentials tokenCredentials)) {
+            jwtAuth.authenticate(credentials, resultHandler);
+            return;
+        }
+        HashCode tokenHash = Hashing.sha256().hashString(tokenCredentials.getToken(), StandardCharsets.UTF_8);
+        User user = users.getIfPresent(tokenHash);
+        if (null != user) {
+            if (!isExpired(user)) {
+                resultHandler.handle(Future.succeededFuture(user));
+                return;
+            }
+            users.invalidate(tokenHash);
+        }
+        jwtAuth.authenticate(credentials, result -> {
+            if (result.succeeded()) {
+                users.put(tokenHash, result.result());
+            }
+            resultHandler.handle(result);
+        });
+    }
+
+    @Override
+    public void authenticate(JsonObject credentials, Handler<AsyncResult<User>> resultHandler) {
+        authenticate(new TokenCredentials(credentials), resultHandler);
+    }
+
+    @Override
+    public String generateToken(JsonObject claims, JWTOptions options) {
+        return jwtAuth.generateToken(claims, options);
+    }
+
+    private boolean isExpired(User user) {
+        JWTOptions options = config.getOptions();
+        if (null == options) {
+            return user.expired();
+        }
+        return !options.isIgnoreExpiration() && user.expired(options.getLeeway());
+    }
+}
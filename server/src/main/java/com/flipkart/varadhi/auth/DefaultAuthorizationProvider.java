@@ -9,24 +9,54 @@ import com.flipkart.varadhi.spi.db.MetaStore;
 import com.flipkart.varadhi.spi.db.MetaStoreOptions;
 import com.flipkart.varadhi.spi.db.MetaStoreProvider;
 import com.flipkart.varadhi.spi.db.RoleBindingMetaStore;
+import com.flipkart.varadhi.spi.db.WatchableMetaStore;
 import com.flipkart.varadhi.utils.YamlLoader;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.flipkart.varadhi.utils.LoaderUtils.loadClass;
 
 
 @Slf4j
 public class DefaultAuthorizationProvider implements AuthorizationProvider {
-    private static final Role EMPTY_ROLE = new Role("", Set.of());
+    private static final Future<Boolean> ALLOWED = Future.succeededFuture(true);
+    private static final Future<Boolean> DENIED = Future.succeededFuture(false);
+
+    static {
+        // permissions are compiled to a bit per ResourceAction.
+        if (ResourceAction.values().length > Long.SIZE) {
+            throw new IllegalStateException("ResourceAction(s) don't fit in the permission bitmask.");
+        }
+    }
+
     private DefaultAuthorizationConfiguration configuration;
     private AuthZService authZService;
+    // Permissions of the roles as bitmask over ResourceAction ordinals, by role id.
+    private Map<String, Long> rolePermissions;
+    // Permissions of a subject on a resource merged over the resource hierarchy, so that deciding on any action is a
+    // single bitwise AND. Lack of any permission is cached as well. Invalidated on any change to the role bindings
+    // when they are watched, otherwise permissions are stale for at most the expiry as per the cache spec.
+    private Cache<PermissionKey, Long> permissionCache;
+    // Bumped on every change to the role bindings, so that permissions merged across a change don't stay cached.
+    private final AtomicLong roleBindingsVersion = new AtomicLong();
+    private Executor evaluator;
     private volatile boolean initialised = false;
 
     @Override
@@ -35,6 +65,9 @@ public class DefaultAuthorizationProvider implements AuthorizationProvider {
             this.configuration =
                     YamlLoader.loadConfig(
                             authorizationOptions.getConfigFile(), DefaultAuthorizationConfiguration.class);
+            this.rolePermissions = compileRoles(this.configuration.getRoleDefinitions());
+            this.permissionCache = CacheBuilder.from(this.configuration.getPermissionCacheSpec()).build();
+            this.evaluator = createEvaluator(this.configuration);
             getAuthZService();
             this.initialised = true;
         }
@@ -55,7 +88,11 @@ public class DefaultAuthorizationProvider implements AuthorizationProvider {
         MetaStore store = provider.getMetaStore();
 
         if (store instanceof RoleBindingMetaStore) {
-            return new AuthZService(store, (RoleBindingMetaStore) store);
+            AuthZService service = new AuthZService(store, (RoleBindingMetaStore) store);
+            if (store instanceof WatchableMetaStore watchableMetaStore) {
+                service.indexRoleBindings(watchableMetaStore, this::onRoleBindingsChange);
+            }
+            return service;
         }
 
         throw new IllegalStateException("Provider must implement RoleBindingMetaStore");
@@ -69,147 +106,193 @@ public class DefaultAuthorizationProvider implements AuthorizationProvider {
      * @param resource    Full schemaless URI of the resource on which the action is to be authorized.
      *                    Must be of format: {org_id}/{team_id}/{project_id}/{topic|queue|subscription}
      *
-     * @return {@code Future<Boolean>} a future result expressing True/False decision
+     * @return {@code Future<Boolean>} a future result expressing True/False decision. Completed right away when
+     * permissions are cached, otherwise completed on an evaluator thread.
      */
     @Override
     public Future<Boolean> isAuthorized(UserContext userContext, ResourceAction action, String resource) {
+        return isAuthorizedOn(userContext, action, ResourceHierarchy.fromPath(resource));
+    }
+
+    @Override
+    public Future<Boolean> isAuthorizedOn(UserContext userContext, ResourceAction action, ResourceHierarchy resource) {
         if (!initialised) {
             throw new IllegalStateException("Default Authorization Provider is not initialised.");
         }
-        List<Pair<ResourceType, ResourceContext>> leafToRootResourceIds =
-                generateResourceContextHierarchy(action, resource);
-        if (leafToRootResourceIds.isEmpty()) {
-            return Future.succeededFuture(false);
+        if (resource.isEmpty()) {
+            return DENIED;
+        }
+        // leaf of the hierarchy depends on the resource type of the action.
+        PermissionKey key = new PermissionKey(userContext.getSubject(), action.getResourceType(), resource);
+        Long permissions = permissionCache.getIfPresent(key);
+        if (null != permissions) {
+            return isAllowed(permissions, action) ? ALLOWED : DENIED;
+        }
+        Promise<Boolean> promise = Promise.promise();
+        try {
+            evaluator.execute(() -> {
+                try {
+                    promise.complete(isAllowed(loadPermissions(key, action), action));
+                } catch (Exception e) {
+                    promise.fail(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return Future.failedFuture(e);
         }
+        return promise.future();
+    }
+
+    private static boolean isAllowed(long permissions, ResourceAction action) {
+        return (permissions & toBit(action)) != 0;
+    }
+
+    private long loadPermissions(PermissionKey key, ResourceAction action) {
+        long version = roleBindingsVersion.get();
+        long permissions =
+                mergePermissions(key.subject(), generateResourceContextHierarchy(action, key.resource()));
+        permissionCache.put(key, permissions);
+        if (version != roleBindingsVersion.get()) {
+            // role bindings changed while merging, permissions may be stale.
+            permissionCache.invalidate(key);
+        }
+        return permissions;
+    }
+
+    private static Executor createEvaluator(DefaultAuthorizationConfiguration configuration) {
+        // Bounded, so that a slow meta store doesn't pile up evaluations. Rejected evaluation fails the check.
+        return new ThreadPoolExecutor(
+                configuration.getEvaluatorThreads(),
+                configuration.getEvaluatorThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(configuration.getEvaluatorQueueSize()),
+                new ThreadFactoryBuilder().setNameFormat("varadhi-authz-evaluator-%d").setDaemon(true).build()
+        );
+    }
 
-        boolean result =
-                leafToRootResourceIds.stream()
-                        .anyMatch(pair -> isAuthorizedInternal(userContext.getSubject(), action, pair.getValue()));
-        return Future.succeededFuture(result);
+    private void onRoleBindingsChange() {
+        roleBindingsVersion.incrementAndGet();
+        permissionCache.invalidateAll();
+    }
+
+    private static Map<String, Long> compileRoles(Map<String, Role> roleDefinitions) {
+        Map<String, Long> compiled = new HashMap<>();
+        roleDefinitions.forEach((roleId, role) -> {
+            long permissions = 0;
+            for (ResourceAction action : role.getPermissions()) {
+                permissions |= toBit(action);
+            }
+            compiled.put(roleId, permissions);
+        });
+        return Map.copyOf(compiled);
+    }
+
+    private static long toBit(ResourceAction action) {
+        return 1L << action.ordinal();
     }
 
     /**
-     * Parse the resource path based on the action and resolve the final resourceIDs for each resourceType.
+     * Resolve the final resourceIDs for each resourceType of the resource hierarchy, leaf as per the action.
      *
-     * @param resourcePath uri of the resource
+     * @param resource levels of the resource in the hierarchy
      *
      * @return List of pairs having resource type to its context. List is used so that we can impose ordering from leaf to root nodes.
      */
     private List<Pair<ResourceType, ResourceContext>> generateResourceContextHierarchy(
-            ResourceAction action, String resourcePath
+            ResourceAction action, ResourceHierarchy resource
     ) {
-        if (StringUtils.isBlank(resourcePath)) {
+        if (resource.isEmpty()) {
             return List.of();
         }
 
-        String[] segments = resourcePath.split("/");
-
         // build the list in reverse order specified: ROOT -> ORG -> TEAM -> PROJECT -> TOPIC|SUBSCRIPTION|QUEUE
         List<Pair<ResourceType, ResourceContext>> resourceContextTuples = new ArrayList<>();
-        addResourceContextForLeafNode(resourceContextTuples, action, segments);
-        addResourceContextForProjectNode(resourceContextTuples, segments);
-        addResourceContextForTeamNode(resourceContextTuples, segments);
-        addResourceContextForOrgNode(resourceContextTuples, segments);
+        addResourceContextForLeafNode(resourceContextTuples, action, resource);
+        addResourceContextForProjectNode(resourceContextTuples, resource);
+        addResourceContextForTeamNode(resourceContextTuples, resource);
+        addResourceContextForOrgNode(resourceContextTuples, resource);
 
         return resourceContextTuples;
     }
 
     /**
-     * Authorize subject against a single resource.
-     * Succeeds the future if user is authorized, otherwise fails the future.
-     *
-     * @param subject         user identifier to be authorized
-     * @param action          action requested by the subject which needs authorization
-     * @param resourceContext record holding the resource type, id and policy path
-     *
-     * @return {@code boolean} return whether the user is authorized or not
+     * Merges the permissions of the subject over the given resources, i.e. of all the roles bound to the subject on
+     * any of the resources.
      */
-    private boolean isAuthorizedInternal(
-            String subject, ResourceAction action, ResourceContext resourceContext
-    ) {
-        log.debug(
-                "Checking authorization for subject [{}] and action [{}] on resource [{}]", subject, action,
-                resourceContext.policyPath()
-        );
-        return getRolesForSubject(subject, resourceContext)
-                .stream().anyMatch(role -> doesActionBelongToRole(subject, role, action));
-    }
-
-    private Set<String> getRolesForSubject(String subject, ResourceContext resourceContext) {
-        RoleBindingNode node =
-                getAuthZService().getIAMPolicy(resourceContext.resourceType(), resourceContext.resourceId());
-        if (node == null) {
-            log.error("No roles on resource for subject {}", subject);
-            return Set.of();
-        }
-        log.info("Fetched roles for subject [{}] and resource [{}]", subject, resourceContext.policyPath());
-        return node.getRolesAssignment().getOrDefault(subject, Set.of());
-    }
-
-    private boolean doesActionBelongToRole(String subject, String roleId, ResourceAction action) {
-        log.debug("Evaluating action [{}] for subject [{}] against role [{}]", action, subject, roleId);
-        boolean matching =
-                configuration.getRoleDefinitions().getOrDefault(roleId, EMPTY_ROLE).getPermissions().contains(action);
-        if (matching) {
-            log.debug("Successfully matched action [{}] for subject [{}] against role [{}]", action, subject, roleId);
+    private long mergePermissions(String subject, List<Pair<ResourceType, ResourceContext>> resourceContexts) {
+        long permissions = 0;
+        for (Pair<ResourceType, ResourceContext> pair : resourceContexts) {
+            ResourceContext resourceContext = pair.getValue();
+            RoleBindingNode node =
+                    getAuthZService().getIAMPolicy(resourceContext.resourceType(), resourceContext.resourceId());
+            if (null == node) {
+                log.debug("No role binding on resource [{}]", resourceContext.policyPath());
+                continue;
+            }
+            for (String roleId : node.getRolesAssignment().getOrDefault(subject, Set.of())) {
+                permissions |= rolePermissions.getOrDefault(roleId, 0L);
+            }
         }
-        return matching;
+        return permissions;
     }
 
     private void addResourceContextForOrgNode(
-            List<Pair<ResourceType, ResourceContext>> resourceIdTuples, String[] segments
+            List<Pair<ResourceType, ResourceContext>> resourceIdTuples, ResourceHierarchy resource
     ) {
         resourceIdTuples.add(Pair.of(
                 ResourceType.ORG,
-                new ResourceContext(ResourceType.ORG, segments[0], "/orgs/%s".formatted(segments[0]))
+                new ResourceContext(ResourceType.ORG, resource.org(), "/orgs/%s".formatted(resource.org()))
         ));
     }
 
     private void addResourceContextForTeamNode(
-            List<Pair<ResourceType, ResourceContext>> resourceIdTuples, String[] segments
+            List<Pair<ResourceType, ResourceContext>> resourceIdTuples, ResourceHierarchy resource
     ) {
-        if (segments.length > 1) {
+        if (null != resource.team()) {
             // /orgs/:org/teams/:team
             resourceIdTuples.add(
                     Pair.of(
                             ResourceType.TEAM,
                             new ResourceContext(
-                                    ResourceType.TEAM, "%s:%s".formatted(segments[0], segments[1]),
-                                    "/orgs/%s/teams/%s".formatted(segments[0], segments[1])
+                                    ResourceType.TEAM, "%s:%s".formatted(resource.org(), resource.team()),
+                                    "/orgs/%s/teams/%s".formatted(resource.org(), resource.team())
                             )
                     ));
         }
     }
 
     private void addResourceContextForProjectNode(
-            List<Pair<ResourceType, ResourceContext>> resourceIdTuples, String[] segments
+            List<Pair<ResourceType, ResourceContext>> resourceIdTuples, ResourceHierarchy resource
     ) {
-        if (segments.length > 2) {
+        if (null != resource.project()) {
             resourceIdTuples.add(Pair.of(
                     ResourceType.PROJECT,
-                    new ResourceContext(ResourceType.PROJECT, segments[2], "/projects/%s".formatted(segments[2]))
+                    new ResourceContext(
+                            ResourceType.PROJECT, resource.project(), "/projects/%s".formatted(resource.project()))
             ));
         }
     }
 
     private void addResourceContextForLeafNode(
-            List<Pair<ResourceType, ResourceContext>> resourceIdTuples, ResourceAction action, String[] segments
+            List<Pair<ResourceType, ResourceContext>> resourceIdTuples, ResourceAction action,
+            ResourceHierarchy resource
     ) {
-        if (segments.length > 3) {
+        if (null != resource.leaf()) {
             // /projects/:project/[topics|subs]/:[topic|sub]
             switch (action.getResourceType()) {
                 case TOPIC -> resourceIdTuples.add(Pair.of(
                         ResourceType.TOPIC,
                         new ResourceContext(
-                                ResourceType.TOPIC, "%s:%s".formatted(segments[2], segments[3]),
-                                "/projects/%s/topics/%s".formatted(segments[2], segments[3])
+                                ResourceType.TOPIC, "%s:%s".formatted(resource.project(), resource.leaf()),
+                                "/projects/%s/topics/%s".formatted(resource.project(), resource.leaf())
                         )
                 ));
                 case SUBSCRIPTION -> resourceIdTuples.add(Pair.of(
                         ResourceType.SUBSCRIPTION,
                         new ResourceContext(
-                                ResourceType.SUBSCRIPTION, "%s:%s".formatted(segments[2], segments[3]),
-                                "/projects/%s/subscriptions/%s".formatted(segments[2], segments[3])
+                                ResourceType.SUBSCRIPTION, "%s:%s".formatted(resource.project(), resource.leaf()),
+                                "/projects/%s/subscriptions/%s".formatted(resource.project(), resource.leaf())
                         )
                 ));
                 default -> throw new IllegalArgumentException(
@@ -220,4 +303,7 @@ public class DefaultAuthorizationProvider implements AuthorizationProvider {
 
     private record ResourceContext(ResourceType resourceType, String resourceId, String policyPath) {
     }
+
+    private record PermissionKey(String subject, ResourceType leafResourceType, ResourceHierarchy resource) {
+    }
 }
@@ -0,0 +1,40 @@
+package com.flipkart.varadhi.auth;
+
+import com.flipkart.varadhi.entities.auth.ResourceHierarchy;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.function.Function;
+
+import static com.flipkart.varadhi.entities.auth.ResourceHierarchy.PATH_SEPARATOR;
+
+/**
+ * Resource name template of a route, compiled at route setup into the levels of the resource hierarchy i.e.
+ * {org}/{team}/{project}/{leaf}. Each level is resolved on its own per request, so that the resource hierarchy is
+ * located without building and re-splitting the resource path.
+ */
+@ToString
+public class ResourceLocator {
+    private static final int LEVELS = 4;
+
+    @Getter
+    private final String template;
+    private final ResourceName[] levels;
+
+    public ResourceLocator(String template) {
+        this.template = template;
+        String[] segments = template.isEmpty() ? new String[0] : template.split(PATH_SEPARATOR);
+        this.levels = new ResourceName[Math.min(LEVELS, segments.length)];
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = new ResourceName(segments[i]);
+        }
+    }
+
+    public ResourceHierarchy locate(Function<String, String> env) {
+        return new ResourceHierarchy(resolve(0, env), resolve(1, env), resolve(2, env), resolve(3, env));
+    }
+
+    private String resolve(int level, Function<String, String> env) {
+        return level < levels.length ? levels[level].resolve(env) : null;
+    }
+}
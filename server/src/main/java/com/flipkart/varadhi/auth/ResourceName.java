@@ -43,21 +43,28 @@ public class ResourceName {
     }
 
     public String resolve(Function<String, String> env) {
+        if (tokens.size() == 1) {
+            // common case of a single variable or literal, resolved w/o any copy.
+            return resolve(tokens.get(0), env);
+        }
         StringBuilder sb = new StringBuilder(sizeEstimate);
         for (Token t : tokens) {
-            if (t.isVariable) {
-                String resolvedValue = env.apply(t.token);
-                if (resolvedValue == null) {
-                    throw new IllegalStateException("could not resolve variable '" + t.token + "'");
-                }
-                sb.append(resolvedValue);
-            } else {
-                sb.append(t.token);
-            }
+            sb.append(resolve(t, env));
         }
         return sb.toString();
     }
 
+    private static String resolve(Token t, Function<String, String> env) {
+        if (!t.isVariable) {
+            return t.token;
+        }
+        String resolvedValue = env.apply(t.token);
+        if (resolvedValue == null) {
+            throw new IllegalStateException("could not resolve variable '" + t.token + "'");
+        }
+        return resolvedValue;
+    }
+
     record Token(String token, boolean isVariable) {
     }
 }
@@ -14,4 +14,13 @@ public class DefaultAuthorizationConfiguration {
     private Map<String, Role> roleDefinitions;
 
     private MetaStoreOptions metaStoreOptions;
+
+    /**
+     * Guava cache spec for the permissions of the subjects on the resources.
+     */
+    private String permissionCacheSpec = "maximumSize=100000,expireAfterWrite=600s";
+
+    // Permissions not cached are evaluated on these threads, as role bindings may be read from the meta store.
+    private int evaluatorThreads = 4;
+    private int evaluatorQueueSize = 1000;
 }
@@ -10,12 +10,17 @@ import static com.flipkart.varadhi.Constants.REST_DEFAULTS.*;
 public class RestOptions {
     @NotBlank
     private String deployedRegion;
+    // Cached projects are updated on change in the meta store, so expiry is only for evicting unused projects.
     @NotNull
-    private String projectCacheBuilderSpec = "expireAfterWrite=3600s";
+    private String projectCacheBuilderSpec = "expireAfterAccess=3600s";
     private int payloadSizeMax = PAYLOAD_SIZE_MAX;
     private int headersAllowedMax = HEADERS_ALLOWED_MAX;
     private int headerNameSizeMax = HEADER_NAME_SIZE_MAX;
     private int headerValueSizeMax = HEADER_VALUE_SIZE_MAX;
+    private int batchMessagesMax = BATCH_MESSAGES_MAX;
+    // Entity caches (project, topic, producer) are loaded on these threads, away from the event loop.
+    private int cacheLoaderThreads = CACHE_LOADER_THREADS;
+    private int cacheLoaderQueueSize = CACHE_LOADER_QUEUE_SIZE;
     private String defaultOrg = DEFAULT_ORG;
     private String defaultTeam = DEFAULT_TEAM;
     private String defaultProject = DEFAULT_PROJECT;
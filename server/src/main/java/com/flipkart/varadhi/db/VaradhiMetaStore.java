@@ -3,26 +3,53 @@ package com.flipkart.varadhi.db;
 import com.flipkart.varadhi.entities.*;
 import com.flipkart.varadhi.entities.auth.ResourceType;
 import com.flipkart.varadhi.entities.auth.RoleBindingNode;
+import com.flipkart.varadhi.exceptions.ResourceNotFoundException;
+import com.flipkart.varadhi.spi.db.AsyncMetaStore;
+import com.flipkart.varadhi.spi.db.EntityChangeListener;
 import com.flipkart.varadhi.spi.db.MetaStore;
+import com.flipkart.varadhi.spi.db.QuotaLeaseMetaStore;
 import com.flipkart.varadhi.spi.db.RoleBindingMetaStore;
+import com.flipkart.varadhi.spi.db.WatchableMetaStore;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.curator.framework.CuratorFramework;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import static com.flipkart.varadhi.db.ZNode.*;
 import static com.flipkart.varadhi.entities.MetaStoreEntity.NAME_SEPARATOR;
-
-
+import static com.flipkart.varadhi.entities.MetaStoreEntity.NAME_SEPARATOR_REGEX;
+
+
+/**
+ * Listing of teams of an org, projects of a team and topics of a project is served from the secondary index znodes
+ * (see ZNode.TEAM_INDEX etc.), i.e. a single children read of the index followed by parallel reads of the entities.
+ * Index entries are created/deleted in the same ZK transaction as the entity itself, entries missed otherwise are
+ * fixed up by reconcileEntityIndex(). So the checks which can't tolerate a stale index (has*() e.g. before a delete)
+ * scan the entities instead.
+ * Quota leases are ephemeral znodes (see ZNode.QUOTA_LEASE) holding the demand of the member as its data, outside of
+ * the entities.
+ */
 @Slf4j
-public class VaradhiMetaStore implements MetaStore, RoleBindingMetaStore {
+public class VaradhiMetaStore
+        implements MetaStore, AsyncMetaStore, RoleBindingMetaStore, WatchableMetaStore, QuotaLeaseMetaStore {
     private final ZKMetaStore zkMetaStore;
 
     public VaradhiMetaStore(CuratorFramework zkCurator) {
         this.zkMetaStore = new ZKMetaStore(zkCurator);
         ensureEntityTypePathExists();
+        reconcileEntityIndex();
     }
 
     private void ensureEntityTypePathExists() {
@@ -34,6 +61,80 @@ public class VaradhiMetaStore implements MetaStore, RoleBindingMetaStore {
         ensureEntityTypePathExists(ROLE_BINDING);
     }
 
+    /**
+     * Reconciles the secondary indexes with the entities, i.e. creates the index entries missing for the entities and
+     * deletes the entries of the entities which are gone. Entries are missed by the entities created before the
+     * indexes were introduced, and by the entities created (or deleted) by the servers of an older version during a
+     * rolling deploy. So it is done at startup and periodically thereafter, and is idempotent.
+     */
+    public void reconcileEntityIndex() {
+        reconcileIndex(TEAM_INDEX, TEAM, ZNode::getResourceFQDN, orgAndTeamName -> {
+            String[] splits = orgAndTeamName.split(RESOURCE_NAME_SEPARATOR);
+            return ZNode.OfTeamIndexEntry(splits[0], splits[1]);
+        });
+        reconcileIndex(PROJECT_INDEX, PROJECT, (orgAndTeamName, projectName) -> projectName,
+                projectName -> getProjectIndexEntry(getProject(projectName))
+        );
+        reconcileIndex(TOPIC_INDEX, VARADHI_TOPIC, (projectName, varadhiTopicName) -> varadhiTopicName,
+                this::getTopicIndexEntry
+        );
+    }
+
+    /**
+     * @param entityNameOf name of the entity, given the name of the index znode and of the entry in it.
+     * @param indexEntryOf index entry of the entity, given its name.
+     */
+    private void reconcileIndex(
+            ZNodeKind indexKind, ZNodeKind entityKind, BiFunction<String, String, String> entityNameOf,
+            Function<String, ZNode> indexEntryOf
+    ) {
+        // index is read before the entities, so that an entity created in between isn't taken to be gone.
+        Map<String, ZNode> indexed = new HashMap<>();
+        for (String indexName : zkMetaStore.listChildrenIfExists(ZNode.OfEntityType(indexKind))) {
+            ZNode index = ZNode.OfKind(indexKind, indexName);
+            zkMetaStore.listChildrenIfExists(index).forEach(entryName -> indexed.put(
+                    entityNameOf.apply(indexName, entryName), ZNode.OfIndexEntry(index, entryName)));
+        }
+        Set<String> entityNames = new HashSet<>(zkMetaStore.listChildren(ZNode.OfEntityType(entityKind)));
+        int created = 0;
+        for (String entityName : entityNames) {
+            if (indexed.containsKey(entityName)) {
+                continue;
+            }
+            try {
+                zkMetaStore.createZNodeIfMissing(indexEntryOf.apply(entityName));
+                created++;
+            } catch (ResourceNotFoundException e) {
+                // entity deleted in the meantime.
+            }
+        }
+        int deleted = 0;
+        for (Map.Entry<String, ZNode> entry : indexed.entrySet()) {
+            if (!entityNames.contains(entry.getKey())) {
+                join(zkMetaStore.deleteZNodeIfExistsAsync(entry.getValue()));
+                deleted++;
+            }
+        }
+        if (created > 0 || deleted > 0) {
+            log.info("Reconciled {} with the entities, created {} and deleted {} entries.", indexKind.getKind(),
+                    created, deleted
+            );
+        }
+    }
+
+    private ZNode getProjectIndexEntry(Project project) {
+        return ZNode.OfProjectIndexEntry(project.getOrg(), project.getTeam(), project.getName());
+    }
+
+    private ZNode getTopicIndexEntry(String varadhiTopicName) {
+        return ZNode.OfTopicIndexEntry(getProjectName(varadhiTopicName), varadhiTopicName);
+    }
+
+    private String getProjectName(String varadhiTopicName) {
+        // varadhi topic name is <project>.<topic>, and project names do not contain the separator.
+        return varadhiTopicName.split(NAME_SEPARATOR_REGEX)[0];
+    }
+
     public void ensureEntityTypePathExists(ZNodeKind zNodeKind) {
         ZNode znode = ZNode.OfEntityType(zNodeKind);
         if (!zkMetaStore.zkPathExist(znode)) {
@@ -75,31 +176,27 @@ public class VaradhiMetaStore implements MetaStore, RoleBindingMetaStore {
 
     @Override
     public List<String> getTeamNames(String orgName) {
-        List<String> teamNames = new ArrayList<>();
-        String orgPrefixOfTeamName = orgName + RESOURCE_NAME_SEPARATOR;
-        // This filters out incorrectly format entries too, but that should be ok.
-        ZNode znode = ZNode.OfEntityType(TEAM);
-        zkMetaStore.listChildren(znode).forEach(teamName -> {
-                    if (teamName.startsWith(orgPrefixOfTeamName)) {
-                        String[] splits = teamName.split(RESOURCE_NAME_SEPARATOR);
-                        teamNames.add(splits[1]);
-                    }
-                }
-        );
-        return teamNames;
+        return zkMetaStore.listChildrenIfExists(ZNode.OfTeamIndex(orgName));
     }
 
     @Override
     public List<Team> getTeams(String orgName) {
-        List<Team> teams = new ArrayList<>();
-        getTeamNames(orgName).forEach(teamName -> teams.add(getTeam(teamName, orgName)));
-        return teams;
+        return join(getTeamsAsync(orgName));
+    }
+
+    @Override
+    public boolean hasTeams(String orgName) {
+        return join(hasTeamsAsync(orgName));
     }
 
     @Override
     public void createTeam(Team team) {
         ZNode znode = ZNode.OfTeam(team.getOrg(), team.getName());
-        zkMetaStore.createZNodeWithData(znode, team);
+        // org is checked for existence in the same transaction.
+        zkMetaStore.createZNodeWithData(
+                znode, team, List.of(ZNode.OfOrg(team.getOrg())),
+                List.of(ZNode.OfTeamIndexEntry(team.getOrg(), team.getName()))
+        );
     }
 
     @Override
@@ -117,27 +214,26 @@ public class VaradhiMetaStore implements MetaStore, RoleBindingMetaStore {
     @Override
     public void deleteTeam(String teamName, String orgName) {
         ZNode znode = ZNode.OfTeam(orgName, teamName);
-        zkMetaStore.deleteZNode(znode);
+        zkMetaStore.deleteZNode(znode, -1, List.of(ZNode.OfTeamIndexEntry(orgName, teamName)));
     }
 
     @Override
     public List<Project> getProjects(String teamName, String orgName) {
-        List<Project> projects = new ArrayList<>();
-        // This filters out incorrectly format entries too, but that should be ok.
-        ZNode znode = ZNode.OfEntityType(PROJECT);
-        zkMetaStore.listChildren(znode).forEach(projectName -> {
-            Project project = getProject(projectName);
-            if (project.getOrg().equals(orgName) && project.getTeam().equals(teamName)) {
-                projects.add(project);
-            }
-        });
-        return projects;
+        return join(getProjectsAsync(teamName, orgName));
+    }
+
+    @Override
+    public boolean hasProjects(String teamName, String orgName) {
+        return join(hasProjectsAsync(teamName, orgName));
     }
 
     @Override
     public void createProject(Project project) {
         ZNode znode = ZNode.OfProject(project.getName());
-        zkMetaStore.createZNodeWithData(znode, project);
+        // org and team are checked for existence in the same transaction.
+        List<ZNode> requiredZNodes =
+                List.of(ZNode.OfOrg(project.getOrg()), ZNode.OfTeam(project.getOrg(), project.getTeam()));
+        zkMetaStore.createZNodeWithData(znode, project, requiredZNodes, List.of(getProjectIndexEntry(project)));
     }
 
     @Override
@@ -155,30 +251,42 @@ public class VaradhiMetaStore implements MetaStore, RoleBindingMetaStore {
     @Override
     public void deleteProject(String projectName) {
         ZNode znode = ZNode.OfProject(projectName);
-        zkMetaStore.deleteZNode(znode);
+        // project is read for locating its index entry, delete is conditional to the project not being moved since.
+        Project project = getProject(projectName);
+        zkMetaStore.deleteZNode(znode, project.getVersion(), List.of(getProjectIndexEntry(project)));
     }
 
     @Override
     public int updateProject(Project project) {
         ZNode znode = ZNode.OfProject(project.getName());
-        return zkMetaStore.updateZNodeWithData(znode, project);
+        Project existingProject = getProject(project.getName());
+        if (existingProject.getTeam().equals(project.getTeam())) {
+            return zkMetaStore.updateZNodeWithData(znode, project);
+        }
+        // project is moved to another team, its index entry is moved along with the update.
+        return zkMetaStore.updateZNodeWithData(
+                znode, project, List.of(getProjectIndexEntry(existingProject)), List.of(getProjectIndexEntry(project)));
     }
 
 
     @Override
     public List<String> getVaradhiTopicNames(String projectName) {
-        String projectPrefixOfTopicName = projectName + NAME_SEPARATOR;
-        ZNode znode = ZNode.OfEntityType(VARADHI_TOPIC);
-        return zkMetaStore.listChildren(znode)
-                .stream()
-                .filter(name -> name.contains(projectPrefixOfTopicName))
-                .collect(Collectors.toList());
+        return zkMetaStore.listChildrenIfExists(ZNode.OfTopicIndex(projectName));
+    }
+
+    @Override
+    public boolean hasVaradhiTopics(String projectName) {
+        return join(hasVaradhiTopicsAsync(projectName));
     }
 
     @Override
     public void createVaradhiTopic(VaradhiTopic varadhiTopic) {
         ZNode znode = ZNode.OfVaradhiTopic(varadhiTopic.getName());
-        zkMetaStore.createZNodeWithData(znode, varadhiTopic);
+        // project is checked for existence in the same transaction.
+        zkMetaStore.createZNodeWithData(
+                znode, varadhiTopic, List.of(ZNode.OfProject(getProjectName(varadhiTopic.getName()))),
+                List.of(getTopicIndexEntry(varadhiTopic.getName()))
+        );
     }
 
     @Override
@@ -196,7 +304,204 @@ public class VaradhiMetaStore implements MetaStore, RoleBindingMetaStore {
     @Override
     public void deleteVaradhiTopic(String varadhiTopicName) {
         ZNode znode = ZNode.OfVaradhiTopic(varadhiTopicName);
-        zkMetaStore.deleteZNode(znode);
+        zkMetaStore.deleteZNode(znode, -1, List.of(getTopicIndexEntry(varadhiTopicName)));
+    }
+
+    @Override
+    public CompletionStage<Void> createOrgAsync(Org org) {
+        ZNode znode = ZNode.OfOrg(org.getName());
+        return zkMetaStore.createZNodeWithDataAsync(znode, org);
+    }
+
+    @Override
+    public CompletionStage<Void> deleteOrgAsync(String orgName) {
+        ZNode znode = ZNode.OfOrg(orgName);
+        return zkMetaStore.deleteZNodeAsync(znode);
+    }
+
+    @Override
+    public CompletionStage<Void> createTeamAsync(Team team) {
+        ZNode znode = ZNode.OfTeam(team.getOrg(), team.getName());
+        // org is checked for existence in the same transaction.
+        return zkMetaStore.createZNodeWithDataAsync(
+                znode, team, List.of(ZNode.OfOrg(team.getOrg())),
+                List.of(ZNode.OfTeamIndexEntry(team.getOrg(), team.getName()))
+        );
+    }
+
+    @Override
+    public CompletionStage<Void> deleteTeamAsync(String teamName, String orgName) {
+        ZNode znode = ZNode.OfTeam(orgName, teamName);
+        return zkMetaStore.deleteZNodeAsync(znode, -1, List.of(ZNode.OfTeamIndexEntry(orgName, teamName)));
+    }
+
+    @Override
+    public CompletionStage<Void> createProjectAsync(Project project) {
+        ZNode znode = ZNode.OfProject(project.getName());
+        // org and team are checked for existence in the same transaction.
+        List<ZNode> requiredZNodes =
+                List.of(ZNode.OfOrg(project.getOrg()), ZNode.OfTeam(project.getOrg(), project.getTeam()));
+        return zkMetaStore.createZNodeWithDataAsync(
+                znode, project, requiredZNodes, List.of(getProjectIndexEntry(project)));
+    }
+
+    @Override
+    public CompletionStage<Void> deleteProjectAsync(String projectName) {
+        ZNode znode = ZNode.OfProject(projectName);
+        // project is read for locating its index entry, delete is conditional to the project not being moved since.
+        return getProjectAsync(projectName).thenCompose(project -> zkMetaStore.deleteZNodeAsync(
+                znode, project.getVersion(), List.of(getProjectIndexEntry(project))));
+    }
+
+    @Override
+    public CompletionStage<Integer> updateProjectAsync(Project project) {
+        ZNode znode = ZNode.OfProject(project.getName());
+        return getProjectAsync(project.getName()).thenCompose(existingProject -> {
+            if (existingProject.getTeam().equals(project.getTeam())) {
+                return zkMetaStore.updateZNodeWithDataAsync(znode, project);
+            }
+            // project is moved to another team, its index entry is moved along with the update.
+            return zkMetaStore.updateZNodeWithDataAsync(
+                    znode, project, List.of(getProjectIndexEntry(existingProject)),
+                    List.of(getProjectIndexEntry(project))
+            );
+        });
+    }
+
+    @Override
+    public CompletionStage<List<String>> getVaradhiTopicNamesAsync(String projectName) {
+        return zkMetaStore.listChildrenIfExistsAsync(ZNode.OfTopicIndex(projectName));
+    }
+
+    @Override
+    public CompletionStage<Boolean> hasVaradhiTopicsAsync(String projectName) {
+        String projectPrefixOfTopicName = projectName + NAME_SEPARATOR;
+        return zkMetaStore.listChildrenAsync(ZNode.OfEntityType(VARADHI_TOPIC)).thenApply(varadhiTopicNames ->
+                varadhiTopicNames.stream().anyMatch(name -> name.startsWith(projectPrefixOfTopicName)));
+    }
+
+    @Override
+    public CompletionStage<VaradhiTopic> getVaradhiTopicAsync(String varadhiTopicName) {
+        ZNode znode = ZNode.OfVaradhiTopic(varadhiTopicName);
+        return zkMetaStore.getZNodeDataAsPojoAsync(znode, VaradhiTopic.class);
+    }
+
+    @Override
+    public CompletionStage<Org> getOrgAsync(String orgName) {
+        ZNode znode = ZNode.OfOrg(orgName);
+        return zkMetaStore.getZNodeDataAsPojoAsync(znode, Org.class);
+    }
+
+    @Override
+    public CompletionStage<Boolean> checkOrgExistsAsync(String orgName) {
+        ZNode znode = ZNode.OfOrg(orgName);
+        return zkMetaStore.zkPathExistAsync(znode);
+    }
+
+    @Override
+    public CompletionStage<List<Org>> getOrgsAsync() {
+        ZNode znode = ZNode.OfEntityType(ORG);
+        return zkMetaStore.listChildrenAsync(znode).thenCompose(orgNames -> getAll(
+                orgNames.stream().map(orgName -> zkMetaStore.getZNodeDataAsPojoAsync(ZNode.OfOrg(orgName), Org.class))
+                        .toList()));
+    }
+
+    @Override
+    public CompletionStage<List<String>> getTeamNamesAsync(String orgName) {
+        return zkMetaStore.listChildrenIfExistsAsync(ZNode.OfTeamIndex(orgName));
+    }
+
+    @Override
+    public CompletionStage<List<Team>> getTeamsAsync(String orgName) {
+        return getTeamNamesAsync(orgName).thenCompose(teamNames -> getAll(teamNames.stream().map(
+                teamName -> zkMetaStore.getZNodeDataAsPojoAsync(ZNode.OfTeam(orgName, teamName), Team.class)
+        ).toList()));
+    }
+
+    @Override
+    public CompletionStage<Boolean> hasTeamsAsync(String orgName) {
+        // team znodes are named <org>:<team>.
+        String orgPrefixOfTeamName = orgName + RESOURCE_NAME_SEPARATOR;
+        return zkMetaStore.listChildrenAsync(ZNode.OfEntityType(TEAM))
+                .thenApply(teamNames -> teamNames.stream().anyMatch(name -> name.startsWith(orgPrefixOfTeamName)));
+    }
+
+    @Override
+    public CompletionStage<Team> getTeamAsync(String teamName, String orgName) {
+        ZNode znode = ZNode.OfTeam(orgName, teamName);
+        return zkMetaStore.getZNodeDataAsPojoAsync(znode, Team.class);
+    }
+
+    @Override
+    public CompletionStage<Boolean> checkTeamExistsAsync(String teamName, String orgName) {
+        ZNode znode = ZNode.OfTeam(orgName, teamName);
+        return zkMetaStore.zkPathExistAsync(znode);
+    }
+
+    @Override
+    public CompletionStage<List<Project>> getProjectsAsync(String teamName, String orgName) {
+        // Projects are read in parallel, instead of one after the other.
+        ZNode znode = ZNode.OfProjectIndex(orgName, teamName);
+        return zkMetaStore.listChildrenIfExistsAsync(znode).thenCompose(projectNames -> getAll(projectNames.stream()
+                .map(projectName -> zkMetaStore.getZNodeDataAsPojoAsync(ZNode.OfProject(projectName), Project.class))
+                .toList()));
+    }
+
+    @Override
+    public CompletionStage<Boolean> hasProjectsAsync(String teamName, String orgName) {
+        // team isn't part of the project name, so all the projects are read.
+        return zkMetaStore.listChildrenAsync(ZNode.OfEntityType(PROJECT)).thenCompose(projectNames -> getAll(
+                projectNames.stream().map(projectName -> getProjectAsync(projectName).toCompletableFuture()).toList()
+        )).thenApply(projects -> projects.stream().anyMatch(
+                project -> project.getOrg().equals(orgName) && project.getTeam().equals(teamName)));
+    }
+
+    @Override
+    public CompletionStage<Project> getProjectAsync(String projectName) {
+        ZNode znode = ZNode.OfProject(projectName);
+        return zkMetaStore.getZNodeDataAsPojoAsync(znode, Project.class);
+    }
+
+    private <T> T join(CompletionStage<T> future) {
+        try {
+            return future.toCompletableFuture().join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * Entities gone since they were listed (e.g. due to a stale index entry) are skipped, instead of failing all.
+     */
+    private <T> CompletableFuture<List<T>> getAll(List<CompletableFuture<T>> futures) {
+        List<CompletableFuture<T>> existing = futures.stream().map(future -> future.handle((entity, failure) -> {
+            if (null == failure) {
+                return entity;
+            }
+            Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+            if (!(cause instanceof ResourceNotFoundException)) {
+                throw new CompletionException(cause);
+            }
+            log.warn("Skipped listing of a missing entity: {}", cause.getMessage());
+            return null;
+        })).toList();
+        return CompletableFuture.allOf(existing.toArray(new CompletableFuture[0]))
+                .thenApply(v -> existing.stream().map(CompletableFuture::join).filter(Objects::nonNull).toList());
+    }
+
+    @Override
+    public void watchProjects(EntityChangeListener<Project> listener) {
+        zkMetaStore.watchChildren(ZNode.OfEntityType(PROJECT), Project.class, listener);
+    }
+
+    @Override
+    public void watchVaradhiTopics(EntityChangeListener<VaradhiTopic> listener) {
+        zkMetaStore.watchChildren(ZNode.OfEntityType(VARADHI_TOPIC), VaradhiTopic.class, listener);
+    }
+
+    @Override
+    public void watchRoleBindings(EntityChangeListener<RoleBindingNode> listener, Runnable onLoaded) {
+        zkMetaStore.watchChildren(ZNode.OfEntityType(ROLE_BINDING), RoleBindingNode.class, listener, onLoaded);
     }
 
     @Override
@@ -240,4 +545,50 @@ public class VaradhiMetaStore implements MetaStore, RoleBindingMetaStore {
         ZNode znode = ZNode.OfIAMPolicy(resourceType, resourceId);
         zkMetaStore.deleteZNode(znode);
     }
+
+    @Override
+    public CompletableFuture<Void> renewQuotaMemberAsync(String memberId) {
+        return zkMetaStore.putEphemeralZNodeAsync(ZNode.OfQuotaMember(memberId), new byte[0]);
+    }
+
+    @Override
+    public CompletableFuture<Integer> getQuotaMemberCountAsync() {
+        return zkMetaStore.listChildrenIfExistsAsync(ZNode.OfQuotaMembers()).thenApply(List::size);
+    }
+
+    @Override
+    public CompletableFuture<Void> renewQuotaLeaseAsync(String varadhiTopicName, String memberId, double demand) {
+        ZNode znode = ZNode.OfQuotaLease(varadhiTopicName, memberId);
+        return zkMetaStore.putEphemeralZNodeAsync(znode, Double.toString(demand).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public CompletableFuture<Void> releaseQuotaLeaseAsync(String varadhiTopicName, String memberId) {
+        return zkMetaStore.deleteZNodeIfExistsAsync(ZNode.OfQuotaLease(varadhiTopicName, memberId));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Double>> getQuotaLeasesAsync(String varadhiTopicName) {
+        return zkMetaStore.listChildrenIfExistsAsync(ZNode.OfQuotaLeases(varadhiTopicName)).thenCompose(members -> {
+            // leases are read concurrently.
+            Map<String, CompletableFuture<byte[]>> reads = new HashMap<>();
+            for (String memberId : members) {
+                reads.put(
+                        memberId,
+                        zkMetaStore.getZNodeDataIfExistsAsync(ZNode.OfQuotaLease(varadhiTopicName, memberId))
+                );
+            }
+            return CompletableFuture.allOf(reads.values().toArray(new CompletableFuture[0])).thenApply(v -> {
+                Map<String, Double> leases = new HashMap<>();
+                reads.forEach((memberId, read) -> {
+                    byte[] data = read.join();
+                    // lease released in the meantime.
+                    if (null != data) {
+                        leases.put(memberId, Double.parseDouble(new String(data, StandardCharsets.UTF_8)));
+                    }
+                });
+                return leases;
+            });
+        });
+    }
 }
@@ -4,15 +4,25 @@ import com.flipkart.varadhi.entities.MetaStoreEntity;
 import com.flipkart.varadhi.exceptions.DuplicateResourceException;
 import com.flipkart.varadhi.exceptions.InvalidOperationForResourceException;
 import com.flipkart.varadhi.exceptions.ResourceNotFoundException;
+import com.flipkart.varadhi.spi.db.EntityChangeListener;
 import com.flipkart.varadhi.spi.db.MetaStoreException;
 import com.flipkart.varadhi.utils.JsonMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
+import org.apache.curator.framework.recipes.cache.CuratorCacheListener;
+import org.apache.curator.x.async.AsyncCuratorFramework;
+import org.apache.curator.x.async.api.CreateOption;
+import org.apache.curator.x.async.api.DeleteOption;
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.KeeperException;
 import org.apache.zookeeper.data.Stat;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 
 @Slf4j
@@ -26,9 +36,12 @@ public class ZKMetaStore {
     Another implication -- manual data update when done, will automatically bump the entity version w/o user being aware of it.
      */
     private final CuratorFramework zkCurator;
+    // Async operations complete on the curator event thread, w/o blocking the caller.
+    private final AsyncCuratorFramework zkCuratorAsync;
 
     public ZKMetaStore(CuratorFramework zkCurator) {
         this.zkCurator = zkCurator;
+        this.zkCuratorAsync = AsyncCuratorFramework.wrap(zkCurator);
     }
 
     void createZNode(ZNode znode) {
@@ -61,6 +74,88 @@ public class ZKMetaStore {
         }
     }
 
+    /**
+     * Creates the znode with data along with its index znodes, in a single transaction. Transaction also checks that
+     * requiredZNodes (e.g. parent entities) exist, failing with ResourceNotFoundException for the missing one.
+     */
+    <T extends MetaStoreEntity> void createZNodeWithData(
+            ZNode znode, T dataObject, List<ZNode> requiredZNodes, List<ZNode> indexZNodes
+    ) {
+        ZKTransaction transaction = new ZKTransaction(zkCurator);
+        try {
+            for (ZNode requiredZNode : requiredZNodes) {
+                transaction.check(requiredZNode, -1);
+            }
+            String jsonData = JsonMapper.jsonSerialize(dataObject);
+            transaction.create(znode, jsonData.getBytes());
+            for (ZNode indexZNode : indexZNodes) {
+                transaction.createIndex(indexZNode);
+            }
+            transaction.commit();
+            log.debug("Created znode for {}({}) in at {} with {} index entries.", znode.getKind(), znode.getName(),
+                    znode.getPath(), indexZNodes.size()
+            );
+            dataObject.setVersion(0);
+        } catch (KeeperException.NodeExistsException e) {
+            throw new DuplicateResourceException(
+                    String.format("%s(%s) already exists.", znode.getKind(), znode.getName()), e);
+        } catch (KeeperException.NoNodeException e) {
+            ZNode missingZNode = transaction.getFailedZNode(e);
+            if (requiredZNodes.contains(missingZNode)) {
+                throw new ResourceNotFoundException(
+                        String.format("%s(%s) not found.", missingZNode.getKind(), missingZNode.getName()), e);
+            }
+            throw new MetaStoreException(
+                    String.format("Failed to create %s(%s) at %s.", znode.getKind(), znode.getName(),
+                            znode.getPath()
+                    ), e);
+        } catch (Exception e) {
+            throw new MetaStoreException(
+                    String.format("Failed to create %s(%s) at %s.", znode.getKind(), znode.getName(),
+                            znode.getPath()
+                    ), e);
+        }
+    }
+
+    /**
+     * Updates the znode with data and moves its index entries i.e. removes removedIndexZNodes and creates
+     * addedIndexZNodes, in a single transaction.
+     */
+    <T extends MetaStoreEntity> int updateZNodeWithData(
+            ZNode znode, T dataObject, List<ZNode> removedIndexZNodes, List<ZNode> addedIndexZNodes
+    ) {
+        try {
+            ZKTransaction transaction = new ZKTransaction(zkCurator);
+            String jsonData = JsonMapper.jsonSerialize(dataObject);
+            transaction.setData(znode, dataObject.getVersion(), jsonData.getBytes());
+            for (ZNode indexZNode : removedIndexZNodes) {
+                transaction.deleteIndex(indexZNode);
+            }
+            for (ZNode indexZNode : addedIndexZNodes) {
+                transaction.createIndex(indexZNode);
+            }
+            int version = ZKTransaction.getUpdatedVersion(transaction.commit(), znode);
+            log.debug("Updated {}({}) in at {}: New Version{}.", znode.getKind(), znode.getName(), znode.getPath(),
+                    version
+            );
+            return version;
+        } catch (KeeperException.NoNodeException e) {
+            throw new ResourceNotFoundException(
+                    String.format("%s(%s) not found.", znode.getKind(), znode.getName()), e);
+        } catch (KeeperException.BadVersionException e) {
+            throw new InvalidOperationForResourceException(
+                    String.format(
+                            "Conflicting update, %s(%s) has been modified. Fetch latest and try again.",
+                            znode.getKind(), znode.getName()
+                    ), e);
+        } catch (Exception e) {
+            throw new MetaStoreException(
+                    String.format("Failed to update %s(%s) at %s.", znode.getKind(), znode.getName(),
+                            znode.getPath()
+                    ), e);
+        }
+    }
+
     <T extends MetaStoreEntity> int updateZNodeWithData(ZNode znode, T dataObject) {
         try {
             String jsonData = JsonMapper.jsonSerialize(dataObject);
@@ -87,28 +182,175 @@ public class ZKMetaStore {
         }
     }
 
+    <T extends MetaStoreEntity> CompletableFuture<Void> createZNodeWithDataAsync(ZNode znode, T dataObject) {
+        String jsonData = JsonMapper.jsonSerialize(dataObject);
+        return zkCuratorAsync.create().withMode(CreateMode.PERSISTENT).forPath(znode.getPath(), jsonData.getBytes())
+                .toCompletableFuture().handle((response, failure) -> {
+                    if (null != failure) {
+                        throw getCreateFailure(znode, unwrap(failure), List.of(), null);
+                    }
+                    log.debug("Created znode for {}({}) in at {}: {}.", znode.getKind(), znode.getName(),
+                            znode.getPath(), response
+                    );
+                    dataObject.setVersion(0);
+                    return null;
+                });
+    }
+
+    /**
+     * Same as {@link #createZNodeWithData(ZNode, MetaStoreEntity, List, List)}, w/o blocking the calling thread.
+     */
+    <T extends MetaStoreEntity> CompletableFuture<Void> createZNodeWithDataAsync(
+            ZNode znode, T dataObject, List<ZNode> requiredZNodes, List<ZNode> indexZNodes
+    ) {
+        ZKTransaction transaction = new ZKTransaction(zkCurator);
+        try {
+            for (ZNode requiredZNode : requiredZNodes) {
+                transaction.check(requiredZNode, -1);
+            }
+            String jsonData = JsonMapper.jsonSerialize(dataObject);
+            transaction.create(znode, jsonData.getBytes());
+            for (ZNode indexZNode : indexZNodes) {
+                transaction.createIndex(indexZNode);
+            }
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(getCreateFailure(znode, e, requiredZNodes, null));
+        }
+        return transaction.commitAsync().handle((results, failure) -> {
+            if (null != failure) {
+                throw getCreateFailure(znode, unwrap(failure), requiredZNodes, transaction.getFailedZNode());
+            }
+            log.debug("Created znode for {}({}) in at {} with {} index entries.", znode.getKind(), znode.getName(),
+                    znode.getPath(), indexZNodes.size()
+            );
+            dataObject.setVersion(0);
+            return null;
+        });
+    }
+
+    private RuntimeException getCreateFailure(
+            ZNode znode, Throwable failure, List<ZNode> requiredZNodes, ZNode failedZNode
+    ) {
+        if (failure instanceof KeeperException.NodeExistsException) {
+            return new DuplicateResourceException(
+                    String.format("%s(%s) already exists.", znode.getKind(), znode.getName()), failure);
+        }
+        if (failure instanceof KeeperException.NoNodeException && requiredZNodes.contains(failedZNode)) {
+            return new ResourceNotFoundException(
+                    String.format("%s(%s) not found.", failedZNode.getKind(), failedZNode.getName()), failure);
+        }
+        return new MetaStoreException(
+                String.format("Failed to create %s(%s) at %s.", znode.getKind(), znode.getName(), znode.getPath()),
+                failure
+        );
+    }
+
+    <T extends MetaStoreEntity> CompletableFuture<Integer> updateZNodeWithDataAsync(ZNode znode, T dataObject) {
+        String jsonData = JsonMapper.jsonSerialize(dataObject);
+        return zkCuratorAsync.setData().withVersion(dataObject.getVersion())
+                .forPath(znode.getPath(), jsonData.getBytes()).toCompletableFuture()
+                .handle((stat, failure) -> {
+                    if (null != failure) {
+                        throw getUpdateFailure(znode, unwrap(failure));
+                    }
+                    log.debug("Updated {}({}) in at {}: New Version{}.", znode.getKind(), znode.getName(),
+                            znode.getPath(), stat.getVersion()
+                    );
+                    return stat.getVersion();
+                });
+    }
+
+    /**
+     * Same as {@link #updateZNodeWithData(ZNode, MetaStoreEntity, List, List)}, w/o blocking the calling thread.
+     */
+    <T extends MetaStoreEntity> CompletableFuture<Integer> updateZNodeWithDataAsync(
+            ZNode znode, T dataObject, List<ZNode> removedIndexZNodes, List<ZNode> addedIndexZNodes
+    ) {
+        ZKTransaction transaction = new ZKTransaction(zkCurator);
+        try {
+            String jsonData = JsonMapper.jsonSerialize(dataObject);
+            transaction.setData(znode, dataObject.getVersion(), jsonData.getBytes());
+            for (ZNode indexZNode : removedIndexZNodes) {
+                transaction.deleteIndex(indexZNode);
+            }
+            for (ZNode indexZNode : addedIndexZNodes) {
+                transaction.createIndex(indexZNode);
+            }
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(getUpdateFailure(znode, e));
+        }
+        return transaction.commitAsync().handle((results, failure) -> {
+            if (null != failure) {
+                throw getUpdateFailure(znode, unwrap(failure));
+            }
+            int version = ZKTransaction.getUpdatedVersion(results, znode);
+            log.debug("Updated {}({}) in at {}: New Version{}.", znode.getKind(), znode.getName(), znode.getPath(),
+                    version
+            );
+            return version;
+        });
+    }
+
+    private RuntimeException getUpdateFailure(ZNode znode, Throwable failure) {
+        if (failure instanceof KeeperException.NoNodeException) {
+            return new ResourceNotFoundException(
+                    String.format("%s(%s) not found.", znode.getKind(), znode.getName()), failure);
+        }
+        if (failure instanceof KeeperException.BadVersionException) {
+            return new InvalidOperationForResourceException(
+                    String.format(
+                            "Conflicting update, %s(%s) has been modified. Fetch latest and try again.",
+                            znode.getKind(), znode.getName()
+                    ), failure);
+        }
+        return new MetaStoreException(
+                String.format("Failed to update %s(%s) at %s.", znode.getKind(), znode.getName(), znode.getPath()),
+                failure
+        );
+    }
+
     <T extends MetaStoreEntity> T getZNodeDataAsPojo(ZNode znode, Class<T> pojoClazz) {
         byte[] jsonData;
         Stat stat;
         try {
             stat = new Stat();
             jsonData = zkCurator.getData().storingStatIn(stat).forPath(znode.getPath());
-        } catch (KeeperException.NoNodeException e) {
-            throw new ResourceNotFoundException(
-                    String.format("%s(%s) not found.", znode.getKind(), znode.getName()),
-                    e
-            );
         } catch (Exception e) {
-            throw new MetaStoreException(
-                    String.format("Failed to find %s(%s) at %s.", znode.getKind(), znode.getName(), znode.getPath()),
-                    e
-            );
+            throw getDataFailure(znode, e);
         }
+        return toPojo(jsonData, stat, pojoClazz);
+    }
+
+    <T extends MetaStoreEntity> CompletableFuture<T> getZNodeDataAsPojoAsync(ZNode znode, Class<T> pojoClazz) {
+        Stat stat = new Stat();
+        return zkCuratorAsync.getData().storingStatIn(stat).forPath(znode.getPath()).toCompletableFuture()
+                .handle((jsonData, failure) -> {
+                    if (null != failure) {
+                        throw getDataFailure(znode, unwrap(failure));
+                    }
+                    return toPojo(jsonData, stat, pojoClazz);
+                });
+    }
+
+    private <T extends MetaStoreEntity> T toPojo(byte[] jsonData, Stat stat, Class<T> pojoClazz) {
         T resource = JsonMapper.jsonDeserialize(new String(jsonData), pojoClazz);
         resource.setVersion(stat.getVersion());
         return resource;
     }
 
+    private RuntimeException getDataFailure(ZNode znode, Throwable failure) {
+        if (failure instanceof KeeperException.NoNodeException) {
+            return new ResourceNotFoundException(
+                    String.format("%s(%s) not found.", znode.getKind(), znode.getName()),
+                    failure
+            );
+        }
+        return new MetaStoreException(
+                String.format("Failed to find %s(%s) at %s.", znode.getKind(), znode.getName(), znode.getPath()),
+                failure
+        );
+    }
+
     boolean zkPathExist(ZNode znode) {
         try {
             return null != zkCurator.checkExists().forPath(znode.getPath());
@@ -118,6 +360,19 @@ public class ZKMetaStore {
         }
     }
 
+    CompletableFuture<Boolean> zkPathExistAsync(ZNode znode) {
+        return zkCuratorAsync.checkExists().forPath(znode.getPath()).toCompletableFuture()
+                .handle((stat, failure) -> {
+                    if (null != failure) {
+                        throw new MetaStoreException(
+                                String.format("Failed to check if %s(%s) exists.", znode.getName(), znode.getPath()),
+                                unwrap(failure)
+                        );
+                    }
+                    return null != stat;
+                });
+    }
+
     void deleteZNode(ZNode znode) {
         try {
             zkCurator.delete().forPath(znode.getPath());
@@ -132,6 +387,178 @@ public class ZKMetaStore {
         }
     }
 
+    /**
+     * Deletes the znode, if it is still at the given version (-1 for any version), along with its index znodes, in a
+     * single transaction.
+     */
+    void deleteZNode(ZNode znode, int version, List<ZNode> indexZNodes) {
+        try {
+            ZKTransaction transaction = new ZKTransaction(zkCurator);
+            transaction.delete(znode, version);
+            for (ZNode indexZNode : indexZNodes) {
+                transaction.deleteIndex(indexZNode);
+            }
+            transaction.commit();
+        } catch (KeeperException.NoNodeException e) {
+            throw new ResourceNotFoundException(
+                    String.format("%s(%s) not found.", znode.getKind(), znode.getName()), e);
+        } catch (KeeperException.BadVersionException e) {
+            throw new InvalidOperationForResourceException(
+                    String.format(
+                            "Conflicting delete, %s(%s) has been modified. Fetch latest and try again.",
+                            znode.getKind(), znode.getName()
+                    ), e);
+        } catch (Exception e) {
+            throw new MetaStoreException(
+                    String.format("Failed to delete %s(%s) at %s.", znode.getKind(), znode.getName(),
+                            znode.getPath()
+                    ), e);
+        }
+    }
+
+    CompletableFuture<Void> deleteZNodeAsync(ZNode znode) {
+        return zkCuratorAsync.delete().forPath(znode.getPath()).toCompletableFuture().handle((v, failure) -> {
+            if (null != failure) {
+                throw getDeleteFailure(znode, unwrap(failure));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Same as {@link #deleteZNode(ZNode, int, List)}, w/o blocking the calling thread.
+     */
+    CompletableFuture<Void> deleteZNodeAsync(ZNode znode, int version, List<ZNode> indexZNodes) {
+        ZKTransaction transaction = new ZKTransaction(zkCurator);
+        try {
+            transaction.delete(znode, version);
+            for (ZNode indexZNode : indexZNodes) {
+                transaction.deleteIndex(indexZNode);
+            }
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(getDeleteFailure(znode, e));
+        }
+        return transaction.commitAsync().handle((results, failure) -> {
+            if (null != failure) {
+                throw getDeleteFailure(znode, unwrap(failure));
+            }
+            return null;
+        });
+    }
+
+    private RuntimeException getDeleteFailure(ZNode znode, Throwable failure) {
+        if (failure instanceof KeeperException.NoNodeException) {
+            return new ResourceNotFoundException(
+                    String.format("%s(%s) not found.", znode.getKind(), znode.getName()), failure);
+        }
+        if (failure instanceof KeeperException.BadVersionException) {
+            return new InvalidOperationForResourceException(
+                    String.format(
+                            "Conflicting delete, %s(%s) has been modified. Fetch latest and try again.",
+                            znode.getKind(), znode.getName()
+                    ), failure);
+        }
+        return new MetaStoreException(
+                String.format("Failed to delete %s(%s) at %s.", znode.getKind(), znode.getName(), znode.getPath()),
+                failure
+        );
+    }
+
+    /**
+     * Creates the (data less) znode along with its parents, unless it already exists. Parents are created as
+     * container znodes.
+     */
+    void createZNodeIfMissing(ZNode znode) {
+        try {
+            zkCurator.create().creatingParentContainersIfNeeded().withMode(CreateMode.PERSISTENT)
+                    .forPath(znode.getPath(), new byte[0]);
+        } catch (KeeperException.NodeExistsException e) {
+            // created already, possibly concurrently.
+        } catch (Exception e) {
+            throw new MetaStoreException(String.format("Failed to create path %s.", znode.getPath()), e);
+        }
+    }
+
+    /**
+     * Sets data of the ephemeral znode, creating it (and its parents as container znodes) when missing. Ephemeral
+     * znode is deleted by ZK when the session of this client ends.
+     */
+    CompletableFuture<Void> putEphemeralZNodeAsync(ZNode znode, byte[] data) {
+        return zkCuratorAsync.create()
+                .withOptions(EnumSet.of(CreateOption.createParentsAsContainers, CreateOption.setDataIfExists),
+                        CreateMode.EPHEMERAL
+                )
+                .forPath(znode.getPath(), data).toCompletableFuture()
+                .handle((path, failure) -> {
+                    if (null != failure) {
+                        throw new MetaStoreException(String.format(
+                                "Failed to put %s(%s) at %s.", znode.getKind(), znode.getName(), znode.getPath()),
+                                unwrap(failure)
+                        );
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * @return data of the znode, null if it doesn't exist.
+     */
+    CompletableFuture<byte[]> getZNodeDataIfExistsAsync(ZNode znode) {
+        return zkCuratorAsync.getData().forPath(znode.getPath()).toCompletableFuture()
+                .handle((data, failure) -> {
+                    if (null == failure) {
+                        return data;
+                    }
+                    Throwable cause = unwrap(failure);
+                    if (cause instanceof KeeperException.NoNodeException) {
+                        return null;
+                    }
+                    throw new MetaStoreException(String.format(
+                            "Failed to get %s(%s) at %s.", znode.getKind(), znode.getName(), znode.getPath()), cause);
+                });
+    }
+
+    CompletableFuture<Void> deleteZNodeIfExistsAsync(ZNode znode) {
+        // quietly, i.e. deleted already is not a failure.
+        return zkCuratorAsync.delete().withOptions(EnumSet.of(DeleteOption.quietly)).forPath(znode.getPath())
+                .toCompletableFuture()
+                .handle((v, failure) -> {
+                    if (null != failure) {
+                        throw new MetaStoreException(String.format(
+                                "Failed to delete %s(%s) at %s.", znode.getKind(), znode.getName(), znode.getPath()),
+                                unwrap(failure)
+                        );
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Same as listChildren(), except that a missing znode has no children instead of being an error. Used for index
+     * znodes, which are created on demand.
+     */
+    List<String> listChildrenIfExists(ZNode znode) {
+        try {
+            return zkCurator.getChildren().forPath(znode.getPath());
+        } catch (KeeperException.NoNodeException e) {
+            return List.of();
+        } catch (Exception e) {
+            throw new MetaStoreException(
+                    String.format("Failed to list children for entity type %s at path %s.", znode.getName(),
+                            znode.getPath()
+                    ), e);
+        }
+    }
+
+    CompletableFuture<List<String>> listChildrenIfExistsAsync(ZNode znode) {
+        return listChildrenAsync(znode).exceptionally(failure -> {
+            if (unwrap(failure) instanceof ResourceNotFoundException) {
+                return List.of();
+            }
+            throw (RuntimeException) unwrap(failure);
+        });
+    }
+
     List<String> listChildren(ZNode znode) {
         if (!zkPathExist(znode)) {
             throw new ResourceNotFoundException(
@@ -146,4 +573,92 @@ public class ZKMetaStore {
                     ), e);
         }
     }
+
+    CompletableFuture<List<String>> listChildrenAsync(ZNode znode) {
+        return zkCuratorAsync.getChildren().forPath(znode.getPath()).toCompletableFuture()
+                .handle((children, failure) -> {
+                    if (null == failure) {
+                        return children;
+                    }
+                    Throwable cause = unwrap(failure);
+                    if (cause instanceof KeeperException.NoNodeException) {
+                        throw new ResourceNotFoundException(String.format(
+                                "Path(%s) not found for entity %s.", znode.getPath(), znode.getName()));
+                    }
+                    throw new MetaStoreException(
+                            String.format("Failed to list children for entity type %s at path %s.", znode.getName(),
+                                    znode.getPath()
+                            ), cause);
+                });
+    }
+
+    private Throwable unwrap(Throwable failure) {
+        if (failure instanceof CompletionException && null != failure.getCause()) {
+            return failure.getCause();
+        }
+        return failure;
+    }
+
+    /**
+     * Watches the children of the given znode and notifies the listener of their creation, update and deletion.
+     * Listener is notified of the existing children as well, when the watch starts. Notifications are delivered
+     * on the curator event thread and in the order of changes.
+     */
+    <T extends MetaStoreEntity> CuratorCache watchChildren(
+            ZNode znode, Class<T> pojoClazz, EntityChangeListener<T> listener
+    ) {
+        return watchChildren(znode, pojoClazz, listener, () -> {
+        });
+    }
+
+    /**
+     * Same as {@link #watchChildren(ZNode, Class, EntityChangeListener)}, additionally notifies onInitialized once
+     * the listener has been notified of all the children existing when the watch started.
+     */
+    <T extends MetaStoreEntity> CuratorCache watchChildren(
+            ZNode znode, Class<T> pojoClazz, EntityChangeListener<T> listener, Runnable onInitialized
+    ) {
+        String parentPath = znode.getPath();
+        CuratorCache cache = CuratorCache.build(zkCurator, parentPath);
+        CuratorCacheListener cacheListener = CuratorCacheListener.builder()
+                .forCreatesAndChanges((oldNode, node) -> onChildChange(parentPath, node, pojoClazz, listener))
+                .forDeletes(node -> onChildChange(parentPath, node, null, listener))
+                .forInitialized(onInitialized)
+                .build();
+        cache.listenable().addListener(cacheListener);
+        try {
+            cache.start();
+        } catch (Exception e) {
+            throw new MetaStoreException(
+                    String.format("Failed to watch %s at %s.", znode.getKind(), parentPath), e);
+        }
+        log.info("Watching {} at {}.", znode.getKind(), parentPath);
+        return cache;
+    }
+
+    private <T extends MetaStoreEntity> void onChildChange(
+            String parentPath, ChildData node, Class<T> pojoClazz, EntityChangeListener<T> listener
+    ) {
+        String path = node.getPath();
+        if (!path.startsWith(parentPath + ZNode.ZK_PATH_SEPARATOR)) {
+            // parent znode itself.
+            return;
+        }
+        String childName = path.substring(parentPath.length() + 1);
+        if (childName.contains(ZNode.ZK_PATH_SEPARATOR)) {
+            // only immediate children are entities.
+            return;
+        }
+        try {
+            // pojoClazz is null for deletion.
+            T entity = null;
+            if (null != pojoClazz) {
+                entity = JsonMapper.jsonDeserialize(new String(node.getData()), pojoClazz);
+                entity.setVersion(node.getStat().getVersion());
+            }
+            listener.onChange(childName, entity);
+        } catch (Exception e) {
+            log.error(String.format("Failed to notify change of %s.", path), e);
+        }
+    }
 }
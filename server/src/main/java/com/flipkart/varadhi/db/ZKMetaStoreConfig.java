@@ -6,4 +6,6 @@ import lombok.Data;
 @Data
 public class ZKMetaStoreConfig {
     private ZookeeperOptions zookeeperOptions;
+    // interval of reconciling the secondary indexes with the entities, see VaradhiMetaStore.reconcileEntityIndex().
+    private long entityIndexReconcileIntervalMs = 5 * 60 * 1000;
 }
@@ -0,0 +1,248 @@
+package com.flipkart.varadhi.db;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.api.transaction.CuratorOp;
+import org.apache.curator.framework.api.transaction.CuratorTransactionResult;
+import org.apache.curator.framework.api.transaction.OperationType;
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.OpResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Operations on multiple znodes, which are committed atomically in a single round trip to ZK (ZK multi).
+ * Either all the operations succeed or none. Failing operation is reported as the KeeperException of the commit,
+ * its znode can be found via getFailedZNode().
+ * Transaction is committed either by commit() on the calling thread, or by commitAsync() in the background.
+ */
+@Slf4j
+class ZKTransaction {
+    private final CuratorFramework zkCurator;
+    private final List<CuratorOp> ops = new ArrayList<>();
+    // znode of each of the ops, in the same order.
+    private final List<ZNode> opZNodes = new ArrayList<>();
+    private final List<ZNode> indexZNodes = new ArrayList<>();
+    private final List<ZNode> deletedIndexZNodes = new ArrayList<>();
+    // znode of the operation due to which commitAsync() failed.
+    private volatile ZNode failedZNode;
+
+    ZKTransaction(CuratorFramework zkCurator) {
+        this.zkCurator = zkCurator;
+    }
+
+    /**
+     * Transaction fails with NoNode if znode doesn't exist, or with BadVersion if it is not at the given version
+     * (-1 for any version).
+     */
+    ZKTransaction check(ZNode znode, int version) throws Exception {
+        return add(znode, zkCurator.transactionOp().check().withVersion(version).forPath(znode.getPath()));
+    }
+
+    ZKTransaction create(ZNode znode, byte[] data) throws Exception {
+        return add(znode, zkCurator.transactionOp().create().withMode(CreateMode.PERSISTENT)
+                .forPath(znode.getPath(), data));
+    }
+
+    /**
+     * Creates a (data less) index znode. Parent of the index znode is created on demand as a container znode, i.e.
+     * it is removed by ZK once it has no children.
+     */
+    ZKTransaction createIndex(ZNode indexZNode) throws Exception {
+        indexZNodes.add(indexZNode);
+        return create(indexZNode, new byte[0]);
+    }
+
+    ZKTransaction setData(ZNode znode, int version, byte[] data) throws Exception {
+        return add(znode, zkCurator.transactionOp().setData().withVersion(version).forPath(znode.getPath(), data));
+    }
+
+    ZKTransaction delete(ZNode znode, int version) throws Exception {
+        return add(znode, zkCurator.transactionOp().delete().withVersion(version).forPath(znode.getPath()));
+    }
+
+    /**
+     * Deletes an index znode (any version). A missing index znode is already in the desired state, so it doesn't
+     * fail the transaction, instead its delete is dropped and the transaction is retried.
+     */
+    ZKTransaction deleteIndex(ZNode indexZNode) throws Exception {
+        deletedIndexZNodes.add(indexZNode);
+        return delete(indexZNode, -1);
+    }
+
+    private ZKTransaction add(ZNode znode, CuratorOp op) {
+        ops.add(op);
+        opZNodes.add(znode);
+        return this;
+    }
+
+    /**
+     * @return true if the failed op was the delete of a missing index znode, which is dropped from the transaction.
+     */
+    private boolean dropMissingIndexDelete(ZNode failedZNode) {
+        if (!deletedIndexZNodes.remove(failedZNode)) {
+            return false;
+        }
+        int i = opZNodes.indexOf(failedZNode);
+        ops.remove(i);
+        opZNodes.remove(i);
+        log.debug("Index entry {}({}) is already missing, dropped its delete.", failedZNode.getKind(),
+                failedZNode.getName()
+        );
+        return true;
+    }
+
+    /**
+     * If parent of an index znode being created is missing (e.g. first project of a team), transaction fails with
+     * NoNode, in which case parents are created and transaction is retried once. If an index znode being deleted
+     * is missing, its delete is dropped and transaction is retried.
+     */
+    List<CuratorTransactionResult> commit() throws Exception {
+        boolean parentsCreated = false;
+        while (true) {
+            try {
+                return zkCurator.transaction().forOperations(ops);
+            } catch (KeeperException.NoNodeException e) {
+                ZNode missingZNode = getFailedZNode(e);
+                if (dropMissingIndexDelete(missingZNode)) {
+                    continue;
+                }
+                if (parentsCreated || !indexZNodes.contains(missingZNode)) {
+                    throw e;
+                }
+                for (ZNode indexZNode : indexZNodes) {
+                    createParentIfMissing(indexZNode);
+                }
+                parentsCreated = true;
+            }
+        }
+    }
+
+    /**
+     * Same as commit(), except that the transaction is committed in the background w/o blocking the calling thread.
+     * Returned future completes on the curator event thread, failure is the KeeperException of the commit and its
+     * znode is given by getFailedZNode().
+     */
+    CompletableFuture<List<CuratorTransactionResult>> commitAsync() {
+        return commitAsync(false);
+    }
+
+    private CompletableFuture<List<CuratorTransactionResult>> commitAsync(boolean parentsCreated) {
+        return commitInBackground().exceptionallyCompose(failure -> {
+            if (!(failure instanceof KeeperException.NoNodeException)) {
+                return CompletableFuture.failedFuture(failure);
+            }
+            if (dropMissingIndexDelete(failedZNode)) {
+                return commitAsync(parentsCreated);
+            }
+            if (parentsCreated || !indexZNodes.contains(failedZNode)) {
+                return CompletableFuture.failedFuture(failure);
+            }
+            CompletableFuture<?>[] parentCreations = indexZNodes.stream()
+                    .map(this::createParentIfMissingAsync).toArray(CompletableFuture[]::new);
+            return CompletableFuture.allOf(parentCreations).thenCompose(v -> commitAsync(true));
+        });
+    }
+
+    /**
+     * @return znode of the operation due to which commitAsync() failed, null if it can not be determined.
+     */
+    ZNode getFailedZNode() {
+        return failedZNode;
+    }
+
+    private CompletableFuture<List<CuratorTransactionResult>> commitInBackground() {
+        CompletableFuture<List<CuratorTransactionResult>> commitFuture = new CompletableFuture<>();
+        try {
+            zkCurator.transaction().inBackground((client, event) -> {
+                if (event.getResultCode() == KeeperException.Code.OK.intValue()) {
+                    commitFuture.complete(event.getOpResults());
+                    return;
+                }
+                failedZNode = getFailedZNode(event.getOpResults());
+                String failedPath = null == failedZNode ? null : failedZNode.getPath();
+                commitFuture.completeExceptionally(
+                        KeeperException.create(KeeperException.Code.get(event.getResultCode()), failedPath));
+            }).forOperations(ops);
+        } catch (Exception e) {
+            commitFuture.completeExceptionally(e);
+        }
+        return commitFuture;
+    }
+
+    private ZNode getFailedZNode(List<CuratorTransactionResult> results) {
+        if (null == results) {
+            return null;
+        }
+        for (int i = 0; i < results.size() && i < opZNodes.size(); i++) {
+            if (results.get(i).getError() != KeeperException.Code.OK.intValue()) {
+                return opZNodes.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return version of the znode after its setData in the committed transaction.
+     */
+    static int getUpdatedVersion(List<CuratorTransactionResult> results, ZNode znode) {
+        return results.stream()
+                .filter(result -> result.getType() == OperationType.SET_DATA
+                        && result.getForPath().equals(znode.getPath()))
+                .findFirst().orElseThrow().getResultStat().getVersion();
+    }
+
+    /**
+     * @return znode of the operation due to which commit failed, null if it can not be determined.
+     */
+    ZNode getFailedZNode(KeeperException failure) {
+        List<OpResult> results = failure.getResults();
+        if (null == results) {
+            return null;
+        }
+        // operations before the failed one are rolled back and reported as OK, ones after it are not attempted.
+        for (int i = 0; i < results.size() && i < opZNodes.size(); i++) {
+            if (results.get(i) instanceof OpResult.ErrorResult errorResult
+                    && errorResult.getErr() != KeeperException.Code.OK.intValue()) {
+                return opZNodes.get(i);
+            }
+        }
+        return null;
+    }
+
+    private void createParentIfMissing(ZNode indexZNode) throws Exception {
+        String path = indexZNode.getPath();
+        String parentPath = path.substring(0, path.lastIndexOf(ZNode.ZK_PATH_SEPARATOR));
+        try {
+            zkCurator.create().creatingParentContainersIfNeeded().withMode(CreateMode.CONTAINER).forPath(parentPath);
+        } catch (KeeperException.NodeExistsException e) {
+            // created already, possibly concurrently.
+        }
+    }
+
+    private CompletableFuture<Void> createParentIfMissingAsync(ZNode indexZNode) {
+        String path = indexZNode.getPath();
+        String parentPath = path.substring(0, path.lastIndexOf(ZNode.ZK_PATH_SEPARATOR));
+        CompletableFuture<Void> createFuture = new CompletableFuture<>();
+        try {
+            zkCurator.create().creatingParentContainersIfNeeded().withMode(CreateMode.CONTAINER)
+                    .inBackground((client, event) -> {
+                        int resultCode = event.getResultCode();
+                        // NodeExists, when created already, possibly concurrently.
+                        if (resultCode == KeeperException.Code.OK.intValue()
+                                || resultCode == KeeperException.Code.NODEEXISTS.intValue()) {
+                            createFuture.complete(null);
+                        } else {
+                            createFuture.completeExceptionally(
+                                    KeeperException.create(KeeperException.Code.get(resultCode), parentPath));
+                        }
+                    }).forPath(parentPath);
+        } catch (Exception e) {
+            createFuture.completeExceptionally(e);
+        }
+        return createFuture;
+    }
+}
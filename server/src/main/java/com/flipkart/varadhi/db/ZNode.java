@@ -11,7 +11,17 @@ public class ZNode {
     public static final ZNodeKind VARADHI_TOPIC = new ZNodeKind("VaradhiTopic");
     public static final ZNodeKind TOPIC_RESOURCE = new ZNodeKind("TopicResource");
     public static final ZNodeKind ROLE_BINDING = new ZNodeKind("RoleBinding");
+    // Secondary indexes i.e. org -> teams, team -> projects and project -> topics. Children of an index znode are
+    // names of the entities in its scope, so that listing them is a single children read.
+    public static final ZNodeKind TEAM_INDEX = new ZNodeKind("TeamIndex");
+    public static final ZNodeKind PROJECT_INDEX = new ZNodeKind("ProjectIndex");
+    public static final ZNodeKind TOPIC_INDEX = new ZNodeKind("TopicIndex");
+    // Ephemeral leases of the server instances on the topic capacity, i.e. QuotaLease/<topic>/<member>.
+    public static final ZNodeKind QUOTA_LEASE = new ZNodeKind("QuotaLease");
+    // Ephemeral membership of the server instances sharing the topic capacity, i.e. QuotaMember/<member>.
+    public static final ZNodeKind QUOTA_MEMBER = new ZNodeKind("QuotaMember");
     public static final String BASE_PATH = "/varadhi/entities";
+    public static final String LEASE_BASE_PATH = "/varadhi/leases";
     public static final String RESOURCE_NAME_SEPARATOR = ":";
     public static final String ZK_PATH_SEPARATOR = "/";
 
@@ -38,6 +48,24 @@ public class ZNode {
                 ZK_PATH_SEPARATOR, BASE_PATH, znodeKind.getKind(), getResourceFQDN(parent, entityName));
     }
 
+    private ZNode(String basePath, ZNodeKind znodeKind) {
+        this.name = znodeKind.getKind();
+        this.kind = znodeKind.getKind();
+        this.path = String.join(ZK_PATH_SEPARATOR, basePath, znodeKind.getKind());
+    }
+
+    private ZNode(String basePath, ZNodeKind znodeKind, String entityName) {
+        this.name = entityName;
+        this.kind = znodeKind.getKind();
+        this.path = String.join(ZK_PATH_SEPARATOR, basePath, znodeKind.getKind(), entityName);
+    }
+
+    private ZNode(ZNode indexZNode, String entityName) {
+        this.name = entityName;
+        this.kind = indexZNode.getKind();
+        this.path = String.join(ZK_PATH_SEPARATOR, indexZNode.getPath(), entityName);
+    }
+
     public static String getResourceFQDN(String parentName, String resourceName) {
         return String.join(RESOURCE_NAME_SEPARATOR, parentName, resourceName);
     }
@@ -66,6 +94,50 @@ public class ZNode {
         return new ZNode(ROLE_BINDING, resourceType.toString(), resourceId);
     }
 
+    public static ZNode OfTeamIndex(String orgName) {
+        return new ZNode(TEAM_INDEX, orgName);
+    }
+
+    public static ZNode OfTeamIndexEntry(String orgName, String teamName) {
+        return new ZNode(OfTeamIndex(orgName), teamName);
+    }
+
+    public static ZNode OfProjectIndex(String orgName, String teamName) {
+        return new ZNode(PROJECT_INDEX, orgName, teamName);
+    }
+
+    public static ZNode OfProjectIndexEntry(String orgName, String teamName, String projectName) {
+        return new ZNode(OfProjectIndex(orgName, teamName), projectName);
+    }
+
+    public static ZNode OfTopicIndex(String projectName) {
+        return new ZNode(TOPIC_INDEX, projectName);
+    }
+
+    public static ZNode OfTopicIndexEntry(String projectName, String varadhiTopicName) {
+        return new ZNode(OfTopicIndex(projectName), varadhiTopicName);
+    }
+
+    public static ZNode OfIndexEntry(ZNode indexZNode, String entityName) {
+        return new ZNode(indexZNode, entityName);
+    }
+
+    public static ZNode OfQuotaLeases(String varadhiTopicName) {
+        return new ZNode(LEASE_BASE_PATH, QUOTA_LEASE, varadhiTopicName);
+    }
+
+    public static ZNode OfQuotaLease(String varadhiTopicName, String memberId) {
+        return new ZNode(OfQuotaLeases(varadhiTopicName), memberId);
+    }
+
+    public static ZNode OfQuotaMembers() {
+        return new ZNode(LEASE_BASE_PATH, QUOTA_MEMBER);
+    }
+
+    public static ZNode OfQuotaMember(String memberId) {
+        return new ZNode(OfQuotaMembers(), memberId);
+    }
+
     public static ZNode OfKind(ZNodeKind zNodeKind, String name) {
         return new ZNode(zNodeKind, name);
     }
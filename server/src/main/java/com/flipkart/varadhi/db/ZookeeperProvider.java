@@ -4,12 +4,17 @@ import com.flipkart.varadhi.spi.db.MetaStore;
 import com.flipkart.varadhi.spi.db.MetaStoreOptions;
 import com.flipkart.varadhi.spi.db.MetaStoreProvider;
 import com.flipkart.varadhi.utils.YamlLoader;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.curator.RetryPolicy;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.retry.RetryForever;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 public class ZookeeperProvider implements MetaStoreProvider {
 
@@ -27,6 +32,7 @@ public class ZookeeperProvider implements MetaStoreProvider {
                             YamlLoader.loadConfig(MetaStoreOptions.getConfigFile(), ZKMetaStoreConfig.class);
                     CuratorFramework zkCurator = getZkCurator(zkMetaStoreConfig.getZookeeperOptions());
                     this.varadhiMetaStore = new VaradhiMetaStore(zkCurator);
+                    scheduleEntityIndexReconcile(zkMetaStoreConfig.getEntityIndexReconcileIntervalMs());
                     initialised = true;
                 }
             }
@@ -34,6 +40,19 @@ public class ZookeeperProvider implements MetaStoreProvider {
     }
 
 
+    private void scheduleEntityIndexReconcile(long intervalMs) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("varadhi-index-reconcile-%d").setDaemon(true).build());
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                varadhiMetaStore.reconcileEntityIndex();
+            } catch (Exception e) {
+                // retried in the next interval.
+                log.error("Failed to reconcile the secondary indexes with the entities.", e);
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
     private CuratorFramework getZkCurator(ZookeeperOptions zkOptions) {
         //TODO:: Close on below
         // 1. Retry policy need to be configurable ?
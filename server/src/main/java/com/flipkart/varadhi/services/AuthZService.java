@@ -7,15 +7,25 @@ import com.flipkart.varadhi.exceptions.InvalidOperationForResourceException;
 import com.flipkart.varadhi.exceptions.ResourceNotFoundException;
 import com.flipkart.varadhi.spi.db.MetaStore;
 import com.flipkart.varadhi.spi.db.RoleBindingMetaStore;
+import com.flipkart.varadhi.spi.db.WatchableMetaStore;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.flipkart.varadhi.entities.MetaStoreEntity.NAME_SEPARATOR;
 
+@Slf4j
 public class AuthZService {
     private final MetaStore metaStore;
     private final RoleBindingMetaStore roleBindingMetaStore;
+    // In-memory copy of the role bindings, kept up-to-date by a watch on the meta store. See indexRoleBindings().
+    private final Map<PolicyKey, RoleBindingNode> iamPolicies = new ConcurrentHashMap<>();
+    // Key of the role bindings by their entity name, as deletes are notified only with the entity name.
+    private final Map<String, PolicyKey> iamPolicyKeys = new ConcurrentHashMap<>();
+    private volatile boolean indexed = false;
 
     public AuthZService(MetaStore metaStore, RoleBindingMetaStore roleBindingMetaStore) {
         this.metaStore = metaStore;
@@ -65,10 +75,50 @@ public class AuthZService {
         return node;
     }
 
+    /**
+     * Serves the IAM policies from memory once the role bindings are indexed, in which case null is returned for a
+     * resource without any role binding. Until then, or when not indexed, the policy is read from the meta store.
+     */
     public RoleBindingNode getIAMPolicy(ResourceType resourceType, String resourceId) {
+        if (indexed) {
+            return iamPolicies.get(new PolicyKey(resourceType, resourceId));
+        }
         return roleBindingMetaStore.getRoleBindingNode(resourceType, resourceId);
     }
 
+    /**
+     * Loads all the role bindings in memory and keeps them up-to-date by watching the meta store, so that
+     * getIAMPolicy() doesn't read the meta store.
+     *
+     * @param onChange invoked after every change applied to the index, including the initial load.
+     */
+    public void indexRoleBindings(WatchableMetaStore watchableMetaStore, Runnable onChange) {
+        watchableMetaStore.watchRoleBindings(
+                (name, node) -> {
+                    onRoleBindingChange(name, node);
+                    onChange.run();
+                },
+                () -> {
+                    indexed = true;
+                    log.info("Indexed {} role bindings.", iamPolicies.size());
+                    onChange.run();
+                }
+        );
+    }
+
+    private void onRoleBindingChange(String name, RoleBindingNode node) {
+        if (null == node) {
+            PolicyKey key = iamPolicyKeys.remove(name);
+            if (null != key) {
+                iamPolicies.remove(key);
+            }
+            return;
+        }
+        PolicyKey key = new PolicyKey(node.getResourceType(), node.getResourceId());
+        iamPolicyKeys.put(name, key);
+        iamPolicies.put(key, node);
+    }
+
     public RoleBindingNode setIAMPolicy(ResourceType resourceType, String resourceId, IAMPolicyRequest binding) {
         RoleBindingNode node = createOrGetRoleBindingNode(resourceId, resourceType);
         node.setRoleAssignment(binding.getSubject(), binding.getRoles());
@@ -120,4 +170,7 @@ public class AuthZService {
             case SUBSCRIPTION -> false; //TODO
         };
     }
+
+    private record PolicyKey(ResourceType resourceType, String resourceId) {
+    }
 }
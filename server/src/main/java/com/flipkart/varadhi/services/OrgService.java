@@ -2,21 +2,32 @@ package com.flipkart.varadhi.services;
 
 import com.flipkart.varadhi.entities.Org;
 import com.flipkart.varadhi.exceptions.InvalidOperationForResourceException;
+import com.flipkart.varadhi.spi.db.AsyncMetaStore;
 import com.flipkart.varadhi.spi.db.MetaStore;
 import com.flipkart.varadhi.web.Extensions;
+import com.google.common.util.concurrent.MoreExecutors;
 import lombok.experimental.ExtensionMethod;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 
 @Slf4j
 @ExtensionMethod({Extensions.RequestBodyExtension.class, Extensions.RoutingContextExtension.class})
 public class OrgService {
     private final MetaStore metaStore;
+    private final AsyncMetaStore asyncMetaStore;
 
     public OrgService(MetaStore metaStore) {
+        this(metaStore, MoreExecutors.directExecutor());
+    }
+
+    // blockingExecutor - runs the operations of a meta store w/o async support.
+    public OrgService(MetaStore metaStore, Executor blockingExecutor) {
         this.metaStore = metaStore;
+        this.asyncMetaStore = AsyncMetaStore.of(metaStore, blockingExecutor);
     }
 
     public Org createOrg(Org org) {
@@ -32,10 +43,31 @@ public class OrgService {
         return metaStore.getOrg(orgName);
     }
 
+    public CompletableFuture<List<Org>> getOrgsAsync() {
+        return asyncMetaStore.getOrgsAsync().toCompletableFuture();
+    }
+
+    public CompletableFuture<Org> getOrgAsync(String orgName) {
+        return asyncMetaStore.getOrgAsync(orgName).toCompletableFuture();
+    }
+
+    public CompletableFuture<Org> createOrgAsync(Org org) {
+        return asyncMetaStore.createOrgAsync(org).thenApply(v -> org).toCompletableFuture();
+    }
+
+    public CompletableFuture<Void> deleteOrgAsync(String orgName) {
+        return asyncMetaStore.hasTeamsAsync(orgName).thenCompose(hasTeams -> {
+            if (hasTeams) {
+                throw new InvalidOperationForResourceException(
+                        String.format("Can not delete Org(%s) as it has associated Team(s).", orgName));
+            }
+            return asyncMetaStore.deleteOrgAsync(orgName);
+        }).toCompletableFuture();
+    }
+
 
     public void deleteOrg(String orgName) {
-        List<String> teamsInOrg = metaStore.getTeamNames(orgName);
-        if (teamsInOrg.size() > 0) {
+        if (metaStore.hasTeams(orgName)) {
             throw new InvalidOperationForResourceException(
                     String.format("Can not delete Org(%s) as it has associated Team(s).", orgName));
         }
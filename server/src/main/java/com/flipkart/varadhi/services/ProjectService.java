@@ -4,50 +4,110 @@ import com.flipkart.varadhi.VaradhiCache;
 import com.flipkart.varadhi.entities.Project;
 import com.flipkart.varadhi.exceptions.InvalidOperationForResourceException;
 import com.flipkart.varadhi.exceptions.ResourceNotFoundException;
+import com.flipkart.varadhi.spi.db.AsyncMetaStore;
 import com.flipkart.varadhi.spi.db.MetaStore;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.micrometer.core.instrument.MeterRegistry;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 public class ProjectService {
     private final MetaStore metaStore;
+    private final AsyncMetaStore asyncMetaStore;
     private final VaradhiCache<String, Project> projectCache;
 
     public ProjectService(MetaStore metaStore, String cacheSpec, MeterRegistry meterRegistry) {
+        this(metaStore, cacheSpec, MoreExecutors.directExecutor(), meterRegistry);
+    }
+
+    public ProjectService(
+            MetaStore metaStore, String cacheSpec, Executor cacheLoaderExecutor, MeterRegistry meterRegistry
+    ) {
         this.metaStore = metaStore;
-        this.projectCache = buildProjectCache(cacheSpec, this::getProject, meterRegistry);
+        // meta store w/o async support is run on the cache loader executor, which is meant for blocking loads.
+        this.asyncMetaStore = AsyncMetaStore.of(metaStore, cacheLoaderExecutor);
+        this.projectCache = buildProjectCache(cacheSpec, this::getProject, cacheLoaderExecutor, meterRegistry);
     }
 
     public Project createProject(Project project) {
-        boolean orgExists = metaStore.checkOrgExists(project.getOrg());
-        if (!orgExists) {
-            throw new ResourceNotFoundException(String.format(
-                    "Org(%s) not found. For Project creation, associated Org and Team should exist.",
-                    project.getOrg()
-            ));
-        }
-        boolean teamExists = metaStore.checkTeamExists(project.getTeam(), project.getOrg());
-        if (!teamExists) {
+        // Existence of org and team is checked by the meta store, along with the project creation.
+        try {
+            metaStore.createProject(project);
+        } catch (ResourceNotFoundException e) {
             throw new ResourceNotFoundException(String.format(
-                    "Team(%s) not found. For Project creation, associated Org and Team should exist.",
-                    project.getTeam()
-            ));
+                    "%s For Project creation, associated Org and Team should exist.", e.getMessage()), e);
         }
-        metaStore.createProject(project);
         return project;
     }
 
+    public CompletableFuture<Project> createProjectAsync(Project project) {
+        // Existence of org and team is checked by the meta store, along with the project creation.
+        return asyncMetaStore.createProjectAsync(project).toCompletableFuture().handle((v, failure) -> {
+            if (null == failure) {
+                return project;
+            }
+            Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+            if (cause instanceof ResourceNotFoundException) {
+                throw new ResourceNotFoundException(String.format(
+                        "%s For Project creation, associated Org and Team should exist.", cause.getMessage()), cause);
+            }
+            throw new CompletionException(cause);
+        });
+    }
+
     public Project getProject(String projectName) {
         return metaStore.getProject(projectName);
     }
 
+    public CompletableFuture<Project> getProjectAsync(String projectName) {
+        return asyncMetaStore.getProjectAsync(projectName).toCompletableFuture();
+    }
+
     public Project getCachedProject(String projectName) {
         return projectCache.get(projectName);
     }
 
+    /**
+     * Non-blocking variant of getCachedProject(), meant for the event loop. Returned future is already completed
+     * when project is in the cache.
+     */
+    public CompletableFuture<Project> getCachedProjectAsync(String projectName) {
+        return projectCache.getAsync(projectName);
+    }
+
+    /**
+     * Keeps the project cache in sync with the meta store. project is null when it is deleted.
+     */
+    public void onProjectChange(String projectName, Project project) {
+        if (null == project) {
+            projectCache.invalidate(projectName);
+        } else {
+            projectCache.put(projectName, project);
+        }
+    }
+
     public Project updateProject(Project project) {
         Project existingProject = metaStore.getProject(project.getName());
+        validateUpdate(project, existingProject);
+        int updatedVersion = metaStore.updateProject(project);
+        project.setVersion(updatedVersion);
+        return project;
+    }
+
+    public CompletableFuture<Project> updateProjectAsync(Project project) {
+        return asyncMetaStore.getProjectAsync(project.getName()).thenCompose(existingProject -> {
+            validateUpdate(project, existingProject);
+            return asyncMetaStore.updateProjectAsync(project);
+        }).thenApply(updatedVersion -> {
+            project.setVersion(updatedVersion);
+            return project;
+        }).toCompletableFuture();
+    }
+
+    private void validateUpdate(Project project, Project existingProject) {
         if (!project.getOrg().equals(existingProject.getOrg())) {
             throw new IllegalArgumentException(
                     String.format("Project(%s) can not be moved across organisation.", project.getName()));
@@ -65,23 +125,31 @@ public class ProjectService {
                     "Conflicting update, Project(%s) has been modified. Fetch latest and try again.", project.getName()
             ));
         }
-        int updatedVersion = metaStore.updateProject(project);
-        project.setVersion(updatedVersion);
-        return project;
     }
 
     public void deleteProject(String projectName) {
         //TODO:: check no subscriptions/queues for this project.
-        List<String> varadhiTopicNames = metaStore.getVaradhiTopicNames(projectName);
-        if (varadhiTopicNames.size() > 0) {
+        if (metaStore.hasVaradhiTopics(projectName)) {
             throw new InvalidOperationForResourceException(
                     String.format("Can not delete Project(%s), it has associated entities.", projectName));
         }
         metaStore.deleteProject(projectName);
     }
 
+    public CompletableFuture<Void> deleteProjectAsync(String projectName) {
+        //TODO:: check no subscriptions/queues for this project.
+        return asyncMetaStore.hasVaradhiTopicsAsync(projectName).thenCompose(hasVaradhiTopics -> {
+            if (hasVaradhiTopics) {
+                throw new InvalidOperationForResourceException(
+                        String.format("Can not delete Project(%s), it has associated entities.", projectName));
+            }
+            return asyncMetaStore.deleteProjectAsync(projectName);
+        }).toCompletableFuture();
+    }
+
     private VaradhiCache<String, Project> buildProjectCache(
-            String cacheSpec, Function<String, Project> projectProvider, MeterRegistry meterRegistry
+            String cacheSpec, Function<String, Project> projectProvider, Executor cacheLoaderExecutor,
+            MeterRegistry meterRegistry
     ) {
         return new VaradhiCache<>(
                 cacheSpec,
@@ -90,6 +158,7 @@ public class ProjectService {
                         String.format("Failed to get project(%s). %s", projectName, exception.getMessage()),
                         exception
                 ),
+                cacheLoaderExecutor,
                 "project",
                 meterRegistry
         );
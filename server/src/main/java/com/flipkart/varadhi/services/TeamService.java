@@ -4,22 +4,32 @@ import com.flipkart.varadhi.entities.Project;
 import com.flipkart.varadhi.entities.Team;
 import com.flipkart.varadhi.exceptions.InvalidOperationForResourceException;
 import com.flipkart.varadhi.exceptions.ResourceNotFoundException;
+import com.flipkart.varadhi.spi.db.AsyncMetaStore;
 import com.flipkart.varadhi.spi.db.MetaStore;
+import com.google.common.util.concurrent.MoreExecutors;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 public class TeamService {
     private final MetaStore metaStore;
+    private final AsyncMetaStore asyncMetaStore;
 
     public TeamService(MetaStore metaStore) {
+        this(metaStore, MoreExecutors.directExecutor());
+    }
+
+    // blockingExecutor - runs the operations of a meta store w/o async support.
+    public TeamService(MetaStore metaStore, Executor blockingExecutor) {
         this.metaStore = metaStore;
+        this.asyncMetaStore = AsyncMetaStore.of(metaStore, blockingExecutor);
     }
 
     public Team createTeam(Team team) {
-        boolean orgExists = metaStore.checkOrgExists(team.getOrg());
-        if (!orgExists) {
-            throw new ResourceNotFoundException(String.format("Org(%s) not found.", team.getOrg()));
-        }
+        // Existence of org is checked by the meta store, along with the team creation.
         metaStore.createTeam(team);
         return team;
     }
@@ -55,13 +65,56 @@ public class TeamService {
     }
 
 
+    public CompletableFuture<Team> getTeamAsync(String teamName, String orgName) {
+        return whenOrgExists(orgName, () -> asyncMetaStore.getTeamAsync(teamName, orgName));
+    }
+
+    public CompletableFuture<List<Team>> getTeamsAsync(String orgName) {
+        return whenOrgExists(orgName, () -> asyncMetaStore.getTeamsAsync(orgName));
+    }
+
+    public CompletableFuture<List<Project>> getProjectsAsync(String teamName, String orgName) {
+        return whenOrgExists(orgName, () -> asyncMetaStore.checkTeamExistsAsync(teamName, orgName)
+                .thenCompose(teamExists -> {
+                    if (!teamExists) {
+                        throw new ResourceNotFoundException(
+                                String.format("Team(%s) does not exists in the Org(%s).", teamName, orgName));
+                    }
+                    return asyncMetaStore.getProjectsAsync(teamName, orgName);
+                }));
+    }
+
+    public CompletableFuture<Team> createTeamAsync(Team team) {
+        // Existence of org is checked by the meta store, along with the team creation.
+        return asyncMetaStore.createTeamAsync(team).thenApply(v -> team).toCompletableFuture();
+    }
+
+    public CompletableFuture<Void> deleteTeamAsync(String teamName, String orgName) {
+        return whenOrgExists(orgName, () -> asyncMetaStore.hasProjectsAsync(teamName, orgName)
+                .thenCompose(hasProjects -> {
+                    if (hasProjects) {
+                        throw new InvalidOperationForResourceException(
+                                String.format("Can not delete Team(%s) as it has associated Project(s).", teamName));
+                    }
+                    return asyncMetaStore.deleteTeamAsync(teamName, orgName);
+                }));
+    }
+
+    private <T> CompletableFuture<T> whenOrgExists(String orgName, Supplier<CompletionStage<T>> operation) {
+        return asyncMetaStore.checkOrgExistsAsync(orgName).thenCompose(orgExists -> {
+            if (!orgExists) {
+                throw new ResourceNotFoundException(String.format("Org(%s) not found.", orgName));
+            }
+            return operation.get();
+        }).toCompletableFuture();
+    }
+
     public void deleteTeam(String teamName, String orgName) {
         boolean orgExists = metaStore.checkOrgExists(orgName);
         if (!orgExists) {
             throw new ResourceNotFoundException(String.format("Org(%s) not found.", orgName));
         }
-        List<Project> projectsInTeam = metaStore.getProjects(teamName, orgName);
-        if (projectsInTeam.size() > 0) {
+        if (metaStore.hasProjects(teamName, orgName)) {
             throw new InvalidOperationForResourceException(
                     String.format("Can not delete Team(%s) as it has associated Project(s).", teamName));
         }
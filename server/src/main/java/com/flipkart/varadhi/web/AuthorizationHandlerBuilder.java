@@ -3,11 +3,14 @@ package com.flipkart.varadhi.web;
 import com.flipkart.varadhi.authz.AuthorizationProvider;
 import com.flipkart.varadhi.auth.PermissionAuthorization;
 import com.flipkart.varadhi.entities.auth.ResourceAction;
+import com.flipkart.varadhi.entities.auth.ResourceHierarchy;
 import com.flipkart.varadhi.entities.auth.UserContext;
 import com.flipkart.varadhi.entities.VertxUserContext;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
-import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.HttpException;
 import lombok.AllArgsConstructor;
@@ -15,7 +18,6 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
 
@@ -47,9 +49,25 @@ public class AuthorizationHandlerBuilder {
         @Override
         public void handle(RoutingContext ctx) {
             UserContext user = ctx.user() == null ? null : new VertxUserContext(ctx.user());
-            Function<String, String> env =
-                    v -> resolveVariable(v, ctx.pathParams(), ctx.request().params(), ctx.request().headers());
-            authorize(user, env).onFailure(ctx::fail).onSuccess(result -> ctx.next());
+            Function<String, String> env = v -> resolveVariable(v, ctx);
+            Context context = Vertx.currentContext();
+            authorize(user, env).onComplete(result -> resume(context, ctx, result));
+        }
+
+        /**
+         * Continues the route chain on the context the request is being handled on, as the provider may complete the
+         * authorization on its own threads.
+         */
+        private void resume(Context context, RoutingContext ctx, AsyncResult<Void> result) {
+            if (null != context && context != Vertx.currentContext()) {
+                context.runOnContext(v -> resume(null, ctx, result));
+                return;
+            }
+            if (result.succeeded()) {
+                ctx.next();
+            } else {
+                ctx.fail(result.cause());
+            }
         }
 
         Future<Void> authorize(UserContext userContext, Function<String, String> env) {
@@ -67,15 +85,15 @@ public class AuthorizationHandlerBuilder {
             }
 
             ResourceAction action = requiredAuthorization.action();
-            String resource = requiredAuthorization.resource().resolve(env);
-            return provider.isAuthorized(userContext, action, resource)
+            ResourceHierarchy resource = requiredAuthorization.resource().locate(env);
+            return provider.isAuthorizedOn(userContext, action, resource)
                     .compose(authorized -> {
                         if (!authorized) {
                             return Future.failedFuture(new HttpException(
                                     HTTP_FORBIDDEN,
                                     "user is not authorized to perform action '" + action.toString() +
                                             "' on resource '" +
-                                            resource + "'"
+                                            resource.toPath() + "'"
                             ));
                         } else {
                             return Future.succeededFuture();
@@ -84,15 +102,17 @@ public class AuthorizationHandlerBuilder {
                             new HttpException(HTTP_INTERNAL_ERROR, "failed to get user authorization")));
         }
 
-        String resolveVariable(
-                String variable, Map<String, String> pathParams, MultiMap queryParams, MultiMap headers
-        ) {
-            String value = pathParams.get(variable);
+        /**
+         * Looks up the variable in path params, query params and headers in that order. Query params are parsed only
+         * when the variable is not a path param, which is the case for the resource names of the routes.
+         */
+        String resolveVariable(String variable, RoutingContext ctx) {
+            String value = ctx.pathParam(variable);
             if (value == null) {
-                value = queryParams.get(variable);
+                value = ctx.request().getParam(variable);
             }
             if (value == null) {
-                value = headers.get(variable);
+                value = ctx.request().getHeader(variable);
             }
             return value;
         }
@@ -4,12 +4,17 @@ import com.flipkart.varadhi.entities.Validatable;
 import com.flipkart.varadhi.exceptions.NotImplementedException;
 import com.flipkart.varadhi.utils.JsonMapper;
 import io.netty.handler.codec.http.HttpHeaderValues;
+import io.vertx.core.Context;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.web.RequestBody;
 import io.vertx.ext.web.RoutingContext;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+
 
 public class Extensions {
 
@@ -92,6 +97,32 @@ public class Extensions {
         }
 
 
+        // Finish non-blocking handler by calling this with the future of API response. Request is ended on the
+        // request's context, once the future completes.
+        public static <T> void endRequestWhenComplete(RoutingContext ctx, CompletionStage<T> response) {
+            endRequestOnContext(ctx, response, result -> endRequestWithResponse(ctx, result));
+        }
+
+        // Same as endRequestWhenComplete(), for the API w/o response.
+        public static void endRequestWhenDone(RoutingContext ctx, CompletionStage<Void> completion) {
+            endRequestOnContext(ctx, completion, result -> endRequest(ctx));
+        }
+
+        private static <T> void endRequestOnContext(
+                RoutingContext ctx, CompletionStage<T> response, Consumer<T> onSuccess
+        ) {
+            Context context = ctx.vertx().getOrCreateContext();
+            response.whenComplete((result, failure) -> context.runOnContext(v -> {
+                if (null == failure) {
+                    onSuccess.accept(result);
+                } else if (failure instanceof CompletionException && null != failure.getCause()) {
+                    endRequestWithException(ctx, failure.getCause());
+                } else {
+                    endRequestWithException(ctx, failure);
+                }
+            }));
+        }
+
         public static <T> T getApiResponse(RoutingContext ctx) {
             return ctx.get("api-response");
         }
@@ -45,7 +45,7 @@ public class OrgHandlers implements RouteProvider {
                                 Set.of(authenticated),
                                 new LinkedHashSet<>(),
                                 this::getOrganizations,
-                                true,
+                                false,
                                 Optional.empty()
                         ),
                         new RouteDefinition(
@@ -54,7 +54,7 @@ public class OrgHandlers implements RouteProvider {
                                 Set.of(authenticated),
                                 new LinkedHashSet<>(),
                                 this::get,
-                                true,
+                                false,
                                 Optional.of(PermissionAuthorization.of(ORG_GET, "{org}"))
                         ),
                         new RouteDefinition(
@@ -63,7 +63,7 @@ public class OrgHandlers implements RouteProvider {
                                 Set.of(hasBody),
                                 new LinkedHashSet<>(),
                                 this::create,
-                                true,
+                                false,
                                 Optional.empty()
                         ),
                         new RouteDefinition(
@@ -72,7 +72,7 @@ public class OrgHandlers implements RouteProvider {
                                 Set.of(authenticated),
                                 new LinkedHashSet<>(),
                                 this::delete,
-                                true,
+                                false,
                                 Optional.of(PermissionAuthorization.of(ORG_DELETE, "{org}"))
                         )
                 )
@@ -80,26 +80,22 @@ public class OrgHandlers implements RouteProvider {
     }
 
     public void getOrganizations(RoutingContext ctx) {
-        List<Org> organizations = orgService.getOrgs();
-        ctx.endApiWithResponse(organizations);
+        ctx.endRequestWhenComplete(orgService.getOrgsAsync());
     }
 
     public void get(RoutingContext ctx) {
         String orgName = ctx.pathParam(REQUEST_PATH_PARAM_ORG);
-        Org org = orgService.getOrg(orgName);
-        ctx.endApiWithResponse(org);
+        ctx.endRequestWhenComplete(orgService.getOrgAsync(orgName));
     }
 
     public void create(RoutingContext ctx) {
         //TODO:: Authz check need to be explicit here. This can be done with Authz work.
         Org org = ctx.body().asValidatedPojo(Org.class);
-        Org createdorg = orgService.createOrg(org);
-        ctx.endApiWithResponse(createdorg);
+        ctx.endRequestWhenComplete(orgService.createOrgAsync(org));
     }
 
     public void delete(RoutingContext ctx) {
         String orgName = ctx.pathParam(REQUEST_PATH_PARAM_ORG);
-        orgService.deleteOrg(orgName);
-        ctx.endApi();
+        ctx.endRequestWhenDone(orgService.deleteOrgAsync(orgName));
     }
 }
@@ -43,7 +43,7 @@ public class ProjectHandlers implements RouteProvider {
                                 Set.of(authenticated),
                                 new LinkedHashSet<>(),
                                 this::get,
-                                true,
+                                false,
                                 Optional.of(PermissionAuthorization.of(PROJECT_GET, "{project}"))
                         ),
                         new RouteDefinition(
@@ -52,7 +52,7 @@ public class ProjectHandlers implements RouteProvider {
                                 Set.of(hasBody),
                                 new LinkedHashSet<>(),
                                 this::create,
-                                true,
+                                false,
                                 Optional.empty()
                         ),
                         new RouteDefinition(
@@ -61,7 +61,7 @@ public class ProjectHandlers implements RouteProvider {
                                 Set.of(hasBody),
                                 new LinkedHashSet<>(),
                                 this::update,
-                                true,
+                                false,
                                 Optional.of(PermissionAuthorization.of(PROJECT_UPDATE, ""))
                         ),
                         new RouteDefinition(
@@ -70,7 +70,7 @@ public class ProjectHandlers implements RouteProvider {
                                 Set.of(authenticated),
                                 new LinkedHashSet<>(),
                                 this::delete,
-                                true,
+                                false,
                                 Optional.of(PermissionAuthorization.of(PROJECT_DELETE, "{project}"))
                         )
                 )
@@ -79,28 +79,24 @@ public class ProjectHandlers implements RouteProvider {
 
     public void get(RoutingContext ctx) {
         String projectName = ctx.pathParam(REQUEST_PATH_PARAM_PROJECT);
-        Project project = projectService.getProject(projectName);
-        ctx.endApiWithResponse(project);
+        ctx.endRequestWhenComplete(projectService.getProjectAsync(projectName));
     }
 
     public void create(RoutingContext ctx) {
         //TODO:: Authz check need to be explicit here.
         Project project = ctx.body().asPojo(Project.class);
-        Project createdProject = projectService.createProject(project);
-        ctx.endApiWithResponse(createdProject);
+        ctx.endRequestWhenComplete(projectService.createProjectAsync(project));
     }
 
     public void delete(RoutingContext ctx) {
         String projectName = ctx.pathParam(REQUEST_PATH_PARAM_PROJECT);
         //TODO::No topics and subscriptions for this project.
-        projectService.deleteProject(projectName);
-        ctx.endApi();
+        ctx.endRequestWhenDone(projectService.deleteProjectAsync(projectName));
     }
 
     public void update(RoutingContext ctx) {
         //TODO:: Authz check need to be explicit here.
         Project project = ctx.body().asPojo(Project.class);
-        Project updatedProject = projectService.updateProject(project);
-        ctx.endApiWithResponse(updatedProject);
+        ctx.endRequestWhenComplete(projectService.updateProjectAsync(project));
     }
 }
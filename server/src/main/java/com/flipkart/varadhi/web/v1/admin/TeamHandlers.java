@@ -1,7 +1,6 @@
 package com.flipkart.varadhi.web.v1.admin;
 
 import com.flipkart.varadhi.auth.PermissionAuthorization;
-import com.flipkart.varadhi.entities.Project;
 import com.flipkart.varadhi.entities.Team;
 import com.flipkart.varadhi.services.TeamService;
 import com.flipkart.varadhi.web.Extensions;
@@ -45,7 +44,7 @@ public class TeamHandlers implements RouteProvider {
                                 Set.of(authenticated),
                                 new LinkedHashSet<>(),
                                 this::listTeams,
-                                true,
+                                false,
                                 Optional.of(PermissionAuthorization.of(TEAM_GET, "{org}"))
                         ),
                         new RouteDefinition(
@@ -54,7 +53,7 @@ public class TeamHandlers implements RouteProvider {
                                 Set.of(authenticated),
                                 new LinkedHashSet<>(),
                                 this::listProjects,
-                                true,
+                                false,
                                 Optional.of(PermissionAuthorization.of(TEAM_GET, "{org}"))
                         ),
                         new RouteDefinition(
@@ -63,7 +62,7 @@ public class TeamHandlers implements RouteProvider {
                                 Set.of(authenticated),
                                 new LinkedHashSet<>(),
                                 this::get,
-                                true,
+                                false,
                                 Optional.of(PermissionAuthorization.of(TEAM_GET, "{org}/{team}"))
                         ),
                         new RouteDefinition(
@@ -72,7 +71,7 @@ public class TeamHandlers implements RouteProvider {
                                 Set.of(hasBody),
                                 new LinkedHashSet<>(),
                                 this::create,
-                                true,
+                                false,
                                 Optional.empty()
                         ),
                         new RouteDefinition(
@@ -80,7 +79,7 @@ public class TeamHandlers implements RouteProvider {
                                 "/:team", Set.of(authenticated),
                                 new LinkedHashSet<>(),
                                 this::delete,
-                                true,
+                                false,
                                 Optional.of(PermissionAuthorization.of(TEAM_DELETE, "{org}/{team}"))
                         )
                 )
@@ -89,22 +88,19 @@ public class TeamHandlers implements RouteProvider {
 
     public void listTeams(RoutingContext ctx) {
         String orgName = ctx.pathParam(REQUEST_PATH_PARAM_ORG);
-        List<Team> teams = teamService.getTeams(orgName);
-        ctx.endApiWithResponse(teams);
+        ctx.endRequestWhenComplete(teamService.getTeamsAsync(orgName));
     }
 
     public void listProjects(RoutingContext ctx) {
         String orgName = ctx.pathParam(REQUEST_PATH_PARAM_ORG);
         String teamName = ctx.pathParam(REQUEST_PATH_PARAM_TEAM);
-        List<Project> projects = teamService.getProjects(teamName, orgName);
-        ctx.endApiWithResponse(projects);
+        ctx.endRequestWhenComplete(teamService.getProjectsAsync(teamName, orgName));
     }
 
     public void get(RoutingContext ctx) {
         String orgName = ctx.pathParam(REQUEST_PATH_PARAM_ORG);
         String teamName = ctx.pathParam(REQUEST_PATH_PARAM_TEAM);
-        Team team = teamService.getTeam(teamName, orgName);
-        ctx.endApiWithResponse(team);
+        ctx.endRequestWhenComplete(teamService.getTeamAsync(teamName, orgName));
     }
 
     public void create(RoutingContext ctx) {
@@ -115,15 +111,13 @@ public class TeamHandlers implements RouteProvider {
             throw new IllegalArgumentException("Specified org name is different from org name in url");
         }
 
-        Team createdTeam = teamService.createTeam(team);
-        ctx.endApiWithResponse(createdTeam);
+        ctx.endRequestWhenComplete(teamService.createTeamAsync(team));
     }
 
     public void delete(RoutingContext ctx) {
         String orgName = ctx.pathParam(REQUEST_PATH_PARAM_ORG);
         String teamName = ctx.pathParam(REQUEST_PATH_PARAM_TEAM);
-        teamService.deleteTeam(teamName, orgName);
-        ctx.endApi();
+        ctx.endRequestWhenDone(teamService.deleteTeamAsync(teamName, orgName));
     }
 
 }
@@ -56,7 +56,7 @@ public class TopicHandlers implements RouteProvider {
                                 Set.of(),
                                 new LinkedHashSet<>(),
                                 this::get,
-                                true,
+                                false,
                                 Optional.of(PermissionAuthorization.of(TOPIC_GET, "{project}/{topic}"))
                         ),
                         new RouteDefinition(
@@ -83,7 +83,7 @@ public class TopicHandlers implements RouteProvider {
                                 Set.of(),
                                 new LinkedHashSet<>(),
                                 this::listTopics,
-                                true,
+                                false,
                                 Optional.of(PermissionAuthorization.of(TOPIC_GET, "{project}")) //TODO: Do we need a new permission for this?
                         )
                 )
@@ -92,9 +92,7 @@ public class TopicHandlers implements RouteProvider {
 
     public void get(RoutingContext ctx) {
         String varadhiTopicName = getVaradhiTopicName(ctx);
-        VaradhiTopic varadhiTopic = varadhiTopicService.get(varadhiTopicName);
-        TopicResource topicResource = TopicResource.of(varadhiTopic);
-        ctx.endApiWithResponse(topicResource);
+        ctx.endRequestWhenComplete(varadhiTopicService.getAsync(varadhiTopicName).thenApply(TopicResource::of));
     }
 
     public void create(RoutingContext ctx) {
@@ -132,8 +130,11 @@ public class TopicHandlers implements RouteProvider {
 
     public void listTopics(RoutingContext ctx) {
         String projectName = ctx.pathParam(REQUEST_PATH_PARAM_PROJECT);
-        List<String> varadhiTopics = varadhiTopicService.getVaradhiTopics(projectName);
+        ctx.endRequestWhenComplete(varadhiTopicService.getVaradhiTopicsAsync(projectName)
+                .thenApply(varadhiTopics -> getTopicResourceNames(projectName, varadhiTopics)));
+    }
 
+    private List<String> getTopicResourceNames(String projectName, List<String> varadhiTopics) {
         String projectPrefixOfVaradhiTopic = projectName + NAME_SEPARATOR;
         List<String> topicResourceNames = new ArrayList<>();
         varadhiTopics.forEach(varadhiTopic -> {
@@ -143,7 +144,7 @@ public class TopicHandlers implements RouteProvider {
                     }
                 }
         );
-        ctx.endApiWithResponse(topicResourceNames);
+        return topicResourceNames;
     }
 
     private String getVaradhiTopicName(RoutingContext ctx) {
@@ -0,0 +1,146 @@
+package com.flipkart.varadhi.web.v1.produce;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.flipkart.varadhi.utils.JsonMapper;
+import io.vertx.core.buffer.Buffer;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes the body of a batch produce request into individual messages. Supported framings:
+ * <ul>
+ *     <li>Length prefixed (application/x-varadhi-batch) -- repeated
+ *     [int32 headers length][headers json][int32 payload length][payload bytes], lengths are big endian.
+ *     Payload is not copied, it refers to the slice of the request body.</li>
+ *     <li>NDJSON (application/x-ndjson) -- one json object per line i.e.
+ *     {"headers": {...}, "payload": "base64 encoded payload"}.</li>
+ * </ul>
+ * Headers of a message is a json object of header name to its value.
+ */
+public class BatchMessageDecoder {
+    public static final String CONTENT_TYPE_LENGTH_PREFIXED = "application/x-varadhi-batch";
+    public static final String CONTENT_TYPE_NDJSON = "application/x-ndjson";
+
+    private static final TypeReference<Map<String, String>> HEADERS_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<NdJsonEntry> NDJSON_ENTRY_TYPE = new TypeReference<>() {
+    };
+    private static final byte NEW_LINE = '\n';
+
+    private final int messagesMax;
+
+    public BatchMessageDecoder(int messagesMax) {
+        this.messagesMax = messagesMax;
+    }
+
+    public List<BatchEntry> decode(String contentType, Buffer body) {
+        String mediaType = null == contentType ? "" : contentType.split(";")[0].trim().toLowerCase();
+        List<BatchEntry> entries = switch (mediaType) {
+            case CONTENT_TYPE_LENGTH_PREFIXED -> decodeLengthPrefixed(body.getByteBuf().nioBuffer());
+            case CONTENT_TYPE_NDJSON -> decodeNdJson(body.getByteBuf().nioBuffer());
+            default -> throw new IllegalArgumentException(
+                    String.format("Unsupported content type(%s) for batch produce.", contentType));
+        };
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("Batch doesn't have any message.");
+        }
+        return entries;
+    }
+
+    private List<BatchEntry> decodeLengthPrefixed(ByteBuffer body) {
+        List<BatchEntry> entries = new ArrayList<>();
+        try {
+            while (body.hasRemaining()) {
+                ensureBatchSize(entries);
+                Map<String, String> headers = readHeaders(nextFrame(body), entries.size());
+                entries.add(new BatchEntry(headers, nextFrame(body)));
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException(
+                    String.format("Malformed batch, message(%d) is truncated.", entries.size()));
+        }
+        return entries;
+    }
+
+    private ByteBuffer nextFrame(ByteBuffer body) {
+        int length = body.getInt();
+        if (length < 0 || length > body.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        ByteBuffer frame = body.slice().limit(length);
+        body.position(body.position() + length);
+        return frame;
+    }
+
+    private List<BatchEntry> decodeNdJson(ByteBuffer body) {
+        List<BatchEntry> entries = new ArrayList<>();
+        int lineStart = body.position();
+        for (int i = body.position(); i <= body.limit(); i++) {
+            if (i == body.limit() || body.get(i) == NEW_LINE) {
+                ByteBuffer line = body.duplicate().position(lineStart).limit(i);
+                lineStart = i + 1;
+                if (isBlank(line)) {
+                    continue;
+                }
+                ensureBatchSize(entries);
+                NdJsonEntry entry = readJson(line, NDJSON_ENTRY_TYPE, entries.size());
+                if (null == entry.payload()) {
+                    throw new IllegalArgumentException(
+                            String.format("Malformed batch, message(%d) doesn't have payload.", entries.size()));
+                }
+                Map<String, String> headers = null == entry.headers() ? Map.of() : entry.headers();
+                entries.add(new BatchEntry(headers, ByteBuffer.wrap(entry.payload())));
+            }
+        }
+        return entries;
+    }
+
+    private void ensureBatchSize(List<BatchEntry> entries) {
+        if (entries.size() >= messagesMax) {
+            throw new IllegalArgumentException(
+                    String.format("More messages in the batch than allowed max(%d).", messagesMax));
+        }
+    }
+
+    private Map<String, String> readHeaders(ByteBuffer frame, int index) {
+        if (!frame.hasRemaining()) {
+            return Map.of();
+        }
+        return readJson(frame, HEADERS_TYPE, index);
+    }
+
+    private <T> T readJson(ByteBuffer source, TypeReference<T> type, int index) {
+        try {
+            if (source.hasArray()) {
+                return JsonMapper.getMapper().readValue(
+                        source.array(), source.arrayOffset() + source.position(), source.remaining(), type);
+            }
+            byte[] bytes = new byte[source.remaining()];
+            source.duplicate().get(bytes);
+            return JsonMapper.getMapper().readValue(bytes, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(
+                    String.format("Malformed batch, failed to parse message(%d). %s", index, e.getMessage()));
+        }
+    }
+
+    private boolean isBlank(ByteBuffer line) {
+        for (int i = line.position(); i < line.limit(); i++) {
+            if (!Character.isWhitespace(line.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public record BatchEntry(Map<String, String> headers, ByteBuffer payload) {
+    }
+
+    record NdJsonEntry(Map<String, String> headers, byte[] payload) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.flipkart.varadhi.web.v1.produce;
+
+import com.flipkart.varadhi.entities.ProduceStatus;
+import com.flipkart.varadhi.produce.ProduceResult;
+
+/**
+ * Outcome of a single message in the batch produce response, failureReason is present only for failed messages.
+ */
+public record BatchProduceResult(String messageId, ProduceStatus status, String failureReason) {
+
+    public static BatchProduceResult of(ProduceResult produceResult) {
+        return new BatchProduceResult(
+                produceResult.getMessageId(),
+                produceResult.getProduceStatus(),
+                produceResult.isSuccess() ? null : produceResult.getFailureReason()
+        );
+    }
+}
@@ -21,8 +21,15 @@ public class HeaderValidationHandler {
     }
 
     public void validate(RoutingContext ctx) {
+        validateHeaders(ctx.request().headers().entries());
+
+        // TODO:: Discuss, shall ctx.next() be delegated at route setup (pre-handler setup)
+        ctx.next();
+    }
+
+    public void validateHeaders(Iterable<Map.Entry<String, String>> entries) {
         Set<String> headers = new HashSet<>();
-        ctx.request().headers().entries().forEach((entry) -> {
+        entries.forEach((entry) -> {
             String key = entry.getKey().toLowerCase();
             if (key.startsWith(VARADHI_HEADER_PREFIX)) {
                 validateEntry(entry);
@@ -36,9 +43,6 @@ public class HeaderValidationHandler {
                 }
             }
         });
-
-        // TODO:: Discuss, shall ctx.next() be delegated at route setup (pre-handler setup)
-        ctx.next();
     }
 
     private void validateEntry(Map.Entry<String, String> entry) {
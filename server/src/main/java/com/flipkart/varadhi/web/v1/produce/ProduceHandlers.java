@@ -13,20 +13,28 @@ import com.flipkart.varadhi.web.Extensions.RoutingContextExtension;
 import com.flipkart.varadhi.web.routes.RouteDefinition;
 import com.flipkart.varadhi.web.routes.RouteProvider;
 import com.flipkart.varadhi.web.routes.SubRoutes;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.web.RoutingContext;
 import lombok.experimental.ExtensionMethod;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 import static com.flipkart.varadhi.Constants.HttpCodes.HTTP_RATE_LIMITED;
 import static com.flipkart.varadhi.Constants.HttpCodes.HTTP_UNPROCESSABLE_ENTITY;
@@ -44,11 +52,17 @@ import static java.net.HttpURLConnection.HTTP_INTERNAL_ERROR;
 @Slf4j
 @ExtensionMethod({RequestBodyExtension.class, RoutingContextExtension.class})
 public class ProduceHandlers implements RouteProvider {
+    // Headers identifying a single message (or stamped per message on produce), these aren't inherited by the
+    // messages of a batch from the request.
+    private static final List<String> PER_MESSAGE_HEADERS =
+            List.of(MESSAGE_ID, RETRY_ATTEMPT, PRODUCE_TIMESTAMP, PRODUCE_IDENTITY, PRODUCE_REGION);
+
     private final String deployedRegion;
     private final ProducerService producerService;
     private final ProjectService projectService;
     private final String serviceHostName;
     private final HeaderValidationHandler headerValidationHandler;
+    private final BatchMessageDecoder batchMessageDecoder;
 
     public ProduceHandlers(
             String serviceHostName, RestOptions restOptions, ProducerService producerService,
@@ -59,6 +73,7 @@ public class ProduceHandlers implements RouteProvider {
         this.projectService = projectService;
         this.serviceHostName = serviceHostName;
         this.headerValidationHandler = new HeaderValidationHandler(restOptions);
+        this.batchMessageDecoder = new BatchMessageDecoder(restOptions.getBatchMessagesMax());
     }
 
     @Override
@@ -78,35 +93,47 @@ public class ProduceHandlers implements RouteProvider {
                                 this::produce,
                                 false,
                                 Optional.of(PermissionAuthorization.of(TOPIC_PRODUCE, "{project}/{topic}"))
+                        ),
+                        new RouteDefinition(
+                                HttpMethod.POST,
+                                "/topics/:topic/produce/batch",
+                                Set.of(authenticated, hasBody),
+                                producePreHandlers,
+                                this::produceBatch,
+                                false,
+                                Optional.of(PermissionAuthorization.of(TOPIC_PRODUCE, "{project}/{topic}"))
                         )
                 )
         ).get();
     }
 
     public void produce(RoutingContext ctx) {
+        withProject(ctx, project -> produce(ctx, project));
+    }
 
-        String projectName = ctx.pathParam(REQUEST_PATH_PARAM_PROJECT);
-        String topicName = ctx.pathParam(REQUEST_PATH_PARAM_TOPIC);
+    private void produce(RoutingContext ctx, Project project) {
 
-        Project project = projectService.getCachedProject(projectName);
+        String projectName = project.getName();
+        String topicName = ctx.pathParam(REQUEST_PATH_PARAM_TOPIC);
 
         String varadhiTopicName = VaradhiTopic.buildTopicName(projectName, topicName);
 
-        // TODO:: Below is making extra copy, this needs to be avoided.
-        // ctx.body().buffer().getByteBuf().array() -- method gives complete backing array w/o copy,
-        // however only required bytes are needed. Need to figure out the correct mechanism here.
-        byte[] payload = ctx.body().buffer().getBytes();
+        // Body is referred as nio view of the request buffer, w/o copying it to a new byte array. Request buffer
+        // is heap backed and is held (by the message) till produce completes. It is preallocated as per
+        // content-length (up to 64KB), and is then sent w/o any copy.
+        ByteBuffer payload = ctx.body().buffer().getByteBuf().nioBuffer();
 
-        ProduceContext produceContext = buildProduceContext(ctx, project, topicName, payload.length);
+        ProduceContext produceContext = buildProduceContext(ctx, project, topicName, payload.remaining());
         Message messageToProduce = buildMessageToProduce(payload, ctx.request().headers(), produceContext);
         CompletableFuture<ProduceResult> produceFuture =
                 producerService.produceToTopic(messageToProduce, varadhiTopicName, produceContext);
         produceFuture.whenComplete((produceResult, failure) ->
-                ctx.vertx().runOnContext((Void) -> {
+                ctx.vertx().runOnContext(v -> {
                             if (null != produceResult) {
                                 if (produceResult.isSuccess()) {
                                     ctx.endRequestWithResponse(produceResult.getMessageId());
                                 } else {
+                                    addRetryAfterHeader(ctx, produceResult);
                                     ctx.endRequestWithStatusAndErrorMsg(
                                             getHttpStatusForProduceStatus(produceResult.getProduceStatus()),
                                             produceResult.getFailureReason()
@@ -121,13 +148,122 @@ public class ProduceHandlers implements RouteProvider {
                                         ),
                                         failure
                                 );
-                                ctx.endRequestWithException(failure);
+                                ctx.endRequestWithException(unwrapFailure(failure));
+                            }
+                        }
+                )
+        );
+    }
+
+    /**
+     * Produces all messages of the request body to the topic. Request is authorized, validated and resolved
+     * (project, topic, producer) once for the whole batch. Request level Varadhi headers apply to all the messages,
+     * except the per message ones like message id, and message level headers take precedence over them. Response has
+     * the outcome of each message, in the same order.
+     */
+    public void produceBatch(RoutingContext ctx) {
+        withProject(ctx, project -> produceBatch(ctx, project));
+    }
+
+    private void produceBatch(RoutingContext ctx, Project project) {
+
+        String projectName = project.getName();
+        String topicName = ctx.pathParam(REQUEST_PATH_PARAM_TOPIC);
+
+        String varadhiTopicName = VaradhiTopic.buildTopicName(projectName, topicName);
+
+        Buffer body = ctx.body().buffer();
+        List<BatchMessageDecoder.BatchEntry> entries =
+                batchMessageDecoder.decode(ctx.request().getHeader(HttpHeaders.CONTENT_TYPE), body);
+
+        ProduceContext produceContext = buildProduceContext(ctx, project, topicName, body.length());
+        Multimap<String, String> requestHeaders = HeaderUtils.copyVaradhiHeaders(ctx.request().headers());
+        PER_MESSAGE_HEADERS.forEach(requestHeaders::removeAll);
+        List<Message> messagesToProduce = new ArrayList<>(entries.size());
+        for (BatchMessageDecoder.BatchEntry entry : entries) {
+            messagesToProduce.add(buildBatchMessageToProduce(entry, requestHeaders, produceContext));
+        }
+
+        CompletableFuture<List<ProduceResult>> produceFuture =
+                producerService.produceBatchToTopic(messagesToProduce, varadhiTopicName, produceContext);
+        produceFuture.whenComplete((produceResults, failure) ->
+                ctx.vertx().runOnContext(v -> {
+                            if (null != produceResults && isThrottled(produceResults)) {
+                                // batch is throttled as a whole, so it is rejected as is for the request.
+                                ProduceResult throttled = produceResults.get(0);
+                                addRetryAfterHeader(ctx, throttled);
+                                ctx.endRequestWithStatusAndErrorMsg(HTTP_RATE_LIMITED, throttled.getFailureReason());
+                            } else if (null != produceResults) {
+                                ctx.endRequestWithResponse(
+                                        produceResults.stream().map(BatchProduceResult::of).toList());
+                            } else {
+                                log.error(
+                                        String.format(
+                                                "produceBatchToTopic(%d messages, %s) failed unexpectedly.",
+                                                messagesToProduce.size(),
+                                                varadhiTopicName
+                                        ),
+                                        failure
+                                );
+                                ctx.endRequestWithException(unwrapFailure(failure));
                             }
                         }
                 )
         );
     }
 
+    /**
+     * Runs projectHandler with the project of the request. When project is cached, it runs right away, otherwise
+     * once project is loaded, back on the request context. Event loop is not blocked for the project load.
+     */
+    private void withProject(RoutingContext ctx, Consumer<Project> projectHandler) {
+        String projectName = ctx.pathParam(REQUEST_PATH_PARAM_PROJECT);
+        CompletableFuture<Project> projectFuture = projectService.getCachedProjectAsync(projectName);
+        if (projectFuture.isDone()) {
+            // failures are thrown to be handled by the route failure handler.
+            projectHandler.accept(getLoadedProject(projectFuture));
+            return;
+        }
+        projectFuture.whenComplete((project, failure) -> ctx.vertx().runOnContext(v -> {
+            try {
+                if (null != failure) {
+                    throw unwrapFailure(failure);
+                }
+                projectHandler.accept(project);
+            } catch (Throwable t) {
+                ctx.endRequestWithException(t);
+            }
+        }));
+    }
+
+    private Project getLoadedProject(CompletableFuture<Project> projectFuture) {
+        try {
+            return projectFuture.join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) unwrapFailure(e);
+        }
+    }
+
+    private Throwable unwrapFailure(Throwable failure) {
+        if (failure instanceof CompletionException && null != failure.getCause()) {
+            return failure.getCause();
+        }
+        return failure;
+    }
+
+    private boolean isThrottled(List<ProduceResult> produceResults) {
+        return !produceResults.isEmpty() && produceResults.stream()
+                .allMatch(result -> result.getProduceStatus() == ProduceStatus.Throttled);
+    }
+
+    private void addRetryAfterHeader(RoutingContext ctx, ProduceResult produceResult) {
+        if (produceResult.getRetryAfterMillis() > 0) {
+            // Retry-After is in whole seconds, rounded up so that retry doesn't come in too early.
+            long retryAfterSeconds = (produceResult.getRetryAfterMillis() + 999) / 1000;
+            ctx.response().putHeader(HttpHeaderNames.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        }
+    }
+
     private int getHttpStatusForProduceStatus(ProduceStatus produceStatus) {
         return switch (produceStatus) {
             case Blocked, NotAllowed -> HTTP_UNPROCESSABLE_ENTITY;
@@ -142,11 +278,18 @@ public class ProduceHandlers implements RouteProvider {
 
 
     private Message buildMessageToProduce(
-            byte[] payload,
+            ByteBuffer payload,
             MultiMap headers,
             ProduceContext produceContext
     ) {
-        Multimap<String, String> requestHeaders = HeaderUtils.copyVaradhiHeaders(headers);
+        return buildMessageToProduce(payload, HeaderUtils.copyVaradhiHeaders(headers), produceContext);
+    }
+
+    private Message buildMessageToProduce(
+            ByteBuffer payload,
+            Multimap<String, String> requestHeaders,
+            ProduceContext produceContext
+    ) {
         requestHeaders.put(PRODUCE_TIMESTAMP, Long.toString(produceContext.getRequestContext().getRequestTimestamp()));
         requestHeaders.put(PRODUCE_IDENTITY, produceContext.getRequestContext().getProduceIdentity());
         requestHeaders.put(PRODUCE_REGION, produceContext.getTopicContext().getRegion());
@@ -154,6 +297,22 @@ public class ProduceHandlers implements RouteProvider {
         return new Message(payload, requestHeaders);
     }
 
+    private Message buildBatchMessageToProduce(
+            BatchMessageDecoder.BatchEntry entry,
+            Multimap<String, String> requestHeaders,
+            ProduceContext produceContext
+    ) {
+        Multimap<String, String> messageHeaders = ArrayListMultimap.create(requestHeaders);
+        entry.headers().forEach((key, value) -> {
+            String lowerCaseKey = key.toLowerCase();
+            if (lowerCaseKey.startsWith(VARADHI_HEADER_PREFIX)) {
+                messageHeaders.replaceValues(lowerCaseKey, List.of(value));
+            }
+        });
+        headerValidationHandler.validateHeaders(messageHeaders.entries());
+        return buildMessageToProduce(entry.payload(), messageHeaders, produceContext);
+    }
+
     private ProduceContext buildProduceContext(RoutingContext ctx, Project project, String topic, int payloadSize) {
         ProduceContext.RequestContext requestContext = buildRequestContext(ctx, payloadSize);
         ProduceContext.TopicContext topicContext = buildTopicContext(topic, project);
@@ -0,0 +1,81 @@
+package com.flipkart.varadhi.auth;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.auth.JWTOptions;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.auth.authentication.TokenCredentials;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+public class CachingJWTAuthTest {
+    private static final JWTOptions HS256 = new JWTOptions().setAlgorithm("HS256");
+
+    Vertx vertx;
+    CachingJWTAuth jwtAuth;
+
+    @BeforeEach
+    public void preTest() {
+        vertx = Vertx.vertx();
+        AuthenticationOptions.JWTConfig config = new AuthenticationOptions.JWTConfig();
+        config.setJwksUrl("http://localhost/jwks");
+        config.setOptions(new JWTOptions());
+        jwtAuth = new CachingJWTAuth(vertx, config);
+        jwtAuth.setKeys(keys("secret-1"));
+    }
+
+    @AfterEach
+    public void postTest() {
+        vertx.close();
+    }
+
+    @Test
+    public void testVerifiedTokenIsCached() {
+        String token = jwtAuth.generateToken(new JsonObject().put("sub", "user1"), HS256);
+        User user = authenticate(token);
+        Assertions.assertEquals("user1", user.subject());
+        Assertions.assertSame(user, authenticate(token));
+
+        String otherToken = jwtAuth.generateToken(new JsonObject().put("sub", "user2"), HS256);
+        Assertions.assertEquals("user2", authenticate(otherToken).subject());
+
+        Assertions.assertTrue(jwtAuth.authenticate(new TokenCredentials(token + "tampered")).failed());
+    }
+
+    @Test
+    public void testCacheIsClearedOnKeyChange() {
+        String token = jwtAuth.generateToken(new JsonObject().put("sub", "user1"), HS256);
+        User user = authenticate(token);
+
+        // same keys are ignored.
+        jwtAuth.setKeys(keys("secret-1"));
+        Assertions.assertSame(user, authenticate(token));
+
+        // token signed by the removed key isn't served from the cache.
+        jwtAuth.setKeys(keys("secret-2"));
+        Assertions.assertTrue(jwtAuth.authenticate(new TokenCredentials(token)).failed());
+    }
+
+    @Test
+    public void testExpiredTokenIsNotServedFromCache() throws InterruptedException {
+        JWTOptions expiring = new JWTOptions().setAlgorithm("HS256").setExpiresInSeconds(1);
+        String token = jwtAuth.generateToken(new JsonObject().put("sub", "user1"), expiring);
+        Assertions.assertEquals("user1", authenticate(token).subject());
+        Thread.sleep(2100);
+        Assertions.assertTrue(jwtAuth.authenticate(new TokenCredentials(token)).failed());
+    }
+
+    private User authenticate(String token) {
+        return jwtAuth.authenticate(new TokenCredentials(token)).result();
+    }
+
+    private static JsonArray keys(String secret) {
+        String key = Base64.getUrlEncoder().withoutPadding().encodeToString(secret.getBytes());
+        return new JsonArray().add(new JsonObject().put("kty", "oct").put("alg", "HS256").put("k", key));
+    }
+}
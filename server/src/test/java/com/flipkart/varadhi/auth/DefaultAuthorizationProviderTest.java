@@ -5,6 +5,7 @@ import com.flipkart.varadhi.entities.auth.ResourceAction;
 import com.flipkart.varadhi.entities.auth.ResourceType;
 import com.flipkart.varadhi.entities.auth.RoleBindingNode;
 import com.flipkart.varadhi.services.AuthZService;
+import io.vertx.core.Future;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -176,9 +177,9 @@ public class DefaultAuthorizationProviderTest {
                 .onComplete(testContext.succeeding(t -> {
                     Assertions.assertTrue(t);
                     assertEquals(resourceId, resourceIdCaptor.getValue());
-                    // since is auth was true on team, we should not check for org
+                    // permissions are merged over the hierarchy, so org is checked as well
                     verify(authZService, times(1)).getIAMPolicy(eq(ResourceType.TEAM), eq(resourceId));
-                    verify(authZService, times(0)).getIAMPolicy(eq(ResourceType.ORG), eq("flipkart"));
+                    verify(authZService, times(1)).getIAMPolicy(eq(ResourceType.ORG), eq("flipkart"));
                     checkpoint.flag();
                 }));
     }
@@ -435,4 +436,43 @@ public class DefaultAuthorizationProviderTest {
                     checkpoint.flag();
                 }));
     }
+
+    @Test
+    void testIsAuthorizedPermissionsAreCached(VertxTestContext testContext) {
+        Checkpoint checkpoint = testContext.checkpoint(2);
+        String userName = "abc";
+        String resourcePath = "flipkart/team_a";
+        when(authZService.getIAMPolicy(eq(ResourceType.TEAM), anyString()))
+                .thenReturn(new RoleBindingNode("flipkart:team_a", ResourceType.TEAM,
+                        Map.of(userName, Set.of("team.reader")), 1
+                ));
+        when(authZService.getIAMPolicy(eq(ResourceType.ORG), anyString()))
+                .thenReturn(new RoleBindingNode("flipkart", ResourceType.ORG, Map.of(), 1));
+
+        doReturn(authZService).when(provider).getAuthZService();
+
+        provider.init(authorizationOptions)
+                .compose(t -> provider.isAuthorized(testUser(userName, false), ResourceAction.TEAM_GET, resourcePath))
+                .compose(t -> provider.isAuthorized(testUser(userName, false), ResourceAction.TEAM_GET, resourcePath))
+                .onComplete(testContext.succeeding(t -> {
+                    Assertions.assertTrue(t);
+                    verify(authZService, times(1)).getIAMPolicy(eq(ResourceType.TEAM), eq("flipkart:team_a"));
+                    verify(authZService, times(1)).getIAMPolicy(eq(ResourceType.ORG), eq("flipkart"));
+                    checkpoint.flag();
+                }))
+                // any other action on the resource is decided from the same permissions, without a hop to the
+                // evaluator.
+                .compose(t -> {
+                    Future<Boolean> decision =
+                            provider.isAuthorized(testUser(userName, false), ResourceAction.TEAM_UPDATE, resourcePath);
+                    Assertions.assertTrue(decision.isComplete());
+                    return decision;
+                })
+                .onComplete(testContext.succeeding(t -> {
+                    Assertions.assertFalse(t);
+                    verify(authZService, times(1)).getIAMPolicy(eq(ResourceType.TEAM), eq("flipkart:team_a"));
+                    verify(authZService, times(1)).getIAMPolicy(eq(ResourceType.ORG), eq("flipkart"));
+                    checkpoint.flag();
+                }));
+    }
 }
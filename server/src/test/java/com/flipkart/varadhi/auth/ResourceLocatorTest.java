@@ -0,0 +1,56 @@
+package com.flipkart.varadhi.auth;
+
+import com.flipkart.varadhi.entities.auth.ResourceHierarchy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class ResourceLocatorTest {
+
+    @Test
+    public void testLocateResourceHierarchy() {
+        Map<String, String> env = new HashMap<>();
+        env.put("org", "org1");
+        env.put("team", "team1");
+        env.put("project", "proj1");
+        env.put("topic", "topic1");
+
+        ResourceLocator topic = new ResourceLocator("{org}/{team}/{project}/{topic}");
+        ResourceHierarchy expected = new ResourceHierarchy("org1", "team1", "proj1", "topic1");
+        Assertions.assertEquals(expected, topic.locate(env::get));
+        Assertions.assertEquals("org1/team1/proj1/topic1", topic.locate(env::get).toPath());
+
+        ResourceLocator team = new ResourceLocator("{org}/{team}");
+        Assertions.assertEquals(new ResourceHierarchy("org1", "team1", null, null), team.locate(env::get));
+        Assertions.assertEquals("org1/team1", team.locate(env::get).toPath());
+
+        // literals and levels beyond the leaf.
+        ResourceLocator mixed = new ResourceLocator("{org}/default/{project}-v1/{topic}/extra");
+        Assertions.assertEquals(
+                new ResourceHierarchy("org1", "default", "proj1-v1", "topic1"), mixed.locate(env::get));
+
+        ResourceLocator empty = new ResourceLocator("");
+        Assertions.assertTrue(empty.locate(env::get).isEmpty());
+        Assertions.assertEquals("", empty.locate(env::get).toPath());
+    }
+
+    @Test
+    public void testResourceHierarchyFromPath() {
+        Assertions.assertEquals(
+                new ResourceHierarchy("org1", "team1", "proj1", "topic1"),
+                ResourceHierarchy.fromPath("org1/team1/proj1/topic1/extra")
+        );
+        Assertions.assertEquals(new ResourceHierarchy("org1", null, null, null), ResourceHierarchy.fromPath("org1"));
+        Assertions.assertTrue(ResourceHierarchy.fromPath(null).isEmpty());
+        Assertions.assertTrue(ResourceHierarchy.fromPath(" ").isEmpty());
+    }
+
+    @Test
+    public void testLocateVariableNotDefined() {
+        ResourceLocator locator = new ResourceLocator("{org}/{team}");
+        Map<String, String> env = Map.of("org", "org1");
+        Assertions.assertThrows(IllegalStateException.class, () -> locator.locate(env::get));
+    }
+}
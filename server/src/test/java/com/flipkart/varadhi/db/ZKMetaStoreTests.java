@@ -11,6 +11,7 @@ import lombok.Setter;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.framework.api.*;
+import org.apache.curator.framework.recipes.cache.CuratorCache;
 import org.apache.curator.retry.ExponentialBackoffRetry;
 import org.apache.curator.test.TestingServer;
 import org.apache.zookeeper.KeeperException;
@@ -21,6 +22,9 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -76,6 +80,60 @@ public class ZKMetaStoreTests {
         Assertions.assertEquals(String.format("test(%s) not found.", data1.getName()), e.getMessage());
     }
 
+    @Test
+    public void testTransactionalCreateAndDelete() {
+        TestData parent = new TestData("test-parent", 0, "sample-testing-parent");
+        ZNode parentZn = getZnode(parent.getName());
+        ZNode indexZn = ZNode.OfTeamIndexEntry(parent.getName(), data1.getName());
+
+        validateException(
+                ResourceNotFoundException.class, String.format("test(%s) not found.", parent.getName()),
+                () -> zkMetaStore.createZNodeWithData(zn, data1, List.of(parentZn), List.of(indexZn))
+        );
+        Assertions.assertFalse(zkMetaStore.zkPathExist(zn));
+        Assertions.assertFalse(zkMetaStore.zkPathExist(indexZn));
+
+        zkMetaStore.createZNodeWithData(parentZn, parent);
+        zkMetaStore.createZNodeWithData(zn, data1, List.of(parentZn), List.of(indexZn));
+        Assertions.assertTrue(zkMetaStore.zkPathExist(zn));
+        Assertions.assertEquals(List.of(data1.getName()), zkMetaStore.listChildrenIfExists(ZNode.OfTeamIndex(
+                parent.getName())));
+        validateException(
+                DuplicateResourceException.class, String.format("test(%s) already exists.", data1.getName()),
+                () -> zkMetaStore.createZNodeWithData(zn, data1, List.of(parentZn), List.of(indexZn))
+        );
+
+        validateException(
+                InvalidOperationForResourceException.class,
+                String.format("Conflicting delete, test(%s) has been modified. Fetch latest and try again.",
+                        data1.getName()
+                ), () -> zkMetaStore.deleteZNode(zn, 5, List.of(indexZn))
+        );
+        Assertions.assertTrue(zkMetaStore.zkPathExist(indexZn));
+
+        zkMetaStore.deleteZNode(zn, 0, List.of(indexZn));
+        Assertions.assertFalse(zkMetaStore.zkPathExist(zn));
+        Assertions.assertFalse(zkMetaStore.zkPathExist(indexZn));
+        zkMetaStore.deleteZNode(parentZn);
+    }
+
+    @Test
+    public void testDeleteWithMissingIndexEntry() {
+        TestData data2 = new TestData("test-node2", 0, "sample-testing-node2");
+        ZNode zn2 = getZnode(data2.getName());
+        ZNode indexZn = ZNode.OfTeamIndexEntry("test-parent", data1.getName());
+        ZNode otherIndexZn = ZNode.OfTeamIndexEntry("test-parent", data2.getName());
+        zkMetaStore.createZNodeWithData(zn, data1);
+        zkMetaStore.createZNodeWithData(zn2, data2, List.of(), List.of(otherIndexZn));
+
+        zkMetaStore.deleteZNode(zn, 0, List.of(indexZn));
+        Assertions.assertFalse(zkMetaStore.zkPathExist(zn));
+
+        zkMetaStore.deleteZNodeAsync(zn2, 0, List.of(indexZn, otherIndexZn)).join();
+        Assertions.assertFalse(zkMetaStore.zkPathExist(zn2));
+        Assertions.assertFalse(zkMetaStore.zkPathExist(otherIndexZn));
+    }
+
     private ZNode getZnode(String name) {
         return ZNode.OfKind(testKind, name);
     }
@@ -209,6 +267,62 @@ public class ZKMetaStoreTests {
                 String.format("Path(%s) not found for entity %s.", zn2.getPath(), zn2.getName()), e.getMessage());
     }
 
+    @Test
+    public void testWatchChildren() throws Exception {
+        zkMetaStore.createZNodeWithData(zn, data1);
+        BlockingQueue<EntityChange> changes = new LinkedBlockingQueue<>();
+        CuratorCache cache = zkMetaStore.watchChildren(
+                ZNode.OfEntityType(testKind), TestData.class,
+                (name, entity) -> changes.add(new EntityChange(name, entity))
+        );
+        try {
+            Assertions.assertEquals(new EntityChange(data1.getName(), data1), changes.poll(5, TimeUnit.SECONDS));
+
+            data1.setData("sample-testing-node1-updated");
+            data1.setVersion(zkMetaStore.updateZNodeWithData(zn, data1));
+            Assertions.assertEquals(new EntityChange(data1.getName(), data1), changes.poll(5, TimeUnit.SECONDS));
+
+            TestData data2 = new TestData("test-node2", 0, "sample-testing-node2");
+            zkMetaStore.createZNodeWithData(getZnode(data2.getName()), data2);
+            Assertions.assertEquals(new EntityChange(data2.getName(), data2), changes.poll(5, TimeUnit.SECONDS));
+
+            zkMetaStore.deleteZNode(zn);
+            Assertions.assertEquals(new EntityChange(data1.getName(), null), changes.poll(5, TimeUnit.SECONDS));
+            zkMetaStore.deleteZNode(getZnode(data2.getName()));
+            Assertions.assertEquals(new EntityChange(data2.getName(), null), changes.poll(5, TimeUnit.SECONDS));
+        } finally {
+            cache.close();
+        }
+    }
+
+    @Test
+    public void testEphemeralZNodeIsGoneWithSession() throws Exception {
+        ZNode lease = ZNode.OfQuotaLease("project1.topic1", "member1");
+        zkMetaStore.putEphemeralZNodeAsync(lease, "0.5".getBytes()).join();
+        zkMetaStore.putEphemeralZNodeAsync(lease, "0.7".getBytes()).join();
+        Assertions.assertEquals("0.7", new String(zkMetaStore.getZNodeDataIfExistsAsync(lease).join()));
+        Assertions.assertEquals(
+                List.of("member1"), zkMetaStore.listChildrenIfExists(ZNode.OfQuotaLeases("project1.topic1")));
+
+        try (CuratorFramework otherClient = CuratorFrameworkFactory.newClient(
+                zkCuratorTestingServer.getConnectString(), new ExponentialBackoffRetry(1000, 1))) {
+            otherClient.start();
+            ZKMetaStore otherMetaStore = new ZKMetaStore(otherClient);
+            ZNode otherLease = ZNode.OfQuotaLease("project1.topic1", "member2");
+            otherMetaStore.putEphemeralZNodeAsync(otherLease, "0.1".getBytes()).join();
+            Assertions.assertEquals("0.1", new String(zkMetaStore.getZNodeDataIfExistsAsync(otherLease).join()));
+        }
+        Assertions.assertNull(
+                zkMetaStore.getZNodeDataIfExistsAsync(ZNode.OfQuotaLease("project1.topic1", "member2")).join());
+
+        zkMetaStore.deleteZNodeIfExistsAsync(lease).join();
+        zkMetaStore.deleteZNodeIfExistsAsync(lease).join();
+        Assertions.assertNull(zkMetaStore.getZNodeDataIfExistsAsync(lease).join());
+    }
+
+    record EntityChange(String name, TestData entity) {
+    }
+
     private <T extends Exception> void validateException(Class<T> clazz, String errorMsg, MethodCaller caller) {
         T e = Assertions.assertThrows(clazz, caller::call);
         Assertions.assertEquals(errorMsg, e.getMessage());
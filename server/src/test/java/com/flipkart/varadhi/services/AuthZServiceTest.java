@@ -22,7 +22,10 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.spy;
@@ -36,6 +39,7 @@ public class AuthZServiceTest {
     TeamService teamService;
     ProjectService projectService;
     CuratorFramework zkCurator;
+    VaradhiMetaStore varadhiMetaStore;
 
     Org org1;
     Org org2;
@@ -51,7 +55,7 @@ public class AuthZServiceTest {
         zkCurator = spy(CuratorFrameworkFactory.newClient(
                 zkCuratorTestingServer.getConnectString(), new ExponentialBackoffRetry(1000, 1)));
         zkCurator.start();
-        VaradhiMetaStore varadhiMetaStore = new VaradhiMetaStore(zkCurator);
+        varadhiMetaStore = new VaradhiMetaStore(zkCurator);
         orgService = new OrgService(varadhiMetaStore);
         teamService = new TeamService(varadhiMetaStore);
         projectService =
@@ -323,4 +327,43 @@ public class AuthZServiceTest {
                 ior.getMessage()
         );
     }
+
+    @Test
+    public void testIndexRoleBindings() throws Exception {
+        orgService.createOrg(org1);
+        IAMPolicyRequest user1Policy = new IAMPolicyRequest("user1", Set.of("role1"));
+        RoleBindingNode org1Node = authZService.setIAMPolicy(ResourceType.ORG, org1.getName(), user1Policy);
+
+        Semaphore changes = new Semaphore(0);
+        authZService.indexRoleBindings(varadhiMetaStore, changes::release);
+        // existing binding and the completion of the load.
+        assertTrue(changes.tryAcquire(2, 5, TimeUnit.SECONDS));
+        assertEquals(org1Node, authZService.getIAMPolicy(ResourceType.ORG, org1.getName()));
+        // missing binding is served from the index as well, instead of failing.
+        assertNull(authZService.getIAMPolicy(ResourceType.ORG, org2.getName()));
+
+        IAMPolicyRequest user2Policy = new IAMPolicyRequest("user2", Set.of("role2"));
+        org1Node = authZService.setIAMPolicy(ResourceType.ORG, org1.getName(), user2Policy);
+        awaitIAMPolicy(changes, ResourceType.ORG, org1.getName(), org1Node);
+
+        teamService.createTeam(org1team1);
+        String teamResourceId = org1.getName() + ":" + org1team1.getName();
+        RoleBindingNode teamNode = authZService.setIAMPolicy(ResourceType.TEAM, teamResourceId, user1Policy);
+        awaitIAMPolicy(changes, ResourceType.TEAM, teamResourceId, teamNode);
+
+        authZService.deleteRoleBindingNode(ResourceType.ORG, org1.getName());
+        awaitIAMPolicy(changes, ResourceType.ORG, org1.getName(), null);
+        assertEquals(teamNode, authZService.getIAMPolicy(ResourceType.TEAM, teamResourceId));
+    }
+
+    private void awaitIAMPolicy(
+            Semaphore changes, ResourceType resourceType, String resourceId, RoleBindingNode expected
+    ) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Objects.equals(expected, authZService.getIAMPolicy(resourceType, resourceId))
+                && System.nanoTime() < deadline) {
+            changes.tryAcquire(100, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(expected, authZService.getIAMPolicy(resourceType, resourceId));
+    }
 }
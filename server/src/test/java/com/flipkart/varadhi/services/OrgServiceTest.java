@@ -7,6 +7,7 @@ import com.flipkart.varadhi.entities.Team;
 import com.flipkart.varadhi.exceptions.DuplicateResourceException;
 import com.flipkart.varadhi.exceptions.InvalidOperationForResourceException;
 import com.flipkart.varadhi.exceptions.ResourceNotFoundException;
+import com.flipkart.varadhi.spi.db.MetaStore;
 import com.flipkart.varadhi.spi.db.MetaStoreException;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
@@ -18,7 +19,10 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -117,5 +121,51 @@ public class OrgServiceTest {
         Assertions.assertTrue(orgListNew.contains(org));
     }
 
+    @Test
+    public void testAsyncReads() {
+        Org org = new Org("name1", 0);
+        orgService.createOrg(org);
+        Assertions.assertEquals(org, orgService.getOrgAsync(org.getName()).join());
+        Assertions.assertTrue(orgService.getOrgsAsync().join().contains(org));
+
+        CompletionException e = Assertions.assertThrows(
+                CompletionException.class, () -> orgService.getOrgAsync("name2").join());
+        Assertions.assertInstanceOf(ResourceNotFoundException.class, e.getCause());
+        Assertions.assertEquals("Org(name2) not found.", e.getCause().getMessage());
+    }
+
+    @Test
+    public void testAsyncWrites() {
+        Org org = new Org("name1", 0);
+        Assertions.assertEquals(org, orgService.createOrgAsync(org).join());
+        CompletionException e = Assertions.assertThrows(
+                CompletionException.class, () -> orgService.createOrgAsync(org).join());
+        Assertions.assertInstanceOf(DuplicateResourceException.class, e.getCause());
+
+        Team team = new Team("team1", 0, org.getName());
+        Assertions.assertEquals(team, teamService.createTeamAsync(team).join());
+        e = Assertions.assertThrows(CompletionException.class, () -> orgService.deleteOrgAsync(org.getName()).join());
+        Assertions.assertInstanceOf(InvalidOperationForResourceException.class, e.getCause());
+
+        teamService.deleteTeamAsync(team.getName(), team.getOrg()).join();
+        orgService.deleteOrgAsync(org.getName()).join();
+        Assertions.assertFalse(orgService.getOrgsAsync().join().contains(org));
+    }
+
+    @Test
+    public void testAsyncOperationsOfBlockingMetaStore() {
+        MetaStore blockingMetaStore = mock(MetaStore.class);
+        List<Runnable> blockingOperations = new ArrayList<>();
+        OrgService service = new OrgService(blockingMetaStore, blockingOperations::add);
+        Org org = new Org("name1", 0);
+        doReturn(org).when(blockingMetaStore).getOrg(org.getName());
+
+        CompletableFuture<Org> orgFuture = service.getOrgAsync(org.getName());
+        verify(blockingMetaStore, never()).getOrg(any());
+        Assertions.assertEquals(1, blockingOperations.size());
+        blockingOperations.get(0).run();
+        Assertions.assertEquals(org, orgFuture.join());
+    }
+
 
 }
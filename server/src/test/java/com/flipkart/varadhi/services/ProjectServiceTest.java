@@ -21,6 +21,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.concurrent.CompletionException;
 
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.spy;
@@ -184,7 +185,7 @@ public class ProjectServiceTest {
         projectService.createProject(o1t1p2);
         projectService.deleteProject(o1t1p2.getName());
 
-        doReturn(List.of("Dummy1")).when(varadhiMetaStore).getVaradhiTopicNames(o1t1p2.getName());
+        doReturn(true).when(varadhiMetaStore).hasVaradhiTopics(o1t1p2.getName());
         InvalidOperationForResourceException e = Assertions.assertThrows(
                 InvalidOperationForResourceException.class,
                 () -> projectService.deleteProject(o1t1p2.getName())
@@ -196,6 +197,92 @@ public class ProjectServiceTest {
         );
     }
 
+    @Test
+    public void testProjectsOfTeamFollowProjectMoves() {
+        teamService.createTeam(o1t2);
+        projectService.createProject(o1t1p1);
+        projectService.createProject(o1t1p2);
+        Assertions.assertEquals(2, teamService.getProjects(o1t1.getName(), o1t1.getOrg()).size());
+        Assertions.assertTrue(teamService.getProjects(o1t2.getName(), o1t2.getOrg()).isEmpty());
+
+        o1t1p1.setTeam(o1t2.getName());
+        projectService.updateProject(o1t1p1);
+        Assertions.assertEquals(List.of(o1t1p2), teamService.getProjects(o1t1.getName(), o1t1.getOrg()));
+        Assertions.assertEquals(List.of(o1t1p1), teamService.getProjects(o1t2.getName(), o1t2.getOrg()));
+
+        projectService.deleteProject(o1t1p1.getName());
+        Assertions.assertTrue(teamService.getProjects(o1t2.getName(), o1t2.getOrg()).isEmpty());
+        teamService.deleteTeam(o1t2.getName(), o1t2.getOrg());
+        Assertions.assertEquals(List.of(o1t1.getName()), varadhiMetaStore.getTeamNames(org1.getName()));
+    }
+
+    @Test
+    public void testAsyncWritesFollowProjectMoves() {
+        teamService.createTeam(o1t2);
+        Assertions.assertEquals(o1t1p1, projectService.createProjectAsync(o1t1p1).join());
+        CompletionException e = Assertions.assertThrows(
+                CompletionException.class, () -> projectService.createProjectAsync(o1t1p1).join());
+        Assertions.assertInstanceOf(DuplicateResourceException.class, e.getCause());
+
+        o1t1p1.setTeam(o1t2.getName());
+        Project updated = projectService.updateProjectAsync(o1t1p1).join();
+        Assertions.assertEquals(1, updated.getVersion());
+        Assertions.assertTrue(teamService.getProjects(o1t1.getName(), o1t1.getOrg()).isEmpty());
+        Assertions.assertEquals(List.of(o1t1p1), teamService.getProjects(o1t2.getName(), o1t2.getOrg()));
+
+        projectService.deleteProjectAsync(o1t1p1.getName()).join();
+        Assertions.assertTrue(teamService.getProjects(o1t2.getName(), o1t2.getOrg()).isEmpty());
+        e = Assertions.assertThrows(
+                CompletionException.class, () -> projectService.deleteProjectAsync(o1t1p1.getName()).join());
+        Assertions.assertInstanceOf(ResourceNotFoundException.class, e.getCause());
+    }
+
+    @Test
+    public void testIndexIsBuiltForExistingEntities() throws Exception {
+        projectService.createProject(o1t1p1);
+        // as if entities were created before the indexes.
+        zkCurator.delete().deletingChildrenIfNeeded().forPath("/varadhi/entities/TeamIndex");
+        zkCurator.delete().deletingChildrenIfNeeded().forPath("/varadhi/entities/ProjectIndex");
+        Assertions.assertTrue(varadhiMetaStore.getTeamNames(org1.getName()).isEmpty());
+
+        VaradhiMetaStore metaStore = new VaradhiMetaStore(zkCurator);
+        Assertions.assertEquals(List.of(o1t1.getName()), metaStore.getTeamNames(org1.getName()));
+        Assertions.assertEquals(List.of(o1t1p1), metaStore.getProjects(o1t1.getName(), o1t1.getOrg()));
+    }
+
+    @Test
+    public void testIndexIsReconciledWithEntities() throws Exception {
+        projectService.createProject(o1t1p1);
+        // as if created and deleted by a server of an older version, w/o updating the index.
+        zkCurator.delete().forPath("/varadhi/entities/ProjectIndex/" + org1.getName() + ":" + o1t1.getName() + "/"
+                + o1t1p1.getName());
+        zkCurator.create().creatingParentContainersIfNeeded().forPath(
+                "/varadhi/entities/TeamIndex/" + org1.getName() + "/deletedTeam");
+        Assertions.assertTrue(varadhiMetaStore.getProjects(o1t1.getName(), o1t1.getOrg()).isEmpty());
+
+        varadhiMetaStore.reconcileEntityIndex();
+        Assertions.assertEquals(List.of(o1t1p1), varadhiMetaStore.getProjects(o1t1.getName(), o1t1.getOrg()));
+        Assertions.assertEquals(List.of(o1t1.getName()), varadhiMetaStore.getTeamNames(org1.getName()));
+    }
+
+    @Test
+    public void testStaleIndexEntries() throws Exception {
+        projectService.createProject(o1t1p1);
+        // as if created by a server of an older version, w/o an index entry.
+        zkCurator.delete().forPath("/varadhi/entities/ProjectIndex/" + org1.getName() + ":" + o1t1.getName() + "/"
+                + o1t1p1.getName());
+        zkCurator.create().creatingParentContainersIfNeeded().forPath(
+                "/varadhi/entities/ProjectIndex/" + org1.getName() + ":" + o1t1.getName() + "/deletedProject");
+
+        Assertions.assertTrue(varadhiMetaStore.getProjects(o1t1.getName(), o1t1.getOrg()).isEmpty());
+        Assertions.assertThrows(
+                InvalidOperationForResourceException.class,
+                () -> teamService.deleteTeam(o1t1.getName(), o1t1.getOrg())
+        );
+        projectService.deleteProject(o1t1p1.getName());
+        Assertions.assertFalse(varadhiMetaStore.checkProjectExists(o1t1p1.getName()));
+    }
+
     @Test
     public void testGetCachedProject() {
         Counter getCounter = meterRegistry.counter("varadhi.cache.project.gets");
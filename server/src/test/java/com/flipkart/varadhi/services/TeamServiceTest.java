@@ -19,6 +19,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.mockito.Mockito.spy;
 
@@ -140,6 +142,44 @@ public class TeamServiceTest {
         );
     }
 
+    @Test
+    public void testAsyncReads() {
+        Project p1 = new Project("Project1", 0, "", org1Team1.getName(), org1Team1.getOrg());
+        orgService.createOrg(org2);
+        teamService.createTeam(org1Team1);
+        teamService.createTeam(org2Team1);
+        projectService.createProject(p1);
+
+        Assertions.assertEquals(
+                org1Team1, join(teamService.getTeamAsync(org1Team1.getName(), org1Team1.getOrg())));
+        Assertions.assertEquals(List.of(org2Team1), join(teamService.getTeamsAsync(org2Team1.getOrg())));
+        Assertions.assertEquals(
+                List.of(p1), join(teamService.getProjectsAsync(org1Team1.getName(), org1Team1.getOrg())));
+        Assertions.assertEquals(
+                List.of(), join(teamService.getProjectsAsync(org2Team1.getName(), org2Team1.getOrg())));
+
+        validateOrgNotFound(teamDummy, () -> join(teamService.getTeamAsync(teamDummy.getName(), teamDummy.getOrg())));
+        validateOrgNotFound(teamDummy, () -> join(teamService.getTeamsAsync(teamDummy.getOrg())));
+        validateOrgNotFound(
+                teamDummy, () -> join(teamService.getProjectsAsync(teamDummy.getName(), teamDummy.getOrg())));
+        ResourceNotFoundException eResource = Assertions.assertThrows(
+                ResourceNotFoundException.class,
+                () -> join(teamService.getProjectsAsync(teamDummy.getName(), org1Team1.getOrg()))
+        );
+        Assertions.assertEquals(
+                String.format("Team(%s) does not exists in the Org(%s).", teamDummy.getName(), org1Team1.getOrg()),
+                eResource.getMessage()
+        );
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
     private void validateOrgNotFound(Team team, MethodCaller caller) {
         ResourceNotFoundException eResource =
                 Assertions.assertThrows(
@@ -5,7 +5,12 @@ import com.flipkart.varadhi.authz.AuthorizationProvider;
 import com.flipkart.varadhi.authz.AuthorizationOptions;
 import com.flipkart.varadhi.entities.auth.ResourceAction;
 import com.flipkart.varadhi.entities.auth.UserContext;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.HttpException;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
@@ -19,6 +24,9 @@ import java.util.Map;
 import java.util.Objects;
 
 import static com.flipkart.varadhi.entities.TestUser.testUser;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(VertxExtension.class)
 public class AuthorizationHandlerTests {
@@ -65,6 +73,36 @@ public class AuthorizationHandlerTests {
                 }));
     }
 
+    @Test
+    public void testAuthorizationHandlerResumesOnRequestContext(Vertx vertx, VertxTestContext testCtx) {
+        // provider completing the authorization on its own thread.
+        AuthorizationProvider asyncProvider = new TestAuthorizationProvider() {
+            @Override
+            public Future<Boolean> isAuthorized(UserContext userContext, ResourceAction action, String resource) {
+                Promise<Boolean> promise = Promise.promise();
+                new Thread(() -> promise.complete(true)).start();
+                return promise.future();
+            }
+        };
+        AuthorizationHandlerBuilder.AuthorizationHandler handler =
+                new AuthorizationHandlerBuilder(List.of(), asyncProvider)
+                        .build(PermissionAuthorization.of(ResourceAction.TOPIC_PRODUCE, "{topic}"));
+
+        User user = mock(User.class);
+        when(user.subject()).thenReturn("alice");
+        RoutingContext ctx = mock(RoutingContext.class);
+        when(ctx.user()).thenReturn(user);
+        when(ctx.pathParam("topic")).thenReturn("t1");
+
+        Context context = vertx.getOrCreateContext();
+        doAnswer(invocation -> {
+            testCtx.verify(() -> Assertions.assertSame(context, Vertx.currentContext()));
+            testCtx.completeNow();
+            return null;
+        }).when(ctx).next();
+        context.runOnContext(v -> handler.handle(ctx));
+    }
+
     static class TestAuthorizationProvider implements AuthorizationProvider {
         @Override
         public Future<Boolean> init(AuthorizationOptions authorizationOptions) {
@@ -20,6 +20,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -35,13 +36,13 @@ public class OrgHandlersTest extends WebTestBase {
         orgService = mock(OrgService.class);
         orgHandlers = new OrgHandlers(orgService);
 
-        Route routeCreate = router.post("/orgs").handler(bodyHandler).handler(wrapBlocking(orgHandlers::create));
+        Route routeCreate = router.post("/orgs").handler(bodyHandler).handler(orgHandlers::create);
         setupFailureHandler(routeCreate);
-        Route routeGet = router.get("/orgs/:org").handler(wrapBlocking(orgHandlers::get));
+        Route routeGet = router.get("/orgs/:org").handler(orgHandlers::get);
         setupFailureHandler(routeGet);
-        Route routeDelete = router.delete("/orgs/:org").handler(wrapBlocking(orgHandlers::delete));
+        Route routeDelete = router.delete("/orgs/:org").handler(orgHandlers::delete);
         setupFailureHandler(routeDelete);
-        Route routeList = router.get("/orgs").handler(wrapBlocking(orgHandlers::getOrganizations));
+        Route routeList = router.get("/orgs").handler(orgHandlers::getOrganizations);
         setupFailureHandler(routeList);
     }
 
@@ -60,18 +61,20 @@ public class OrgHandlersTest extends WebTestBase {
 
         HttpRequest<Buffer> request = createRequest(HttpMethod.POST, orgsPath);
         Org org1 = new Org("name1", 0);
-        doReturn(org1).when(orgService).createOrg(eq(org1));
+        doReturn(CompletableFuture.completedFuture(org1)).when(orgService).createOrgAsync(eq(org1));
         Org org1Created = sendRequestWithBody(request, org1, Org.class);
         Assertions.assertEquals(org1, org1Created);
-        verify(orgService, times(1)).createOrg(eq(org1));
+        verify(orgService, times(1)).createOrgAsync(eq(org1));
 
         String duplicateOrgError = String.format("Org(%s) already exists. Org is globally unique.", org1.getName());
-        doThrow(new DuplicateResourceException(duplicateOrgError)).when(orgService).createOrg(org1);
+        doReturn(CompletableFuture.failedFuture(new DuplicateResourceException(duplicateOrgError)))
+                .when(orgService).createOrgAsync(org1);
         ErrorResponse response = sendRequestWithBody(request, org1, 409, duplicateOrgError, ErrorResponse.class);
         Assertions.assertEquals(duplicateOrgError, response.reason());
 
         String someInternalError = "Some random error";
-        doThrow(new MetaStoreException(someInternalError)).when(orgService).createOrg(org1);
+        doReturn(CompletableFuture.failedFuture(new MetaStoreException(someInternalError)))
+                .when(orgService).createOrgAsync(org1);
         response = sendRequestWithBody(request, org1, 500, someInternalError, ErrorResponse.class);
         Assertions.assertEquals(someInternalError, response.reason());
     }
@@ -101,14 +104,15 @@ public class OrgHandlersTest extends WebTestBase {
         Org org1 = new Org("name1", 2);
 
         HttpRequest<Buffer> request = createRequest(HttpMethod.GET, getOrgUrl(org1.getName()));
-        doReturn(org1).when(orgService).getOrg(org1.getName());
+        doReturn(CompletableFuture.completedFuture(org1)).when(orgService).getOrgAsync(org1.getName());
 
         Org org1Get = sendRequestWithoutBody(request, Org.class);
         Assertions.assertEquals(org1, org1Get);
-        verify(orgService, times(1)).getOrg(org1.getName());
+        verify(orgService, times(1)).getOrgAsync(org1.getName());
 
         String notFoundError = String.format("Org(%s) not found.", org1.getName());
-        doThrow(new ResourceNotFoundException(notFoundError)).when(orgService).getOrg(org1.getName());
+        doReturn(CompletableFuture.failedFuture(new ResourceNotFoundException(notFoundError))).when(orgService)
+                .getOrgAsync(org1.getName());
         ErrorResponse response = sendRequestWithoutBody(request, 404, notFoundError, ErrorResponse.class);
         Assertions.assertEquals(notFoundError, response.reason());
     }
@@ -117,12 +121,12 @@ public class OrgHandlersTest extends WebTestBase {
     public void testOrgList() throws Exception {
         List<Org> orgList = List.of(new Org("org_1", 0), new Org("org_2", 0));
         HttpRequest<Buffer> request = createRequest(HttpMethod.GET, orgsPath);
-        doReturn(orgList).when(orgService).getOrgs();
+        doReturn(CompletableFuture.completedFuture(orgList)).when(orgService).getOrgsAsync();
 
         List<Org> orgListObtained = listOrganisations(request);
         Assertions.assertEquals(orgList.size(), orgListObtained.size());
         Assertions.assertArrayEquals(orgList.toArray(), orgListObtained.toArray());
-        verify(orgService, times(1)).getOrgs();
+        verify(orgService, times(1)).getOrgsAsync();
     }
 
     List<Org> listOrganisations(HttpRequest<Buffer> request) throws Exception {
@@ -135,17 +139,19 @@ public class OrgHandlersTest extends WebTestBase {
         Org org1 = new Org("name1", 2);
 
         HttpRequest<Buffer> request = createRequest(HttpMethod.DELETE, getOrgUrl(org1.getName()));
-        doNothing().when(orgService).deleteOrg(org1.getName());
+        doReturn(CompletableFuture.completedFuture(null)).when(orgService).deleteOrgAsync(org1.getName());
         sendRequestWithoutBody(request, null);
-        verify(orgService, times(1)).deleteOrg(org1.getName());
+        verify(orgService, times(1)).deleteOrgAsync(org1.getName());
 
         String notFoundError = String.format("Org(%s) not found.", org1.getName());
-        doThrow(new ResourceNotFoundException(notFoundError)).when(orgService).deleteOrg(org1.getName());
+        doReturn(CompletableFuture.failedFuture(new ResourceNotFoundException(notFoundError)))
+                .when(orgService).deleteOrgAsync(org1.getName());
         ErrorResponse response = sendRequestWithoutBody(request, 404, notFoundError, ErrorResponse.class);
         Assertions.assertEquals(notFoundError, response.reason());
 
         String invalidOpError = String.format("Can not delete Org(%s) as it has associated Team(s).", org1.getName());
-        doThrow(new InvalidOperationForResourceException(invalidOpError)).when(orgService).deleteOrg(org1.getName());
+        doReturn(CompletableFuture.failedFuture(new InvalidOperationForResourceException(invalidOpError)))
+                .when(orgService).deleteOrgAsync(org1.getName());
         response = sendRequestWithoutBody(request, 409, invalidOpError, ErrorResponse.class);
         Assertions.assertEquals(invalidOpError, response.reason());
     }
@@ -20,6 +20,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CompletableFuture;
+
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -39,13 +41,13 @@ public class ProjectHandlersTest extends WebTestBase {
         projectHandlers = new ProjectHandlers(projectService);
 
         Route routeCreate =
-                router.post("/projects").handler(bodyHandler).handler(wrapBlocking(projectHandlers::create));
+                router.post("/projects").handler(bodyHandler).handler(projectHandlers::create);
         setupFailureHandler(routeCreate);
-        Route routePut = router.put("/projects").handler(bodyHandler).handler(wrapBlocking(projectHandlers::update));
+        Route routePut = router.put("/projects").handler(bodyHandler).handler(projectHandlers::update);
         setupFailureHandler(routePut);
-        Route routeGet = router.get("/projects/:project").handler(wrapBlocking(projectHandlers::get));
+        Route routeGet = router.get("/projects/:project").handler(projectHandlers::get);
         setupFailureHandler(routeGet);
-        Route routeDelete = router.delete("/projects/:project").handler(wrapBlocking(projectHandlers::delete));
+        Route routeDelete = router.delete("/projects/:project").handler(projectHandlers::delete);
         setupFailureHandler(routeDelete);
     }
 
@@ -74,24 +76,27 @@ public class ProjectHandlersTest extends WebTestBase {
         HttpRequest<Buffer> request = createRequest(HttpMethod.POST, getProjectsUrl());
         Project p1 = getProject("Project1");
 
-        doReturn(p1).when(projectService).createProject(p1);
+        doReturn(CompletableFuture.completedFuture(p1)).when(projectService).createProjectAsync(p1);
         Project p1Created = sendRequestWithBody(request, p1, Project.class);
         Assertions.assertEquals(p1, p1Created);
-        verify(projectService, times(1)).createProject(eq(p1));
+        verify(projectService, times(1)).createProjectAsync(eq(p1));
 
         String orgNotFoundError = String.format("Org(%s) not found.", t1.getOrg());
-        doThrow(new ResourceNotFoundException(orgNotFoundError)).when(projectService).createProject(p1);
+        doReturn(CompletableFuture.failedFuture(new ResourceNotFoundException(orgNotFoundError)))
+                .when(projectService).createProjectAsync(p1);
         ErrorResponse response = sendRequestWithBody(request, p1, 404, orgNotFoundError, ErrorResponse.class);
         Assertions.assertEquals(orgNotFoundError, response.reason());
 
         String duplicateOrgError =
                 String.format("Project(%s) already exists.  Projects are globally unique.", p1.getName());
-        doThrow(new DuplicateResourceException(duplicateOrgError)).when(projectService).createProject(p1);
+        doReturn(CompletableFuture.failedFuture(new DuplicateResourceException(duplicateOrgError)))
+                .when(projectService).createProjectAsync(p1);
         response = sendRequestWithBody(request, p1, 409, duplicateOrgError, ErrorResponse.class);
         Assertions.assertEquals(duplicateOrgError, response.reason());
 
         String someInternalError = "Some random error";
-        doThrow(new MetaStoreException(someInternalError)).when(projectService).createProject(p1);
+        doReturn(CompletableFuture.failedFuture(new MetaStoreException(someInternalError)))
+                .when(projectService).createProjectAsync(p1);
         response = sendRequestWithBody(request, p1, 500, someInternalError, ErrorResponse.class);
         Assertions.assertEquals(someInternalError, response.reason());
     }
@@ -102,14 +107,15 @@ public class ProjectHandlersTest extends WebTestBase {
         Project p1 = getProject("Project1");
 
         HttpRequest<Buffer> request = createRequest(HttpMethod.GET, getProjectUrl(p1.getName()));
-        doReturn(p1).when(projectService).getProject(p1.getName());
+        doReturn(CompletableFuture.completedFuture(p1)).when(projectService).getProjectAsync(p1.getName());
 
         Project p1Get = sendRequestWithoutBody(request, Project.class);
         Assertions.assertEquals(p1, p1Get);
-        verify(projectService, times(1)).getProject(p1.getName());
+        verify(projectService, times(1)).getProjectAsync(p1.getName());
 
         String notFoundError = String.format("Project(%s) not found.", p1.getName());
-        doThrow(new ResourceNotFoundException(notFoundError)).when(projectService).getProject(p1.getName());
+        doReturn(CompletableFuture.failedFuture(new ResourceNotFoundException(notFoundError))).when(projectService)
+                .getProjectAsync(p1.getName());
         ErrorResponse response = sendRequestWithoutBody(request, 404, notFoundError, ErrorResponse.class);
         Assertions.assertEquals(notFoundError, response.reason());
     }
@@ -119,12 +125,13 @@ public class ProjectHandlersTest extends WebTestBase {
     public void testProjectUpdate() throws Exception {
         Project p1 = getProject("Project1");
         HttpRequest<Buffer> request = createRequest(HttpMethod.PUT, getProjectsUrl());
-        doReturn(p1).when(projectService).updateProject(p1);
+        doReturn(CompletableFuture.completedFuture(p1)).when(projectService).updateProjectAsync(p1);
         Project p1Updated = sendRequestWithBody(request, p1, Project.class);
         Assertions.assertEquals(p1, p1Updated);
 
         String argumentError = String.format("Project(%s) can not be moved across organisation.", p1.getName());
-        doThrow(new IllegalArgumentException(argumentError)).when(projectService).updateProject(p1);
+        doReturn(CompletableFuture.failedFuture(new IllegalArgumentException(argumentError)))
+                .when(projectService).updateProjectAsync(p1);
         ErrorResponse response = sendRequestWithBody(request, p1, 400, argumentError, ErrorResponse.class);
         Assertions.assertEquals(argumentError, response.reason());
 
@@ -133,7 +140,8 @@ public class ProjectHandlersTest extends WebTestBase {
                         "Conflicting update, Project(%s) has been modified. Fetch latest and try again.",
                         p1.getName()
                 );
-        doThrow(new InvalidOperationForResourceException(invalidOpError)).when(projectService).updateProject(p1);
+        doReturn(CompletableFuture.failedFuture(new InvalidOperationForResourceException(invalidOpError)))
+                .when(projectService).updateProjectAsync(p1);
         response = sendRequestWithBody(request, p1, 409, invalidOpError, ErrorResponse.class);
         Assertions.assertEquals(invalidOpError, response.reason());
     }
@@ -143,20 +151,20 @@ public class ProjectHandlersTest extends WebTestBase {
         Project p1 = getProject("Project1");
 
         HttpRequest<Buffer> request = createRequest(HttpMethod.DELETE, getProjectUrl(p1.getName()));
-        doNothing().when(projectService).deleteProject(p1.getName());
+        doReturn(CompletableFuture.completedFuture(null)).when(projectService).deleteProjectAsync(p1.getName());
         sendRequestWithoutBody(request, null);
-        verify(projectService, times(1)).deleteProject(p1.getName());
+        verify(projectService, times(1)).deleteProjectAsync(p1.getName());
 
         String notFoundError = String.format("Project(%s) not found.", p1.getName());
-        doThrow(new ResourceNotFoundException(notFoundError)).when(projectService)
-                .deleteProject(p1.getName());
+        doReturn(CompletableFuture.failedFuture(new ResourceNotFoundException(notFoundError)))
+                .when(projectService).deleteProjectAsync(p1.getName());
         ErrorResponse response = sendRequestWithoutBody(request, 404, notFoundError, ErrorResponse.class);
         Assertions.assertEquals(notFoundError, response.reason());
 
         String invalidOpError =
                 String.format("Can not delete Project(%s), it has associated entities.", p1.getName());
-        doThrow(new InvalidOperationForResourceException(invalidOpError)).when(projectService)
-                .deleteProject(p1.getName());
+        doReturn(CompletableFuture.failedFuture(new InvalidOperationForResourceException(invalidOpError)))
+                .when(projectService).deleteProjectAsync(p1.getName());
         response = sendRequestWithoutBody(request, 409, invalidOpError, ErrorResponse.class);
         Assertions.assertEquals(invalidOpError, response.reason());
     }
@@ -22,6 +22,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -41,16 +42,16 @@ public class TeamHandlersTest extends WebTestBase {
         teamHandlers = new TeamHandlers(teamService);
 
         Route routeCreate =
-                router.post("/orgs/:org/teams").handler(bodyHandler).handler(wrapBlocking(teamHandlers::create));
+                router.post("/orgs/:org/teams").handler(bodyHandler).handler(teamHandlers::create);
         setupFailureHandler(routeCreate);
-        Route routeGet = router.get("/orgs/:org/teams/:team").handler(wrapBlocking(teamHandlers::get));
+        Route routeGet = router.get("/orgs/:org/teams/:team").handler(teamHandlers::get);
         setupFailureHandler(routeGet);
-        Route routeList = router.get("/orgs/:org/teams").handler(wrapBlocking(teamHandlers::listTeams));
+        Route routeList = router.get("/orgs/:org/teams").handler(teamHandlers::listTeams);
         setupFailureHandler(routeList);
         Route routeProjectList =
-                router.get("/orgs/:org/teams/:team/projects").handler(wrapBlocking(teamHandlers::listProjects));
+                router.get("/orgs/:org/teams/:team/projects").handler(teamHandlers::listProjects);
         setupFailureHandler(routeProjectList);
-        Route routeDelete = router.delete("/orgs/:org/teams/:team").handler(wrapBlocking(teamHandlers::delete));
+        Route routeDelete = router.delete("/orgs/:org/teams/:team").handler(teamHandlers::delete);
         setupFailureHandler(routeDelete);
     }
 
@@ -78,24 +79,27 @@ public class TeamHandlersTest extends WebTestBase {
         HttpRequest<Buffer> request = createRequest(HttpMethod.POST, getTeamsUrl(o1.getName()));
         Team team1 = new Team("team1", 0, o1.getName());
 
-        doReturn(team1).when(teamService).createTeam(eq(team1));
+        doReturn(CompletableFuture.completedFuture(team1)).when(teamService).createTeamAsync(eq(team1));
         Team team1Created = sendRequestWithBody(request, team1, Team.class);
         Assertions.assertEquals(team1, team1Created);
-        verify(teamService, times(1)).createTeam(eq(team1));
+        verify(teamService, times(1)).createTeamAsync(eq(team1));
 
         String orgNotFoundError = String.format("Org(%s) not found.", team1.getOrg());
-        doThrow(new ResourceNotFoundException(orgNotFoundError)).when(teamService).createTeam(team1);
+        doReturn(CompletableFuture.failedFuture(new ResourceNotFoundException(orgNotFoundError)))
+                .when(teamService).createTeamAsync(team1);
         ErrorResponse response = sendRequestWithBody(request, team1, 404, orgNotFoundError, ErrorResponse.class);
         Assertions.assertEquals(orgNotFoundError, response.reason());
 
         String duplicateOrgError =
                 String.format("Team(%s) already exists. Team is unique with in Org.", team1.getName());
-        doThrow(new DuplicateResourceException(duplicateOrgError)).when(teamService).createTeam(team1);
+        doReturn(CompletableFuture.failedFuture(new DuplicateResourceException(duplicateOrgError)))
+                .when(teamService).createTeamAsync(team1);
         response = sendRequestWithBody(request, team1, 409, duplicateOrgError, ErrorResponse.class);
         Assertions.assertEquals(duplicateOrgError, response.reason());
 
         String someInternalError = "Some random error";
-        doThrow(new MetaStoreException(someInternalError)).when(teamService).createTeam(team1);
+        doReturn(CompletableFuture.failedFuture(new MetaStoreException(someInternalError)))
+                .when(teamService).createTeamAsync(team1);
         response = sendRequestWithBody(request, team1, 500, someInternalError, ErrorResponse.class);
         Assertions.assertEquals(someInternalError, response.reason());
     }
@@ -106,15 +110,16 @@ public class TeamHandlersTest extends WebTestBase {
         Team team1 = new Team("team1", 0, o1.getName());
 
         HttpRequest<Buffer> request = createRequest(HttpMethod.GET, getTeamUrl(team1));
-        doReturn(team1).when(teamService).getTeam(team1.getName(), team1.getOrg());
+        doReturn(CompletableFuture.completedFuture(team1)).when(teamService)
+                .getTeamAsync(team1.getName(), team1.getOrg());
 
         Team team1Get = sendRequestWithoutBody(request, Team.class);
         Assertions.assertEquals(team1, team1Get);
-        verify(teamService, times(1)).getTeam(team1.getName(), team1.getOrg());
+        verify(teamService, times(1)).getTeamAsync(team1.getName(), team1.getOrg());
 
         String notFoundError = String.format("Team(%s) not found.", team1.getName());
-        doThrow(new ResourceNotFoundException(notFoundError)).when(teamService)
-                .getTeam(team1.getName(), team1.getOrg());
+        doReturn(CompletableFuture.failedFuture(new ResourceNotFoundException(notFoundError))).when(teamService)
+                .getTeamAsync(team1.getName(), team1.getOrg());
         ErrorResponse response = sendRequestWithoutBody(request, 404, notFoundError, ErrorResponse.class);
         Assertions.assertEquals(notFoundError, response.reason());
     }
@@ -124,12 +129,12 @@ public class TeamHandlersTest extends WebTestBase {
     public void testTeamList() throws Exception {
         List<Team> teamList = List.of(new Team("team1", 0, o1.getName()), new Team("team2", 0, o1.getName()));
         HttpRequest<Buffer> request = createRequest(HttpMethod.GET, getTeamsUrl(o1.getName()));
-        doReturn(teamList).when(teamService).getTeams(o1.getName());
+        doReturn(CompletableFuture.completedFuture(teamList)).when(teamService).getTeamsAsync(o1.getName());
 
         List<Team> teamListObtained = listTeams(request);
         Assertions.assertEquals(teamList.size(), teamListObtained.size());
         Assertions.assertArrayEquals(teamList.toArray(), teamListObtained.toArray());
-        verify(teamService, times(1)).getTeams(o1.getName());
+        verify(teamService, times(1)).getTeamsAsync(o1.getName());
     }
 
     List<Team> listTeams(HttpRequest<Buffer> request) throws Exception {
@@ -143,12 +148,14 @@ public class TeamHandlersTest extends WebTestBase {
         List<Project> projectList1 = List.of();
         List<Project> projectList2 = List.of(getProject("project1", team1), getProject("project2", team1));
         HttpRequest<Buffer> request = createRequest(HttpMethod.GET, getProjectsUrl(team1));
-        doReturn(projectList1).when(teamService).getProjects(team1.getName(), team1.getOrg());
+        doReturn(CompletableFuture.completedFuture(projectList1)).when(teamService)
+                .getProjectsAsync(team1.getName(), team1.getOrg());
 
         List<Project> projectList1Obtained = listProjects(request);
         Assertions.assertEquals(projectList1.size(), projectList1Obtained.size());
 
-        doReturn(projectList2).when(teamService).getProjects(team1.getName(), team1.getOrg());
+        doReturn(CompletableFuture.completedFuture(projectList2)).when(teamService)
+                .getProjectsAsync(team1.getName(), team1.getOrg());
         List<Project> projectList2Obtained = listProjects(request);
         Assertions.assertArrayEquals(projectList2.toArray(), projectList2Obtained.toArray());
     }
@@ -168,20 +175,21 @@ public class TeamHandlersTest extends WebTestBase {
         Team team1 = new Team("team1", 0, o1.getName());
 
         HttpRequest<Buffer> request = createRequest(HttpMethod.DELETE, getTeamUrl(team1));
-        doNothing().when(teamService).deleteTeam(team1.getName(), team1.getOrg());
+        doReturn(CompletableFuture.completedFuture(null))
+                .when(teamService).deleteTeamAsync(team1.getName(), team1.getOrg());
         sendRequestWithoutBody(request, null);
-        verify(teamService, times(1)).deleteTeam(team1.getName(), team1.getOrg());
+        verify(teamService, times(1)).deleteTeamAsync(team1.getName(), team1.getOrg());
 
         String notFoundError = String.format("Team(%s) not found.", team1.getName());
-        doThrow(new ResourceNotFoundException(notFoundError)).when(teamService)
-                .deleteTeam(team1.getName(), team1.getOrg());
+        doReturn(CompletableFuture.failedFuture(new ResourceNotFoundException(notFoundError)))
+                .when(teamService).deleteTeamAsync(team1.getName(), team1.getOrg());
         ErrorResponse response = sendRequestWithoutBody(request, 404, notFoundError, ErrorResponse.class);
         Assertions.assertEquals(notFoundError, response.reason());
 
         String invalidOpError =
                 String.format("Can not delete Team(%s) as it has associated Project(s).", team1.getName());
-        doThrow(new InvalidOperationForResourceException(invalidOpError)).when(teamService)
-                .deleteTeam(team1.getName(), team1.getOrg());
+        doReturn(CompletableFuture.failedFuture(new InvalidOperationForResourceException(invalidOpError)))
+                .when(teamService).deleteTeamAsync(team1.getName(), team1.getOrg());
         response = sendRequestWithoutBody(request, 409, invalidOpError, ErrorResponse.class);
         Assertions.assertEquals(invalidOpError, response.reason());
     }
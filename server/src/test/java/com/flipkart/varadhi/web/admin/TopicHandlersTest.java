@@ -11,7 +11,9 @@ import com.flipkart.varadhi.entities.CapacityPolicy;
 import com.flipkart.varadhi.entities.Project;
 import com.flipkart.varadhi.entities.TopicResource;
 import com.flipkart.varadhi.entities.VaradhiTopic;
+import com.flipkart.varadhi.exceptions.ResourceNotFoundException;
 import com.flipkart.varadhi.services.ProjectService;
+import com.flipkart.varadhi.web.ErrorResponse;
 import com.flipkart.varadhi.web.WebTestBase;
 import com.flipkart.varadhi.web.v1.admin.TopicHandlers;
 import io.vertx.core.http.HttpMethod;
@@ -25,6 +27,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.Mockito.*;
 
@@ -48,9 +51,9 @@ public class TopicHandlersTest extends WebTestBase {
 
         Route routeCreate = router.post("/projects/:project/topics").handler(bodyHandler).handler(wrapBlocking(topicHandlers::create));
         setupFailureHandler(routeCreate);
-        Route routeGet = router.get("/projects/:project/topics/:topic").handler(wrapBlocking(topicHandlers::get));
+        Route routeGet = router.get("/projects/:project/topics/:topic").handler(topicHandlers::get);
         setupFailureHandler(routeGet);
-        Route routeListAll = router.get("/projects/:project/topics").handler(bodyHandler).handler(wrapBlocking(topicHandlers::listTopics));
+        Route routeListAll = router.get("/projects/:project/topics").handler(bodyHandler).handler(topicHandlers::listTopics);
         setupFailureHandler(routeListAll);
         Route routeDelete = router.delete("/projects/:project/topics/:topic").handler(wrapBlocking(topicHandlers::delete));
         setupFailureHandler(routeDelete);
@@ -76,13 +79,25 @@ public class TopicHandlersTest extends WebTestBase {
         TopicResource topicResource = getTopicResource(topicName, project);
         VaradhiTopic t1 = VaradhiTopic.of(topicResource);
         String varadhiTopicName = String.join(".", project.getName(), topicName);
-        doReturn(t1).when(varadhiTopicService).get(varadhiTopicName);
+        doReturn(CompletableFuture.completedFuture(t1)).when(varadhiTopicService).getAsync(varadhiTopicName);
 
         HttpRequest<Buffer> request = createRequest(HttpMethod.GET, getTopicUrl(topicName, project));
         TopicResource t1Created = sendRequestWithoutBody(request, TopicResource.class);
         Assertions.assertEquals(topicResource.getProject(), t1Created.getProject());
     }
 
+    @Test
+    public void testTopicGetNotFound() throws InterruptedException {
+        String varadhiTopicName = String.join(".", project.getName(), topicName);
+        String notFoundError = String.format("VaradhiTopic(%s) not found.", varadhiTopicName);
+        doReturn(CompletableFuture.failedFuture(new ResourceNotFoundException(notFoundError)))
+                .when(varadhiTopicService).getAsync(varadhiTopicName);
+
+        HttpRequest<Buffer> request = createRequest(HttpMethod.GET, getTopicUrl(topicName, project));
+        ErrorResponse response = sendRequestWithoutBody(request, 404, notFoundError, ErrorResponse.class);
+        Assertions.assertEquals(notFoundError, response.reason());
+    }
+
     @Test
     public void testListTopics() throws InterruptedException {
         TopicResource topicResource = getTopicResource(topicName, project);
@@ -90,7 +105,8 @@ public class TopicHandlersTest extends WebTestBase {
         List<String> listOfTopics = new ArrayList<>();
         listOfTopics.add(t1.getName());
 
-        doReturn(listOfTopics).when(varadhiTopicService).getVaradhiTopics(project.getName());
+        doReturn(CompletableFuture.completedFuture(listOfTopics)).when(varadhiTopicService)
+                .getVaradhiTopicsAsync(project.getName());
 
         HttpRequest<Buffer> request = createRequest(HttpMethod.GET, getTopicsUrl(project));
         List<String> t1Created = sendRequestWithoutBody(request, List.class);
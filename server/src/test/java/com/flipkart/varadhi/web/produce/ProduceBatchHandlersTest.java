@@ -0,0 +1,155 @@
+package com.flipkart.varadhi.web.produce;
+
+import com.flipkart.varadhi.Result;
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.exceptions.ProduceException;
+import com.flipkart.varadhi.produce.ProduceResult;
+import com.flipkart.varadhi.spi.services.DummyProducer;
+import com.flipkart.varadhi.utils.JsonMapper;
+import com.flipkart.varadhi.web.ErrorResponse;
+import com.flipkart.varadhi.web.v1.produce.BatchProduceResult;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.client.HttpRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static com.flipkart.varadhi.entities.StandardHeaders.GROUP_ID;
+import static com.flipkart.varadhi.entities.StandardHeaders.MESSAGE_ID;
+import static com.flipkart.varadhi.web.v1.produce.BatchMessageDecoder.CONTENT_TYPE_LENGTH_PREFIXED;
+import static com.flipkart.varadhi.web.v1.produce.BatchMessageDecoder.CONTENT_TYPE_NDJSON;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ProduceBatchHandlersTest extends ProduceTestBase {
+
+    String batchPath = "/projects/project1/topics/topic1/produce/batch";
+    ArgumentCaptor<List<Message>> batchCapture;
+
+    @BeforeEach
+    public void PreTest() throws InterruptedException {
+        super.setUp();
+        batchCapture = ArgumentCaptor.forClass(List.class);
+        setupFailureHandler(router.post("/projects/:project/topics/:topic/produce/batch").handler(bodyHandler)
+                .handler(produceHandlers::produceBatch));
+    }
+
+    @AfterEach
+    public void PostTest() throws InterruptedException {
+        tearDown();
+    }
+
+    @Test
+    public void testProduceBatchLengthPrefixed() throws Exception {
+        ProduceResult result1 = ProduceResult.of("m1", Result.of(new DummyProducer.DummyOffset(10)));
+        ProduceResult result2 = ProduceResult.of("m2", Result.of(new ProduceException("Queue full.")));
+        doReturn(CompletableFuture.completedFuture(List.of(result1, result2))).when(producerService)
+                .produceBatchToTopic(batchCapture.capture(), eq(topicFullName), ctxCapture.capture());
+
+        Buffer body = Buffer.buffer();
+        appendFrame(body, Map.of(MESSAGE_ID, "m1", "X_RESTBUS_GROUP_ID", "g1"), "payload1");
+        appendFrame(body, Map.of(MESSAGE_ID, "m2"), "payload2");
+        HttpRequest<Buffer> request = createRequest(HttpMethod.POST, batchPath);
+        request.putHeader(HttpHeaders.CONTENT_TYPE.toString(), CONTENT_TYPE_LENGTH_PREFIXED);
+        request.putHeader(GROUP_ID, "g0");
+        request.putHeader("x_header1", "h1v1");
+
+        BatchProduceResult[] results =
+                sendRequestWithByteBufferBody(request, body.getBytes(), BatchProduceResult[].class);
+
+        Assertions.assertEquals(2, results.length);
+        Assertions.assertEquals(new BatchProduceResult("m1", result1.getProduceStatus(), null), results[0]);
+        Assertions.assertEquals("m2", results[1].messageId());
+        Assertions.assertEquals(result2.getFailureReason(), results[1].failureReason());
+
+        List<Message> messages = batchCapture.getValue();
+        Assertions.assertEquals(2, messages.size());
+        Assertions.assertArrayEquals("payload1".getBytes(), messages.get(0).getPayload());
+        Assertions.assertEquals("m1", messages.get(0).getMessageId());
+        Assertions.assertEquals(List.of("g1"), messages.get(0).getHeaders(GROUP_ID));
+        Assertions.assertEquals("h1v1", messages.get(0).getHeader("x_header1"));
+        Assertions.assertArrayEquals("payload2".getBytes(), messages.get(1).getPayload());
+        Assertions.assertEquals("m2", messages.get(1).getMessageId());
+        Assertions.assertEquals(List.of("g0"), messages.get(1).getHeaders(GROUP_ID));
+        Assertions.assertEquals(body.length(), ctxCapture.getValue().getRequestContext().getBytesReceived());
+    }
+
+    @Test
+    public void testProduceBatchNdJson() throws Exception {
+        List<ProduceResult> produceResults = List.of(
+                ProduceResult.of("m1", Result.of(new DummyProducer.DummyOffset(1))),
+                ProduceResult.of("m2", Result.of(new DummyProducer.DummyOffset(2)))
+        );
+        doReturn(CompletableFuture.completedFuture(produceResults)).when(producerService)
+                .produceBatchToTopic(batchCapture.capture(), eq(topicFullName), ctxCapture.capture());
+
+        String body = ndJsonLine("m1", "payload1") + "\n\n" + ndJsonLine("m2", "payload2") + "\n";
+        HttpRequest<Buffer> request = createRequest(HttpMethod.POST, batchPath);
+        request.putHeader(HttpHeaders.CONTENT_TYPE.toString(), CONTENT_TYPE_NDJSON);
+
+        BatchProduceResult[] results =
+                sendRequestWithByteBufferBody(request, body.getBytes(), BatchProduceResult[].class);
+
+        Assertions.assertEquals(2, results.length);
+        List<Message> messages = batchCapture.getValue();
+        Assertions.assertEquals(2, messages.size());
+        Assertions.assertEquals("m2", messages.get(1).getMessageId());
+        Assertions.assertArrayEquals("payload2".getBytes(), messages.get(1).getPayload());
+    }
+
+    @Test
+    public void testProduceBatchMalformed() throws Exception {
+        Buffer body = Buffer.buffer();
+        appendFrame(body, Map.of(MESSAGE_ID, "m1"), "payload1");
+        body.appendInt(2).appendString("{}").appendInt(100).appendString("short");
+        HttpRequest<Buffer> request = createRequest(HttpMethod.POST, batchPath);
+        request.putHeader(HttpHeaders.CONTENT_TYPE.toString(), CONTENT_TYPE_LENGTH_PREFIXED);
+        sendRequestWithByteBufferBody(
+                request, body.getBytes(), 400, "Malformed batch, message(1) is truncated.", ErrorResponse.class);
+
+        request = createRequest(HttpMethod.POST, batchPath);
+        request.putHeader(HttpHeaders.CONTENT_TYPE.toString(), "application/json");
+        sendRequestWithByteBufferBody(request, body.getBytes(), 400,
+                "Unsupported content type(application/json) for batch produce.", ErrorResponse.class
+        );
+        verify(producerService, never()).produceBatchToTopic(any(), any(), any());
+    }
+
+    @Test
+    public void testProduceBatchMissingMessageId() throws Exception {
+        Buffer body = Buffer.buffer();
+        appendFrame(body, Map.of(MESSAGE_ID, "m1"), "payload1");
+        appendFrame(body, Map.of(), "payload2");
+        HttpRequest<Buffer> request = createRequest(HttpMethod.POST, batchPath);
+        request.putHeader(HttpHeaders.CONTENT_TYPE.toString(), CONTENT_TYPE_LENGTH_PREFIXED);
+        // message id of the request is not inherited by the messages of the batch.
+        request.putHeader(MESSAGE_ID, "m0");
+        sendRequestWithByteBufferBody(
+                request, body.getBytes(), 400, String.format("Missing required header %s", MESSAGE_ID),
+                ErrorResponse.class
+        );
+        verify(producerService, never()).produceBatchToTopic(any(), any(), any());
+    }
+
+    private void appendFrame(Buffer body, Map<String, String> headers, String payload) {
+        byte[] headerBytes = JsonMapper.jsonSerialize(headers).getBytes();
+        body.appendInt(headerBytes.length).appendBytes(headerBytes);
+        body.appendInt(payload.length()).appendString(payload);
+    }
+
+    private String ndJsonLine(String messageId, String payload) {
+        return String.format(
+                "{\"headers\":{\"%s\":\"%s\"},\"payload\":\"%s\"}", MESSAGE_ID, messageId,
+                Base64.getEncoder().encodeToString(payload.getBytes())
+        );
+    }
+}
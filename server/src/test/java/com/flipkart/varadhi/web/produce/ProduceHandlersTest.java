@@ -2,6 +2,7 @@ package com.flipkart.varadhi.web.produce;
 
 import com.flipkart.varadhi.Result;
 import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.Project;
 import com.flipkart.varadhi.entities.TopicState;
 import com.flipkart.varadhi.exceptions.ProduceException;
 import com.flipkart.varadhi.exceptions.ResourceNotFoundException;
@@ -13,6 +14,7 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.impl.headers.HeadersMultiMap;
 import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +22,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static com.flipkart.varadhi.MessageConstants.ANONYMOUS_PRODUCE_IDENTITY;
 import static com.flipkart.varadhi.MessageConstants.Headers.REQUIRED_HEADERS;
@@ -129,6 +132,19 @@ public class ProduceHandlersTest extends ProduceTestBase {
         );
     }
 
+    @Test
+    public void testProduceOverCapacityHasRetryAfter() throws InterruptedException {
+        ProduceResult result = ProduceResult.ofThrottled(messageId, 1500);
+        doReturn(CompletableFuture.completedFuture(result)).when(producerService)
+                .produceToTopic(msgCapture.capture(), eq(topicFullName), ctxCapture.capture());
+        HttpRequest<Buffer> request = createRequest(HttpMethod.POST, topicPath);
+        request.putHeader(MESSAGE_ID, messageId);
+
+        HttpResponse<Buffer> response = sendRequest(request, payload);
+        Assertions.assertEquals(429, response.statusCode());
+        Assertions.assertEquals("2", response.getHeader("Retry-After"));
+    }
+
     @Test
     public void testProduceFailureResult() throws InterruptedException {
 
@@ -195,7 +211,8 @@ public class ProduceHandlersTest extends ProduceTestBase {
 
     @Test
     public void testProduceForNonexistingProject() throws InterruptedException {
-        doThrow(new ResourceNotFoundException("Project1 not found.")).when(projectService).getCachedProject("project1");
+        doReturn(CompletableFuture.failedFuture(new ResourceNotFoundException("Project1 not found.")))
+                .when(projectService).getCachedProjectAsync("project1");
         HttpRequest<Buffer> request = createRequest(HttpMethod.POST, topicPath);
         request.putHeader(MESSAGE_ID, messageId);
         ProduceResult result = ProduceResult.of(messageId, Result.of(new DummyProducer.DummyOffset(10)));
@@ -204,4 +221,25 @@ public class ProduceHandlersTest extends ProduceTestBase {
         sendRequestWithByteBufferBody(request, payload, 404, "Project1 not found.", ErrorResponse.class
         );
     }
+
+    @Test
+    public void testProduceWhenProjectIsBeingLoaded() throws InterruptedException {
+        Project project = new Project("project1", 0, "description", "team1", "org1");
+        CompletableFuture<Project> projectFuture = new CompletableFuture<>();
+        doReturn(projectFuture).when(projectService).getCachedProjectAsync("project1");
+        ProduceResult result = ProduceResult.of(messageId, Result.of(new DummyProducer.DummyOffset(10)));
+        doReturn(CompletableFuture.completedFuture(result)).when(producerService)
+                .produceToTopic(msgCapture.capture(), eq(topicFullName), ctxCapture.capture());
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(() -> projectFuture.complete(project));
+        HttpRequest<Buffer> request = createRequest(HttpMethod.POST, topicPath);
+        request.putHeader(MESSAGE_ID, messageId);
+        String messageIdObtained = sendRequestWithByteBufferBody(request, payload, String.class);
+        Assertions.assertEquals(messageId, messageIdObtained);
+
+        CompletableFuture<Project> failedFuture = new CompletableFuture<>();
+        doReturn(failedFuture).when(projectService).getCachedProjectAsync("project1");
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(
+                () -> failedFuture.completeExceptionally(new ResourceNotFoundException("Project1 not found.")));
+        sendRequestWithByteBufferBody(request, payload, 404, "Project1 not found.", ErrorResponse.class);
+    }
 }
@@ -11,6 +11,8 @@ import com.flipkart.varadhi.web.v1.produce.ProduceHandlers;
 import io.vertx.ext.web.Route;
 import org.mockito.ArgumentCaptor;
 
+import java.util.concurrent.CompletableFuture;
+
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
@@ -44,6 +46,6 @@ public class ProduceTestBase extends WebTestBase {
         messageId = "messageId1";
         payload = "somerandomdata".getBytes();
         Project project = new Project("project1", 0, "description", "team1", "org1");
-        doReturn(project).when(projectService).getCachedProject("project1");
+        doReturn(CompletableFuture.completedFuture(project)).when(projectService).getCachedProjectAsync("project1");
     }
 }
@@ -0,0 +1,79 @@
+package com.flipkart.varadhi.spi.db;
+
+import com.flipkart.varadhi.entities.Org;
+import com.flipkart.varadhi.entities.Project;
+import com.flipkart.varadhi.entities.Team;
+import com.flipkart.varadhi.entities.VaradhiTopic;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking counterpart of MetaStore operations on orgs, teams, projects and reads of topics, so that they can be
+ * served w/o blocking the calling (event loop) thread. Failures complete the returned stage exceptionally with the
+ * same exceptions as MetaStore e.g. ResourceNotFoundException, DuplicateResourceException, MetaStoreException.
+ */
+public interface AsyncMetaStore {
+    /**
+     * @param blockingExecutor executor for the operations of a MetaStore which doesn't support async operations. Its
+     *                         blocking operations are run on it, instead of on the calling thread.
+     */
+    static AsyncMetaStore of(MetaStore metaStore, Executor blockingExecutor) {
+        if (metaStore instanceof AsyncMetaStore asyncMetaStore) {
+            return asyncMetaStore;
+        }
+        return new BlockingAsyncMetaStore(metaStore, blockingExecutor);
+    }
+
+    CompletionStage<Void> createOrgAsync(Org org);
+
+    CompletionStage<Org> getOrgAsync(String orgName);
+
+    CompletionStage<Boolean> checkOrgExistsAsync(String orgName);
+
+    CompletionStage<Void> deleteOrgAsync(String orgName);
+
+    CompletionStage<List<Org>> getOrgsAsync();
+
+    CompletionStage<List<String>> getTeamNamesAsync(String orgName);
+
+    CompletionStage<List<Team>> getTeamsAsync(String orgName);
+
+    CompletionStage<Boolean> hasTeamsAsync(String orgName);
+
+    /**
+     * Fails with ResourceNotFoundException if org of the team doesn't exist.
+     */
+    CompletionStage<Void> createTeamAsync(Team team);
+
+    CompletionStage<Team> getTeamAsync(String teamName, String orgName);
+
+    CompletionStage<Boolean> checkTeamExistsAsync(String teamName, String orgName);
+
+    CompletionStage<Void> deleteTeamAsync(String teamName, String orgName);
+
+    CompletionStage<List<Project>> getProjectsAsync(String teamName, String orgName);
+
+    CompletionStage<Boolean> hasProjectsAsync(String teamName, String orgName);
+
+    /**
+     * Fails with ResourceNotFoundException if org or team of the project doesn't exist.
+     */
+    CompletionStage<Void> createProjectAsync(Project project);
+
+    CompletionStage<Project> getProjectAsync(String projectName);
+
+    CompletionStage<Void> deleteProjectAsync(String projectName);
+
+    /**
+     * @return updated version of the project.
+     */
+    CompletionStage<Integer> updateProjectAsync(Project project);
+
+    CompletionStage<List<String>> getVaradhiTopicNamesAsync(String projectName);
+
+    CompletionStage<Boolean> hasVaradhiTopicsAsync(String projectName);
+
+    CompletionStage<VaradhiTopic> getVaradhiTopicAsync(String varadhiTopicName);
+}
@@ -0,0 +1,139 @@
+package com.flipkart.varadhi.spi.db;
+
+import com.flipkart.varadhi.entities.Org;
+import com.flipkart.varadhi.entities.Project;
+import com.flipkart.varadhi.entities.Team;
+import com.flipkart.varadhi.entities.VaradhiTopic;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * AsyncMetaStore over a MetaStore w/o async support, its (blocking) operations are run on the blocking executor.
+ * Failures of the operations complete the returned stage as is.
+ */
+class BlockingAsyncMetaStore implements AsyncMetaStore {
+    private final MetaStore metaStore;
+    private final Executor blockingExecutor;
+
+    BlockingAsyncMetaStore(MetaStore metaStore, Executor blockingExecutor) {
+        this.metaStore = metaStore;
+        this.blockingExecutor = blockingExecutor;
+    }
+
+    @Override
+    public CompletionStage<Void> createOrgAsync(Org org) {
+        return run(() -> metaStore.createOrg(org));
+    }
+
+    @Override
+    public CompletionStage<Org> getOrgAsync(String orgName) {
+        return supply(() -> metaStore.getOrg(orgName));
+    }
+
+    @Override
+    public CompletionStage<Boolean> checkOrgExistsAsync(String orgName) {
+        return supply(() -> metaStore.checkOrgExists(orgName));
+    }
+
+    @Override
+    public CompletionStage<Void> deleteOrgAsync(String orgName) {
+        return run(() -> metaStore.deleteOrg(orgName));
+    }
+
+    @Override
+    public CompletionStage<List<Org>> getOrgsAsync() {
+        return supply(metaStore::getOrgs);
+    }
+
+    @Override
+    public CompletionStage<List<String>> getTeamNamesAsync(String orgName) {
+        return supply(() -> metaStore.getTeamNames(orgName));
+    }
+
+    @Override
+    public CompletionStage<List<Team>> getTeamsAsync(String orgName) {
+        return supply(() -> metaStore.getTeams(orgName));
+    }
+
+    @Override
+    public CompletionStage<Boolean> hasTeamsAsync(String orgName) {
+        return supply(() -> metaStore.hasTeams(orgName));
+    }
+
+    @Override
+    public CompletionStage<Void> createTeamAsync(Team team) {
+        return run(() -> metaStore.createTeam(team));
+    }
+
+    @Override
+    public CompletionStage<Team> getTeamAsync(String teamName, String orgName) {
+        return supply(() -> metaStore.getTeam(teamName, orgName));
+    }
+
+    @Override
+    public CompletionStage<Boolean> checkTeamExistsAsync(String teamName, String orgName) {
+        return supply(() -> metaStore.checkTeamExists(teamName, orgName));
+    }
+
+    @Override
+    public CompletionStage<Void> deleteTeamAsync(String teamName, String orgName) {
+        return run(() -> metaStore.deleteTeam(teamName, orgName));
+    }
+
+    @Override
+    public CompletionStage<List<Project>> getProjectsAsync(String teamName, String orgName) {
+        return supply(() -> metaStore.getProjects(teamName, orgName));
+    }
+
+    @Override
+    public CompletionStage<Boolean> hasProjectsAsync(String teamName, String orgName) {
+        return supply(() -> metaStore.hasProjects(teamName, orgName));
+    }
+
+    @Override
+    public CompletionStage<Void> createProjectAsync(Project project) {
+        return run(() -> metaStore.createProject(project));
+    }
+
+    @Override
+    public CompletionStage<Project> getProjectAsync(String projectName) {
+        return supply(() -> metaStore.getProject(projectName));
+    }
+
+    @Override
+    public CompletionStage<Void> deleteProjectAsync(String projectName) {
+        return run(() -> metaStore.deleteProject(projectName));
+    }
+
+    @Override
+    public CompletionStage<Integer> updateProjectAsync(Project project) {
+        return supply(() -> metaStore.updateProject(project));
+    }
+
+    @Override
+    public CompletionStage<List<String>> getVaradhiTopicNamesAsync(String projectName) {
+        return supply(() -> metaStore.getVaradhiTopicNames(projectName));
+    }
+
+    @Override
+    public CompletionStage<Boolean> hasVaradhiTopicsAsync(String projectName) {
+        return supply(() -> metaStore.hasVaradhiTopics(projectName));
+    }
+
+    @Override
+    public CompletionStage<VaradhiTopic> getVaradhiTopicAsync(String varadhiTopicName) {
+        return supply(() -> metaStore.getVaradhiTopic(varadhiTopicName));
+    }
+
+    private CompletableFuture<Void> run(Runnable operation) {
+        return CompletableFuture.runAsync(operation, blockingExecutor);
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> operation) {
+        return CompletableFuture.supplyAsync(operation, blockingExecutor);
+    }
+}
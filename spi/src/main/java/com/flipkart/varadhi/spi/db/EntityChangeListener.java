@@ -0,0 +1,14 @@
+package com.flipkart.varadhi.spi.db;
+
+import com.flipkart.varadhi.entities.MetaStoreEntity;
+
+@FunctionalInterface
+public interface EntityChangeListener<T extends MetaStoreEntity> {
+    /**
+     * Invoked when an entity is created, updated or deleted in the meta store.
+     *
+     * @param entityName name of the entity.
+     * @param entity     latest entity, null when the entity is deleted.
+     */
+    void onChange(String entityName, T entity);
+}
@@ -19,6 +19,15 @@ public interface MetaStore {
 
     List<Team> getTeams(String orgName);
 
+    /**
+     * Unlike getTeamNames(), doesn't rely on a (possibly stale) index of the teams. Used for checks which can't
+     * tolerate a stale index, e.g. before deleting the org.
+     */
+    boolean hasTeams(String orgName);
+
+    /**
+     * Fails with ResourceNotFoundException if org of the team doesn't exist.
+     */
     void createTeam(Team team);
 
     Team getTeam(String teamName, String orgName);
@@ -29,6 +38,14 @@ public interface MetaStore {
 
     List<Project> getProjects(String teamName, String orgName);
 
+    /**
+     * Unlike getProjects(), doesn't rely on a (possibly stale) index of the projects.
+     */
+    boolean hasProjects(String teamName, String orgName);
+
+    /**
+     * Fails with ResourceNotFoundException if org or team of the project doesn't exist.
+     */
     void createProject(Project project);
 
     Project getProject(String projectName);
@@ -41,6 +58,14 @@ public interface MetaStore {
 
     List<String> getVaradhiTopicNames(String projectName);
 
+    /**
+     * Unlike getVaradhiTopicNames(), doesn't rely on a (possibly stale) index of the topics.
+     */
+    boolean hasVaradhiTopics(String projectName);
+
+    /**
+     * Fails with ResourceNotFoundException if project of the topic doesn't exist.
+     */
     void createVaradhiTopic(VaradhiTopic varadhiTopicName);
 
     VaradhiTopic getVaradhiTopic(String varadhiTopicName);
@@ -0,0 +1,34 @@
+package com.flipkart.varadhi.spi.db;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Meta store used as the coordination plane for sharing topic capacity among the server instances. An instance
+ * holds a lease on each topic it produces to, carrying its recent demand on the topic. Leases are tied to the
+ * session of the instance with the meta store, so leases of an instance which goes away are released on their own.
+ * Membership of the instances is tied to the session likewise.
+ */
+public interface QuotaLeaseMetaStore {
+    /**
+     * Registers the member as one of the instances sharing the capacity, if not registered already.
+     */
+    CompletableFuture<Void> renewQuotaMemberAsync(String memberId);
+
+    /**
+     * @return number of the members registered.
+     */
+    CompletableFuture<Integer> getQuotaMemberCountAsync();
+
+    /**
+     * Creates the lease of the member on the topic if not held already, and updates it with the member's demand.
+     */
+    CompletableFuture<Void> renewQuotaLeaseAsync(String varadhiTopicName, String memberId, double demand);
+
+    CompletableFuture<Void> releaseQuotaLeaseAsync(String varadhiTopicName, String memberId);
+
+    /**
+     * @return demand of the members holding a lease on the topic, by member id.
+     */
+    CompletableFuture<Map<String, Double>> getQuotaLeasesAsync(String varadhiTopicName);
+}
@@ -0,0 +1,21 @@
+package com.flipkart.varadhi.spi.db;
+
+import com.flipkart.varadhi.entities.Project;
+import com.flipkart.varadhi.entities.VaradhiTopic;
+import com.flipkart.varadhi.entities.auth.RoleBindingNode;
+
+/**
+ * Meta store which pushes entity changes to the listeners, so that entity caches can be kept up-to-date without
+ * expiring and re-reading the entries. Listeners are invoked for all existing entities when the watch starts.
+ */
+public interface WatchableMetaStore {
+    void watchProjects(EntityChangeListener<Project> listener);
+
+    void watchVaradhiTopics(EntityChangeListener<VaradhiTopic> listener);
+
+    /**
+     * @param onLoaded invoked once the listener has been notified of all the role bindings existing when the watch
+     *                 started.
+     */
+    void watchRoleBindings(EntityChangeListener<RoleBindingNode> listener, Runnable onLoaded);
+}
@@ -0,0 +1,23 @@
+package com.flipkart.varadhi.spi.services;
+
+import com.flipkart.varadhi.entities.Offset;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Consumer of a subscription on a storage topic. Messaging stack is expected to prefetch messages, so that receive
+ * is served from the local buffer in general. Received messages are acked or nacked individually and in any order,
+ * nacked messages are redelivered by the messaging stack.
+ */
+public interface Consumer {
+    /**
+     * @return next message of the subscription, future completes once a message is available.
+     */
+    CompletableFuture<PolledMessage> receiveAsync();
+
+    CompletableFuture<Void> ackAsync(Offset offset);
+
+    void nack(Offset offset);
+
+    CompletableFuture<Void> closeAsync();
+}
@@ -0,0 +1,11 @@
+package com.flipkart.varadhi.spi.services;
+
+import com.flipkart.varadhi.entities.StorageTopic;
+
+public interface ConsumerFactory<T extends StorageTopic> {
+    /**
+     * @param grouped when true, messages of a group (see StandardHeaders.GROUP_ID) are received by only one of the
+     *                consumers of the subscription at a time, so that they can be delivered in order.
+     */
+    Consumer getConsumer(T storageTopic, String subscriptionName, boolean grouped) throws MessagingException;
+}
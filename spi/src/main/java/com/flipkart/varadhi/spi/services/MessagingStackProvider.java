@@ -13,4 +13,6 @@ public interface MessagingStackProvider<T extends StorageTopic> {
     StorageTopicService<T> getStorageTopicService();
 
     ProducerFactory<T> getProducerFactory();
+
+    ConsumerFactory<T> getConsumerFactory();
 }
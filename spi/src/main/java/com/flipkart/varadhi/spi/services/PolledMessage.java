@@ -0,0 +1,10 @@
+package com.flipkart.varadhi.spi.services;
+
+import com.flipkart.varadhi.entities.Message;
+import com.flipkart.varadhi.entities.Offset;
+
+/**
+ * Message received from a storage topic, along with its offset which identifies it for ack/nack.
+ */
+public record PolledMessage(Message message, Offset offset) {
+}
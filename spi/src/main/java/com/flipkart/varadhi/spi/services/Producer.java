@@ -7,4 +7,10 @@ import java.util.concurrent.CompletableFuture;
 
 public interface Producer {
     CompletableFuture<Offset> produceAsync(Message message);
+
+    /**
+     * Produces the message such that it is delivered to the consumers only after the given delay, e.g. for retrying
+     * a failed delivery later. Delay is best effort, message may be delivered a little later than the delay.
+     */
+    CompletableFuture<Offset> produceAsync(Message message, long deliverAfterMs);
 }
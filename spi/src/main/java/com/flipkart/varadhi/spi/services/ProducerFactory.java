@@ -4,4 +4,20 @@ import com.flipkart.varadhi.entities.StorageTopic;
 
 public interface ProducerFactory<T extends StorageTopic> {
     Producer getProducer(T storageTopic) throws MessagingException;
+
+    /**
+     * Number of producers to pool for the topic as per its capacity, produce to the topic is spread over them. So
+     * that a hot topic isn't bottlenecked on the pending queue and the connection of a single producer.
+     */
+    default int getPoolSize(T storageTopic) {
+        return 1;
+    }
+
+    /**
+     * Creates the producer at the given index in the pool of the topic. Producers of the pool need to be distinct
+     * from each other (e.g. in their names), so this needs to be overridden along with getPoolSize().
+     */
+    default Producer getProducer(T storageTopic, int index) throws MessagingException {
+        return getProducer(storageTopic);
+    }
 }
@@ -0,0 +1,11 @@
+package com.flipkart.varadhi.spi.services;
+
+import lombok.experimental.StandardException;
+
+/*
+ Producer has as many messages (or bytes) in flight as it can take, produce is rejected right away instead of waiting
+ for the in-flight messages to drain. Produce can be retried shortly.
+ */
+@StandardException
+public class ProducerFullException extends MessagingException {
+}
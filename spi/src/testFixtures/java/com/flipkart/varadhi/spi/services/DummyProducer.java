@@ -35,6 +35,11 @@ public class DummyProducer implements Producer {
         });
     }
 
+    @Override
+    public CompletableFuture<Offset> produceAsync(Message message, long deliverAfterMs) {
+        return produceAsync(message);
+    }
+
     private DummyMessage toDummyMsg(byte[] payload) {
         DummyMessage dm;
         try {